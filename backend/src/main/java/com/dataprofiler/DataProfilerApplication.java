@@ -117,11 +117,11 @@ public class DataProfilerApplication {
         logger.info("  Max Concurrent Tasks: {}", maxConcurrentTasks);
         logger.info("  Task Timeout (minutes): {}", taskTimeout);
         
-        // Thread pool configuration
-        String corePoolSize = env.getProperty("app.profiling.thread-pool.core-size", "5");
-        String maxPoolSize = env.getProperty("app.profiling.thread-pool.max-size", "20");
-        logger.info("  Thread Pool Core Size: {}", corePoolSize);
-        logger.info("  Thread Pool Max Size: {}", maxPoolSize);
+        // Work scheduler configuration
+        String maxWorkers = env.getProperty("app.profiling.scheduler.max-workers", "4");
+        String sourceConcurrency = env.getProperty("app.profiling.scheduler.source-concurrency", "2");
+        logger.info("  Profiling Workers: {}", maxWorkers);
+        logger.info("  Queries per Source: {}", sourceConcurrency);
         
         logger.info("----------------------------------------------------------");
     }
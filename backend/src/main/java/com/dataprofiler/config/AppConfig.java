@@ -22,18 +22,6 @@ import java.util.concurrent.ThreadPoolExecutor;
 @EnableAsync
 public class AppConfig {
 
-    @Value("${app.profiling.thread-pool.core-size:5}")
-    private int profilingCorePoolSize;
-
-    @Value("${app.profiling.thread-pool.max-size:20}")
-    private int profilingMaxPoolSize;
-
-    @Value("${app.profiling.thread-pool.queue-capacity:100}")
-    private int profilingQueueCapacity;
-
-    @Value("${app.profiling.thread-pool.keep-alive-seconds:60}")
-    private int profilingKeepAliveSeconds;
-
     @Value("${app.general.thread-pool.core-size:3}")
     private int generalCorePoolSize;
 
@@ -58,25 +46,6 @@ public class AppConfig {
     @Value("${app.ai.thread-pool.keep-alive-seconds:120}")
     private int aiKeepAliveSeconds;
 
-    /**
-     * Thread pool executor for profiling tasks
-     * This executor is specifically designed for CPU-intensive profiling operations
-     */
-    @Bean(name = "profilingTaskExecutor")
-    public Executor profilingTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(profilingCorePoolSize);
-        executor.setMaxPoolSize(profilingMaxPoolSize);
-        executor.setQueueCapacity(profilingQueueCapacity);
-        executor.setKeepAliveSeconds(profilingKeepAliveSeconds);
-        executor.setThreadNamePrefix("Profiling-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
-        executor.initialize();
-        return executor;
-    }
-
     /**
      * General purpose thread pool executor
      * Used for general asynchronous operations like report generation, cleanup tasks, etc.
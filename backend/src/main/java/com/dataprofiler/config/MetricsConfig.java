@@ -0,0 +1,62 @@
+package com.dataprofiler.config;
+
+import com.dataprofiler.entity.DataSourceConfig;
+import com.dataprofiler.execution.ProfilingWorkScheduler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Gauges over the backlog of the application's executors and of the profiling work scheduler
+ * Profiling work runs on the scheduler's workers, so its backlog is gauged there rather than on an executor.
+ * Engine and report read path meters are recorded where they occur (see ProfilingMetrics and the report service).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder executorQueueMetrics(@Qualifier("generalTaskExecutor") Executor generalTaskExecutor,
+                                            @Qualifier("aiTaskExecutor") Executor aiTaskExecutor) {
+        Map<String, Executor> executors = new LinkedHashMap<>();
+        executors.put("generalTaskExecutor", generalTaskExecutor);
+        executors.put("aiTaskExecutor", aiTaskExecutor);
+
+        return registry -> executors.forEach((name, executor) -> {
+            if (!(executor instanceof ThreadPoolTaskExecutor)) {
+                return;
+            }
+            ThreadPoolTaskExecutor pool = (ThreadPoolTaskExecutor) executor;
+            Gauge.builder("profiling.executor.queued", pool, p -> p.getThreadPoolExecutor().getQueue().size())
+                    .tag("executor", name)
+                    .description("Tasks waiting in the executor queue")
+                    .register(registry);
+            Gauge.builder("profiling.executor.active", pool, ThreadPoolTaskExecutor::getActiveCount)
+                    .tag("executor", name)
+                    .description("Threads running tasks")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder workSchedulerMetrics(ProfilingWorkScheduler workScheduler) {
+        return registry -> {
+            for (DataSourceConfig.DataSourceType type : DataSourceConfig.DataSourceType.values()) {
+                Gauge.builder("profiling.scheduler.queued", workScheduler, s -> s.getQueuedCount(type))
+                        .tag("type", type.name())
+                        .description("Profiling work items waiting for a worker, per data source type")
+                        .register(registry);
+            }
+            Gauge.builder("profiling.scheduler.pending", workScheduler, ProfilingWorkScheduler::getPendingCount)
+                    .description("Profiling work items queued or running")
+                    .register(registry);
+        };
+    }
+}
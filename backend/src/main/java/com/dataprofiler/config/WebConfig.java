@@ -1,6 +1,11 @@
 package com.dataprofiler.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -10,6 +15,27 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * Timeout of streamed responses such as report exports, which outlive the container's default async timeout
+     */
+    @Value("${app.web.async-timeout-minutes:30}")
+    private long asyncTimeoutMinutes;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeoutMinutes * 60 * 1000);
+    }
+
+    /**
+     * Keep compressing responses that carry a strong ETag, such as reports of completed tasks
+     * Tomcat leaves them uncompressed by default; If-None-Match is compared weakly, so both encodings share the tag.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> compressStrongETagResponses() {
+        return factory -> factory.addConnectorCustomizers(
+                connector -> connector.setProperty("noCompressionStrongETag", "false"));
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/v1/**")
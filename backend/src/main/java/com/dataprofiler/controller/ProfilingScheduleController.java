@@ -0,0 +1,119 @@
+package com.dataprofiler.controller;
+
+import com.dataprofiler.entity.ProfilingSchedule;
+import com.dataprofiler.service.ProfilingScheduleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * REST Controller for recurring profiling schedules
+ * Table scans of scheduled tasks only run inside the maintenance windows configured on the data source
+ * ("maintenanceWindows", "maintenanceTimezone" properties)
+ */
+@RestController
+@RequestMapping("/api/profiling/schedules")
+@Validated
+@Tag(name = "Profiling Schedules", description = "API for managing recurring profiling schedules")
+public class ProfilingScheduleController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingScheduleController.class);
+
+    @Autowired
+    private ProfilingScheduleService scheduleService;
+
+    @GetMapping
+    @Operation(summary = "Get all profiling schedules", description = "Retrieve all profiling schedules with their next run")
+    public ResponseEntity<List<ProfilingSchedule>> getAllSchedules() {
+        return ResponseEntity.ok(scheduleService.getAllSchedules());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get profiling schedule", description = "Retrieve a profiling schedule by ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Schedule found",
+                    content = @Content(schema = @Schema(implementation = ProfilingSchedule.class))),
+        @ApiResponse(responseCode = "404", description = "Schedule not found")
+    })
+    public ResponseEntity<ProfilingSchedule> getSchedule(
+            @Parameter(description = "Schedule ID") @PathVariable @NotNull Long id) {
+        try {
+            return ResponseEntity.ok(scheduleService.getSchedule(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping
+    @Operation(summary = "Create profiling schedule",
+            description = "Create a recurring profiling schedule for a data source from a Spring cron expression")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Schedule created",
+                    content = @Content(schema = @Schema(implementation = ProfilingSchedule.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown data source, invalid cron expression or time zone")
+    })
+    public ResponseEntity<?> createSchedule(@Valid @RequestBody ProfilingSchedule schedule) {
+        logger.info("Creating profiling schedule: {}", schedule.getName());
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(scheduleService.createSchedule(schedule));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Failed to create profiling schedule: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Invalid schedule: " + e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update profiling schedule", description = "Replace a schedule definition and recompute its next run")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Schedule updated",
+                    content = @Content(schema = @Schema(implementation = ProfilingSchedule.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid schedule"),
+        @ApiResponse(responseCode = "404", description = "Schedule not found")
+    })
+    public ResponseEntity<?> updateSchedule(
+            @Parameter(description = "Schedule ID") @PathVariable @NotNull Long id,
+            @Valid @RequestBody ProfilingSchedule schedule) {
+        logger.info("Updating profiling schedule: {}", id);
+        try {
+            return ResponseEntity.ok(scheduleService.updateSchedule(id, schedule));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Failed to update profiling schedule {}: {}", id, e.getMessage());
+            if (e.getMessage() != null && e.getMessage().startsWith("Profiling schedule not found")) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.badRequest().body("Invalid schedule: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete profiling schedule", description = "Delete a schedule; tasks it already started keep running")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Schedule deleted"),
+        @ApiResponse(responseCode = "404", description = "Schedule not found")
+    })
+    public ResponseEntity<Void> deleteSchedule(
+            @Parameter(description = "Schedule ID") @PathVariable @NotNull Long id) {
+        logger.info("Deleting profiling schedule: {}", id);
+        try {
+            scheduleService.deleteSchedule(id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.dataprofiler.controller;
 
 import com.dataprofiler.dto.request.ProfilingTaskRequest;
+import com.dataprofiler.dto.response.CursorPage;
+import com.dataprofiler.dto.response.ProfilingEstimateDto;
+import com.dataprofiler.dto.response.TaskListItemDto;
 import com.dataprofiler.dto.response.TaskStatusResponse;
+import com.dataprofiler.dto.response.TaskTimelineDto;
 import com.dataprofiler.entity.ProfilingTask;
 import com.dataprofiler.service.ProfilingService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,9 +24,12 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 /**
@@ -53,6 +60,11 @@ public class ProfilingTaskController {
                     responseCode = "201",
                     description = "Profiling task created successfully",
                     content = @Content(schema = @Schema(implementation = ProfilingTask.class))
+            ),
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "An identical request is already running or was recently completed; that task is returned",
+                    content = @Content(schema = @Schema(implementation = ProfilingTask.class))
             )
     })
     public ResponseEntity<?> startProfilingTask(
@@ -64,6 +76,10 @@ public class ProfilingTaskController {
         try {
             ProfilingTask task = profilingService.startProfilingTask(request);
 
+            if (task.getReuse() != null && task.getReuse() != ProfilingTask.ReuseMode.NEW) {
+                logger.info("Request shares existing profiling task {} ({})", task.getTaskId(), task.getReuse());
+                return ResponseEntity.ok(task);
+            }
             logger.info("Profiling task started successfully with taskId: {}", task.getTaskId());
             return ResponseEntity.status(HttpStatus.CREATED).body(task);
 
@@ -78,6 +94,46 @@ public class ProfilingTaskController {
         }
     }
 
+    /**
+     * Estimate the cost of a profiling request without starting it
+     */
+    @PostMapping("/profiling-tasks/estimate")
+    @Operation(
+            summary = "Estimate a profiling task (dry run)",
+            description = "Returns per data source and table the catalog row estimate, the strategy that would be used " +
+                    "(EXACT or SAMPLED), the number of queries and rows scanned, and a duration predicted " +
+                    "from past runs. Only catalog statistics are read; no task is created."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Estimate computed",
+                    content = @Content(schema = @Schema(implementation = ProfilingEstimateDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request or unknown data source",
+                    content = @Content(schema = @Schema(implementation = String.class))
+            )
+    })
+    public ResponseEntity<?> estimateProfilingTask(
+            @Valid @RequestBody ProfilingTaskRequest request) {
+
+        logger.info("Received profiling estimate request for {} data sources",
+                request.getDatasources() != null ? request.getDatasources().size() : 0);
+
+        try {
+            return ResponseEntity.ok(profilingService.estimateProfilingTask(request));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid profiling estimate request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Failed to estimate profiling task", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to estimate profiling task: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/profiling-tasks/list")
     @Operation(
             summary = "获取所有分析任务",
@@ -96,6 +152,64 @@ public class ProfilingTaskController {
         }
     }
 
+    /**
+     * Get one page of tasks with keyset pagination
+     */
+    @GetMapping("/profiling-tasks/page")
+    @Operation(
+            summary = "Get profiling tasks by cursor",
+            description = "Get the task list newest first, one page at a time. Pass the nextCursor of a page as cursor " +
+                    "to get the next one; nextCursor is null on the last page. Deep pages cost the same as the first one. " +
+                    "Entries hold the list columns only; get /profiling-tasks/{id} for the full task."
+    )
+    public ResponseEntity<?> getProfilingTasksPage(
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(500) Integer size) {
+
+        logger.info("Getting profiling tasks page, size: {}, cursor: {}", size, cursor);
+
+        try {
+            CursorPage<TaskListItemDto> tasks = profilingService.getProfilingTasksPage(cursor, size);
+            return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Failed to get profiling tasks page", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to get profiling tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get a task with its request payload
+     */
+    @GetMapping("/profiling-tasks/{id}")
+    @Operation(
+            summary = "Get a profiling task",
+            description = "Get the full task, including its request payload, for a task picked from the task list"
+    )
+    public ResponseEntity<?> getProfilingTask(
+            @Parameter(description = "Task database ID", required = true)
+            @PathVariable Long id) {
+
+        logger.debug("Getting task: {}", id);
+
+        try {
+            ProfilingTask task = profilingService.getTask(id);
+            if (task == null) {
+                logger.warn("Task not found: {}", id);
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(task);
+        } catch (Exception e) {
+            logger.error("Failed to get task: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to get task: " + e.getMessage());
+        }
+    }
+
     /**
      * delete profiling task
      */
@@ -139,11 +253,60 @@ public class ProfilingTaskController {
         }
     }
 
+    /**
+     * Cancel a pending or running profiling task
+     */
+    @PostMapping("/profiling-tasks/{id}/cancel")
+    @Operation(
+            summary = "Cancel a profiling task",
+            description = "Stops a pending or running task. In-flight source queries are cancelled, no further tables are scheduled, " +
+                    "and results profiled so far are saved with status CANCELLED."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Cancellation accepted",
+                    content = @Content(schema = @Schema(implementation = ProfilingTask.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Task not found",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Task has already finished",
+                    content = @Content(schema = @Schema(implementation = String.class))
+            )
+    })
+    public ResponseEntity<?> cancelProfilingTask(
+            @Parameter(description = "Task ID", required = true)
+            @PathVariable Long id) {
+
+        logger.info("Received cancel request for task: {}", id);
+
+        try {
+            ProfilingTask task = profilingService.cancelTask(id);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(task);
+        } catch (NoSuchElementException e) {
+            logger.warn("Task not found: {}", id);
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            logger.warn("Cannot cancel task {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Failed to cancel task: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to cancel task: " + e.getMessage());
+        }
+    }
+
 
     @GetMapping("/task-status/{id}")
     @Operation(
             summary = "Get task status",
-            description = "Retrieves the current status and progress information of a profiling task"
+            description = "Retrieves the current status and progress information of a profiling task, its slowest queries "
+                    + "and, with includeTimeline, the execution timeline per work item and column"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -154,7 +317,9 @@ public class ProfilingTaskController {
     })
     public ResponseEntity<?> getTaskStatus(
             @Parameter(description = "Unique task identifier", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Include the per work item and column execution timeline")
+            @RequestParam(defaultValue = "false") boolean includeTimeline) {
 
         logger.debug("Getting status for task: {}", id);
 
@@ -190,6 +355,14 @@ public class ProfilingTaskController {
                             .collect(Collectors.toList());
                     response.setDataSources(dataSourceInfos);
                 }
+
+                TaskTimelineDto timeline = profilingService.getTaskTimeline(task.getTaskId());
+                if (timeline != null) {
+                    response.setSlowestQueries(timeline.getSlowestQueries());
+                    if (includeTimeline) {
+                        response.setTimeline(timeline.getEntries());
+                    }
+                }
                 
                 return ResponseEntity.ok(response);
             } else {
@@ -1,27 +1,38 @@
 package com.dataprofiler.controller;
 
 import com.dataprofiler.dto.request.DetailedReportRequest;
-import com.dataprofiler.dto.request.ReportSummaryRequest;
+import com.dataprofiler.dto.response.CursorPage;
 import com.dataprofiler.dto.response.ReportInfoDto;
 import com.dataprofiler.dto.response.ReportSummaryDto;
 import com.dataprofiler.dto.response.SimplePaginationResponse;
 import com.dataprofiler.dto.response.StructuredReportDto;
 import com.dataprofiler.service.StructuredReportService;
-import com.dataprofiler.util.TablePaginationUtil;
+import com.dataprofiler.util.ETags;
+import com.dataprofiler.util.NdjsonWriter;
+import com.dataprofiler.util.RequestFingerprint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST Controller for managing structured profiling reports
@@ -30,6 +41,7 @@ import java.util.List;
  * Core endpoints:
  * - GET /api/reports/{taskId}/summary - Get lightweight summary reports
  * - POST /api/reports/{taskId}/detailed - Get detailed reports with filtering
+ * - POST /api/reports/detailed/export - Stream all detailed reports as NDJSON, one table per line
  * - DELETE /api/reports/cleanup - Maintenance endpoint for old report cleanup
  * <p>
  * Design principles:
@@ -48,6 +60,18 @@ public class ReportController {
     @Autowired
     private StructuredReportService reportService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * How long clients may reuse report responses of completed tasks before revalidating them with If-None-Match
+     */
+    @Value("${app.report.http-cache.max-age-seconds:60}")
+    private long httpCacheMaxAgeSeconds;
+
     @GetMapping("/summary")
     @Operation(
             summary = "Get report summaries by task ID",
@@ -61,23 +85,20 @@ public class ReportController {
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") @Min(0) Integer page,
             @Parameter(description = "Page size (number of tables per page)", example = "20")
-            @RequestParam(defaultValue = "20") @Min(1) Integer pageSize) {
+            @RequestParam(defaultValue = "20") @Min(1) Integer pageSize,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         log.info("Getting report summaries, taskId: {}, page: {}, pageSize: {}",
                 taskId, page, pageSize);
 
-        // Create request object from taskId
-        ReportSummaryRequest request = new ReportSummaryRequest();
-        request.setTaskId(taskId);
-
-        // Get original summaries from service
-        List<ReportSummaryDto> summaries = reportService.getReportsSummary(request);
-
-        // Apply table-based pagination
-        Page<ReportSummaryDto> paginatedSummaries = TablePaginationUtil.paginateSummaryReports(
-                summaries, page, pageSize);
-
+        String etag = reportETag(taskId, "summary", String.valueOf(page), String.valueOf(pageSize));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return notModified("summary", etag);
+        }
 
+        // Only the tables of the requested page are read
+        Page<ReportSummaryDto> paginatedSummaries = meterRegistry.timer("report.pagination", "view", "summary")
+                .record(() -> reportService.getReportsSummaryPage(taskId, page, pageSize));
 
         log.debug("Retrieved {} summary reports (page {} of {}), total tables: {}", 
                 paginatedSummaries.getNumberOfElements(), paginatedSummaries.getNumber() + 1, 
@@ -85,7 +106,7 @@ public class ReportController {
         
         // Convert to simplified pagination response
         SimplePaginationResponse<ReportSummaryDto> response = SimplePaginationResponse.from(paginatedSummaries);
-        return ResponseEntity.ok(response);
+        return withValidators(ResponseEntity.ok(), etag).body(response);
     }
 
     @PostMapping("/detailed")
@@ -95,19 +116,21 @@ public class ReportController {
                     "Supports data source scope filtering, schema/table selection, and table-based pagination."
     )
     public ResponseEntity<SimplePaginationResponse<StructuredReportDto>> getDetailedReport(
-            @Valid @RequestBody DetailedReportRequest request) {
+            @Valid @RequestBody DetailedReportRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         log.info("Getting detailed reports with page={}, pageSize={}, format={}",
                 request.getPage(), request.getPageSize(), request.getFormat());
 
-        // Get all matching reports from service (without pagination)
-        List<StructuredReportDto> allReports = reportService.getAllDetailedReports(request);
-
-        // Apply table-based pagination
-        Page<StructuredReportDto> paginatedReports = TablePaginationUtil.paginateDetailedReports(
-                allReports, request.getPage(), request.getPageSize());
-
+        // The request body selects the representation, so it is part of the tag
+        String etag = reportETag(request.getTaskId(), "detailed", RequestFingerprint.of(request));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return notModified("detailed", etag);
+        }
 
+        // Only the tables of the requested page are read
+        Page<StructuredReportDto> paginatedReports = meterRegistry.timer("report.pagination", "view", "detailed")
+                .record(() -> reportService.getDetailedReportsPage(request));
 
         log.debug("Retrieved {} detailed reports (page {} of {}), total tables: {}", 
                 paginatedReports.getNumberOfElements(), paginatedReports.getNumber() + 1, 
@@ -115,7 +138,28 @@ public class ReportController {
         
         // Convert to simplified pagination response
         SimplePaginationResponse<StructuredReportDto> response = SimplePaginationResponse.from(paginatedReports);
-        return ResponseEntity.ok(response);
+        return withValidators(ResponseEntity.ok(), etag).body(response);
+    }
+
+    @PostMapping(value = "/detailed/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export detailed reports as NDJSON",
+            description = "Stream all detailed reports of a task matching the filters as newline-delimited JSON. " +
+                    "Each line is a report holding a single table; tables are written as they are read from storage, " +
+                    "so the export starts immediately and does not build the whole response in memory. " +
+                    "Page and page size of the request are ignored. If the export fails after it started, " +
+                    "its last line is {\"error\": message}."
+    )
+    public ResponseEntity<StreamingResponseBody> exportDetailedReports(@Valid @RequestBody DetailedReportRequest request) {
+
+        log.info("Exporting detailed reports for task: {}", request.getTaskId());
+
+        StreamingResponseBody body = out -> NdjsonWriter.export(objectMapper, out,
+                writer -> reportService.exportDetailedReports(request, writer::write));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/infolist")
@@ -139,6 +183,53 @@ public class ReportController {
         return ResponseEntity.ok(reportInfoPage);
     }
 
+    @GetMapping("/infolist/cursor")
+    @Operation(
+            summary = "Get report basic information by cursor",
+            description = "Same information as /infolist, newest first, with keyset pagination. Pass the nextCursor " +
+                    "of a page as cursor to get the next one; nextCursor is null on the last page. " +
+                    "Deep pages cost the same as the first one."
+    )
+    public ResponseEntity<CursorPage<ReportInfoDto>> getReportInfoPage(
+            @Parameter(description = "Only reports of this task", example = "f6713573-fe11-4de7-8c06-8da2792454c4")
+            @RequestParam(required = false) String taskId,
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(500) Integer size) {
+
+        log.info("Getting report info page, taskId: {}, size: {}, cursor: {}", taskId, size, cursor);
+
+        CursorPage<ReportInfoDto> reportInfoPage = reportService.getReportInfoPage(taskId, cursor, size);
+        return ResponseEntity.ok(reportInfoPage);
+    }
+
+    /**
+     * Strong ETag of a report response, null unless the task completed
+     * Computed from the stored report and table ids only, before anything is loaded or decoded.
+     */
+    private String reportETag(String taskId, String view, String... representation) {
+        String version = taskId != null ? reportService.getReportsVersion(taskId) : null;
+        if (version == null) {
+            return null;
+        }
+        String[] parts = new String[representation.length + 2];
+        parts[0] = version;
+        parts[1] = view;
+        System.arraycopy(representation, 0, parts, 2, representation.length);
+        return ETags.strong(parts);
+    }
 
+    private <T> ResponseEntity<T> notModified(String view, String etag) {
+        meterRegistry.counter("report.not_modified", "view", view).increment();
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag).build();
+    }
 
-}
\ No newline at end of file
+    private ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder response, String etag) {
+        if (etag == null) {
+            return response;
+        }
+        return response.eTag(etag)
+                .cacheControl(CacheControl.maxAge(httpCacheMaxAgeSeconds, TimeUnit.SECONDS).cachePrivate().mustRevalidate());
+    }
+}
@@ -41,6 +41,7 @@ public class RawProfileDataDto {
         private List<ColumnData> columns;
         private List<IndexData> indexes;
         private Map<String, Object> tableMetadata;
+        private List<PartitionData> partitions;
 
         private boolean useSample;
 
@@ -53,6 +54,24 @@ public class RawProfileDataDto {
         }
     }
 
+    /**
+     * Raw per-partition statistics of a partitioned table
+     */
+    @Data
+    public static class PartitionData {
+        private String partitionName;
+        private Long rowCount;
+        private boolean reused; // taken from the previous run because the partition did not change
+        private List<ColumnData> columns;
+
+        // Constructors
+        public PartitionData() {}
+
+        public PartitionData(String partitionName) {
+            this.partitionName = partitionName;
+        }
+    }
+
     /**
      * Raw column data structure
      */
@@ -7,6 +7,7 @@ import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Max;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -36,6 +37,16 @@ public class ProfilingTaskRequest {
             example = "5", defaultValue = "5")
     private Integer sampleDataLimit = 5;
 
+    @Min(value = 1, message = "Priority must be at least 1")
+    @Max(value = 10, message = "Priority cannot exceed 10")
+    @Schema(description = "Scheduling priority (1-10). Higher priority tasks get proportionally more worker turns, " +
+            "but lower priority tasks keep making progress", example = "5", defaultValue = "5")
+    private Integer priority = 5;
+
+    @Schema(description = "Always start a new task, even if an identical one is running or recently completed",
+            example = "false", defaultValue = "false")
+    private Boolean forceRefresh = false;
+
     // Constructors
     public ProfilingTaskRequest() {}
 
@@ -68,6 +79,13 @@ public class ProfilingTaskRequest {
             this.schemas = schemas;
         }
 
+        /**
+         * Scope covering a single table
+         */
+        public static DataSourceScope ofTable(String schema, String table) {
+            return new DataSourceScope(Collections.singletonMap(schema, Collections.singletonList(table)));
+        }
+
         // Getters and Setters
         public Map<String, List<String>> getSchemas() {
             return schemas;
@@ -0,0 +1,47 @@
+package com.dataprofiler.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Page of a keyset (cursor) paginated listing
+ * Unlike offset pages, reading a page costs the same however deep it is; there is no total count.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * The actual content/data for current page
+     */
+    private List<T> content;
+
+    /**
+     * Token to pass as cursor to get the next page, null on the last page
+     */
+    private String nextCursor;
+
+    /**
+     * Requested number of items per page
+     */
+    private int size;
+
+    /**
+     * Page from rows read with a limit of size + 1, the extra row only telling whether there is a next page
+     *
+     * @param cursorOf token of a row, used for the last row of the page
+     * @param mapper   conversion of a row to the returned content
+     */
+    public static <R, T> CursorPage<T> of(List<R> rows, int size, Function<R, String> cursorOf, Function<R, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<R> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(page.stream().map(mapper).collect(Collectors.toList()), nextCursor, size);
+    }
+}
@@ -0,0 +1,95 @@
+package com.dataprofiler.dto.response;
+
+import com.dataprofiler.profiler.ProfilingCostModel;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dry-run estimate of what a profiling request would cost, computed from catalog statistics
+ */
+@Data
+@Schema(description = "Estimated cost of a profiling request")
+public class ProfilingEstimateDto {
+
+    @Schema(description = "Total number of tables the request resolves to")
+    private int totalTables;
+
+    @Schema(description = "Total number of queries the profilers would issue")
+    private long estimatedQueries;
+
+    @Schema(description = "Total number of rows the profiling queries would read (tables without estimates excluded)")
+    private long estimatedRowsScanned;
+
+    @Schema(description = "Predicted duration in milliseconds if all work ran sequentially, null when no source has history")
+    private Long predictedDurationMillis;
+
+    @Schema(description = "Per data source estimates")
+    private List<SourceEstimate> dataSources = new ArrayList<>();
+
+    /**
+     * Estimate for one data source
+     */
+    @Data
+    @Schema(description = "Estimated cost for a data source")
+    public static class SourceEstimate {
+
+        @Schema(description = "Data source ID", example = "ds-pg-01")
+        private String sourceId;
+
+        @Schema(description = "Data source type", example = "POSTGRESQL")
+        private String type;
+
+        @Schema(description = "Why no table estimates are available, null on success")
+        private String error;
+
+        @Schema(description = "Number of queries the profilers would issue against this source")
+        private long estimatedQueries;
+
+        @Schema(description = "Number of rows the profiling queries would read")
+        private long estimatedRowsScanned;
+
+        @Schema(description = "Predicted duration in milliseconds from the throughput of past runs, null without history")
+        private Long predictedDurationMillis;
+
+        @Schema(description = "Number of previously profiled tables the prediction is based on")
+        private long observedTables;
+
+        @Schema(description = "Per table estimates")
+        private List<TableCost> tables = new ArrayList<>();
+    }
+
+    /**
+     * Estimate for one table
+     */
+    @Data
+    @Schema(description = "Estimated cost for a table")
+    public static class TableCost {
+
+        @Schema(description = "Schema name", example = "public")
+        private String schemaName;
+
+        @Schema(description = "Table name", example = "orders")
+        private String tableName;
+
+        @Schema(description = "Row count from catalog statistics, null if the table was never analyzed")
+        private Long estimatedRows;
+
+        @Schema(description = "Number of profiled columns")
+        private int columnCount;
+
+        @Schema(description = "How rows would be read", example = "SAMPLED")
+        private ProfilingCostModel.Strategy strategy;
+
+        @Schema(description = "Number of queries for this table")
+        private int estimatedQueries;
+
+        @Schema(description = "Number of rows read for this table, null if the table size is unknown")
+        private Long estimatedRowsScanned;
+
+        @Schema(description = "Predicted duration in milliseconds, null without history for the source")
+        private Long predictedDurationMillis;
+    }
+}
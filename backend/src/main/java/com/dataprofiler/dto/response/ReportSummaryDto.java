@@ -2,7 +2,6 @@ package com.dataprofiler.dto.response;
 
 
 import com.dataprofiler.entity.DataSourceConfig;
-import com.dataprofiler.service.impl.ReportTransformServiceImpl;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -30,7 +29,7 @@ public class ReportSummaryDto {
     private DataSourceConfig.DataSourceType dataSourceType;
 
     @Schema(description = "Databases array in target format")
-    private List<ReportTransformServiceImpl.DatabaseSummary> databases;
+    private List<DatabaseSummary> databases;
 
     @Schema(description = "Total number of tables")
     private Integer totalTables;
@@ -60,4 +59,37 @@ public class ReportSummaryDto {
         this.dataSourceType = dataSourceType;
     }
 
-}
\ No newline at end of file
+    @Data
+    @Schema(description = "Database with the summaries of its tables")
+    public static class DatabaseSummary {
+
+        @Schema(description = "Database name", example = "sales_dw")
+        private String name;
+
+        @Schema(description = "Table summaries")
+        private List<TableSummary> tables;
+    }
+
+    @Data
+    @Schema(description = "Table summary with column names and a few sample rows")
+    public static class TableSummary {
+
+        @Schema(description = "Table name", example = "orders")
+        private String name;
+
+        @Schema(description = "Schema name (null for file sources)", example = "public")
+        private String schemaName;
+
+        @Schema(description = "Number of rows in table", example = "1500000")
+        private Long rowCount;
+
+        @Schema(description = "Column names")
+        private List<String> columns;
+
+        @Schema(description = "Sample rows")
+        private Object sampleRows;
+
+        @Schema(description = "Table comment/description", example = "Sales orders table")
+        private String comment;
+    }
+}
@@ -75,6 +75,29 @@ public class StructuredReportDto {
         private List<List<Object>> sampleRows;
 
         private boolean useSample;
+
+        @Schema(description = "Per-partition breakdown, present only for partitioned tables when requested")
+        private List<PartitionReport> partitions;
+    }
+
+    /**
+     * Statistics of a single partition of a partitioned table
+     */
+    @Data
+    @Schema(description = "Statistics of a single partition")
+    public static class PartitionReport {
+
+        @Schema(description = "Partition name", example = "p202401")
+        private String name;
+
+        @Schema(description = "Number of rows in partition", example = "125000")
+        private Long rowCount;
+
+        @Schema(description = "Whether statistics were reused from the previous run because the partition did not change", example = "false")
+        private boolean reused;
+
+        @Schema(description = "Column metrics within this partition")
+        private List<ColumnReport> columns;
     }
 
     /**
@@ -0,0 +1,51 @@
+package com.dataprofiler.dto.response;
+
+import com.dataprofiler.entity.ProfilingTask;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the task list
+ * Selected directly by ProfilingTaskRepository, without the request payload or the task's data sources;
+ * the full task is fetched on demand from /api/profiling/profiling-tasks/{id}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Task list entry")
+public class TaskListItemDto {
+
+    @Schema(description = "Task database ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Unique task identifier", example = "task-uuid-12345")
+    private String taskId;
+
+    @Schema(description = "Task name")
+    private String name;
+
+    @Schema(description = "Task description")
+    private String description;
+
+    @Schema(description = "Current task status")
+    private ProfilingTask.TaskStatus status;
+
+    @Schema(description = "Total number of data sources")
+    private Integer totalDataSources;
+
+    @Schema(description = "Number of processed data sources")
+    private Integer processedDataSources;
+
+    @Schema(description = "Task status information")
+    private String info;
+
+    @Schema(description = "Task creation time")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Task completion time")
+    private LocalDateTime completedAt;
+}
@@ -45,6 +45,12 @@ public class TaskStatusResponse {
     @Schema(description = "List of data sources associated with this task")
     private List<DataSourceInfo> dataSources;
 
+    @Schema(description = "Slowest statements of the task so far, slowest first")
+    private List<TaskTimelineDto.SlowQuery> slowestQueries;
+
+    @Schema(description = "Execution timeline per work item and column, only when requested with includeTimeline")
+    private List<TaskTimelineDto.Entry> timeline;
+
     /**
      * Data source information for task status response
      */
@@ -0,0 +1,115 @@
+package com.dataprofiler.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Execution timeline of a profiling task: one entry per work item with its column spans,
+ * plus the slowest statements the task issued against its data sources
+ */
+@Data
+@Schema(description = "Execution timeline and slowest queries of a profiling task")
+public class TaskTimelineDto {
+
+    @Schema(description = "Work items in start order, each with the time spent per column")
+    private List<Entry> entries = new ArrayList<>();
+
+    @Schema(description = "Slowest statements of the task, slowest first")
+    private List<SlowQuery> slowestQueries = new ArrayList<>();
+
+    /**
+     * One work item: the planning of a data source or the profiling of a table
+     */
+    @Data
+    @Schema(description = "Timeline entry of a work item")
+    public static class Entry {
+
+        @Schema(description = "Data source ID", example = "ds-pg-01")
+        private String sourceId;
+
+        @Schema(description = "Work item kind", example = "TABLE")
+        private String kind;
+
+        @Schema(description = "Profiled table as schema.table, null for planning", example = "public.orders")
+        private String table;
+
+        @Schema(description = "Backend instance that ran the item")
+        private String node;
+
+        @Schema(description = "Final status of the item", example = "DONE")
+        private String status;
+
+        @Schema(description = "Start time in epoch milliseconds")
+        private long startedAt;
+
+        @Schema(description = "Duration in milliseconds")
+        private long durationMillis;
+
+        @Schema(description = "Number of statements executed")
+        private int queries;
+
+        @Schema(description = "Number of rows the statements returned")
+        private long rowsReturned;
+
+        @Schema(description = "Time spent per column; statements outside column profiling have no column")
+        private List<ColumnSpan> columns = new ArrayList<>();
+    }
+
+    /**
+     * Statements issued while profiling one column
+     */
+    @Data
+    @Schema(description = "Time spent on a column")
+    public static class ColumnSpan {
+
+        @Schema(description = "Column name, null for table-level statements", example = "customer_id")
+        private String column;
+
+        @Schema(description = "Start of the first statement in epoch milliseconds")
+        private long startedAt;
+
+        @Schema(description = "Time from the start of the first statement to the end of the last, in milliseconds")
+        private long durationMillis;
+
+        @Schema(description = "Number of statements executed")
+        private int queries;
+
+        @Schema(description = "Number of rows the statements returned")
+        private long rowsReturned;
+    }
+
+    /**
+     * One statement, timed from execution until its results were read
+     */
+    @Data
+    @Schema(description = "Slow statement")
+    public static class SlowQuery {
+
+        @Schema(description = "Data source ID", example = "ds-pg-01")
+        private String sourceId;
+
+        @Schema(description = "Table as schema.table", example = "public.orders")
+        private String table;
+
+        @Schema(description = "Column being profiled, null for table-level statements")
+        private String column;
+
+        @Schema(description = "SQL text, truncated")
+        private String sql;
+
+        @Schema(description = "Start time in epoch milliseconds")
+        private long startedAt;
+
+        @Schema(description = "Duration in milliseconds")
+        private long durationMillis;
+
+        @Schema(description = "Number of rows returned, -1 when unknown")
+        private long rowsReturned;
+
+        @Schema(description = "Whether the statement failed")
+        private boolean failed;
+    }
+}
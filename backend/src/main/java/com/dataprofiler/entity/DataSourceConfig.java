@@ -9,7 +9,12 @@ import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Entity representing a data source configuration
@@ -42,6 +47,11 @@ public class DataSourceConfig {
      * Dynamic properties stored as JSON
      * Content varies based on data source type:
      * - For databases: host, port, username, password, database, schema
+     *   (optional tuning: parallelDegree, maxParallelDegree, copyFastPath,
+     *   partitionProfiling, partitionParallelism, partitionIncremental, partitionBreakdown,
+     *   maxConcurrentQueries, adaptiveThrottling, loadHighWatermark, loadLowWatermark)
+     *   (optional read replicas: replicas, maxReplicaLagSeconds, replicaFailover)
+     *   (optional scan windows: maintenanceWindows, maintenanceTimezone)
      * - For files: originalFileName, internalFileId, fileSize, mimeType
      */
     @Column(nullable = false)
@@ -57,6 +67,11 @@ public class DataSourceConfig {
     private LocalDateTime updatedAt;
 
 
+    /**
+     * Parallel degree budget of sources that do not set "maxParallelDegree"; each concurrent scan may use this many server workers
+     */
+    public static final int DEFAULT_MAX_PARALLEL_DEGREE = 4;
+
     // Constructors
     public DataSourceConfig() {}
 
@@ -92,6 +107,204 @@ public class DataSourceConfig {
         return properties != null ? properties.get("connectionUrl") : null;
     }
 
+    /**
+     * Degree of server-side parallelism for full-scan profiling queries.
+     * Opt-in via the "parallelDegree" property and capped by the "maxParallelDegree" budget
+     * (default {@link #DEFAULT_MAX_PARALLEL_DEGREE}); returns 1 (serial) when not configured.
+     */
+    public int getParallelDegree() {
+        int requested = getIntProperty("parallelDegree", 1);
+        int budget = getIntProperty("maxParallelDegree", DEFAULT_MAX_PARALLEL_DEGREE);
+        return Math.max(1, Math.min(requested, budget));
+    }
+
+    /**
+     * Whether PostgreSQL scan profiling may stream rows through binary COPY.
+     * Opt-in via the "copyFastPath" property.
+     */
+    public boolean isCopyFastPathEnabled() {
+        return getBooleanProperty("copyFastPath");
+    }
+
+    /**
+     * Whether partitioned tables are profiled partition by partition and merged.
+     * Opt-in via the "partitionProfiling" property.
+     */
+    public boolean isPartitionProfilingEnabled() {
+        return getBooleanProperty("partitionProfiling");
+    }
+
+    /**
+     * Number of partitions scanned concurrently, each on its own connection (default 4)
+     * Helper scans run on the work scheduler, so the source's concurrency limit still applies
+     */
+    public int getPartitionParallelism() {
+        return Math.max(1, getIntProperty("partitionParallelism", 4));
+    }
+
+    /**
+     * Whether unchanged partitions reuse the statistics of the previous run
+     */
+    public boolean isPartitionIncremental() {
+        return getBooleanProperty("partitionIncremental");
+    }
+
+    /**
+     * Whether per-partition statistics are kept in the report
+     */
+    public boolean isPartitionBreakdownEnabled() {
+        return getBooleanProperty("partitionBreakdown");
+    }
+
+    /**
+     * Maximum number of profiling work items run against this source at the same time, across all tasks.
+     * Configured via the "maxConcurrentQueries" property; falls back to the given scheduler default.
+     */
+    public int getMaxConcurrentQueries(int defaultValue) {
+        return Math.max(1, getIntProperty("maxConcurrentQueries", defaultValue));
+    }
+
+    /**
+     * Whether concurrency and pacing against this source adapt to its observed load (default true).
+     * Disabled by setting the "adaptiveThrottling" property to false.
+     */
+    public boolean isAdaptiveThrottlingEnabled() {
+        String value = properties != null ? properties.get("adaptiveThrottling") : null;
+        return value == null || Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Active sessions on the source at or above which profiling backs off (default 16)
+     */
+    public int getLoadHighWatermark() {
+        return getIntProperty("loadHighWatermark", 16);
+    }
+
+    /**
+     * Active sessions on the source at or below which profiling may speed up again (default 4)
+     */
+    public int getLoadLowWatermark() {
+        return getIntProperty("loadLowWatermark", 4);
+    }
+
+    /**
+     * Read replica endpoints from the "replicas" property, separated by spaces or newlines.
+     * Each entry is either host[:port] (port defaults to the primary port) or a full JDBC URL; commas and
+     * semicolons are part of multi-host and SQL Server URLs, whitespace never is.
+     */
+    public List<String> getReplicaEndpoints() {
+        String value = properties != null ? properties.get("replicas") : null;
+        if (value == null || value.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(value.trim().split("\\s+"))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @throws IllegalArgumentException if a replica endpoint cannot be parsed
+     */
+    public void validateReplicaEndpoints() {
+        for (String endpoint : getReplicaEndpoints()) {
+            withEndpoint(endpoint);
+        }
+    }
+
+    /**
+     * Maximum replication lag a replica may have to receive profiling scans (default 30 seconds)
+     */
+    public int getMaxReplicaLagSeconds() {
+        return getIntProperty("maxReplicaLagSeconds", 30);
+    }
+
+    /**
+     * Whether scans may fall back to the primary when no replica is usable.
+     * Opt-in via the "replicaFailover" property.
+     */
+    public boolean isReplicaFailoverAllowed() {
+        return getBooleanProperty("replicaFailover");
+    }
+
+    /**
+     * Weekly windows in which heavy profiling scans may run, from the "maintenanceWindows" property
+     * (e.g. "MON-FRI 22:00-06:00; SAT,SUN 00:00-24:00"); null means scans may run at any time
+     */
+    public String getMaintenanceWindowSpec() {
+        return properties != null ? properties.get("maintenanceWindows") : null;
+    }
+
+    /**
+     * Time zone the maintenance windows are given in ("maintenanceTimezone"), null for the server default
+     */
+    public String getMaintenanceTimezone() {
+        String value = properties != null ? properties.get("maintenanceTimezone") : null;
+        return value != null && !value.trim().isEmpty() ? value.trim() : null;
+    }
+
+    /**
+     * Detached copy of this configuration pointing at another endpoint of the same database
+     * IPv6 addresses are given in brackets when followed by a port ("[::1]:5432") and kept bracketed in the host,
+     * as JDBC URLs need them.
+     *
+     * @param endpoint host[:port], [ipv6-address][:port] or a full JDBC URL
+     * @throws IllegalArgumentException if the endpoint cannot be parsed
+     */
+    public DataSourceConfig withEndpoint(String endpoint) {
+        Map<String, String> endpointProperties = properties != null ? new HashMap<>(properties) : new HashMap<>();
+        if (endpoint.startsWith("jdbc:")) {
+            endpointProperties.put("connectionUrl", endpoint);
+        } else {
+            endpointProperties.remove("connectionUrl");
+            String host = endpoint;
+            String port = null;
+            if (endpoint.startsWith("[")) {
+                int close = endpoint.indexOf(']');
+                if (close < 0 || (close + 1 < endpoint.length() && endpoint.charAt(close + 1) != ':')) {
+                    throw new IllegalArgumentException("Invalid endpoint: " + endpoint);
+                }
+                host = endpoint.substring(0, close + 1);
+                port = close + 1 < endpoint.length() ? endpoint.substring(close + 2) : null;
+            } else if (endpoint.indexOf(':') != endpoint.lastIndexOf(':')) {
+                // Bare IPv6 address, which cannot carry a port
+                host = "[" + endpoint + "]";
+            } else if (endpoint.indexOf(':') > 0) {
+                host = endpoint.substring(0, endpoint.indexOf(':'));
+                port = endpoint.substring(endpoint.indexOf(':') + 1);
+            }
+            if (!host.startsWith("[") && !host.matches("[A-Za-z0-9._-]+")) {
+                throw new IllegalArgumentException("Invalid host in endpoint: " + endpoint);
+            }
+            if (port != null && !port.matches("\\d{1,5}")) {
+                throw new IllegalArgumentException("Invalid port in endpoint: " + endpoint);
+            }
+            endpointProperties.put("host", host);
+            if (port != null) {
+                endpointProperties.put("port", port);
+            }
+        }
+        DataSourceConfig copy = new DataSourceConfig(name, type, endpointProperties);
+        copy.setId(id);
+        copy.setSourceId(sourceId);
+        copy.setDescription(description);
+        return copy;
+    }
+
+    private boolean getBooleanProperty(String key) {
+        return properties != null && Boolean.parseBoolean(properties.get(key));
+    }
+
+    private int getIntProperty(String key, int defaultValue) {
+        String value = properties != null ? properties.get(key) : null;
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     /**
      * Enum for supported data source types
      */
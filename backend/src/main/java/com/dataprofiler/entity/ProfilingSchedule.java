@@ -0,0 +1,78 @@
+package com.dataprofiler.entity;
+
+import com.dataprofiler.utils.JpaScopeConverter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entity representing a recurring profiling schedule of a data source
+ * A task is started whenever the cron expression fires; its table scans still wait for the
+ * maintenance windows of the data source.
+ */
+@Entity
+@Table(name = "profiling_schedules")
+@Data
+public class ProfilingSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Schedule name is required")
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @NotBlank(message = "Data source ID is required")
+    @Column(name = "source_id", nullable = false, length = 50)
+    private String sourceId;
+
+    @NotBlank(message = "Cron expression is required")
+    @Schema(description = "Spring cron expression (second minute hour day month weekday)", example = "0 0 1 * * *")
+    @Column(name = "cron_expression", nullable = false, length = 100)
+    private String cronExpression;
+
+    @Schema(description = "Time zone of the cron expression, server default if empty", example = "Europe/Berlin")
+    @Column(length = 50)
+    private String timezone;
+
+    @Schema(description = "Map of schema name to list of table names. Empty means the whole data source.",
+            example = "{\"public\": [\"orders\"], \"marketing\": []}")
+    @Convert(converter = JpaScopeConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private Map<String, List<String>> schemas = new HashMap<>();
+
+    @Min(value = 1, message = "Priority must be at least 1")
+    @Max(value = 10, message = "Priority cannot exceed 10")
+    private Integer priority = 5;
+
+    @Column(nullable = false)
+    private Boolean enabled = true;
+
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+
+    @Column(name = "last_task_id")
+    private String lastTaskId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
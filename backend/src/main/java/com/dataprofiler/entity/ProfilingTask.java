@@ -6,6 +6,9 @@ import javax.validation.constraints.NotNull;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,7 +21,10 @@ import java.util.List;
  * Tracks the lifecycle and status of data profiling operations
  */
 @Entity
-@Table(name = "profiling_tasks")
+@Table(name = "profiling_tasks", indexes = {
+        @Index(name = "idx_profiling_tasks_fingerprint", columnList = "request_fingerprint"),
+        @Index(name = "idx_profiling_tasks_created", columnList = "created_at, id")
+})
 @Data
 public class ProfilingTask {
 
@@ -39,9 +45,13 @@ public class ProfilingTask {
     /**
      * Multiple data sources associated with this profiling task
      * Task will process all data sources sequentially
+     * Loaded on access only, in batches when several tasks are read; use findWithDataSourcesById to fetch them with the task
      */
     @JsonIgnore
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @BatchSize(size = 50)
+    @ManyToMany(fetch = FetchType.LAZY)
 //    @JoinTable(
 //        name = "profiling_task_datasource",
 //        joinColumns = @JoinColumn(name = "task_id"),
@@ -73,6 +83,18 @@ public class ProfilingTask {
     @Column(name = "request_payload", columnDefinition = "TEXT")
     private String requestPayload;
 
+    /**
+     * SHA-256 of the normalized request (sources, scope, limits), used to share identical tasks
+     */
+    @Column(name = "request_fingerprint", length = 64)
+    private String requestFingerprint;
+
+    /**
+     * How the request that returned this task was served; not persisted
+     */
+    @Transient
+    private ReuseMode reuse;
+
     @Column(name = "field_max_length")
     private Integer fieldMaxLength = 128;
 
@@ -89,6 +111,37 @@ public class ProfilingTask {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    /**
+     * Time by which the task must finish, pushed back while all of its work is waiting
+     */
+    @Column(name = "deadline_at")
+    private LocalDateTime deadlineAt;
+
+    /**
+     * Since when all remaining work of the task is queued with nothing running, null while it runs
+     */
+    @JsonIgnore
+    @Column(name = "paused_at")
+    private LocalDateTime pausedAt;
+
+    /**
+     * Final status requested by a cancel or missed deadline; the task reaches it once in-flight work has stopped
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stop_status", length = 20)
+    private TaskStatus stopStatus;
+
+    /**
+     * Backend instance assembling the reports after the last work item finished
+     */
+    @JsonIgnore
+    @Column(name = "assembly_node", length = 100)
+    private String assemblyNode;
+
+    @JsonIgnore
+    @Column(name = "assembly_expires_at")
+    private LocalDateTime assemblyExpiresAt;
+
 
     // Constructors
     public ProfilingTask() {}
@@ -152,6 +205,14 @@ public class ProfilingTask {
     }
 
 
+    /**
+     * NEW: a task was started; ATTACHED: joined an identical running task;
+     * CACHED: reused the result of an identical task completed within the TTL
+     */
+    public enum ReuseMode {
+        NEW, ATTACHED, CACHED
+    }
+
     /**
      * Enum defining task status values
      */
@@ -0,0 +1,28 @@
+package com.dataprofiler.entity;
+
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Execution timeline of a finished profiling task, kept after its work items are deleted
+ * Holds a TaskTimelineDto as JSON: per work item and column timings, and the slowest statements.
+ */
+@Entity
+@Table(name = "profiling_task_timelines")
+@Data
+public class ProfilingTaskTimeline {
+
+    @Id
+    @Column(name = "task_id", nullable = false)
+    private String taskId;
+
+    @Column(name = "timeline_json", columnDefinition = "LONGTEXT")
+    private String timelineJson;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
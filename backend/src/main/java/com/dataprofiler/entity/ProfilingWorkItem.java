@@ -0,0 +1,97 @@
+package com.dataprofiler.entity;
+
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing one unit of profiling work of a task, shared by all backend instances
+ * A PLAN item enumerates the tables of a data source and creates one TABLE item per table. Items are
+ * claimed with a time-limited lease that the owning instance renews while it works; an expired lease
+ * makes the item claimable by any other instance. Results are kept until the task is assembled.
+ */
+@Entity
+@Table(name = "profiling_work_items", indexes = {
+        @Index(name = "idx_work_items_claim", columnList = "status, priority"),
+        @Index(name = "idx_work_items_task", columnList = "task_id")
+})
+@Data
+public class ProfilingWorkItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private String taskId;
+
+    @Column(name = "source_id", nullable = false, length = 50)
+    private String sourceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Kind kind;
+
+    /**
+     * Position of the table in the planned order of its data source
+     */
+    @Column(name = "item_index", nullable = false)
+    private Integer itemIndex = 0;
+
+    @Column(nullable = false)
+    private Integer priority;
+
+    /**
+     * Profiling scope of the item as JSON
+     */
+    @Column(name = "scope_payload", columnDefinition = "TEXT")
+    private String scopePayload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status = Status.PENDING;
+
+    @Column(name = "owner_node", length = 100)
+    private String ownerNode;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * Number of times the item was claimed
+     */
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    /**
+     * Raw profile of the table as JSON, set once the item is DONE
+     */
+    @Column(name = "result_payload", columnDefinition = "LONGTEXT")
+    private String resultPayload;
+
+    @Column(length = 1000)
+    private String error;
+
+    /**
+     * Timeline entry and slowest statements of the item as TaskTimelineDto JSON, set once the item ran
+     */
+    @Column(name = "trace_payload", columnDefinition = "LONGTEXT")
+    private String tracePayload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Kind {
+        PLAN, TABLE
+    }
+
+    public enum Status {
+        PENDING, CLAIMED, DONE, FAILED, CANCELLED
+    }
+}
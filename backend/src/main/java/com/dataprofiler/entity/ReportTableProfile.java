@@ -0,0 +1,72 @@
+package com.dataprofiler.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import javax.persistence.*;
+
+/**
+ * Profile of one table of a structured report
+ * Stored as its own row so that report pages and schema/table filters are answered by indexed queries
+ * that read only the requested tables, instead of parsing the whole report.
+ */
+@Entity
+@Table(name = "report_table_profiles", indexes = {
+        @Index(name = "idx_report_tables_lookup", columnList = "task_id, data_source_id, schema_name, table_name"),
+        @Index(name = "idx_report_tables_order", columnList = "report_id, table_index")
+})
+@Data
+public class ReportTableProfile {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "report_id", nullable = false)
+    private StructuredReport report;
+
+    @Column(name = "report_id", insertable = false, updatable = false)
+    private Long reportId;
+
+    @Column(name = "task_id", nullable = false, length = 64)
+    private String taskId;
+
+    @Column(name = "data_source_id", nullable = false, length = 50)
+    private String dataSourceId;
+
+    @Column(name = "schema_name", length = 128)
+    private String schemaName;
+
+    @Column(name = "table_name", nullable = false, length = 128)
+    private String tableName;
+
+    /**
+     * Position of the table within its report
+     */
+    @Column(name = "table_index", nullable = false)
+    private Integer tableIndex;
+
+    @Column(name = "row_count")
+    private Long rowCount;
+
+    @Column(name = "column_count")
+    private Integer columnCount;
+
+    /**
+     * StructuredReportDto.TableReport encoded by ReportPayloadCodec
+     */
+    @Column(name = "profile_data", columnDefinition = "LONGBLOB")
+    private byte[] profileData;
+
+    /**
+     * ReportSummaryDto.TableSummary encoded by ReportPayloadCodec, computed when the report is saved
+     */
+    @Column(name = "summary_data", columnDefinition = "LONGBLOB")
+    private byte[] summaryData;
+}
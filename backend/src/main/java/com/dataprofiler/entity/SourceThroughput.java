@@ -0,0 +1,32 @@
+package com.dataprofiler.entity;
+
+import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Profiling throughput learned from past runs against a data source
+ * Stored as an exponentially weighted average of milliseconds per million cost units
+ * (see ProfilingCostModel), updated after every profiled table.
+ */
+@Entity
+@Table(name = "source_throughput")
+@Data
+public class SourceThroughput {
+
+    @Id
+    @Column(name = "source_id", nullable = false, length = 50)
+    private String sourceId;
+
+    @Column(name = "millis_per_million_units", nullable = false)
+    private Double millisPerMillionUnits;
+
+    @Column(name = "observed_tables", nullable = false)
+    private Long observedTables = 0L;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
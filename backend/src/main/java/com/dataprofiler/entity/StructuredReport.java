@@ -20,7 +20,10 @@ import java.time.LocalDateTime;
  * - Metadata fields for efficient filtering and sorting
  */
 @Entity
-@Table(name = "structured_reports")
+@Table(name = "structured_reports", indexes = {
+        @Index(name = "idx_structured_reports_task_generated", columnList = "task_id, generated_at, id"),
+        @Index(name = "idx_structured_reports_generated", columnList = "generated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -52,14 +55,20 @@ public class StructuredReport {
 
 
     /**
-     * Database profile information as JSON
+     * Database profile information encoded by ReportPayloadCodec
+     */
+    @Column(name = "database_profile_data", columnDefinition = "LONGBLOB")
+    private byte[] databaseProfileData;
+
+    /**
+     * Database profile information as JSON, only for reports saved before payloads were encoded
      */
 //    @Lob
     @Column(name = "database_profile_json")
     private String databaseProfileJson;
 
     /**
-     * Table profiles information as JSON
+     * Table profiles information as JSON, only for reports saved before tables were stored in report_table_profiles
      */
 //    @Lob
     @Column(name = "table_profiles_json")
@@ -79,4 +88,10 @@ public class StructuredReport {
     @Column(name = "estimated_total_size_bytes")
     private Long estimatedTotalSizeBytes;
 
+    /**
+     * Name of the profiled database, null for reports saved before summaries were materialized
+     */
+    @Column(name = "database_name")
+    private String databaseName;
+
 }
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.dataprofiler.execution;
+
+import com.dataprofiler.entity.DataSourceConfig;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Weekly maintenance windows of a data source, during which heavy profiling scans may run
+ * Spec format: ranges separated by ';', each an optional day list followed by a time range, e.g.
+ * "MON-FRI 22:00-06:00; SAT,SUN 00:00-24:00". A range ending at or before its start crosses midnight
+ * and belongs to the day it starts on; a range without days applies to every day.
+ */
+public final class MaintenanceWindow {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final List<Range> ranges;
+    private final ZoneId zone;
+
+    private MaintenanceWindow(List<Range> ranges, ZoneId zone) {
+        this.ranges = ranges;
+        this.zone = zone;
+    }
+
+    /**
+     * Windows configured on a data source ("maintenanceWindows", "maintenanceTimezone"), or null if it has none
+     *
+     * @throws IllegalArgumentException if the spec or time zone is invalid
+     */
+    public static MaintenanceWindow of(DataSourceConfig dataSource) {
+        String spec = dataSource.getMaintenanceWindowSpec();
+        if (spec == null || spec.trim().isEmpty()) {
+            return null;
+        }
+        String timezone = dataSource.getMaintenanceTimezone();
+        try {
+            return parse(spec, timezone != null ? ZoneId.of(timezone) : ZoneId.systemDefault());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid maintenance time zone: " + timezone, e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the spec is invalid
+     */
+    public static MaintenanceWindow parse(String spec, ZoneId zone) {
+        List<Range> ranges = new ArrayList<>();
+        for (String entry : spec.split(";")) {
+            String trimmed = entry.trim();
+            if (!trimmed.isEmpty()) {
+                ranges.add(Range.parse(trimmed));
+            }
+        }
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("Maintenance window spec has no ranges: " + spec);
+        }
+        return new MaintenanceWindow(Collections.unmodifiableList(ranges), zone);
+    }
+
+    public boolean isOpen(Instant instant) {
+        ZonedDateTime time = instant.atZone(zone);
+        LocalDate date = time.toLocalDate();
+        int minute = time.getHour() * 60 + time.getMinute();
+        for (Range range : ranges) {
+            if (range.days.contains(date.getDayOfWeek())) {
+                if (range.crossesMidnight() ? minute >= range.start : minute >= range.start && minute < range.end) {
+                    return true;
+                }
+            }
+            // Tail of a range that started the day before
+            if (range.crossesMidnight() && range.days.contains(date.minusDays(1).getDayOfWeek()) && minute < range.end) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The given instant if a window is open, otherwise the start of the next window
+     */
+    public Instant nextOpening(Instant instant) {
+        if (isOpen(instant)) {
+            return instant;
+        }
+        ZonedDateTime time = instant.atZone(zone);
+        ZonedDateTime next = null;
+        for (int day = 0; day <= 7; day++) {
+            LocalDate date = time.toLocalDate().plusDays(day);
+            for (Range range : ranges) {
+                if (!range.days.contains(date.getDayOfWeek())) {
+                    continue;
+                }
+                ZonedDateTime start = ZonedDateTime.of(date, LocalTime.of(range.start / 60, range.start % 60), zone);
+                if (start.isAfter(time) && (next == null || start.isBefore(next))) {
+                    next = start;
+                }
+            }
+            if (next != null) {
+                break;
+            }
+        }
+        return next != null ? next.toInstant() : instant;
+    }
+
+    private static class Range {
+        private final Set<DayOfWeek> days;
+        private final int start;
+        private final int end;
+
+        Range(Set<DayOfWeek> days, int start, int end) {
+            this.days = days;
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean crossesMidnight() {
+            return end <= start;
+        }
+
+        static Range parse(String entry) {
+            String[] parts = entry.split("\\s+");
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("Invalid maintenance window: " + entry);
+            }
+            Set<DayOfWeek> days = parts.length == 2 ? parseDays(parts[0]) : EnumSet.allOf(DayOfWeek.class);
+            String[] times = parts[parts.length - 1].split("-");
+            if (times.length != 2) {
+                throw new IllegalArgumentException("Invalid maintenance window time range: " + entry);
+            }
+            int start = parseMinute(times[0]);
+            int end = parseMinute(times[1]);
+            if (start == MINUTES_PER_DAY || start == end) {
+                throw new IllegalArgumentException("Invalid maintenance window time range: " + entry);
+            }
+            return new Range(days, start, end);
+        }
+
+        private static Set<DayOfWeek> parseDays(String value) {
+            Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            for (String token : value.split(",")) {
+                String[] bounds = token.split("-");
+                DayOfWeek from = parseDay(bounds[0]);
+                DayOfWeek to = bounds.length > 1 ? parseDay(bounds[1]) : from;
+                // Ranges may wrap around the week, e.g. FRI-MON
+                for (DayOfWeek day = from; ; day = day.plus(1)) {
+                    days.add(day);
+                    if (day == to) {
+                        break;
+                    }
+                }
+            }
+            return days;
+        }
+
+        private static DayOfWeek parseDay(String value) {
+            String name = value.trim().toUpperCase(Locale.ROOT);
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if (name.length() >= 3 && day.name().startsWith(name)) {
+                    return day;
+                }
+            }
+            throw new IllegalArgumentException("Invalid day of week in maintenance window: " + value);
+        }
+
+        private static int parseMinute(String value) {
+            String[] hm = value.trim().split(":");
+            try {
+                int hour = Integer.parseInt(hm[0]);
+                int minute = hm.length > 1 ? Integer.parseInt(hm[1]) : 0;
+                int total = hour * 60 + minute;
+                if (hm.length > 2 || hour < 0 || minute < 0 || minute > 59 || total > MINUTES_PER_DAY) {
+                    throw new IllegalArgumentException("Invalid time in maintenance window: " + value);
+                }
+                return total;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid time in maintenance window: " + value, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package com.dataprofiler.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Execution context of a running profiling task
+ * Tracks the source-database connections and statements opened on behalf of the task so that
+ * cancellation or a missed deadline can stop in-flight queries instead of waiting for them to finish
+ */
+public class ProfilingContext {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingContext.class);
+
+    private static final ThreadLocal<ProfilingContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Why a task was stopped before completion
+     */
+    public enum CancelReason {
+        CANCELLED,
+        TIMED_OUT
+    }
+
+    private final String taskId;
+    private final Instant deadline;
+    private final Set<Statement> activeStatements = ConcurrentHashMap.newKeySet();
+    private final Set<Connection> openConnections = ConcurrentHashMap.newKeySet();
+    private volatile CancelReason cancelReason;
+    private volatile Instant pausedSince;
+    private volatile long pausedMillis;
+
+    public ProfilingContext(String taskId, Instant deadline) {
+        this.taskId = taskId;
+        this.deadline = deadline;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Deadline of the task, pushed back by the time it spent paused
+     */
+    public Instant getDeadline() {
+        return deadline != null ? deadline.plusMillis(pausedMillis) : null;
+    }
+
+    public CancelReason getCancelReason() {
+        return cancelReason;
+    }
+
+    public boolean isCancelled() {
+        return cancelReason != null;
+    }
+
+    public boolean isPastDeadline(Instant now) {
+        return deadline != null && pausedSince == null && now.isAfter(getDeadline());
+    }
+
+    public boolean isPaused() {
+        return pausedSince != null;
+    }
+
+    /**
+     * Mark the task as waiting (e.g. for a maintenance window); paused time does not count against the deadline
+     *
+     * @return false if the task was already paused
+     */
+    public synchronized boolean pause(Instant now) {
+        if (pausedSince != null) {
+            return false;
+        }
+        pausedSince = now;
+        return true;
+    }
+
+    /**
+     * @return false if the task was not paused
+     */
+    public synchronized boolean resume(Instant now) {
+        if (pausedSince == null) {
+            return false;
+        }
+        pausedMillis += Math.max(0, now.toEpochMilli() - pausedSince.toEpochMilli());
+        pausedSince = null;
+        return true;
+    }
+
+    public boolean hasOpenConnections() {
+        return !openConnections.isEmpty();
+    }
+
+    /**
+     * Mark the task as stopped and cancel every statement currently executing on the source database
+     *
+     * @return false if the task had already been cancelled
+     */
+    public boolean cancel(CancelReason reason) {
+        synchronized (this) {
+            if (cancelReason != null) {
+                return false;
+            }
+            cancelReason = reason;
+        }
+        logger.info("Cancelling task {} ({}), {} statement(s) in flight", taskId, reason, activeStatements.size());
+        for (Statement statement : activeStatements) {
+            try {
+                statement.cancel();
+            } catch (SQLException | RuntimeException e) {
+                logger.debug("Statement cancel failed for task {}: {}", taskId, e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forcibly abort connections still open after cancellation, for drivers that ignore Statement.cancel()
+     */
+    public void abortConnections(Executor executor) {
+        for (Connection connection : openConnections) {
+            try {
+                logger.warn("Aborting connection still open for cancelled task {}", taskId);
+                connection.abort(executor);
+            } catch (SQLException | RuntimeException e) {
+                logger.debug("Connection abort failed for task {}: {}", taskId, e.getMessage());
+            }
+        }
+        openConnections.clear();
+    }
+
+    /**
+     * Context bound to the calling thread, or null outside of a profiling task
+     */
+    public static ProfilingContext current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(ProfilingContext context) {
+        CURRENT.set(context);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Whether the task running on the calling thread has been cancelled or timed out
+     */
+    public static boolean isCurrentCancelled() {
+        ProfilingContext context = CURRENT.get();
+        return context != null && context.isCancelled();
+    }
+
+    /**
+     * Register a freshly opened connection with the current task
+     * Returns the connection unchanged when no task is bound to the calling thread
+     *
+     * @param sourceType Data source type its statements are timed under (see {@link ProfilingMetrics})
+     */
+    public static Connection track(Connection connection, String sourceType) {
+        ProfilingContext context = CURRENT.get();
+        if (context == null || connection == null) {
+            return connection;
+        }
+        context.openConnections.add(connection);
+        return (Connection) Proxy.newProxyInstance(ProfilingContext.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, context.new ConnectionHandler(connection, sourceType));
+    }
+
+    /**
+     * Open a connection and register it with the current task
+     * The connect time is recorded on the current query trace, so the source's throttle sees what work items see.
+     */
+    public static Connection open(ConnectionOpener opener, String sourceType) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = opener.open();
+        QueryTrace trace = QueryTrace.current();
+        if (trace != null) {
+            trace.recordConnect((System.nanoTime() - start) / 1_000_000);
+        }
+        return track(connection, sourceType);
+    }
+
+    /**
+     * Wrap work submitted to another thread so it runs with the caller's context and query trace bound
+     */
+    public static <T> Callable<T> propagate(Callable<T> callable) {
+        ProfilingContext context = CURRENT.get();
+        if (context == null) {
+            return callable;
+        }
+        QueryTrace trace = QueryTrace.current();
+        return () -> {
+            ProfilingContext previous = CURRENT.get();
+            QueryTrace previousTrace = QueryTrace.current();
+            CURRENT.set(context);
+            QueryTrace.bind(trace);
+            try {
+                return callable.call();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+                QueryTrace.bind(previousTrace);
+            }
+        };
+    }
+
+    private void checkNotCancelled() throws SQLException {
+        if (cancelReason != null) {
+            throw new SQLException("Profiling task " + taskId + " was stopped: " + cancelReason);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Registers statements created on a tracked connection and forgets the connection once closed
+     */
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final String sourceType;
+
+        ConnectionHandler(Connection target, String sourceType) {
+            this.target = target;
+            this.sourceType = sourceType;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "createStatement":
+                case "prepareStatement":
+                case "prepareCall":
+                    checkNotCancelled();
+                    Statement statement = (Statement) ProfilingContext.invoke(target, method, args);
+                    activeStatements.add(statement);
+                    String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                    return Proxy.newProxyInstance(ProfilingContext.class.getClassLoader(),
+                            new Class<?>[]{method.getReturnType()}, new StatementHandler(statement, sourceType, sql));
+                case "close":
+                case "abort":
+                    openConnections.remove(target);
+                    return ProfilingContext.invoke(target, method, args);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return ProfilingContext.invoke(target, method, args);
+            }
+        }
+    }
+
+    /**
+     * Times executed queries, traces them for the current work item and forgets a statement once it is closed
+     */
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sourceType;
+        private final String preparedSql;
+        private volatile QueryTrace.Span openSpan;
+
+        StatementHandler(Statement target, String sourceType, String preparedSql) {
+            this.target = target;
+            this.sourceType = sourceType;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    activeStatements.remove(target);
+                    finishOpenSpan();
+                    return ProfilingContext.invoke(target, method, args);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    if (!method.getName().startsWith("execute")) {
+                        return ProfilingContext.invoke(target, method, args);
+                    }
+                    return execute(method, args);
+            }
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finishOpenSpan();
+            QueryTrace trace = QueryTrace.current();
+            QueryTrace.Span span = null;
+            if (trace != null) {
+                span = trace.start(args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql);
+            }
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                Object result = ProfilingContext.invoke(target, method, args);
+                success = true;
+                if (span != null) {
+                    if (result instanceof ResultSet) {
+                        // The span ends once the rows have been read, so slow fetches show up as well
+                        openSpan = span;
+                        return Proxy.newProxyInstance(ProfilingContext.class.getClassLoader(),
+                                new Class<?>[]{ResultSet.class}, new ResultSetHandler((ResultSet) result, span));
+                    }
+                    span.finish(result instanceof Number ? ((Number) result).longValue() : -1, false);
+                }
+                return result;
+            } finally {
+                ProfilingMetrics.recordQuery(sourceType, System.nanoTime() - start, success);
+                if (!success && span != null) {
+                    span.finish(-1, true);
+                }
+            }
+        }
+
+        private void finishOpenSpan() {
+            QueryTrace.Span span = openSpan;
+            if (span != null) {
+                openSpan = null;
+                span.finish(false);
+            }
+        }
+    }
+
+    /**
+     * Counts the rows read from a traced query and ends its span when the result set is exhausted or closed
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final QueryTrace.Span span;
+
+        ResultSetHandler(ResultSet target, QueryTrace.Span span) {
+            this.target = target;
+            this.span = span;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next":
+                    Object hasRow = ProfilingContext.invoke(target, method, args);
+                    if (Boolean.TRUE.equals(hasRow)) {
+                        span.addRow();
+                    } else {
+                        span.finish(false);
+                    }
+                    return hasRow;
+                case "close":
+                    span.finish(false);
+                    return ProfilingContext.invoke(target, method, args);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return ProfilingContext.invoke(target, method, args);
+            }
+        }
+    }
+
+    /**
+     * Opens a source-database connection, see {@link #open}
+     */
+    @FunctionalInterface
+    public interface ConnectionOpener {
+        Connection open() throws SQLException;
+    }
+}
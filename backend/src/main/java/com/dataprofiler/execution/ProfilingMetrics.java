@@ -0,0 +1,78 @@
+package com.dataprofiler.execution;
+
+import com.dataprofiler.dto.internal.RawProfileDataDto;
+import com.dataprofiler.profiler.ProfilingCostModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of the profiling engine, tagged by data source type
+ * Recorded through the global registry because statements and profilers are not Spring beans;
+ * Spring Boot binds its registry (and so /actuator/metrics and /actuator/prometheus) to it.
+ */
+public final class ProfilingMetrics {
+
+    /** Statements executed against source databases (execution time, not result set fetching) */
+    public static final String QUERIES = "profiling.queries";
+    /** Rows read by profiling queries, estimated with ProfilingCostModel */
+    public static final String ROWS_SCANNED = "profiling.rows.scanned";
+    /** Time to profile one table */
+    public static final String TABLE_DURATION = "profiling.table.duration";
+    /** Time to profile one column's statistics */
+    public static final String COLUMN_DURATION = "profiling.column.duration";
+    /** Strategy chosen per table: exact or sampled */
+    public static final String TABLE_STRATEGY = "profiling.table.strategy";
+
+    private ProfilingMetrics() {
+    }
+
+    public static void recordQuery(String sourceType, long elapsedNanos, boolean success) {
+        Timer.builder(QUERIES)
+                .tag("type", tagValue(sourceType))
+                .tag("outcome", success ? "success" : "error")
+                .register(Metrics.globalRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static void recordColumn(String sourceType, boolean sampled, long elapsedNanos) {
+        Timer.builder(COLUMN_DURATION)
+                .tag("type", tagValue(sourceType))
+                .tag("strategy", sampled ? "sampled" : "exact")
+                .register(Metrics.globalRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the strategy and scanned rows of each profiled table, and the latency when the result is a single table
+     */
+    public static void recordTables(String sourceType, RawProfileDataDto result, double sampledScanFraction, long elapsedNanos) {
+        if (result.getTables() == null) {
+            return;
+        }
+        String type = tagValue(sourceType);
+        for (RawProfileDataDto.TableData table : result.getTables()) {
+            ProfilingCostModel.Strategy strategy = ProfilingCostModel.strategyOf(table);
+            String strategyTag = strategy.name().toLowerCase(Locale.ROOT);
+
+            Counter.builder(TABLE_STRATEGY).tag("type", type).tag("strategy", strategyTag)
+                    .register(Metrics.globalRegistry).increment();
+            long scanned = ProfilingCostModel.observedRowsScanned(table, sampledScanFraction);
+            if (scanned > 0) {
+                Counter.builder(ROWS_SCANNED).tag("type", type)
+                        .register(Metrics.globalRegistry).increment(scanned);
+            }
+            if (result.getTables().size() == 1) {
+                Timer.builder(TABLE_DURATION).tag("type", type).tag("strategy", strategyTag)
+                        .register(Metrics.globalRegistry).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static String tagValue(String sourceType) {
+        return sourceType != null ? sourceType : "unknown";
+    }
+}
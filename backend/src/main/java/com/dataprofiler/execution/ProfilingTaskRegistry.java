@@ -0,0 +1,89 @@
+package com.dataprofiler.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of profiling tasks with work items currently executing in this instance
+ * Cancellation is signalled through the in-memory context so in-flight statements stop immediately;
+ * stop requests made on other instances reach it through the work item heartbeat.
+ * Deadlines are tracked on the task row, so local contexts carry none.
+ */
+@Component
+public class ProfilingTaskRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingTaskRegistry.class);
+
+    private final Map<String, ProfilingContext> running = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService abortScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Profiling-abort");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.profiling.cancel-grace-seconds:5}")
+    private long cancelGraceSeconds;
+
+    /**
+     * Register a task whose first work item is about to run in this instance
+     */
+    public ProfilingContext register(String taskId) {
+        ProfilingContext context = new ProfilingContext(taskId, null);
+        running.put(taskId, context);
+        return context;
+    }
+
+    /**
+     * Remove the given context, unless the task was registered again since
+     */
+    public void unregister(String taskId, ProfilingContext context) {
+        running.remove(taskId, context);
+    }
+
+    public ProfilingContext get(String taskId) {
+        return running.get(taskId);
+    }
+
+    public List<ProfilingContext> getRunning() {
+        return new ArrayList<>(running.values());
+    }
+
+    /**
+     * Cancel in-flight statements now and abort connections that are still open after the grace period
+     *
+     * @return false if the task is not running here or was already stopped
+     */
+    public boolean cancel(String taskId, ProfilingContext.CancelReason reason) {
+        ProfilingContext context = running.get(taskId);
+        if (context == null || !context.cancel(reason)) {
+            return false;
+        }
+        abortScheduler.schedule(() -> {
+            if (context.hasOpenConnections()) {
+                context.abortConnections(abortScheduler);
+            }
+        }, cancelGraceSeconds, TimeUnit.SECONDS);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ProfilingContext context : running.values()) {
+            logger.info("Stopping running task {} on shutdown", context.getTaskId());
+            context.cancel(ProfilingContext.CancelReason.CANCELLED);
+        }
+        abortScheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,438 @@
+package com.dataprofiler.execution;
+
+import com.dataprofiler.entity.DataSourceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fair scheduler for table-level profiling work
+ * A fixed set of workers (global cap) pulls work items from all running tasks. Tasks are interleaved with
+ * stride scheduling, so a higher priority gives a task proportionally more turns without starving others,
+ * and no data source ever has more work items in flight than its max-concurrent-queries limit.
+ * When a SourceLoadController is present, that limit is lowered and dispatches are paced while the source is under load.
+ * Scan work against a source with maintenance windows is only dispatched while a window is open; a task whose
+ * remaining work is all waiting for a window is paused, so the wait does not count against its deadline.
+ */
+@Component
+public class ProfilingWorkScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingWorkScheduler.class);
+
+    public static final int MIN_PRIORITY = 1;
+    public static final int MAX_PRIORITY = 10;
+    public static final int DEFAULT_PRIORITY = 5;
+
+    private static final long STRIDE = 10_000L;
+
+    /**
+     * Kind of work item, deciding whether it must wait for the source's maintenance window
+     */
+    public enum WorkKind {
+        /** Cheap catalog and metadata queries, allowed at any time */
+        CATALOG,
+        /** Table scans, only run inside the maintenance window */
+        SCAN
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Map<String, TaskQueue> tasks = new LinkedHashMap<>();
+    private final Map<String, Integer> sourceInFlight = new HashMap<>();
+    private final Map<String, Long> sourceNotBefore = new HashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private long virtualTime;
+    private volatile boolean running;
+
+    @Value("${app.profiling.scheduler.max-workers:4}")
+    private int maxWorkers;
+
+    @Value("${app.profiling.scheduler.source-concurrency:2}")
+    private int defaultSourceConcurrency;
+
+    @Autowired(required = false)
+    private SourceLoadController loadController;
+
+    public ProfilingWorkScheduler() {
+    }
+
+    ProfilingWorkScheduler(int maxWorkers, int defaultSourceConcurrency) {
+        this.maxWorkers = maxWorkers;
+        this.defaultSourceConcurrency = defaultSourceConcurrency;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        int workerCount = Math.max(1, maxWorkers);
+        for (int i = 1; i <= workerCount; i++) {
+            Thread worker = new Thread(this::workLoop, "Profiling-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        logger.info("Profiling scheduler started with {} workers, default per-source concurrency {}",
+                workerCount, defaultSourceConcurrency);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        lock.lock();
+        try {
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Register a task before submitting its work
+     * The task holds one reference until {@link #release(String)} is called, so it cannot be considered
+     * drained while its initial work is still being submitted. onDrained runs once no work is left.
+     */
+    public void register(ProfilingContext context, int priority, Runnable onDrained) {
+        lock.lock();
+        try {
+            TaskQueue queue = new TaskQueue(context, clampPriority(priority), onDrained);
+            // Start new tasks at the current virtual time so they neither starve nor get a burst of credit
+            queue.pass = virtualTime;
+            tasks.put(context.getTaskId(), queue);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queue a scan work item of a task against the given data source
+     */
+    public void submit(String taskId, DataSourceConfig source, Runnable work) {
+        submit(taskId, source, WorkKind.SCAN, work);
+    }
+
+    /**
+     * Queue a work item of a task against the given data source
+     * Items submitted for unknown or stopped tasks are dropped.
+     */
+    public void submit(String taskId, DataSourceConfig source, WorkKind kind, Runnable work) {
+        MaintenanceWindow window = null;
+        if (kind == WorkKind.SCAN) {
+            try {
+                window = MaintenanceWindow.of(source);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring invalid maintenance window of data source {}: {}", source.getSourceId(), e.getMessage());
+            }
+        }
+        lock.lock();
+        try {
+            TaskQueue queue = tasks.get(taskId);
+            if (queue == null || queue.context.isCancelled()) {
+                return;
+            }
+            queue.items.add(new WorkItem(source, source.getMaxConcurrentQueries(defaultSourceConcurrency), window, work));
+            queue.pending++;
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take another reference on a registered task, to submit more work without registering it again
+     *
+     * @return false if the task is unknown (drained) or stopped
+     */
+    public boolean retain(String taskId) {
+        lock.lock();
+        try {
+            TaskQueue queue = tasks.get(taskId);
+            if (queue == null || queue.context.isCancelled()) {
+                return false;
+            }
+            queue.pending++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release the reference taken by {@link #register} or {@link #retain}
+     */
+    public void release(String taskId) {
+        TaskQueue drained;
+        lock.lock();
+        try {
+            TaskQueue queue = tasks.get(taskId);
+            drained = queue != null ? completeOne(queue) : null;
+        } finally {
+            lock.unlock();
+        }
+        runDrained(drained);
+    }
+
+    /**
+     * Number of work items queued or running across all tasks
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return tasks.values().stream().mapToInt(queue -> queue.pending).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of work items waiting to be dispatched for data sources of the given type
+     */
+    public int getQueuedCount(DataSourceConfig.DataSourceType type) {
+        lock.lock();
+        try {
+            int queued = 0;
+            for (TaskQueue queue : tasks.values()) {
+                for (WorkItem item : queue.items) {
+                    if (item.source.getType() == type) {
+                        queued++;
+                    }
+                }
+            }
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void workLoop() {
+        while (running) {
+            Selection selection;
+            List<TaskQueue> drained = new ArrayList<>();
+            lock.lock();
+            try {
+                selection = selectNext(drained);
+                if (selection != null) {
+                    dispatch(selection.queue, selection.item);
+                } else if (drained.isEmpty()) {
+                    // Timed wait so cancelled tasks are purged and paced sources resume even when nothing else signals
+                    long now = System.currentTimeMillis();
+                    long waitMillis = sourceNotBefore.values().stream()
+                            .filter(notBefore -> notBefore > now)
+                            .mapToLong(notBefore -> notBefore - now)
+                            .min().orElse(1000L);
+                    workAvailable.await(Math.min(1000L, waitMillis), TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            drained.forEach(this::runDrained);
+            if (selection == null) {
+                continue;
+            }
+
+            runItem(selection.queue, selection.item);
+
+            TaskQueue finished;
+            lock.lock();
+            try {
+                sourceInFlight.computeIfPresent(selection.item.sourceKey, (key, count) -> count > 1 ? count - 1 : null);
+                selection.queue.running--;
+                finished = completeOne(selection.queue);
+                workAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            runDrained(finished);
+        }
+    }
+
+    /**
+     * Pick the task with the lowest pass that has an item whose data source is below its limit
+     * Must be called with the lock held.
+     */
+    private Selection selectNext(List<TaskQueue> drained) {
+        TaskQueue best = null;
+        WorkItem bestItem = null;
+        long now = System.currentTimeMillis();
+        Instant nowInstant = Instant.ofEpochMilli(now);
+        Map<String, Boolean> windowOpen = new HashMap<>();
+        sourceNotBefore.values().removeIf(notBefore -> notBefore <= now);
+        for (TaskQueue queue : new ArrayList<>(tasks.values())) {
+            if (queue.context.isCancelled() && !queue.items.isEmpty()) {
+                queue.pending -= queue.items.size();
+                queue.items.clear();
+                if (queue.pending == 0) {
+                    tasks.remove(queue.context.getTaskId());
+                    drained.add(queue);
+                }
+                continue;
+            }
+            updatePaused(queue, windowOpen, nowInstant);
+            if (best != null && queue.pass >= best.pass) {
+                continue;
+            }
+            for (WorkItem item : queue.items) {
+                if (isWindowOpen(item, windowOpen, nowInstant)
+                        && !sourceNotBefore.containsKey(item.sourceKey)
+                        && sourceInFlight.getOrDefault(item.sourceKey, 0) < effectiveLimit(item)) {
+                    best = queue;
+                    bestItem = item;
+                    break;
+                }
+            }
+        }
+        return best != null ? new Selection(best, bestItem) : null;
+    }
+
+    private boolean isWindowOpen(WorkItem item, Map<String, Boolean> windowOpen, Instant now) {
+        return item.window == null || windowOpen.computeIfAbsent(item.sourceKey, key -> item.window.isOpen(now));
+    }
+
+    /**
+     * Pause a task while nothing of it runs and all its queued work waits for a maintenance window
+     */
+    private void updatePaused(TaskQueue queue, Map<String, Boolean> windowOpen, Instant now) {
+        boolean waiting = queue.running == 0 && !queue.items.isEmpty()
+                && queue.items.stream().noneMatch(item -> isWindowOpen(item, windowOpen, now));
+        if (waiting) {
+            if (queue.context.pause(now)) {
+                WorkItem next = queue.items.peekFirst();
+                logger.info("Task {} paused until the maintenance window of data source {} opens at {}",
+                        queue.context.getTaskId(), next.sourceKey, next.window.nextOpening(now));
+            }
+        } else if (queue.context.resume(now)) {
+            logger.info("Task {} resumed", queue.context.getTaskId());
+        }
+    }
+
+    private void dispatch(TaskQueue queue, WorkItem item) {
+        Iterator<WorkItem> iterator = queue.items.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == item) {
+                iterator.remove();
+                break;
+            }
+        }
+        sourceInFlight.merge(item.sourceKey, 1, Integer::sum);
+        queue.running++;
+        if (loadController != null) {
+            loadController.noteActive(item.source);
+            long pacingMillis = loadController.pacingMillis(item.sourceKey);
+            if (pacingMillis > 0) {
+                sourceNotBefore.put(item.sourceKey, System.currentTimeMillis() + pacingMillis);
+            }
+        }
+        virtualTime = Math.max(virtualTime, queue.pass);
+        queue.pass += STRIDE / queue.priority;
+    }
+
+    private int effectiveLimit(WorkItem item) {
+        return loadController != null ? loadController.effectiveLimit(item.sourceKey, item.sourceLimit) : item.sourceLimit;
+    }
+
+    private void runItem(TaskQueue queue, WorkItem item) {
+        if (queue.context.isCancelled()) {
+            return;
+        }
+        ProfilingContext.bind(queue.context);
+        try {
+            item.work.run();
+        } catch (RuntimeException e) {
+            logger.error("Work item of task {} failed", queue.context.getTaskId(), e);
+        } finally {
+            ProfilingContext.clear();
+        }
+    }
+
+    /**
+     * Must be called with the lock held; returns the queue if this was its last outstanding item
+     */
+    private TaskQueue completeOne(TaskQueue queue) {
+        queue.pending--;
+        if (queue.pending == 0) {
+            tasks.remove(queue.context.getTaskId());
+            return queue;
+        }
+        return null;
+    }
+
+    private void runDrained(TaskQueue queue) {
+        if (queue == null) {
+            return;
+        }
+        ProfilingContext.bind(queue.context);
+        try {
+            queue.onDrained.run();
+        } catch (RuntimeException e) {
+            logger.error("Completion of task {} failed", queue.context.getTaskId(), e);
+        } finally {
+            ProfilingContext.clear();
+        }
+    }
+
+    private static int clampPriority(int priority) {
+        return Math.max(MIN_PRIORITY, Math.min(MAX_PRIORITY, priority));
+    }
+
+    private static class TaskQueue {
+        private final ProfilingContext context;
+        private final int priority;
+        private final Runnable onDrained;
+        private final Deque<WorkItem> items = new ArrayDeque<>();
+        private int pending = 1;
+        private int running;
+        private long pass;
+
+        TaskQueue(ProfilingContext context, int priority, Runnable onDrained) {
+            this.context = context;
+            this.priority = priority;
+            this.onDrained = onDrained;
+        }
+    }
+
+    private static class WorkItem {
+        private final DataSourceConfig source;
+        private final String sourceKey;
+        private final int sourceLimit;
+        private final MaintenanceWindow window;
+        private final Runnable work;
+
+        WorkItem(DataSourceConfig source, int sourceLimit, MaintenanceWindow window, Runnable work) {
+            this.source = source;
+            this.sourceKey = source.getSourceId();
+            this.sourceLimit = sourceLimit;
+            this.window = window;
+            this.work = work;
+        }
+    }
+
+    private static class Selection {
+        private final TaskQueue queue;
+        private final WorkItem item;
+
+        Selection(TaskQueue queue, WorkItem item) {
+            this.queue = queue;
+            this.item = item;
+        }
+    }
+}
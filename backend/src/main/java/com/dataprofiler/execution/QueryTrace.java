@@ -0,0 +1,202 @@
+package com.dataprofiler.execution;
+
+import com.dataprofiler.dto.response.TaskTimelineDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Statement spans of one work item, collected by the tracked statements of the thread it runs on
+ * Spans are folded into per-column totals as they finish and only the slowest ones are kept, so a trace
+ * stays small however many statements a table needs.
+ */
+public class QueryTrace {
+
+    private static final ThreadLocal<QueryTrace> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<String> COLUMN = new ThreadLocal<>();
+
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private final String sourceId;
+    private final String kind;
+    private final String table;
+    private final int slowQueryLimit;
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<String, TaskTimelineDto.ColumnSpan> columns = new LinkedHashMap<>();
+    private final PriorityQueue<TaskTimelineDto.SlowQuery> slowest =
+            new PriorityQueue<>(Comparator.comparingLong(TaskTimelineDto.SlowQuery::getDurationMillis));
+    private int queries;
+    private long rowsReturned;
+    private long slowestConnectMillis = -1;
+
+    /**
+     * @param kind  Kind of the work item
+     * @param table Table the item profiles as schema.table, null for planning
+     */
+    public QueryTrace(String sourceId, String kind, String table, int slowQueryLimit) {
+        this.sourceId = sourceId;
+        this.kind = kind;
+        this.table = table;
+        this.slowQueryLimit = slowQueryLimit;
+    }
+
+    /**
+     * Trace bound to the calling thread, or null outside of a traced work item
+     */
+    public static QueryTrace current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(QueryTrace trace) {
+        CURRENT.set(trace);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+        COLUMN.remove();
+    }
+
+    /**
+     * Attribute the statements the calling thread executes from now on to a column
+     */
+    public static void enterColumn(String column) {
+        COLUMN.set(column);
+    }
+
+    public static void exitColumn() {
+        COLUMN.remove();
+    }
+
+    /**
+     * Start a span for a statement that is about to execute
+     */
+    public Span start(String sql) {
+        return new Span(COLUMN.get(), sql);
+    }
+
+    /**
+     * Record the time it took to open a connection for the item
+     */
+    public synchronized void recordConnect(long durationMillis) {
+        slowestConnectMillis = Math.max(slowestConnectMillis, durationMillis);
+    }
+
+    /**
+     * Slowest connect time of the item, -1 if it opened no connection
+     */
+    public synchronized long getSlowestConnectMillis() {
+        return slowestConnectMillis;
+    }
+
+    /**
+     * Timeline entry of the item so far; node and status are left to the caller
+     */
+    public synchronized TaskTimelineDto.Entry toEntry() {
+        TaskTimelineDto.Entry entry = new TaskTimelineDto.Entry();
+        entry.setSourceId(sourceId);
+        entry.setKind(kind);
+        entry.setTable(table);
+        entry.setStartedAt(startedAt);
+        entry.setDurationMillis(System.currentTimeMillis() - startedAt);
+        entry.setQueries(queries);
+        entry.setRowsReturned(rowsReturned);
+        entry.setColumns(new ArrayList<>(columns.values()));
+        return entry;
+    }
+
+    /**
+     * Slowest statements of the item, slowest first
+     */
+    public synchronized List<TaskTimelineDto.SlowQuery> getSlowestQueries() {
+        List<TaskTimelineDto.SlowQuery> result = new ArrayList<>(slowest);
+        result.sort(Comparator.comparingLong(TaskTimelineDto.SlowQuery::getDurationMillis).reversed());
+        return result;
+    }
+
+    private synchronized void record(Span span, long durationMillis, long rows, boolean failed) {
+        queries++;
+        if (rows > 0) {
+            rowsReturned += rows;
+        }
+
+        TaskTimelineDto.ColumnSpan column = columns.get(span.column);
+        if (column == null) {
+            column = new TaskTimelineDto.ColumnSpan();
+            column.setColumn(span.column);
+            column.setStartedAt(span.startedAt);
+            columns.put(span.column, column);
+        }
+        column.setQueries(column.getQueries() + 1);
+        column.setRowsReturned(column.getRowsReturned() + Math.max(0, rows));
+        column.setDurationMillis(Math.max(column.getDurationMillis(), span.startedAt + durationMillis - column.getStartedAt()));
+
+        if (slowQueryLimit <= 0) {
+            return;
+        }
+        if (slowest.size() >= slowQueryLimit && slowest.peek().getDurationMillis() >= durationMillis) {
+            return;
+        }
+        TaskTimelineDto.SlowQuery query = new TaskTimelineDto.SlowQuery();
+        query.setSourceId(sourceId);
+        query.setTable(table);
+        query.setColumn(span.column);
+        query.setSql(span.sql != null && span.sql.length() > MAX_SQL_LENGTH ? span.sql.substring(0, MAX_SQL_LENGTH) : span.sql);
+        query.setStartedAt(span.startedAt);
+        query.setDurationMillis(durationMillis);
+        query.setRowsReturned(rows);
+        query.setFailed(failed);
+        slowest.add(query);
+        if (slowest.size() > slowQueryLimit) {
+            slowest.poll();
+        }
+    }
+
+    /**
+     * One statement, from execution until its result set is exhausted or closed
+     */
+    public class Span {
+        private final String column;
+        private final String sql;
+        private final long startedAt = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private long rows;
+        private boolean finished;
+
+        private Span(String column, String sql) {
+            this.column = column;
+            this.sql = sql;
+        }
+
+        public synchronized void addRow() {
+            rows++;
+        }
+
+        /**
+         * Finish the span with the rows counted so far; later calls are ignored
+         */
+        public void finish(boolean failed) {
+            long counted;
+            synchronized (this) {
+                counted = rows;
+            }
+            finish(counted, failed);
+        }
+
+        /**
+         * @param rows Rows returned or affected, -1 when unknown
+         */
+        public void finish(long rows, boolean failed) {
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+            }
+            record(this, (System.nanoTime() - startNanos) / 1_000_000, rows, failed);
+        }
+    }
+}
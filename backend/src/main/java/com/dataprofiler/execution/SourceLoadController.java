@@ -0,0 +1,130 @@
+package com.dataprofiler.execution;
+
+import com.dataprofiler.entity.DataSourceConfig;
+import com.dataprofiler.profiler.ProfilerRegistry;
+import com.dataprofiler.profiler.ServerLoadSample;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Load-aware throttling of profiling work per source database
+ * Sources with recent work are probed periodically (probe query latency plus a server load indicator such as
+ * Threads_running or active sessions, leaving out the profiler's own sessions). Probes go to the endpoint scans were
+ * last routed to, and the connect times work items observed are judged along with them. The resulting AIMD state
+ * lowers the scheduler's concurrency limit and adds pacing between dispatches under pressure, and restores them
+ * when the server is idle.
+ */
+@Component
+public class SourceLoadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourceLoadController.class);
+
+    private static final long IDLE_EVICT_MILLIS = 30 * 60 * 1000L;
+
+    private final Map<String, SourceState> sources = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ProfilerRegistry profilerRegistry;
+
+    @Value("${app.profiling.scheduler.source-concurrency:2}")
+    private int defaultSourceConcurrency;
+
+    /**
+     * Record that work for the source is being dispatched, so it is probed
+     */
+    public void noteActive(DataSourceConfig source) {
+        if (!source.isAdaptiveThrottlingEnabled()) {
+            return;
+        }
+        SourceState state = sources.computeIfAbsent(source.getSourceId(), key -> new SourceState());
+        state.source = source;
+        if (source.getReplicaEndpoints().isEmpty()) {
+            state.probeTarget = null;
+        }
+        state.lastActive = System.currentTimeMillis();
+    }
+
+    /**
+     * Record a scan of a work item: the endpoint it was routed to, probed from now on, and its slowest connect time
+     *
+     * @param target         Configuration the scan ran against (the source itself or one of its replicas)
+     * @param connectMillis  Slowest connect time of the item, -1 if unknown
+     */
+    public void noteScan(String sourceKey, DataSourceConfig target, long connectMillis) {
+        SourceState state = sources.get(sourceKey);
+        if (state == null) {
+            return;
+        }
+        state.probeTarget = target;
+        if (connectMillis >= 0) {
+            state.throttle.onWorkLatency(connectMillis);
+        }
+    }
+
+    public int effectiveLimit(String sourceKey, int configuredLimit) {
+        SourceState state = sources.get(sourceKey);
+        return state != null ? state.throttle.effectiveLimit(configuredLimit) : configuredLimit;
+    }
+
+    public long pacingMillis(String sourceKey) {
+        SourceState state = sources.get(sourceKey);
+        return state != null ? state.throttle.getPacingMillis() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.profiling.throttle.probe-interval-ms:15000}")
+    public void probe() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, SourceState> entry : sources.entrySet()) {
+            SourceState state = entry.getValue();
+            if (now - state.lastActive > IDLE_EVICT_MILLIS) {
+                sources.remove(entry.getKey());
+                continue;
+            }
+            if (!state.unsupported) {
+                probe(entry.getKey(), state);
+            }
+        }
+    }
+
+    private void probe(String sourceKey, SourceState state) {
+        DataSourceConfig source = state.source;
+        int configuredLimit = source.getMaxConcurrentQueries(defaultSourceConcurrency);
+        SourceThrottle.Decision decision;
+        ServerLoadSample sample = null;
+        DataSourceConfig target = state.probeTarget != null ? state.probeTarget : source;
+        try {
+            sample = profilerRegistry.getProfiler(source).sampleServerLoad(target);
+            if (sample == null) {
+                // No load indicator for this source type, keep static limits
+                state.unsupported = true;
+                return;
+            }
+            decision = state.throttle.onSample(sample.getLatencyMillis(), sample.getActiveSessions(),
+                    source.getLoadHighWatermark(), source.getLoadLowWatermark(), configuredLimit);
+        } catch (Exception e) {
+            logger.warn("Load probe failed for data source {}: {}", sourceKey, e.getMessage());
+            decision = state.throttle.onProbeFailure(configuredLimit);
+        }
+
+        if (decision != SourceThrottle.Decision.HOLD) {
+            logger.info("Throttle {} for data source {}: limit {}, pacing {} ms (latency {} ms, active sessions {})",
+                    decision, sourceKey, state.throttle.effectiveLimit(configuredLimit), state.throttle.getPacingMillis(),
+                    sample != null ? sample.getLatencyMillis() : null, sample != null ? sample.getActiveSessions() : null);
+        }
+    }
+
+    private static class SourceState {
+        private final SourceThrottle throttle = new SourceThrottle();
+        private volatile DataSourceConfig source;
+        private volatile DataSourceConfig probeTarget;
+        private volatile long lastActive;
+        private volatile boolean unsupported;
+    }
+}
@@ -0,0 +1,106 @@
+package com.dataprofiler.execution;
+
+/**
+ * AIMD throttle state of one source database
+ * Pressure halves the concurrency limit and starts (or doubles) a pause between dispatches;
+ * an idle server first removes the pause, then raises the limit by one per sample up to the configured cap.
+ * Latency is judged on two signals, each against its own baseline: the probe query, and the slowest connect
+ * time work items saw since the previous sample.
+ */
+class SourceThrottle {
+
+    static final long INITIAL_PACING_MILLIS = 250;
+    static final long MAX_PACING_MILLIS = 5000;
+
+    enum Decision {
+        BACK_OFF,
+        SPEED_UP,
+        HOLD
+    }
+
+    private int limit = Integer.MAX_VALUE;
+    private long pacingMillis;
+    private double baselineLatency = -1;
+    private double workBaselineLatency = -1;
+    private long workLatency = -1;
+
+    /**
+     * Effective concurrency limit, never above the configured one
+     */
+    synchronized int effectiveLimit(int configuredLimit) {
+        return Math.max(1, Math.min(limit, configuredLimit));
+    }
+
+    synchronized long getPacingMillis() {
+        return pacingMillis;
+    }
+
+    /**
+     * Record a latency observed by a work item, judged with the next probe result
+     */
+    synchronized void onWorkLatency(long latencyMillis) {
+        workLatency = Math.max(workLatency, latencyMillis);
+    }
+
+    /**
+     * Feed one probe result and adjust limit and pacing
+     */
+    synchronized Decision onSample(long latencyMillis, Double activeSessions, int highWatermark, int lowWatermark, int configuredLimit) {
+        baselineLatency = updateBaseline(baselineLatency, latencyMillis);
+        boolean latencyHigh = isHigh(latencyMillis, baselineLatency);
+        boolean latencyNormal = isNormal(latencyMillis, baselineLatency);
+        if (workLatency >= 0) {
+            workBaselineLatency = updateBaseline(workBaselineLatency, workLatency);
+            latencyHigh |= isHigh(workLatency, workBaselineLatency);
+            latencyNormal &= isNormal(workLatency, workBaselineLatency);
+            workLatency = -1;
+        }
+
+        boolean loadHigh = activeSessions != null && activeSessions >= highWatermark;
+        boolean loadLow = activeSessions == null || activeSessions <= lowWatermark;
+
+        int current = effectiveLimit(configuredLimit);
+        if (latencyHigh || loadHigh) {
+            limit = Math.max(1, current / 2);
+            pacingMillis = pacingMillis == 0 ? INITIAL_PACING_MILLIS : Math.min(MAX_PACING_MILLIS, pacingMillis * 2);
+            return Decision.BACK_OFF;
+        }
+        if (latencyNormal && loadLow) {
+            if (pacingMillis > 0) {
+                pacingMillis = pacingMillis / 2 < INITIAL_PACING_MILLIS ? 0 : pacingMillis / 2;
+                return Decision.SPEED_UP;
+            }
+            if (current < configuredLimit) {
+                limit = current + 1;
+                return Decision.SPEED_UP;
+            }
+            limit = Integer.MAX_VALUE;
+        }
+        return Decision.HOLD;
+    }
+
+    /**
+     * Treat a failed or timed-out probe as pressure
+     */
+    synchronized Decision onProbeFailure(int configuredLimit) {
+        limit = Math.max(1, effectiveLimit(configuredLimit) / 2);
+        pacingMillis = pacingMillis == 0 ? INITIAL_PACING_MILLIS : Math.min(MAX_PACING_MILLIS, pacingMillis * 2);
+        return Decision.BACK_OFF;
+    }
+
+    private static double updateBaseline(double baseline, long latencyMillis) {
+        if (baseline < 0 || latencyMillis < baseline) {
+            return latencyMillis;
+        }
+        // Drift slowly upwards so a permanently slower network does not read as pressure forever
+        return baseline + (latencyMillis - baseline) * 0.02;
+    }
+
+    private static boolean isHigh(long latencyMillis, double baseline) {
+        return latencyMillis > baseline * 3 + 20;
+    }
+
+    private static boolean isNormal(long latencyMillis, double baseline) {
+        return latencyMillis <= baseline * 1.5 + 5;
+    }
+}
@@ -0,0 +1,221 @@
+package com.dataprofiler.execution;
+
+import com.dataprofiler.entity.ProfilingWorkItem;
+import com.dataprofiler.repository.ProfilingWorkItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lease-based ownership of profiling work items shared through the metadata database
+ * Any backend instance may claim a pending item, or one whose lease expired because its owner stopped
+ * renewing it. Claims and completions are conditional updates, so at most one instance owns an item and
+ * the outcome reported by an instance that lost its lease is discarded.
+ * Leases are renewed on a dedicated thread, so a blocked scheduler thread cannot let them expire.
+ */
+@Component
+public class WorkItemLeases {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkItemLeases.class);
+
+    private final Map<Long, Lease> held = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService renewalScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Lease-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    private ProfilingWorkItemRepository workItemRepository;
+
+    @Value("${app.profiling.cluster.node-id:}")
+    private String nodeId;
+
+    @Value("${app.profiling.cluster.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${app.profiling.cluster.renew-interval-ms:15000}")
+    private long renewIntervalMs;
+
+    public WorkItemLeases() {
+    }
+
+    WorkItemLeases(ProfilingWorkItemRepository workItemRepository, String nodeId, long leaseSeconds) {
+        this.workItemRepository = workItemRepository;
+        this.nodeId = nodeId;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.trim().isEmpty()) {
+            String host;
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (Exception e) {
+                host = "node";
+            }
+            nodeId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        logger.info("Profiling work items are claimed as node {}", nodeId);
+        renewalScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                renew();
+            } catch (RuntimeException e) {
+                logger.error("Failed to renew work item leases", e);
+            }
+        }, renewIntervalMs, renewIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewalScheduler.shutdownNow();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int getHeldCount() {
+        return held.size();
+    }
+
+    public List<Lease> getHeld() {
+        return new ArrayList<>(held.values());
+    }
+
+    /**
+     * @return true if this instance holds the item, including one whose lease expired while it was running here
+     */
+    public boolean isHeld(Long itemId) {
+        return held.containsKey(itemId);
+    }
+
+    /**
+     * @return false if another instance claimed the item first, or this instance already holds it
+     */
+    public boolean tryClaim(ProfilingWorkItem item) {
+        if (held.containsKey(item.getId())) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (workItemRepository.claim(item.getId(), nodeId, now.plusSeconds(leaseSeconds), now) == 0) {
+            return false;
+        }
+        held.put(item.getId(), new Lease(item.getId(), item.getTaskId()));
+        return true;
+    }
+
+    /**
+     * Mark a held item as started, after which it is no longer cancelled while queued
+     */
+    public void markStarted(Long itemId) {
+        Lease lease = held.get(itemId);
+        if (lease != null) {
+            lease.started = true;
+        }
+    }
+
+    /**
+     * Extend the leases of all held items
+     */
+    public void renew() {
+        if (held.isEmpty()) {
+            return;
+        }
+        int renewed = workItemRepository.renewLeases(new ArrayList<>(held.keySet()), nodeId,
+                LocalDateTime.now().plusSeconds(leaseSeconds));
+        if (renewed < held.size()) {
+            logger.warn("Renewed {} of {} work item leases; the others were taken over after expiring", renewed, held.size());
+        }
+    }
+
+    /**
+     * Record the outcome of a held item and stop tracking it
+     *
+     * @return false if the lease was lost and the outcome was discarded
+     */
+    public boolean complete(Long itemId, ProfilingWorkItem.Status status, String result, String error, String trace) {
+        held.remove(itemId);
+        boolean recorded = workItemRepository.complete(itemId, nodeId, status, result, truncate(error), trace,
+                LocalDateTime.now()) > 0;
+        if (!recorded) {
+            logger.warn("Discarding outcome of work item {}: its lease was lost", itemId);
+        }
+        return recorded;
+    }
+
+    /**
+     * Complete a planning item and queue the table items it produced, atomically
+     *
+     * @return false if the lease was lost, in which case no table items are queued
+     */
+    @Transactional
+    public boolean completePlan(Long itemId, List<ProfilingWorkItem> tableItems, String trace) {
+        held.remove(itemId);
+        if (workItemRepository.complete(itemId, nodeId, ProfilingWorkItem.Status.DONE, null, null, trace, LocalDateTime.now()) == 0) {
+            logger.warn("Discarding plan of work item {}: its lease was lost", itemId);
+            return false;
+        }
+        workItemRepository.saveAll(tableItems);
+        return true;
+    }
+
+    /**
+     * Hand all held items back to the queue so other instances pick them up without waiting for the leases to expire
+     */
+    public void releaseAll() {
+        held.clear();
+        int released = workItemRepository.releaseAll(nodeId);
+        if (released > 0) {
+            logger.info("Released {} work items held by node {}", released, nodeId);
+        }
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    /**
+     * Work item held by this instance
+     */
+    public static class Lease {
+        private final Long itemId;
+        private final String taskId;
+        private volatile boolean started;
+
+        Lease(Long itemId, String taskId) {
+            this.itemId = itemId;
+            this.taskId = taskId;
+        }
+
+        public Long getItemId() {
+            return itemId;
+        }
+
+        public String getTaskId() {
+            return taskId;
+        }
+
+        public boolean isStarted() {
+            return started;
+        }
+    }
+}
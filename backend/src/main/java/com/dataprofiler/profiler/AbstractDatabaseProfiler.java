@@ -0,0 +1,71 @@
+package com.dataprofiler.profiler;
+
+import com.dataprofiler.dto.internal.RawProfileDataDto;
+import com.dataprofiler.execution.ProfilingContext;
+import com.dataprofiler.execution.ProfilingWorkScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base class of the JDBC database profilers, holding the helpers they share
+ */
+public abstract class AbstractDatabaseProfiler implements IDatabaseProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractDatabaseProfiler.class);
+
+    /**
+     * Characters (bytes for binary values) kept of LOB values in samples and prefix-based distinct estimates
+     */
+    public static final int LOB_PREFIX_LENGTH = 64;
+
+    /**
+     * Scheduler that partition scans are submitted to
+     * Lazy: the scheduler's load controller depends on the profilers.
+     */
+    @Lazy
+    @Autowired
+    protected ProfilingWorkScheduler workScheduler;
+
+    /**
+     * Record how a LOB column was profiled so consumers know distinct counts are estimates
+     *
+     * @param distinctStrategy How distinct values were counted (hll, md5, ...)
+     */
+    protected static void markLobColumn(RawProfileDataDto.ColumnData columnData, String distinctStrategy) {
+        markLobColumn(columnData, distinctStrategy, "sample_prefix_length");
+    }
+
+    /**
+     * @param prefixKey Metadata key the prefix length is reported under
+     */
+    protected static void markLobColumn(RawProfileDataDto.ColumnData columnData, String distinctStrategy, String prefixKey) {
+        Map<String, Object> metadata = columnData.getColumnMetadata() != null
+                ? columnData.getColumnMetadata() : new HashMap<>();
+        metadata.put("lob", true);
+        metadata.put("distinct_strategy", distinctStrategy);
+        metadata.put(prefixKey, LOB_PREFIX_LENGTH);
+        columnData.setColumnMetadata(metadata);
+    }
+
+    /**
+     * Record that the queries of a column failed, so the other columns of the table are still profiled
+     * A failure caused by stopping the task is rethrown: the table was interrupted, not profiled.
+     */
+    protected static void markColumnFailed(RawProfileDataDto.ColumnData columnData, String tableName, SQLException e) throws SQLException {
+        if (ProfilingContext.isCurrentCancelled()) {
+            throw e;
+        }
+        logger.warn("Failed to profile column {} of {}", columnData.getColumnName(), tableName, e);
+        Map<String, Object> metadata = columnData.getColumnMetadata() != null
+                ? columnData.getColumnMetadata() : new HashMap<>();
+        metadata.put("profiling_failed", true);
+        metadata.put("profiling_error", e.getMessage());
+        columnData.setColumnMetadata(metadata);
+    }
+}
@@ -4,6 +4,7 @@ import com.dataprofiler.dto.internal.RawProfileDataDto;
 import com.dataprofiler.dto.request.ProfilingTaskRequest;
 import com.dataprofiler.entity.DataSourceConfig;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -13,6 +14,11 @@ import java.util.Map;
  */
 public interface IDatabaseProfiler {
 
+    /**
+     * Client name profiler connections report to the source database, so load probes can leave them out
+     */
+    String APPLICATION_NAME = "data-profiler";
+
     /**
      * Profile a data source and return raw profiling data
      * This method implements the adaptive profiling strategy internally
@@ -24,6 +30,65 @@ public interface IDatabaseProfiler {
      */
     RawProfileDataDto profile(DataSourceConfig dataSourceConfig, ProfilingTaskRequest.DataSourceScope scope) throws Exception;
 
+    /**
+     * Split a profiling scope into single-table scopes so tables can be scheduled as separate work items
+     * Profilers that cannot enumerate tables up front keep the whole scope as one unit.
+     *
+     * @param dataSourceConfig The data source configuration
+     * @param scope The profiling scope (schemas, tables, etc.)
+     * @return Scopes that together cover the requested scope, each passed to {@link #profile} on its own
+     * @throws Exception if table enumeration fails
+     */
+    default List<ProfilingTaskRequest.DataSourceScope> splitIntoTables(DataSourceConfig dataSourceConfig,
+                                                                      ProfilingTaskRequest.DataSourceScope scope) throws Exception {
+        return Collections.singletonList(scope);
+    }
+
+    /**
+     * Probe the current load of the source database with a lightweight query
+     * Used by adaptive throttling; profilers without a load indicator return null.
+     *
+     * @param dataSourceConfig The data source configuration
+     * @return Probe latency and server load indicator, or null if probing is not supported
+     * @throws Exception if the probe fails
+     */
+    default ServerLoadSample sampleServerLoad(DataSourceConfig dataSourceConfig) throws Exception {
+        return null;
+    }
+
+    /**
+     * Replication lag of the endpoint the configuration points at, used to route scans to replicas
+     *
+     * @param dataSourceConfig The data source configuration (usually a replica endpoint)
+     * @return Lag in seconds, Long.MAX_VALUE if replication is broken, or null if unknown or not a replica
+     * @throws Exception if the endpoint cannot be queried
+     */
+    default Long getReplicationLagSeconds(DataSourceConfig dataSourceConfig) throws Exception {
+        return null;
+    }
+
+    /**
+     * Size estimates of the tables in a profiling scope, read from catalog statistics only
+     * Used for dry runs; profilers without catalog estimates return an empty list.
+     *
+     * @param dataSourceConfig The data source configuration
+     * @param scope The profiling scope (schemas, tables, etc.)
+     * @return One estimate per table the scope resolves to
+     * @throws Exception if the catalog cannot be queried
+     */
+    default List<TableEstimate> estimateTables(DataSourceConfig dataSourceConfig,
+                                               ProfilingTaskRequest.DataSourceScope scope) throws Exception {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Share of a table's rows a sampled aggregate query reads
+     * Profilers that sample with ORDER BY RAND() still read every row.
+     */
+    default double getSampledScanFraction() {
+        return 1.0;
+    }
+
     /**
      * Test connection to the data source
      * 
@@ -0,0 +1,48 @@
+package com.dataprofiler.profiler;
+
+import com.dataprofiler.entity.DataSourceConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Looks up the profiler of a data source among the registered profilers
+ */
+@Component
+public class ProfilerRegistry {
+
+    @Autowired
+    private List<IDatabaseProfiler> profilers;
+
+    public ProfilerRegistry() {
+    }
+
+    ProfilerRegistry(List<IDatabaseProfiler> profilers) {
+        this.profilers = profilers;
+    }
+
+    /**
+     * Get the profiler for a data source (FILE sources are profiled through the MySQL profiler)
+     *
+     * @throws UnsupportedOperationException if no profiler supports the source type
+     */
+    public IDatabaseProfiler getProfiler(DataSourceConfig dataSource) {
+        DataSourceConfig.DataSourceType type = DataSourceConfig.DataSourceType.FILE.equals(dataSource.getType())
+                ? DataSourceConfig.DataSourceType.MYSQL
+                : dataSource.getType();
+        return getProfiler(type.name());
+    }
+
+    /**
+     * Get the profiler for a data source type
+     *
+     * @throws UnsupportedOperationException if no profiler supports the type
+     */
+    public IDatabaseProfiler getProfiler(String dataSourceType) {
+        return profilers.stream()
+                .filter(p -> p.supports(dataSourceType))
+                .findFirst()
+                .orElseThrow(() -> new UnsupportedOperationException("Unsupported data source type: " + dataSourceType));
+    }
+}
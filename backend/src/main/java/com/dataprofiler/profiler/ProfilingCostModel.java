@@ -0,0 +1,168 @@
+package com.dataprofiler.profiler;
+
+import com.dataprofiler.dto.internal.RawProfileDataDto;
+
+import java.util.Map;
+
+/**
+ * Approximate cost of profiling one table with the adaptive strategy of the JDBC profilers
+ * Per table they issue four metadata queries (table, row estimate, columns, indexes), an exact COUNT(*) below
+ * the sampling threshold, and an aggregate plus a sample-values query per column. Aggregates read the whole
+ * table, or the profiler's sample fraction of it above the threshold.
+ * Estimates assume that path; the cost of a profiled table also accounts for the COPY pass, per-partition scans
+ * and LOB columns it actually went through, so durations are learned per unit of work that was really done.
+ */
+public final class ProfilingCostModel {
+
+    /**
+     * Row count above which the profilers switch to sampling
+     */
+    public static final long SAMPLING_THRESHOLD_ROWS = 1_000_000L;
+
+    /**
+     * Fixed cost of one query round trip, expressed in scanned rows
+     */
+    public static final long QUERY_COST_ROWS = 10_000L;
+
+    /**
+     * Relative cost of reading a LOB value compared to a regular one (out-of-line storage, hashing)
+     */
+    public static final int LOB_ROW_WEIGHT = 4;
+
+    private static final int METADATA_QUERIES = 4;
+    private static final int QUERIES_PER_COLUMN = 2;
+
+    /**
+     * How the rows of a table are read
+     */
+    public enum Strategy {
+        /** Full scans and an exact row count */
+        EXACT,
+        /** Aggregates over a sample, row count taken from the catalog */
+        SAMPLED
+    }
+
+    private ProfilingCostModel() {
+    }
+
+    /**
+     * Strategy for a table of the given size
+     * Unknown sizes and catalog estimates of 0 (never analyzed, or stale) are counted exactly, like the profilers do.
+     */
+    public static Strategy strategy(Long rows) {
+        return rows != null && rows > SAMPLING_THRESHOLD_ROWS ? Strategy.SAMPLED : Strategy.EXACT;
+    }
+
+    /**
+     * Strategy a profiled table was read with
+     */
+    public static Strategy strategyOf(RawProfileDataDto.TableData table) {
+        return table.isUseSample() ? Strategy.SAMPLED : Strategy.EXACT;
+    }
+
+    public static int queries(Strategy strategy, int columnCount) {
+        int exactCount = strategy == Strategy.SAMPLED ? 0 : 1;
+        return METADATA_QUERIES + exactCount + QUERIES_PER_COLUMN * columnCount;
+    }
+
+    /**
+     * Rows read by the profiling queries, or null if the table size is unknown
+     *
+     * @param sampledScanFraction Share of the rows a sampled aggregate reads (see {@link IDatabaseProfiler#getSampledScanFraction()})
+     */
+    public static Long rowsScanned(Strategy strategy, Long rows, int columnCount, double sampledScanFraction) {
+        if (rows == null) {
+            return null;
+        }
+        switch (strategy) {
+            case SAMPLED:
+                // Sample-values queries are randomized over the same fraction as the aggregates
+                return (long) Math.ceil(rows * sampledScanFraction) * QUERIES_PER_COLUMN * columnCount;
+            default:
+                // COUNT(*) plus one aggregate per column; sample-values queries stop after a few rows
+                return rows * (1 + columnCount);
+        }
+    }
+
+    /**
+     * Queries issued for a profiled table
+     * A COPY pass replaces the per-column queries; a partitioned table runs its aggregates once per scanned partition.
+     */
+    public static int observedQueries(RawProfileDataDto.TableData table) {
+        Strategy strategy = strategyOf(table);
+        int columnCount = table.getColumns() != null ? table.getColumns().size() : 0;
+        int exactCount = strategy == Strategy.SAMPLED ? 0 : 1;
+        if (isCopyPass(table)) {
+            return METADATA_QUERIES + exactCount + 1;
+        }
+        Long partitionsScanned = tableMetadata(table, "partitions_scanned");
+        if (partitionsScanned != null) {
+            // One aggregate per column and partition, sample values from the whole table
+            return METADATA_QUERIES + exactCount + (partitionsScanned.intValue() + 1) * columnCount;
+        }
+        return queries(strategy, columnCount);
+    }
+
+    /**
+     * Rows read for a profiled table
+     * A COPY pass reads the rows once for all columns; a partitioned table reads only the partitions it did not reuse.
+     */
+    public static long observedRowsScanned(RawProfileDataDto.TableData table, double sampledScanFraction) {
+        return rowsRead(table, sampledScanFraction, 1);
+    }
+
+    /**
+     * Cost units of a profiled table, with reads of LOB columns weighed by {@link #LOB_ROW_WEIGHT}
+     */
+    public static long observedCostUnits(RawProfileDataDto.TableData table, double sampledScanFraction) {
+        return costUnits(observedQueries(table), rowsRead(table, sampledScanFraction, LOB_ROW_WEIGHT));
+    }
+
+    private static long rowsRead(RawProfileDataDto.TableData table, double sampledScanFraction, int lobWeight) {
+        Strategy strategy = strategyOf(table);
+        long rows = table.getRowCount() != null ? table.getRowCount() : 0;
+        long exactCount = strategy == Strategy.SAMPLED ? 0 : rows;
+        long read = strategy == Strategy.SAMPLED ? (long) Math.ceil(rows * sampledScanFraction) : rows;
+
+        int columnCount = table.getColumns() != null ? table.getColumns().size() : 0;
+        int lobColumns = 0;
+        if (table.getColumns() != null) {
+            for (RawProfileDataDto.ColumnData column : table.getColumns()) {
+                if (column.getColumnMetadata() != null && Boolean.TRUE.equals(column.getColumnMetadata().get("lob"))) {
+                    lobColumns++;
+                }
+            }
+        }
+        long weightedColumns = columnCount + (long) lobColumns * (lobWeight - 1);
+
+        if (isCopyPass(table)) {
+            return exactCount + read * (1 + (long) lobColumns * (lobWeight - 1));
+        }
+        Long partitionRows = tableMetadata(table, "partition_rows_scanned");
+        if (partitionRows != null) {
+            return exactCount + partitionRows * weightedColumns;
+        }
+        // Sampled sample-values queries are randomized over the same fraction as the aggregates
+        return strategy == Strategy.SAMPLED ? read * QUERIES_PER_COLUMN * weightedColumns : exactCount + read * weightedColumns;
+    }
+
+    private static boolean isCopyPass(RawProfileDataDto.TableData table) {
+        if (table.getColumns() == null || table.getColumns().isEmpty()) {
+            return false;
+        }
+        Map<String, Object> metadata = table.getColumns().get(0).getColumnMetadata();
+        return metadata != null && Boolean.TRUE.equals(metadata.get("copy_fast_path"));
+    }
+
+    private static Long tableMetadata(RawProfileDataDto.TableData table, String key) {
+        Object value = table.getTableMetadata() != null ? table.getTableMetadata().get(key) : null;
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    /**
+     * Cost units used to learn and predict durations: scanned rows plus a fixed cost per query
+     */
+    public static long costUnits(int queries, long rowsScanned) {
+        return rowsScanned + queries * QUERY_COST_ROWS;
+    }
+}
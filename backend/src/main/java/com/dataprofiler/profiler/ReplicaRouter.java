@@ -0,0 +1,119 @@
+package com.dataprofiler.profiler;
+
+import com.dataprofiler.entity.DataSourceConfig;
+import com.dataprofiler.exception.ProfilingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes heavy profiling scans to read replicas of a data source
+ * Replicas are tried round-robin and used only while their replication lag is known and within the source's limit;
+ * an endpoint that reports no lag is not a replica (or cannot tell) and is never used in its place. The primary is
+ * used when no replica is configured, or as failover only if the source allows it.
+ * Lightweight metadata calls are not routed and keep using the registered endpoint.
+ */
+@Component
+public class ReplicaRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    private final Map<String, EndpointHealth> healthCache = new ConcurrentHashMap<>();
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    @Value("${app.profiling.replica.health-cache-seconds:30}")
+    private long healthCacheSeconds;
+
+    public ReplicaRouter() {
+    }
+
+    ReplicaRouter(long healthCacheSeconds) {
+        this.healthCacheSeconds = healthCacheSeconds;
+    }
+
+    /**
+     * Pick the endpoint a profiling scan should run against
+     *
+     * @return The primary configuration or a detached copy pointing at a healthy replica
+     * @throws ProfilingException if no replica is usable and failover to the primary is not allowed
+     */
+    public DataSourceConfig routeForScan(DataSourceConfig primary, IDatabaseProfiler profiler) {
+        List<String> replicas = primary.getReplicaEndpoints();
+        if (replicas.isEmpty()) {
+            return primary;
+        }
+
+        int start = Math.floorMod(roundRobin.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            String endpoint = replicas.get((start + i) % replicas.size());
+            DataSourceConfig replica;
+            try {
+                replica = primary.withEndpoint(endpoint);
+            } catch (IllegalArgumentException e) {
+                // Saved before endpoints were validated; skipping it leaves the other replicas usable
+                logger.warn("Replica {} of data source {} is not a valid endpoint, skipping it", endpoint, primary.getSourceId());
+                continue;
+            }
+            if (isHealthy(primary, endpoint, replica, profiler)) {
+                return replica;
+            }
+        }
+
+        if (primary.isReplicaFailoverAllowed()) {
+            logger.warn("No healthy replica for data source {}, failing over to the primary", primary.getSourceId());
+            return primary;
+        }
+        throw new ProfilingException(ProfilingException.ErrorCodes.CONNECTION_FAILED,
+                "No replica within " + primary.getMaxReplicaLagSeconds() + "s replication lag is available and failover to the primary is not allowed",
+                primary.getSourceId());
+    }
+
+    private boolean isHealthy(DataSourceConfig primary, String endpoint, DataSourceConfig replica, IDatabaseProfiler profiler) {
+        String key = primary.getSourceId() + "@" + endpoint;
+        long now = System.currentTimeMillis();
+        EndpointHealth cached = healthCache.get(key);
+        if (cached != null && now - cached.checkedAt < healthCacheSeconds * 1000) {
+            return cached.healthy;
+        }
+
+        boolean healthy;
+        try {
+            Long lag = profiler.getReplicationLagSeconds(replica);
+            if (lag == null) {
+                // Not in recovery, or lag not reported: staleness cannot be bounded, so the endpoint is not used
+                healthy = false;
+                logger.warn("Replica {} of data source {} reports no replication lag (not a replica?), skipping it",
+                        endpoint, primary.getSourceId());
+            } else {
+                healthy = lag <= primary.getMaxReplicaLagSeconds();
+                if (lag == Long.MAX_VALUE) {
+                    logger.warn("Replica {} of data source {} is not replicating, skipping it", endpoint, primary.getSourceId());
+                } else if (!healthy) {
+                    logger.warn("Replica {} of data source {} is {}s behind (limit {}s), skipping it", endpoint,
+                            primary.getSourceId(), lag, primary.getMaxReplicaLagSeconds());
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Replica {} of data source {} is unreachable: {}", endpoint, primary.getSourceId(), e.getMessage());
+            healthy = false;
+        }
+        healthCache.put(key, new EndpointHealth(healthy, now));
+        return healthy;
+    }
+
+    private static class EndpointHealth {
+        private final boolean healthy;
+        private final long checkedAt;
+
+        EndpointHealth(boolean healthy, long checkedAt) {
+            this.healthy = healthy;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.dataprofiler.profiler;
+
+/**
+ * One load observation of a source database, used by adaptive throttling
+ */
+public class ServerLoadSample {
+
+    private final long latencyMillis;
+    private final Double activeSessions;
+
+    /**
+     * @param latencyMillis Round-trip time of the probe query
+     * @param activeSessions Server-side load indicator (active sessions/threads), or null if not available
+     */
+    public ServerLoadSample(long latencyMillis, Double activeSessions) {
+        this.latencyMillis = latencyMillis;
+        this.activeSessions = activeSessions;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public Double getActiveSessions() {
+        return activeSessions;
+    }
+}
@@ -0,0 +1,39 @@
+package com.dataprofiler.profiler;
+
+/**
+ * Catalog-based size estimate of one table, read without scanning it
+ */
+public class TableEstimate {
+
+    private final String schemaName;
+    private final String tableName;
+    private final Long estimatedRows;
+    private final int columnCount;
+
+    /**
+     * @param estimatedRows Row estimate from the catalog statistics, or null if the table was never analyzed
+     * @param columnCount Number of columns that will be profiled
+     */
+    public TableEstimate(String schemaName, String tableName, Long estimatedRows, int columnCount) {
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+        this.estimatedRows = estimatedRows;
+        this.columnCount = columnCount;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public Long getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+}
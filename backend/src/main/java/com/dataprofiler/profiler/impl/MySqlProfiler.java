@@ -3,9 +3,15 @@ package com.dataprofiler.profiler.impl;
 import com.dataprofiler.dto.internal.RawProfileDataDto;
 import com.dataprofiler.dto.request.ProfilingTaskRequest;
 import com.dataprofiler.entity.DataSourceConfig;
-import com.dataprofiler.profiler.IDatabaseProfiler;
+import com.dataprofiler.execution.ProfilingContext;
+import com.dataprofiler.execution.ProfilingMetrics;
+import com.dataprofiler.execution.QueryTrace;
+import com.dataprofiler.profiler.AbstractDatabaseProfiler;
+import com.dataprofiler.profiler.ServerLoadSample;
+import com.dataprofiler.profiler.TableEstimate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -17,12 +23,15 @@ import java.util.*;
  * Implements adaptive profiling strategy for MySQL databases
  */
 @Component
-public class MySqlProfiler implements IDatabaseProfiler {
+public class MySqlProfiler extends AbstractDatabaseProfiler {
 
     private static final Logger logger = LoggerFactory.getLogger(MySqlProfiler.class);
     private static final long LARGE_TABLE_THRESHOLD = 1000000; // 1M rows
     private static final int SAMPLE_SIZE = 1000;
 
+    @Autowired(required = false)
+    private PartitionSnapshotStore partitionSnapshotStore;
+
     @Override
     public RawProfileDataDto profile(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
         logger.info("Starting MySQL profiling for data source: {}", dataSource.getSourceId());
@@ -36,20 +45,31 @@ public class MySqlProfiler implements IDatabaseProfiler {
             rawData.setDatabaseName(connection.getCatalog());
 
             List<RawProfileDataDto.TableData> tables = new ArrayList<>();
+            PartitionedTableProfiler partitionProfiler = dataSource.isPartitionProfilingEnabled()
+                    ? new PartitionedTableProfiler(dataSource, new PartitionDialect(), () -> createConnection(dataSource), partitionSnapshotStore, workScheduler)
+                    : null;
 
             // Get tables to profile based on scope
 //            List<String> tablesToProfile = getTablesList(connection, scope);
             Map<String, List<String>> tablesList = getTablesList(connection, scope);
 
             for (Map.Entry<String, List<String>> stringListEntry : tablesList.entrySet()) {
+                if (ProfilingContext.isCurrentCancelled()) {
+                    logger.info("Profiling stopped, skipping remaining tables of data source: {}", dataSource.getSourceId());
+                    break;
+                }
                 String schemaName = stringListEntry.getKey();
                 // Use USE statement to switch database in MySQL
                 try (Statement useStmt = connection.createStatement()) {
                     useStmt.execute("USE `" + schemaName + "`");
                 }
                 for (String tableName : stringListEntry.getValue()) {
+                    if (ProfilingContext.isCurrentCancelled()) {
+                        logger.info("Profiling stopped, skipping remaining tables of data source: {}", dataSource.getSourceId());
+                        break;
+                    }
                     try {
-                        RawProfileDataDto.TableData tableData = profileTable(connection, tableName, schemaName);
+                        RawProfileDataDto.TableData tableData = profileTable(connection, tableName, schemaName, partitionProfiler);
                         if (tableData != null) {
                             tables.add(tableData);
                         }
@@ -62,7 +82,9 @@ public class MySqlProfiler implements IDatabaseProfiler {
 
             // Add database metadata
             Map<String, Object> metadata = new HashMap<>();
-            metadata.put("mysql_version", getDatabaseVersion(connection));
+            if (!ProfilingContext.isCurrentCancelled()) {
+                metadata.put("mysql_version", getDatabaseVersion(connection));
+            }
             metadata.put("total_tables_profiled", tables.size());
             rawData.setMetadata(metadata);
 
@@ -76,6 +98,105 @@ public class MySqlProfiler implements IDatabaseProfiler {
         return rawData;
     }
 
+    @Override
+    public List<ProfilingTaskRequest.DataSourceScope> splitIntoTables(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
+        try (Connection connection = createConnection(dataSource)) {
+            List<ProfilingTaskRequest.DataSourceScope> units = new ArrayList<>();
+            getTablesList(connection, scope).forEach((schemaName, tableNames) ->
+                    tableNames.forEach(tableName -> units.add(ProfilingTaskRequest.DataSourceScope.ofTable(schemaName, tableName))));
+            return units;
+        }
+    }
+
+    @Override
+    public List<TableEstimate> estimateTables(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
+        String sql = "SELECT t.table_name, t.table_rows, COUNT(c.column_name) AS column_count " +
+                "FROM information_schema.tables t " +
+                "LEFT JOIN information_schema.columns c ON c.table_schema = t.table_schema AND c.table_name = t.table_name " +
+                "WHERE t.table_schema = ? GROUP BY t.table_name, t.table_rows";
+
+        try (Connection connection = createConnection(dataSource)) {
+            List<TableEstimate> estimates = new ArrayList<>();
+            for (Map.Entry<String, List<String>> entry : getTablesList(connection, scope).entrySet()) {
+                String schemaName = entry.getKey();
+                Map<String, TableEstimate> catalog = new HashMap<>();
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, schemaName);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            long rows = rs.getLong("table_rows");
+                            catalog.put(rs.getString("table_name"), new TableEstimate(schemaName, rs.getString("table_name"),
+                                    rs.wasNull() ? null : rows, rs.getInt("column_count")));
+                        }
+                    }
+                }
+                for (String tableName : entry.getValue()) {
+                    estimates.add(catalog.getOrDefault(tableName, new TableEstimate(schemaName, tableName, null, 0)));
+                }
+            }
+            return estimates;
+        }
+    }
+
+    @Override
+    public ServerLoadSample sampleServerLoad(DataSourceConfig dataSource) throws Exception {
+        try (Connection connection = createConnection(dataSource);
+             Statement stmt = connection.createStatement()) {
+            stmt.setQueryTimeout(10);
+            long start = System.nanoTime();
+            Double threadsRunning;
+            try (ResultSet rs = stmt.executeQuery("SHOW GLOBAL STATUS LIKE 'Threads_running'")) {
+                threadsRunning = rs.next() ? rs.getDouble(2) : null;
+            }
+            long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+            if (threadsRunning != null) {
+                threadsRunning = Math.max(0, threadsRunning - countOwnRunningThreads(stmt));
+            }
+            return new ServerLoadSample(latencyMillis, threadsRunning);
+        }
+    }
+
+    /**
+     * Threads running statements for the profiler's database user, including this probe
+     * Threads_running is server-wide and cannot tell sessions apart; the process list of the own user is always
+     * visible, so the profiler's queries are left out of the load signal without requiring the PROCESS privilege.
+     */
+    private int countOwnRunningThreads(Statement stmt) {
+        String sql = "SELECT COUNT(*) FROM information_schema.PROCESSLIST " +
+                     "WHERE USER = SUBSTRING_INDEX(CURRENT_USER(), '@', 1) AND COMMAND = 'Query'";
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 1;
+        } catch (SQLException e) {
+            logger.debug("Cannot read the process list: {}", e.getMessage());
+            return 1;
+        }
+    }
+
+    @Override
+    public Long getReplicationLagSeconds(DataSourceConfig dataSource) throws Exception {
+        try (Connection connection = createConnection(dataSource);
+             Statement stmt = connection.createStatement()) {
+            ResultSet rs;
+            String lagColumn;
+            try {
+                rs = stmt.executeQuery("SHOW REPLICA STATUS");
+                lagColumn = "Seconds_Behind_Source";
+            } catch (SQLException e) {
+                // Servers before 8.0.22 only know the old syntax
+                rs = stmt.executeQuery("SHOW SLAVE STATUS");
+                lagColumn = "Seconds_Behind_Master";
+            }
+            try (ResultSet status = rs) {
+                if (!status.next()) {
+                    return null;
+                }
+                long lag = status.getLong(lagColumn);
+                // NULL means the replication threads are not running
+                return status.wasNull() ? Long.MAX_VALUE : lag;
+            }
+        }
+    }
+
     @Override
     public boolean testConnection(DataSourceConfig dataSource) {
         try (Connection connection = createConnection(dataSource)) {
@@ -184,8 +305,9 @@ public class MySqlProfiler implements IDatabaseProfiler {
         props.setProperty("password", dataSource.getPassword());
         props.setProperty("useSSL", "false");
         props.setProperty("allowPublicKeyRetrieval", "true");
+        props.setProperty("connectionAttributes", "program_name:" + APPLICATION_NAME);
 
-        return DriverManager.getConnection(url, props);
+        return ProfilingContext.open(() -> DriverManager.getConnection(url, props), getSupportedType());
     }
 
     /**
@@ -257,7 +379,7 @@ public class MySqlProfiler implements IDatabaseProfiler {
     /**
      * Profile a single table using adaptive strategy
      */
-    private RawProfileDataDto.TableData profileTable(Connection connection, String tableName, String schemaName) throws SQLException {
+    private RawProfileDataDto.TableData profileTable(Connection connection, String tableName, String schemaName, PartitionedTableProfiler partitionProfiler) throws SQLException {
         logger.debug("Profiling schema: {} table: {}", schemaName, tableName);
 
         RawProfileDataDto.TableData tableData = new RawProfileDataDto.TableData(tableName, schemaName);
@@ -273,8 +395,15 @@ public class MySqlProfiler implements IDatabaseProfiler {
         boolean useSampling = rowCount > LARGE_TABLE_THRESHOLD;
         tableData.setUseSample(useSampling);
 
+        // Partitioned tables are scanned partition by partition and merged
+        List<PartitionedTableProfiler.PartitionInfo> partitions = partitionProfiler != null
+                ? getPartitions(connection, tableName, schemaName) : Collections.emptyList();
+
         // Get column information and profile each column
-        List<RawProfileDataDto.ColumnData> columns = profileColumns(connection, tableName, schemaName, useSampling);
+        List<RawProfileDataDto.ColumnData> columns = profileColumns(connection, tableName, schemaName, useSampling, partitions.isEmpty());
+        if (!partitions.isEmpty()) {
+            profilePartitions(connection, tableData, columns, partitions, partitionProfiler, useSampling);
+        }
         tableData.setColumns(columns);
 
         // Get index information
@@ -354,7 +483,7 @@ public class MySqlProfiler implements IDatabaseProfiler {
     /**
      * Profile all columns in a table
      */
-    private List<RawProfileDataDto.ColumnData> profileColumns(Connection connection, String tableName, String schemaName, boolean useSampling) throws SQLException {
+    private List<RawProfileDataDto.ColumnData> profileColumns(Connection connection, String tableName, String schemaName, boolean useSampling, boolean profileData) throws SQLException {
         List<RawProfileDataDto.ColumnData> columns = new ArrayList<>();
 
         // Get column metadata
@@ -372,7 +501,16 @@ public class MySqlProfiler implements IDatabaseProfiler {
                 columnData.setDefaultValue(rs.getString("COLUMN_DEF"));
 
                 // Profile column data
-                profileColumnData(connection, tableName, schemaName, columnData, useSampling);
+                if (profileData) {
+                    long columnStart = System.nanoTime();
+                    QueryTrace.enterColumn(columnData.getColumnName());
+                    try {
+                        profileColumnData(connection, tableName, schemaName, columnData, useSampling);
+                    } finally {
+                        QueryTrace.exitColumn();
+                    }
+                    ProfilingMetrics.recordColumn(getSupportedType(), useSampling, System.nanoTime() - columnStart);
+                }
 
                 columns.add(columnData);
             }
@@ -382,11 +520,95 @@ public class MySqlProfiler implements IDatabaseProfiler {
     }
 
     /**
-     * Profile individual column data
+     * Get partitions of a table; the change marker combines row estimate, data size and last update time
+     */
+    private List<PartitionedTableProfiler.PartitionInfo> getPartitions(Connection connection, String tableName, String schemaName) throws SQLException {
+        List<PartitionedTableProfiler.PartitionInfo> partitions = new ArrayList<>();
+
+        // Subpartitions are read through their parent partition
+        String sql = "SELECT partition_name, SUM(table_rows) AS table_rows, SUM(data_length) AS data_length, " +
+                "MAX(update_time) AS update_time " +
+                "FROM information_schema.partitions " +
+                "WHERE table_schema = ? AND table_name = ? AND partition_name IS NOT NULL " +
+                "GROUP BY partition_name, partition_ordinal_position " +
+                "ORDER BY partition_ordinal_position";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schemaName);
+            stmt.setString(2, tableName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp updateTime = rs.getTimestamp("update_time");
+                    String changeMarker = updateTime != null
+                            ? rs.getLong("table_rows") + ":" + rs.getLong("data_length") + ":" + updateTime.getTime()
+                            : null;
+                    partitions.add(new PartitionedTableProfiler.PartitionInfo(rs.getString("partition_name"), changeMarker));
+                }
+            }
+        }
+
+        return partitions;
+    }
+
+    /**
+     * Profile a partitioned table through its partitions, falling back to whole-table queries on failure
+     */
+    private void profilePartitions(Connection connection, RawProfileDataDto.TableData tableData, List<RawProfileDataDto.ColumnData> columns,
+                                   List<PartitionedTableProfiler.PartitionInfo> partitions, PartitionedTableProfiler partitionProfiler,
+                                   boolean useSampling) throws SQLException {
+        String tableName = tableData.getTableName();
+        String schemaName = tableData.getSchemaName();
+
+        try {
+            partitionProfiler.profile(schemaName, tableName, tableData, columns, partitions, useSampling);
+        } catch (SQLException e) {
+            logger.warn("Partition profiling failed for {}.{}, profiling as a single table", schemaName, tableName, e);
+            for (RawProfileDataDto.ColumnData columnData : columns) {
+                long columnStart = System.nanoTime();
+                QueryTrace.enterColumn(columnData.getColumnName());
+                try {
+                    profileColumnData(connection, tableName, schemaName, columnData, useSampling);
+                } finally {
+                    QueryTrace.exitColumn();
+                }
+                ProfilingMetrics.recordColumn(getSupportedType(), useSampling, System.nanoTime() - columnStart);
+            }
+            return;
+        }
+
+        for (RawProfileDataDto.ColumnData columnData : columns) {
+            if (isLobType(columnData.getDataType())) {
+                getLobSampleValues(connection, tableName, schemaName, columnData, useSampling);
+                markLobColumn(columnData, "hll");
+            } else {
+                getSampleValues(connection, tableName, schemaName, columnData, useSampling);
+            }
+        }
+    }
+
+    /**
+     * Profile individual column data; a column whose queries fail is marked as failed instead of failing the table
+     */
+    void profileColumnData(Connection connection, String tableName, String schemaName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+        try {
+            queryColumnData(connection, tableName, schemaName, columnData, useSampling);
+        } catch (SQLException e) {
+            markColumnFailed(columnData, schemaName + "." + tableName, e);
+        }
+    }
+
+    /**
+     * Run the profiling queries of one column
      */
-    private void profileColumnData(Connection connection, String tableName, String schemaName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+    private void queryColumnData(Connection connection, String tableName, String schemaName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
         String columnName = columnData.getColumnName();
 
+        // TEXT/BLOB/JSON columns must never be compared or fetched in full
+        if (isLobType(columnData.getDataType())) {
+            profileLobColumnData(connection, tableName, schemaName, columnData, useSampling);
+            return;
+        }
+
         // Build profiling query
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT ");
@@ -441,14 +663,83 @@ public class MySqlProfiler implements IDatabaseProfiler {
                     // Column doesn't exist in result set, ignore
                 }
             }
-        } catch (SQLException e) {
-            logger.warn("Failed to profile column: {} in table: {} in schema: {} ,sql: {} ", columnName, tableName, schemaName, sql, e);
         }
 
         // Get sample values
         getSampleValues(connection, tableName, schemaName, columnData, useSampling);
     }
 
+    /**
+     * Profile a LOB column (TEXT/BLOB/JSON)
+     * Only lengths are aggregated, distinct values are estimated from MD5 digests
+     * and samples are cut down to a short prefix on the server
+     */
+    private void profileLobColumnData(Connection connection, String tableName, String schemaName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+        String columnName = columnData.getColumnName();
+
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT ");
+        sql.append("COUNT(*) as total_count, ");
+        sql.append("COUNT(").append(columnName).append(") as non_null_count, ");
+        sql.append("COUNT(DISTINCT MD5(").append(columnName).append(")) as unique_count, ");
+        sql.append("AVG(LENGTH(").append(columnName).append(")) as avg_length, ");
+        sql.append("MAX(LENGTH(").append(columnName).append(")) as max_length, ");
+        sql.append("MIN(LENGTH(").append(columnName).append(")) as min_length");
+        sql.append(" FROM ").append("`").append(schemaName).append("`").append(".").append(tableName);
+
+        if (useSampling) {
+            sql.append(" ORDER BY RAND() LIMIT ").append(SAMPLE_SIZE);
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql.toString());
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                long totalCount = rs.getLong("total_count");
+                long nonNullCount = rs.getLong("non_null_count");
+
+                columnData.setTotalCount(totalCount);
+                columnData.setNullCount(totalCount - nonNullCount);
+                columnData.setUniqueCount(rs.getLong("unique_count"));
+                columnData.setAvgLength(rs.getDouble("avg_length"));
+                columnData.setMaxLength(rs.getLong("max_length"));
+                columnData.setMinLength(rs.getLong("min_length"));
+            }
+        }
+
+        markLobColumn(columnData, "md5");
+        getLobSampleValues(connection, tableName, schemaName, columnData, useSampling);
+    }
+
+    /**
+     * Get prefix-only sample values for a LOB column
+     * BLOB prefixes are returned as hex so they stay readable in reports
+     */
+    private void getLobSampleValues(Connection connection, String tableName, String schemaName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+        String columnName = columnData.getColumnName();
+        String prefix = isBinaryLobType(columnData.getDataType())
+                ? "HEX(SUBSTRING(" + columnName + ", 1, " + (LOB_PREFIX_LENGTH / 2) + "))"
+                : "SUBSTRING(" + columnName + ", 1, " + LOB_PREFIX_LENGTH + ")";
+
+        String sql = "SELECT DISTINCT " + prefix + " FROM `" + schemaName + "`." + tableName +
+                " WHERE " + columnName + " IS NOT NULL";
+
+        if (useSampling) {
+            sql += " ORDER BY RAND() LIMIT 10";
+        } else {
+            sql += " LIMIT 10";
+        }
+
+        List<Object> sampleValues = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sampleValues.add(rs.getString(1));
+            }
+        }
+
+        columnData.setSampleValues(sampleValues);
+    }
+
     /**
      * Get sample values for a column
      */
@@ -550,11 +841,28 @@ public class MySqlProfiler implements IDatabaseProfiler {
     private boolean isStringType(String dataType) {
         return dataType != null && (
                 dataType.toUpperCase().contains("CHAR") ||
-                        dataType.toUpperCase().contains("TEXT") ||
-                        dataType.toUpperCase().contains("BLOB")
+                        dataType.toUpperCase().contains("TEXT")
+        );
+    }
+
+    /**
+     * Check if data type is a Large Object (LOB) type
+     */
+    private boolean isLobType(String dataType) {
+        return dataType != null && (
+                dataType.toUpperCase().contains("TEXT") ||
+                        dataType.toUpperCase().contains("BLOB") ||
+                        "JSON".equalsIgnoreCase(dataType)
         );
     }
 
+    /**
+     * Check if LOB type holds binary payloads
+     */
+    private boolean isBinaryLobType(String dataType) {
+        return dataType != null && dataType.toUpperCase().contains("BLOB");
+    }
+
     /**
      * Get tables for a specific database
      *
@@ -591,4 +899,53 @@ public class MySqlProfiler implements IDatabaseProfiler {
                 "mysql".equalsIgnoreCase(database) ||
                 "sys".equalsIgnoreCase(database);
     }
-}
\ No newline at end of file
+
+    /**
+     * MySQL SQL fragments for partition profiling, hashing values with CRC32
+     */
+    private class PartitionDialect implements PartitionedTableProfiler.Dialect {
+
+        @Override
+        public String partitionSource(String schemaName, String tableName, String partitionName) {
+            return quote(schemaName) + "." + quote(tableName) + " PARTITION (" + quote(partitionName) + ")";
+        }
+
+        @Override
+        public String quote(String identifier) {
+            return "`" + identifier + "`";
+        }
+
+        @Override
+        public String hashExpression(RawProfileDataDto.ColumnData column, String quotedColumnName) {
+            return "CRC32(" + quotedColumnName + ")";
+        }
+
+        @Override
+        public String bucketExpression(String hash) {
+            return "(" + hash + " >> " + (32 - PartitionedTableProfiler.HLL_PRECISION) + ")";
+        }
+
+        @Override
+        public String rankExpression(String hash) {
+            String low = "(" + hash + " & " + PartitionedTableProfiler.RANK_MASK + ")";
+            return "CASE WHEN " + low + " = 0 THEN " + PartitionedTableProfiler.MAX_RANK +
+                   " ELSE " + PartitionedTableProfiler.MAX_RANK + " - LENGTH(BIN(" + low + ")) END";
+        }
+
+        @Override
+        public String lengthExpression(RawProfileDataDto.ColumnData column, String quotedColumnName) {
+            return isStringType(column.getDataType()) || isLobType(column.getDataType())
+                    ? "LENGTH(" + quotedColumnName + ")" : null;
+        }
+
+        @Override
+        public boolean tracksRange(RawProfileDataDto.ColumnData column) {
+            return isNumericType(column.getDataType()) || isDateType(column.getDataType());
+        }
+
+        @Override
+        public String sampleClause() {
+            return " ORDER BY RAND() LIMIT " + SAMPLE_SIZE;
+        }
+    }
+}
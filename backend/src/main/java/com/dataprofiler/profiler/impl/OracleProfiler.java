@@ -4,9 +4,15 @@ import com.dataprofiler.dto.internal.RawProfileDataDto;
 import com.dataprofiler.dto.request.ProfilingTaskRequest;
 
 import com.dataprofiler.entity.DataSourceConfig;
-import com.dataprofiler.profiler.IDatabaseProfiler;
+import com.dataprofiler.execution.ProfilingContext;
+import com.dataprofiler.execution.ProfilingMetrics;
+import com.dataprofiler.execution.QueryTrace;
+import com.dataprofiler.profiler.AbstractDatabaseProfiler;
+import com.dataprofiler.profiler.ServerLoadSample;
+import com.dataprofiler.profiler.TableEstimate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -19,11 +25,16 @@ import java.util.LinkedHashMap;
  * Implements adaptive profiling strategy for Oracle databases
  */
 @Component
-public class OracleProfiler implements IDatabaseProfiler {
+public class OracleProfiler extends AbstractDatabaseProfiler {
 
     private static final Logger logger = LoggerFactory.getLogger(OracleProfiler.class);
     private static final long LARGE_TABLE_THRESHOLD = 1000000; // 1M rows
     private static final int SAMPLE_SIZE = 1000;
+    private static final int LOB_HASH_PREFIX_LENGTH = 1000; // DBMS_LOB.SUBSTR must stay within the 4000 byte SQL limit
+    private static final long PARALLEL_SCAN_MIN_ROWS = 100000; // below this PX startup costs more than it saves
+
+    @Autowired(required = false)
+    private PartitionSnapshotStore partitionSnapshotStore;
 
     @Override
     public RawProfileDataDto profile(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
@@ -41,10 +52,18 @@ public class OracleProfiler implements IDatabaseProfiler {
             
             // Get tables to profile based on scope
             List<String> tablesToProfile = getTablesList(connection, scope);
+            int parallelDegree = dataSource.getParallelDegree();
+            PartitionedTableProfiler partitionProfiler = dataSource.isPartitionProfilingEnabled()
+                    ? new PartitionedTableProfiler(dataSource, new PartitionDialect(), () -> createConnection(dataSource), partitionSnapshotStore, workScheduler)
+                    : null;
             
             for (String tableName : tablesToProfile) {
+                if (ProfilingContext.isCurrentCancelled()) {
+                    logger.info("Profiling stopped, skipping remaining tables of data source: {}", dataSource.getSourceId());
+                    break;
+                }
                 try {
-                    RawProfileDataDto.TableData tableData = profileTable(connection, tableName);
+                    RawProfileDataDto.TableData tableData = profileTable(connection, tableName, parallelDegree, partitionProfiler);
                     if (tableData != null) {
                         tables.add(tableData);
                     }
@@ -57,7 +76,9 @@ public class OracleProfiler implements IDatabaseProfiler {
             
             // Add database metadata
             Map<String, Object> metadata = new HashMap<>();
-            metadata.put("oracle_version", getDatabaseVersion(connection));
+            if (!ProfilingContext.isCurrentCancelled()) {
+                metadata.put("oracle_version", getDatabaseVersion(connection));
+            }
             metadata.put("total_tables_profiled", tables.size());
             rawData.setMetadata(metadata);
             
@@ -71,6 +92,100 @@ public class OracleProfiler implements IDatabaseProfiler {
         return rawData;
     }
 
+    @Override
+    public List<ProfilingTaskRequest.DataSourceScope> splitIntoTables(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
+        try (Connection connection = createConnection(dataSource)) {
+            String currentSchema = getCurrentSchema(connection);
+            List<ProfilingTaskRequest.DataSourceScope> units = new ArrayList<>();
+            for (String tableName : getTablesList(connection, scope)) {
+                String[] parts = tableName.split("\\.", 2);
+                units.add(parts.length == 2
+                        ? ProfilingTaskRequest.DataSourceScope.ofTable(parts[0], parts[1])
+                        : ProfilingTaskRequest.DataSourceScope.ofTable(currentSchema, tableName));
+            }
+            return units;
+        }
+    }
+
+    @Override
+    public List<TableEstimate> estimateTables(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
+        String sql = "SELECT t.num_rows, " +
+                    "(SELECT COUNT(*) FROM all_tab_columns c WHERE c.owner = t.owner AND c.table_name = t.table_name) AS column_count " +
+                    "FROM all_tables t WHERE t.owner = ? AND t.table_name = ?";
+        
+        try (Connection connection = createConnection(dataSource);
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            String currentSchema = getCurrentSchema(connection);
+            List<TableEstimate> estimates = new ArrayList<>();
+            for (String tableName : getTablesList(connection, scope)) {
+                String[] parts = tableName.split("\\.", 2);
+                String schemaName = parts.length == 2 ? parts[0] : currentSchema;
+                String actualTableName = parts.length == 2 ? parts[1] : tableName;
+                stmt.setString(1, schemaName);
+                stmt.setString(2, actualTableName);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        // num_rows stays NULL until statistics are gathered
+                        long numRows = rs.getLong("num_rows");
+                        estimates.add(new TableEstimate(schemaName, actualTableName, rs.wasNull() ? null : numRows, rs.getInt("column_count")));
+                    } else {
+                        estimates.add(new TableEstimate(schemaName, actualTableName, null, 0));
+                    }
+                }
+            }
+            return estimates;
+        }
+    }
+
+    @Override
+    public double getSampledScanFraction() {
+        // SAMPLE(1)
+        return 0.01;
+    }
+
+    @Override
+    public ServerLoadSample sampleServerLoad(DataSourceConfig dataSource) throws Exception {
+        try (Connection connection = createConnection(dataSource);
+             Statement stmt = connection.createStatement()) {
+            stmt.setQueryTimeout(10);
+            long start = System.nanoTime();
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT COUNT(*) FROM v$session WHERE status = 'ACTIVE' AND type = 'USER' " +
+                    "AND sid <> SYS_CONTEXT('USERENV', 'SID') " +
+                    "AND (program IS NULL OR program <> '" + APPLICATION_NAME + "')")) {
+                Double activeSessions = rs.next() ? rs.getDouble(1) : null;
+                return new ServerLoadSample((System.nanoTime() - start) / 1_000_000, activeSessions);
+            } catch (SQLException e) {
+                // No access to v$session, fall back to latency only
+                logger.debug("Cannot read v$session: {}", e.getMessage());
+                start = System.nanoTime();
+                try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM DUAL")) {
+                    rs.next();
+                }
+                return new ServerLoadSample((System.nanoTime() - start) / 1_000_000, null);
+            }
+        }
+    }
+
+    @Override
+    public Long getReplicationLagSeconds(DataSourceConfig dataSource) throws Exception {
+        // Data Guard standby; the apply lag is reported as an interval string such as +00 00:00:05
+        String sql = "SELECT value FROM v$dataguard_stats WHERE name = 'apply lag'";
+        try (Connection connection = createConnection(dataSource);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next() || rs.getString(1) == null) {
+                return null;
+            }
+            String[] parts = rs.getString(1).trim().replace("+", "").split("[ :]");
+            if (parts.length != 4) {
+                return null;
+            }
+            return Long.parseLong(parts[0]) * 86400 + Long.parseLong(parts[1]) * 3600
+                    + Long.parseLong(parts[2]) * 60 + (long) Double.parseDouble(parts[3]);
+        }
+    }
+
     @Override
     public boolean testConnection(DataSourceConfig dataSource) {
         try (Connection connection = createConnection(dataSource)) {
@@ -158,8 +273,9 @@ public class OracleProfiler implements IDatabaseProfiler {
         props.setProperty("user", dataSource.getUsername());
         props.setProperty("password", dataSource.getPassword());
         props.setProperty("oracle.jdbc.ReadTimeout", "30000");
+        props.setProperty("v$session.program", APPLICATION_NAME);
         
-        return DriverManager.getConnection(url, props);
+        return ProfilingContext.open(() -> DriverManager.getConnection(url, props), getSupportedType());
     }
 
     /**
@@ -311,7 +427,7 @@ public class OracleProfiler implements IDatabaseProfiler {
     /**
      * Profile a single table using adaptive strategy
      */
-    private RawProfileDataDto.TableData profileTable(Connection connection, String tableName) throws SQLException {
+    private RawProfileDataDto.TableData profileTable(Connection connection, String tableName, int parallelDegree, PartitionedTableProfiler partitionProfiler) throws SQLException {
         logger.debug("Profiling table: {}", tableName);
         
         // Extract schema and table name
@@ -325,14 +441,24 @@ public class OracleProfiler implements IDatabaseProfiler {
         getTableMetadata(connection, tableData, schemaName);
         
         // Get row count (adaptive: exact vs approximate)
-        long rowCount = getRowCount(connection, schemaName, actualTableName);
+        long rowCount = getRowCount(connection, schemaName, actualTableName, parallelDegree);
         tableData.setRowCount(rowCount);
         
         // Determine if we should use sampling for large tables
         boolean useSampling = rowCount > LARGE_TABLE_THRESHOLD;
         
+        // Only scans of big tables are worth spreading over parallel execution servers
+        int scanDegree = rowCount >= PARALLEL_SCAN_MIN_ROWS ? parallelDegree : 1;
+        
+        // Partitioned tables are scanned partition by partition and merged
+        List<PartitionedTableProfiler.PartitionInfo> partitions = partitionProfiler != null
+                ? getPartitions(connection, schemaName, actualTableName) : Collections.emptyList();
+        
         // Get column information and profile each column
-        List<RawProfileDataDto.ColumnData> columns = profileColumns(connection, schemaName, actualTableName, useSampling);
+        List<RawProfileDataDto.ColumnData> columns = profileColumns(connection, schemaName, actualTableName, useSampling, scanDegree, partitions.isEmpty());
+        if (!partitions.isEmpty()) {
+            profilePartitions(connection, tableData, columns, partitions, partitionProfiler, useSampling, scanDegree);
+        }
         tableData.setColumns(columns);
         
         // Get index information
@@ -371,7 +497,7 @@ public class OracleProfiler implements IDatabaseProfiler {
     /**
      * Get row count using adaptive strategy
      */
-    private long getRowCount(Connection connection, String schemaName, String tableName) throws SQLException {
+    private long getRowCount(Connection connection, String schemaName, String tableName, int parallelDegree) throws SQLException {
         // First try to get approximate count from all_tables (fast)
         String approxSql = "SELECT num_rows FROM all_tables WHERE owner = ? AND table_name = ?";
         
@@ -388,21 +514,22 @@ public class OracleProfiler implements IDatabaseProfiler {
                         return approxCount;
                     } else if (approxCount > 0 && approxCount < LARGE_TABLE_THRESHOLD) {
                         // For small tables, get exact count
-                        return getExactRowCount(connection, schemaName, tableName);
+                        int countDegree = approxCount >= PARALLEL_SCAN_MIN_ROWS ? parallelDegree : 1;
+                        return getExactRowCount(connection, schemaName, tableName, countDegree);
                     }
                 }
             }
         }
         
-        // Fallback to exact count
-        return getExactRowCount(connection, schemaName, tableName);
+        // Fallback to exact count; without statistics the table size is unknown, so allow parallel scan
+        return getExactRowCount(connection, schemaName, tableName, parallelDegree);
     }
 
     /**
      * Get exact row count
      */
-    private long getExactRowCount(Connection connection, String schemaName, String tableName) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM \"" + schemaName + "\".\"" + tableName + "\"";
+    private long getExactRowCount(Connection connection, String schemaName, String tableName, int parallelDegree) throws SQLException {
+        String sql = "SELECT " + parallelHint(parallelDegree) + "COUNT(*) FROM \"" + schemaName + "\".\"" + tableName + "\"";
         
         try (PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
@@ -417,7 +544,7 @@ public class OracleProfiler implements IDatabaseProfiler {
     /**
      * Profile all columns in a table
      */
-    private List<RawProfileDataDto.ColumnData> profileColumns(Connection connection, String schemaName, String tableName, boolean useSampling) throws SQLException {
+    private List<RawProfileDataDto.ColumnData> profileColumns(Connection connection, String schemaName, String tableName, boolean useSampling, int scanDegree, boolean profileData) throws SQLException {
         List<RawProfileDataDto.ColumnData> columns = new ArrayList<>();
         
         // Get column metadata from all_tab_columns
@@ -463,8 +590,15 @@ public class OracleProfiler implements IDatabaseProfiler {
                     }
                     
                     // Profile column data if statistics are not available or incomplete
-                    if (numDistinct == null || numNulls == null) {
-                        profileColumnData(connection, schemaName, tableName, columnData, useSampling);
+                    if (profileData && (numDistinct == null || numNulls == null)) {
+                        long columnStart = System.nanoTime();
+                        QueryTrace.enterColumn(columnData.getColumnName());
+                        try {
+                            profileColumnData(connection, schemaName, tableName, columnData, useSampling, scanDegree);
+                        } finally {
+                            QueryTrace.exitColumn();
+                        }
+                        ProfilingMetrics.recordColumn(getSupportedType(), useSampling, System.nanoTime() - columnStart);
                     }
                     
                     columns.add(columnData);
@@ -476,16 +610,104 @@ public class OracleProfiler implements IDatabaseProfiler {
     }
 
     /**
-     * Profile individual column data
+     * Get partitions of a table from ALL_TAB_PARTITIONS
+     * The change marker combines optimizer statistics with DML monitoring counters, which Oracle flushes
+     * periodically (or on DBMS_STATS.FLUSH_DATABASE_MONITORING_INFO); partitions never analyzed are always rescanned
      */
-    private void profileColumnData(Connection connection, String schemaName, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+    private List<PartitionedTableProfiler.PartitionInfo> getPartitions(Connection connection, String schemaName, String tableName) throws SQLException {
+        List<PartitionedTableProfiler.PartitionInfo> partitions = new ArrayList<>();
+        
+        String sql = "SELECT p.partition_name, p.num_rows, p.last_analyzed, " +
+                    "m.inserts, m.updates, m.deletes, m.truncated " +
+                    "FROM all_tab_partitions p " +
+                    "LEFT JOIN all_tab_modifications m ON m.table_owner = p.table_owner " +
+                    "AND m.table_name = p.table_name AND m.partition_name = p.partition_name " +
+                    "AND m.subpartition_name IS NULL " +
+                    "WHERE p.table_owner = ? AND p.table_name = ? " +
+                    "ORDER BY p.partition_position";
+        
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schemaName);
+            stmt.setString(2, tableName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp lastAnalyzed = rs.getTimestamp("last_analyzed");
+                    String changeMarker = lastAnalyzed != null
+                            ? lastAnalyzed.getTime() + ":" + rs.getLong("num_rows") + ":" + rs.getLong("inserts") + ":" +
+                              rs.getLong("updates") + ":" + rs.getLong("deletes") + ":" + rs.getString("truncated")
+                            : null;
+                    partitions.add(new PartitionedTableProfiler.PartitionInfo(rs.getString("partition_name"), changeMarker));
+                }
+            }
+        }
+        
+        return partitions;
+    }
+
+    /**
+     * Profile a partitioned table through its partitions, falling back to whole-table queries on failure
+     */
+    private void profilePartitions(Connection connection, RawProfileDataDto.TableData tableData, List<RawProfileDataDto.ColumnData> columns,
+                                   List<PartitionedTableProfiler.PartitionInfo> partitions, PartitionedTableProfiler partitionProfiler,
+                                   boolean useSampling, int scanDegree) throws SQLException {
+        String tableName = tableData.getTableName();
+        String schemaName = tableData.getSchemaName();
+        
+        try {
+            partitionProfiler.profile(schemaName, tableName, tableData, columns, partitions, useSampling);
+        } catch (SQLException e) {
+            logger.warn("Partition profiling failed for {}.{}, profiling as a single table", schemaName, tableName, e);
+            for (RawProfileDataDto.ColumnData columnData : columns) {
+                long columnStart = System.nanoTime();
+                QueryTrace.enterColumn(columnData.getColumnName());
+                try {
+                    profileColumnData(connection, schemaName, tableName, columnData, useSampling, scanDegree);
+                } finally {
+                    QueryTrace.exitColumn();
+                }
+                ProfilingMetrics.recordColumn(getSupportedType(), useSampling, System.nanoTime() - columnStart);
+            }
+            return;
+        }
+        
+        for (RawProfileDataDto.ColumnData columnData : columns) {
+            if (isLobType(columnData.getDataType())) {
+                getLobSampleValues(connection, schemaName, tableName, columnData, useSampling);
+                markLobColumn(columnData, "hll");
+            } else {
+                getSampleValues(connection, schemaName, tableName, columnData, useSampling);
+            }
+        }
+    }
+
+    /**
+     * Profile individual column data; a column whose queries fail is marked as failed instead of failing the table
+     */
+    private void profileColumnData(Connection connection, String schemaName, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling, int scanDegree) throws SQLException {
+        try {
+            queryColumnData(connection, schemaName, tableName, columnData, useSampling, scanDegree);
+        } catch (SQLException e) {
+            markColumnFailed(columnData, schemaName + "." + tableName, e);
+        }
+    }
+
+    /**
+     * Run the profiling queries of one column
+     */
+    private void queryColumnData(Connection connection, String schemaName, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling, int scanDegree) throws SQLException {
+        // COUNT(DISTINCT), MIN/MAX and LENGTH are either illegal or far too costly on LOBs
+        if (isLobType(columnData.getDataType())) {
+            profileLobColumnData(connection, schemaName, tableName, columnData, useSampling, scanDegree);
+            return;
+        }
+
         String columnName = columnData.getColumnName();
         String fullTableName = "\"" + schemaName + "\".\"" + tableName + "\"";
         String quotedColumnName = "\"" + columnName + "\"";
         
         // Build profiling query
         StringBuilder sql = new StringBuilder();
-        sql.append("SELECT ");
+        sql.append("SELECT ").append(parallelHint(scanDegree));
         sql.append("COUNT(*) as total_count, ");
         sql.append("COUNT(").append(quotedColumnName).append(") as non_null_count, ");
         sql.append("COUNT(DISTINCT ").append(quotedColumnName).append(") as unique_count");
@@ -550,6 +772,89 @@ public class OracleProfiler implements IDatabaseProfiler {
         getSampleValues(connection, schemaName, tableName, columnData, useSampling);
     }
 
+    /**
+     * Profile a LOB column (CLOB, NCLOB, BLOB)
+     * Lengths come from DBMS_LOB.GETLENGTH and distinct values are estimated by hashing
+     * a bounded prefix with ORA_HASH, so LOB locators are never dereferenced client-side
+     */
+    private void profileLobColumnData(Connection connection, String schemaName, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling, int scanDegree) throws SQLException {
+        String fullTableName = "\"" + schemaName + "\".\"" + tableName + "\"";
+        String quotedColumnName = "\"" + columnData.getColumnName() + "\"";
+        String lengthExpression = "DBMS_LOB.GETLENGTH(" + quotedColumnName + ")";
+
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT ").append(parallelHint(scanDegree));
+        sql.append("COUNT(*) as total_count, ");
+        sql.append("SUM(CASE WHEN ").append(quotedColumnName).append(" IS NOT NULL THEN 1 ELSE 0 END) as non_null_count, ");
+        sql.append("COUNT(DISTINCT ORA_HASH(DBMS_LOB.SUBSTR(").append(quotedColumnName).append(", ")
+                .append(LOB_HASH_PREFIX_LENGTH).append(", 1))) as unique_count, ");
+        sql.append("AVG(").append(lengthExpression).append(") as avg_length, ");
+        sql.append("MAX(").append(lengthExpression).append(") as max_length, ");
+        sql.append("MIN(").append(lengthExpression).append(") as min_length");
+        sql.append(" FROM ").append(fullTableName);
+
+        if (useSampling) {
+            sql.append(" SAMPLE(1)");
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql.toString());
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                long totalCount = rs.getLong("total_count");
+                long nonNullCount = rs.getLong("non_null_count");
+
+                // Keep values already provided by all_tab_columns statistics
+                if (columnData.getTotalCount() == null) {
+                    columnData.setTotalCount(totalCount);
+                }
+                if (columnData.getNullCount() == null) {
+                    columnData.setNullCount(totalCount - nonNullCount);
+                }
+                if (columnData.getUniqueCount() == null) {
+                    columnData.setUniqueCount(rs.getLong("unique_count"));
+                }
+                columnData.setAvgLength(rs.getDouble("avg_length"));
+                columnData.setMaxLength(rs.getLong("max_length"));
+                columnData.setMinLength(rs.getLong("min_length"));
+            }
+        }
+
+        markLobColumn(columnData, "ora_hash_prefix");
+        getLobSampleValues(connection, schemaName, tableName, columnData, useSampling);
+    }
+
+    /**
+     * Get prefix-only sample values for a LOB column
+     * BLOB prefixes are returned as hex so they stay readable in reports
+     */
+    private void getLobSampleValues(Connection connection, String schemaName, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+        String fullTableName = "\"" + schemaName + "\".\"" + tableName + "\"";
+        String quotedColumnName = "\"" + columnData.getColumnName() + "\"";
+
+        String prefix = isBinaryLobType(columnData.getDataType())
+                ? "RAWTOHEX(DBMS_LOB.SUBSTR(" + quotedColumnName + ", " + (LOB_PREFIX_LENGTH / 2) + ", 1))"
+                : "DBMS_LOB.SUBSTR(" + quotedColumnName + ", " + LOB_PREFIX_LENGTH + ", 1)";
+
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT DISTINCT ").append(prefix);
+        sql.append(" FROM ").append(fullTableName);
+        if (useSampling) {
+            sql.append(" SAMPLE(1)");
+        }
+        sql.append(" WHERE ").append(quotedColumnName).append(" IS NOT NULL");
+        sql.append(" AND ROWNUM <= 10");
+
+        List<Object> sampleValues = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(sql.toString());
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sampleValues.add(rs.getString(1));
+            }
+        }
+
+        columnData.setSampleValues(sampleValues);
+    }
+
     /**
      * Get sample values for a column
      */
@@ -638,6 +943,13 @@ public class OracleProfiler implements IDatabaseProfiler {
         }
     }
 
+    /**
+     * Build the PARALLEL optimizer hint for a full-scan query, empty when running serially
+     */
+    private String parallelHint(int parallelDegree) {
+        return parallelDegree > 1 ? "/*+ PARALLEL(" + parallelDegree + ") */ " : "";
+    }
+
     /**
      * Get database version
      */
@@ -696,4 +1008,77 @@ public class OracleProfiler implements IDatabaseProfiler {
             dataType.toUpperCase().contains("NCLOB")
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Check if data type is a Large Object (LOB) type
+     */
+    private boolean isLobType(String dataType) {
+        return dataType != null && (
+            dataType.toUpperCase().contains("CLOB") ||
+            dataType.toUpperCase().contains("BLOB")
+        );
+    }
+
+    /**
+     * Check if LOB type holds binary payloads
+     */
+    private boolean isBinaryLobType(String dataType) {
+        return "BLOB".equalsIgnoreCase(dataType);
+    }
+
+    /**
+     * Oracle SQL fragments for partition profiling, hashing values with ORA_HASH
+     */
+    private class PartitionDialect implements PartitionedTableProfiler.Dialect {
+
+        @Override
+        public String partitionSource(String schemaName, String tableName, String partitionName) {
+            return quote(schemaName) + "." + quote(tableName) + " PARTITION (" + quote(partitionName) + ")";
+        }
+
+        @Override
+        public String quote(String identifier) {
+            return "\"" + identifier + "\"";
+        }
+
+        @Override
+        public String hashExpression(RawProfileDataDto.ColumnData column, String quotedColumnName) {
+            // ORA_HASH cannot take a LOB, hash a bounded prefix as the LOB profiling path does
+            String value = isLobType(column.getDataType())
+                    ? "DBMS_LOB.SUBSTR(" + quotedColumnName + ", " + LOB_HASH_PREFIX_LENGTH + ", 1)"
+                    : quotedColumnName;
+            return "ORA_HASH(" + value + ", 4294967295)";
+        }
+
+        @Override
+        public String bucketExpression(String hash) {
+            return "TRUNC(" + hash + " / " + (PartitionedTableProfiler.RANK_MASK + 1) + ")";
+        }
+
+        @Override
+        public String rankExpression(String hash) {
+            // the epsilon keeps FLOOR(LOG(2, 2^k)) from landing just below k
+            String low = "MOD(" + hash + ", " + (PartitionedTableProfiler.RANK_MASK + 1) + ")";
+            return "CASE WHEN " + low + " = 0 THEN " + PartitionedTableProfiler.MAX_RANK +
+                   " ELSE " + (PartitionedTableProfiler.MAX_RANK - 1) + " - FLOOR(LOG(2, " + low + ") + 0.000000001) END";
+        }
+
+        @Override
+        public String lengthExpression(RawProfileDataDto.ColumnData column, String quotedColumnName) {
+            if (isLobType(column.getDataType())) {
+                return "DBMS_LOB.GETLENGTH(" + quotedColumnName + ")";
+            }
+            return isStringType(column.getDataType()) ? "LENGTH(" + quotedColumnName + ")" : null;
+        }
+
+        @Override
+        public boolean tracksRange(RawProfileDataDto.ColumnData column) {
+            return isNumericType(column.getDataType()) || isDateType(column.getDataType());
+        }
+
+        @Override
+        public String sampleClause() {
+            return " SAMPLE(1)";
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.dataprofiler.profiler.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partition statistics from the latest run of each partitioned table
+ * Lets incremental profiling rescan only partitions whose change marker moved.
+ * Snapshots are kept in memory on each instance, bounded by their estimated size (mostly the HLL registers of
+ * every column of every partition); the least recently used tables are dropped first. A run on another instance,
+ * after a restart or after its table was evicted scans every partition again.
+ */
+@Component
+class PartitionSnapshotStore {
+
+    /**
+     * Estimated heap bytes of the fields and map entries around a partition or column, besides the HLL registers
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /**
+     * Bound on the estimated heap size of the snapshots, in megabytes
+     */
+    @Value("${app.profiling.partition-snapshots.max-weight-mb:64}")
+    private long maxWeightMb;
+
+    private Cache<String, Map<String, PartitionedTableProfiler.PartitionStats>> snapshots;
+
+    public PartitionSnapshotStore() {
+    }
+
+    PartitionSnapshotStore(long maxWeightMb) {
+        this.maxWeightMb = maxWeightMb;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxWeightMb * 1024 * 1024)
+                .weigher((String tableKey, Map<String, PartitionedTableProfiler.PartitionStats> byName) -> weigh(byName))
+                .build();
+    }
+
+    /**
+     * Snapshot of a table keyed by partition name, or null when the table was never profiled here or was evicted
+     */
+    Map<String, PartitionedTableProfiler.PartitionStats> get(String tableKey) {
+        return snapshots.getIfPresent(tableKey);
+    }
+
+    /**
+     * Replace the snapshot of a table; dropped partitions disappear with it
+     */
+    void put(String tableKey, List<PartitionedTableProfiler.PartitionStats> partitions) {
+        Map<String, PartitionedTableProfiler.PartitionStats> byName = new LinkedHashMap<>();
+        for (PartitionedTableProfiler.PartitionStats partition : partitions) {
+            byName.put(partition.name, partition);
+        }
+        snapshots.put(tableKey, byName);
+    }
+
+    private static int weigh(Map<String, PartitionedTableProfiler.PartitionStats> byName) {
+        long weight = 0;
+        for (PartitionedTableProfiler.PartitionStats partition : byName.values()) {
+            weight += ENTRY_OVERHEAD;
+            for (PartitionedTableProfiler.ColumnStats column : partition.columns.values()) {
+                weight += ENTRY_OVERHEAD + (1 << column.sketch.getPrecision());
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+}
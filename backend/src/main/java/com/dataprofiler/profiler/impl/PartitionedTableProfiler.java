@@ -0,0 +1,485 @@
+package com.dataprofiler.profiler.impl;
+
+import com.dataprofiler.dto.internal.RawProfileDataDto;
+import com.dataprofiler.entity.DataSourceConfig;
+import com.dataprofiler.execution.ProfilingContext;
+import com.dataprofiler.execution.ProfilingWorkScheduler;
+import com.dataprofiler.util.HyperLogLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Profiles a partitioned table one partition at a time and merges the partial statistics
+ * Partitions are scanned in parallel on their own connections; each column query returns
+ * per-bucket aggregates together with HyperLogLog registers so distinct counts stay mergeable.
+ * Extra parallelism comes from helper work items on the shared work scheduler, so partition scans count
+ * against the source's concurrency limit; the calling thread scans partitions itself as well and never
+ * waits for a partition nobody has started.
+ */
+class PartitionedTableProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedTableProfiler.class);
+
+    // 32-bit source hashes: the top 10 bits pick the register, the remaining 22 bits give the rank
+    static final int HLL_PRECISION = 10;
+    static final long RANK_MASK = (1L << (32 - HLL_PRECISION)) - 1;
+    static final int MAX_RANK = 32 - HLL_PRECISION + 1;
+
+    /**
+     * Database specific SQL fragments
+     */
+    interface Dialect {
+
+        /**
+         * FROM clause target that reads a single partition
+         */
+        String partitionSource(String schemaName, String tableName, String partitionName);
+
+        String quote(String identifier);
+
+        /**
+         * Unsigned 32-bit hash of a non-null column value
+         */
+        String hashExpression(RawProfileDataDto.ColumnData column, String quotedColumnName);
+
+        /**
+         * Register index (top bits) of hash h
+         */
+        String bucketExpression(String hash);
+
+        /**
+         * HyperLogLog rank (1..MAX_RANK) of the low bits of hash h
+         */
+        String rankExpression(String hash);
+
+        /**
+         * Value length expression, or null when lengths are not tracked for the column
+         */
+        String lengthExpression(RawProfileDataDto.ColumnData column, String quotedColumnName);
+
+        boolean tracksRange(RawProfileDataDto.ColumnData column);
+
+        /**
+         * Clause appended to the partition source that samples its rows, as the table's own sampled queries do
+         */
+        String sampleClause();
+    }
+
+    /**
+     * A discovered partition and a marker that changes whenever its data may have changed
+     */
+    static class PartitionInfo {
+        final String name;
+        final String schemaName; // null when the partition lives in the schema of its table
+        final String changeMarker;
+
+        PartitionInfo(String name, String changeMarker) {
+            this(name, null, changeMarker);
+        }
+
+        PartitionInfo(String name, String schemaName, String changeMarker) {
+            this.name = name;
+            this.schemaName = schemaName;
+            this.changeMarker = changeMarker;
+        }
+    }
+
+    private final DataSourceConfig dataSource;
+    private final String sourceId;
+    private final Dialect dialect;
+    private final Callable<Connection> connectionFactory;
+    private final int parallelism;
+    private final boolean incremental;
+    private final boolean keepBreakdown;
+    private final PartitionSnapshotStore snapshotStore;
+    private final ProfilingWorkScheduler workScheduler;
+
+    PartitionedTableProfiler(DataSourceConfig dataSource, Dialect dialect, Callable<Connection> connectionFactory,
+                             PartitionSnapshotStore snapshotStore, ProfilingWorkScheduler workScheduler) {
+        this.dataSource = dataSource;
+        this.sourceId = dataSource.getSourceId();
+        this.dialect = dialect;
+        this.connectionFactory = connectionFactory;
+        this.parallelism = dataSource.getPartitionParallelism();
+        this.incremental = dataSource.isPartitionIncremental() && snapshotStore != null;
+        this.keepBreakdown = dataSource.isPartitionBreakdownEnabled();
+        this.snapshotStore = snapshotStore;
+        this.workScheduler = workScheduler;
+    }
+
+    /**
+     * Profile all partitions (or only the changed ones) and merge the results into the table and column data
+     *
+     * @param useSampling Whether the table is large enough to be sampled; each partition is then sampled the same way
+     */
+    void profile(String schemaName, String tableName, RawProfileDataDto.TableData tableData,
+                 List<RawProfileDataDto.ColumnData> columns, List<PartitionInfo> partitions, boolean useSampling) throws SQLException {
+        String tableKey = sourceId + ":" + schemaName + "." + tableName;
+        // Sampled and full statistics are never reused for each other
+        String columnSignature = columns.stream()
+                .map(column -> column.getColumnName() + ":" + column.getDataType())
+                .collect(Collectors.joining(",")) + (useSampling ? ";sampled" : "");
+
+        Map<String, PartitionStats> previous = incremental ? snapshotStore.get(tableKey) : null;
+        List<Future<PartitionStats>> futures = new ArrayList<>();
+        Queue<PartitionScan> scans = new ConcurrentLinkedQueue<>();
+        for (PartitionInfo partition : partitions) {
+            PartitionStats snapshot = previous != null ? previous.get(partition.name) : null;
+            if (snapshot != null && snapshot.isCurrent(partition.changeMarker, columnSignature)) {
+                futures.add(CompletableFuture.completedFuture(snapshot.asReused()));
+            } else {
+                PartitionScan scan = new PartitionScan(ProfilingContext.propagate(
+                        () -> profilePartition(schemaName, tableName, partition, columns, columnSignature, useSampling)));
+                scans.add(scan);
+                futures.add(scan.result);
+            }
+        }
+
+        int helpers = submitHelpers(scans, Math.min(parallelism, scans.size()) - 1);
+        drain(scans);
+
+        List<PartitionStats> results = new ArrayList<>();
+        try {
+            for (Future<PartitionStats> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while profiling partitions of " + schemaName + "." + tableName, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException("Failed to profile partitions of " + schemaName + "." + tableName + ": " + cause.getMessage(), cause);
+        }
+
+        if (incremental) {
+            snapshotStore.put(tableKey, results);
+        }
+
+        long reused = results.stream().filter(stats -> stats.reused).count();
+        logger.info("Profiled {} partitions of {}.{} ({} reused from previous run, sampled: {}) with {} helper work items",
+                results.size(), schemaName, tableName, reused, useSampling, helpers);
+
+        applyMerged(tableData, columns, results, useSampling);
+    }
+
+    /**
+     * Queue helper work items that scan partitions next to the calling thread
+     * Helpers are only used from within a running task, so they share its cancellation and source limits.
+     *
+     * @return Number of helpers queued
+     */
+    private int submitHelpers(Queue<PartitionScan> scans, int count) {
+        ProfilingContext context = ProfilingContext.current();
+        if (workScheduler == null || context == null || count <= 0) {
+            return 0;
+        }
+        for (int i = 0; i < count; i++) {
+            workScheduler.submit(context.getTaskId(), dataSource, () -> drain(scans));
+        }
+        return count;
+    }
+
+    /**
+     * Scan queued partitions until none is left; once a scan failed the remaining ones are skipped
+     */
+    private static void drain(Queue<PartitionScan> scans) {
+        PartitionScan scan;
+        while ((scan = scans.poll()) != null) {
+            try {
+                scan.result.complete(scan.work.call());
+            } catch (Exception e) {
+                scan.result.completeExceptionally(e);
+                PartitionScan skipped;
+                while ((skipped = scans.poll()) != null) {
+                    skipped.result.completeExceptionally(new SQLException("Partition scan skipped after a failed partition", e));
+                }
+            }
+        }
+    }
+
+    /**
+     * Scan one partition on a dedicated connection
+     */
+    private PartitionStats profilePartition(String schemaName, String tableName, PartitionInfo partition,
+                                            List<RawProfileDataDto.ColumnData> columns, String columnSignature,
+                                            boolean useSampling) throws Exception {
+        PartitionStats stats = new PartitionStats(partition.name, partition.changeMarker, columnSignature);
+        String partitionSchema = partition.schemaName != null ? partition.schemaName : schemaName;
+        String source = dialect.partitionSource(partitionSchema, tableName, partition.name)
+                + (useSampling ? dialect.sampleClause() : "");
+
+        try (Connection connection = connectionFactory.call()) {
+            for (RawProfileDataDto.ColumnData column : columns) {
+                ColumnStats columnStats = profilePartitionColumn(connection, source, column);
+                stats.columns.put(column.getColumnName(), columnStats);
+                stats.rowCount = columnStats.totalCount;
+            }
+        }
+
+        logger.debug("Profiled partition {} of {}.{}: {} rows", partition.name, schemaName, tableName, stats.rowCount);
+        return stats;
+    }
+
+    /**
+     * Single grouped query returning per-register aggregates for one column of one partition
+     */
+    private ColumnStats profilePartitionColumn(Connection connection, String source, RawProfileDataDto.ColumnData column) throws SQLException {
+        String quotedColumnName = dialect.quote(column.getColumnName());
+        String lengthExpression = dialect.lengthExpression(column, quotedColumnName);
+        boolean tracksRange = dialect.tracksRange(column);
+        String bucket = dialect.bucketExpression("h");
+
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT ").append(bucket).append(" AS bucket, ");
+        sql.append("MAX(").append(dialect.rankExpression("h")).append(") AS hll_rank, ");
+        sql.append("COUNT(*) AS total_count, SUM(nn) AS non_null_count");
+        if (tracksRange) {
+            sql.append(", MIN(v) AS min_value, MAX(v) AS max_value");
+        }
+        if (lengthExpression != null) {
+            sql.append(", SUM(len) AS length_sum, MIN(len) AS min_length, MAX(len) AS max_length");
+        }
+
+        // NULL values hash to NULL and end up in their own group, which carries no register
+        sql.append(" FROM (SELECT CASE WHEN ").append(quotedColumnName).append(" IS NULL THEN 0 ELSE 1 END AS nn, ");
+        sql.append("CASE WHEN ").append(quotedColumnName).append(" IS NULL THEN NULL ELSE ")
+           .append(dialect.hashExpression(column, quotedColumnName)).append(" END AS h");
+        if (tracksRange) {
+            sql.append(", ").append(quotedColumnName).append(" AS v");
+        }
+        if (lengthExpression != null) {
+            sql.append(", ").append(lengthExpression).append(" AS len");
+        }
+        sql.append(" FROM ").append(source).append(") s");
+        sql.append(" GROUP BY ").append(bucket);
+
+        ColumnStats stats = new ColumnStats();
+        try (PreparedStatement stmt = connection.prepareStatement(sql.toString());
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                stats.totalCount += rs.getLong("total_count");
+                stats.nonNullCount += rs.getLong("non_null_count");
+
+                Object bucketValue = rs.getObject("bucket");
+                if (bucketValue != null) {
+                    stats.sketch.offerRegister(((Number) bucketValue).intValue(), rs.getInt("hll_rank"));
+                }
+                if (tracksRange) {
+                    stats.offerRange(rs.getObject("min_value"), rs.getObject("max_value"));
+                }
+                if (lengthExpression != null) {
+                    Object minLength = rs.getObject("min_length");
+                    if (minLength != null) {
+                        stats.offerLength(rs.getLong("length_sum"), ((Number) minLength).longValue(), rs.getLong("max_length"));
+                    }
+                }
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Merge partition statistics into the table profile
+     * Sampled partitions only count their sampled rows, so the table keeps the row count it was given.
+     */
+    void applyMerged(RawProfileDataDto.TableData tableData, List<RawProfileDataDto.ColumnData> columns,
+                     List<PartitionStats> results, boolean sampled) {
+        if (!sampled) {
+            long rowCount = 0;
+            for (PartitionStats partition : results) {
+                rowCount += partition.rowCount;
+            }
+            tableData.setRowCount(rowCount);
+        }
+        tableData.setUseSample(sampled);
+
+        for (RawProfileDataDto.ColumnData column : columns) {
+            ColumnStats merged = new ColumnStats();
+            for (PartitionStats partition : results) {
+                ColumnStats partial = partition.columns.get(column.getColumnName());
+                if (partial != null) {
+                    merged.merge(partial);
+                }
+            }
+            merged.applyTo(column);
+        }
+
+        Map<String, Object> metadata = tableData.getTableMetadata() != null
+                ? tableData.getTableMetadata() : new HashMap<>();
+        metadata.put("partition_count", results.size());
+        // Work actually done, for the cost model: reused partitions were not read
+        int scanned = 0;
+        long scannedRows = 0;
+        for (PartitionStats partition : results) {
+            if (!partition.reused) {
+                scanned++;
+                scannedRows += partition.rowCount;
+            }
+        }
+        metadata.put("partitions_scanned", scanned);
+        metadata.put("partition_rows_scanned", scannedRows);
+        tableData.setTableMetadata(metadata);
+
+        if (keepBreakdown) {
+            List<RawProfileDataDto.PartitionData> breakdown = new ArrayList<>();
+            for (PartitionStats partition : results) {
+                RawProfileDataDto.PartitionData partitionData = new RawProfileDataDto.PartitionData(partition.name);
+                partitionData.setRowCount(partition.rowCount);
+                partitionData.setReused(partition.reused);
+
+                List<RawProfileDataDto.ColumnData> partitionColumns = new ArrayList<>();
+                for (RawProfileDataDto.ColumnData column : columns) {
+                    ColumnStats partial = partition.columns.get(column.getColumnName());
+                    if (partial != null) {
+                        RawProfileDataDto.ColumnData partitionColumn = new RawProfileDataDto.ColumnData(column.getColumnName(), column.getDataType());
+                        partial.applyTo(partitionColumn);
+                        partitionColumns.add(partitionColumn);
+                    }
+                }
+                partitionData.setColumns(partitionColumns);
+                breakdown.add(partitionData);
+            }
+            tableData.setPartitions(breakdown);
+        }
+    }
+
+    /**
+     * A partition waiting to be scanned by the calling thread or a helper
+     */
+    private static class PartitionScan {
+        final Callable<PartitionStats> work;
+        final CompletableFuture<PartitionStats> result = new CompletableFuture<>();
+
+        PartitionScan(Callable<PartitionStats> work) {
+            this.work = work;
+        }
+    }
+
+    /**
+     * Statistics of one partition, kept between runs for incremental profiling
+     */
+    static class PartitionStats {
+        final String name;
+        final String changeMarker;
+        final String columnSignature;
+        final Map<String, ColumnStats> columns = new LinkedHashMap<>();
+        long rowCount;
+        boolean reused;
+
+        PartitionStats(String name, String changeMarker, String columnSignature) {
+            this.name = name;
+            this.changeMarker = changeMarker;
+            this.columnSignature = columnSignature;
+        }
+
+        boolean isCurrent(String currentMarker, String currentSignature) {
+            return changeMarker != null && changeMarker.equals(currentMarker) && columnSignature.equals(currentSignature);
+        }
+
+        PartitionStats asReused() {
+            PartitionStats copy = new PartitionStats(name, changeMarker, columnSignature);
+            copy.columns.putAll(columns);
+            copy.rowCount = rowCount;
+            copy.reused = true;
+            return copy;
+        }
+    }
+
+    /**
+     * Mergeable column statistics: counts, range, lengths and a distinct-value sketch
+     */
+    static class ColumnStats {
+        final HyperLogLog sketch = new HyperLogLog(HLL_PRECISION);
+        long totalCount;
+        long nonNullCount;
+        Object minValue;
+        Object maxValue;
+        long lengthSum;
+        Long minLength;
+        Long maxLength;
+
+        void offerRange(Object min, Object max) {
+            if (min != null && (minValue == null || compare(min, minValue) < 0)) {
+                minValue = min;
+            }
+            if (max != null && (maxValue == null || compare(max, maxValue) > 0)) {
+                maxValue = max;
+            }
+        }
+
+        void offerLength(long sum, long min, long max) {
+            lengthSum += sum;
+            minLength = minLength == null ? min : Math.min(minLength, min);
+            maxLength = maxLength == null ? max : Math.max(maxLength, max);
+        }
+
+        void merge(ColumnStats other) {
+            totalCount += other.totalCount;
+            nonNullCount += other.nonNullCount;
+            sketch.merge(other.sketch);
+            offerRange(other.minValue, other.maxValue);
+            if (other.minLength != null) {
+                offerLength(other.lengthSum, other.minLength, other.maxLength);
+            }
+        }
+
+        void applyTo(RawProfileDataDto.ColumnData column) {
+            column.setTotalCount(totalCount);
+            column.setNullCount(totalCount - nonNullCount);
+            column.setUniqueCount(Math.min(sketch.estimate(), nonNullCount));
+            column.setMinValue(minValue);
+            column.setMaxValue(maxValue);
+            if (minLength != null && nonNullCount > 0) {
+                column.setAvgLength((double) lengthSum / nonNullCount);
+                column.setMinLength(minLength);
+                column.setMaxLength(maxLength);
+            }
+
+            Map<String, Object> metadata = column.getColumnMetadata() != null
+                    ? column.getColumnMetadata() : new HashMap<>();
+            metadata.put("distinct_estimate", "hll");
+            metadata.put("partitioned", true);
+            column.setColumnMetadata(metadata);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static int compare(Object left, Object right) {
+            if (left instanceof Number && right instanceof Number) {
+                try {
+                    return new BigDecimal(left.toString()).compareTo(new BigDecimal(right.toString()));
+                } catch (NumberFormatException e) {
+                    // NaN and infinite floating point values
+                    return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+                }
+            }
+            if (left instanceof Comparable && left.getClass().isInstance(right)) {
+                return ((Comparable<Object>) left).compareTo(right);
+            }
+            if (right instanceof Comparable && right.getClass().isInstance(left)) {
+                return -((Comparable<Object>) right).compareTo(left);
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,517 @@
+package com.dataprofiler.profiler.impl;
+
+import com.dataprofiler.dto.internal.RawProfileDataDto;
+import com.dataprofiler.profiler.AbstractDatabaseProfiler;
+import com.dataprofiler.util.HyperLogLog;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Column statistics computed directly from a PostgreSQL binary COPY stream
+ * Fields are read into one reusable buffer; values are only decoded for min/max tracking and the first samples
+ */
+class PgCopyStatsCollector {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0};
+    private static final int HLL_PRECISION = 14;
+    private static final int MAX_SAMPLE_VALUES = 10;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    // PostgreSQL binary date/time values count from 2000-01-01
+    private static final LocalDate PG_EPOCH_DATE = LocalDate.of(2000, 1, 1);
+    private static final LocalDateTime PG_EPOCH_DATE_TIME = PG_EPOCH_DATE.atStartOfDay();
+    private static final long PG_EPOCH_SECONDS = 946684800L;
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+
+    private final List<ColumnAccumulator> accumulators = new ArrayList<>();
+    private final int fieldCount;
+    private long rowCount;
+    private byte[] buffer = new byte[256];
+
+    PgCopyStatsCollector(List<RawProfileDataDto.ColumnData> columns, Predicate<String> stringType, Predicate<String> lobType) {
+        int fields = 0;
+        for (RawProfileDataDto.ColumnData column : columns) {
+            Kind kind = lobType.test(column.getDataType()) ? Kind.LOB : Kind.of(column.getDataType());
+            ColumnAccumulator accumulator = new ColumnAccumulator(column, kind, stringType.test(column.getDataType()));
+            accumulators.add(accumulator);
+            fields += kind.fieldCount;
+        }
+        this.fieldCount = fields;
+    }
+
+    /**
+     * Build the COPY statement; types without a binary decoder are streamed in their text form
+     */
+    String buildCopySql(String schemaName, String tableName, boolean useSampling) {
+        StringBuilder select = new StringBuilder();
+        for (ColumnAccumulator accumulator : accumulators) {
+            String quotedColumnName = "\"" + accumulator.column.getColumnName() + "\"";
+            if (select.length() > 0) {
+                select.append(", ");
+            }
+            select.append(accumulator.kind.projection(quotedColumnName, accumulator.column.getDataType()));
+        }
+
+        StringBuilder sql = new StringBuilder("COPY (SELECT ");
+        sql.append(select);
+        sql.append(" FROM \"").append(schemaName).append("\".\"").append(tableName).append("\"");
+        if (useSampling) {
+            sql.append(" TABLESAMPLE SYSTEM(1)");
+        }
+        sql.append(") TO STDOUT (FORMAT binary)");
+        return sql.toString();
+    }
+
+    /**
+     * Consume a complete binary COPY stream
+     */
+    void collect(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, STREAM_BUFFER_SIZE));
+        readHeader(in);
+
+        while (true) {
+            short tupleFields = in.readShort();
+            if (tupleFields == -1) {
+                break;
+            }
+            if (tupleFields != fieldCount) {
+                throw new IOException("Unexpected field count in COPY tuple: " + tupleFields + ", expected " + fieldCount);
+            }
+            rowCount++;
+
+            for (ColumnAccumulator accumulator : accumulators) {
+                for (int field = 0; field < accumulator.kind.fieldCount; field++) {
+                    int length = in.readInt();
+                    if (length < 0) {
+                        continue;
+                    }
+                    byte[] data = ensureBuffer(length);
+                    in.readFully(data, 0, length);
+                    accumulator.accept(field, data, length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the collected statistics into the column data
+     */
+    void applyTo() {
+        for (ColumnAccumulator accumulator : accumulators) {
+            accumulator.apply(rowCount);
+        }
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    private void readHeader(DataInputStream in) throws IOException {
+        byte[] signature = new byte[SIGNATURE.length];
+        in.readFully(signature);
+        if (!Arrays.equals(signature, SIGNATURE)) {
+            throw new IOException("Stream is not in PostgreSQL binary COPY format");
+        }
+        in.readInt(); // flags
+        int extensionLength = in.readInt();
+        if (extensionLength > 0) {
+            in.readFully(new byte[extensionLength]);
+        }
+    }
+
+    private byte[] ensureBuffer(int length) {
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        return buffer;
+    }
+
+    /**
+     * Wire representation of a streamed column
+     */
+    enum Kind {
+        BOOL(1), INT2(1), INT4(1), INT8(1), FLOAT4(1), FLOAT8(1), NUMERIC(1),
+        DATE(1), TIME(1), TIMESTAMP(1), TIMESTAMPTZ(1), UUID(1), TEXT(1),
+        // length, md5 digest and sample prefix are computed server-side so payloads never leave the database
+        LOB(3);
+
+        final int fieldCount;
+
+        Kind(int fieldCount) {
+            this.fieldCount = fieldCount;
+        }
+
+        static Kind of(String dataType) {
+            String lowerCaseType = dataType == null ? "" : dataType.toLowerCase();
+            switch (lowerCaseType) {
+                case "boolean":
+                    return BOOL;
+                case "smallint":
+                    return INT2;
+                case "integer":
+                    return INT4;
+                case "bigint":
+                    return INT8;
+                case "real":
+                    return FLOAT4;
+                case "double precision":
+                    return FLOAT8;
+                case "numeric":
+                case "money":
+                    return NUMERIC;
+                case "date":
+                    return DATE;
+                case "time without time zone":
+                    return TIME;
+                case "timestamp without time zone":
+                    return TIMESTAMP;
+                case "timestamp with time zone":
+                    return TIMESTAMPTZ;
+                case "uuid":
+                    return UUID;
+                default:
+                    return TEXT;
+            }
+        }
+
+        String projection(String quotedColumnName, String dataType) {
+            switch (this) {
+                case NUMERIC:
+                    return "money".equalsIgnoreCase(dataType) ? quotedColumnName + "::numeric" : quotedColumnName;
+                case TEXT:
+                    return quotedColumnName + "::text";
+                case LOB:
+                    if ("bytea".equalsIgnoreCase(dataType)) {
+                        return "octet_length(" + quotedColumnName + "), md5(" + quotedColumnName + "), " +
+                               "encode(substring(" + quotedColumnName + " from 1 for " + (AbstractDatabaseProfiler.LOB_PREFIX_LENGTH / 2) + "), 'hex')";
+                    }
+                    return "length(" + quotedColumnName + "::text), md5(" + quotedColumnName + "::text), " +
+                           "left(" + quotedColumnName + "::text, " + AbstractDatabaseProfiler.LOB_PREFIX_LENGTH + ")";
+                default:
+                    return quotedColumnName;
+            }
+        }
+
+        boolean isIntegral() {
+            return this == INT2 || this == INT4 || this == INT8 || this == DATE || this == TIME
+                || this == TIMESTAMP || this == TIMESTAMPTZ;
+        }
+    }
+
+    /**
+     * Running statistics for one column
+     */
+    private static class ColumnAccumulator {
+        private final RawProfileDataDto.ColumnData column;
+        private final Kind kind;
+        private final boolean trackLength;
+        private final HyperLogLog distinct = new HyperLogLog(HLL_PRECISION);
+        private final Set<Object> samples = new LinkedHashSet<>();
+
+        private long nonNullCount;
+        private boolean hasRange;
+        private long minLong;
+        private long maxLong;
+        private double minDouble;
+        private double maxDouble;
+        private BigDecimal minDecimal;
+        private BigDecimal maxDecimal;
+        private long lengthSum;
+        private long minLength = Long.MAX_VALUE;
+        private long maxLength;
+
+        ColumnAccumulator(RawProfileDataDto.ColumnData column, Kind kind, boolean trackLength) {
+            this.column = column;
+            this.kind = kind;
+            this.trackLength = trackLength || kind == Kind.LOB;
+        }
+
+        void accept(int field, byte[] data, int length) {
+            if (kind == Kind.LOB) {
+                acceptLobField(field, data, length);
+                return;
+            }
+
+            nonNullCount++;
+            distinct.addBytes(data, 0, length);
+
+            switch (kind) {
+                case INT2:
+                    trackLong(readShort(data));
+                    break;
+                case INT4:
+                case DATE:
+                    trackLong(readInt(data, 0));
+                    break;
+                case INT8:
+                case TIME:
+                case TIMESTAMP:
+                case TIMESTAMPTZ:
+                    trackLong(readLong(data, 0));
+                    break;
+                case FLOAT4:
+                    trackDouble(Float.intBitsToFloat(readInt(data, 0)));
+                    break;
+                case FLOAT8:
+                    trackDouble(Double.longBitsToDouble(readLong(data, 0)));
+                    break;
+                case NUMERIC:
+                    trackDecimal(decodeNumeric(data));
+                    break;
+                case TEXT:
+                    if (trackLength) {
+                        trackLength(utf8Length(data, length));
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            if (samples.size() < MAX_SAMPLE_VALUES) {
+                Object value = decode(data, length);
+                if (value != null) {
+                    samples.add(value);
+                }
+            }
+        }
+
+        private void acceptLobField(int field, byte[] data, int length) {
+            if (field == 0) {
+                nonNullCount++;
+                trackLength(readInt(data, 0));
+            } else if (field == 1) {
+                distinct.addBytes(data, 0, length);
+            } else if (samples.size() < MAX_SAMPLE_VALUES) {
+                samples.add(new String(data, 0, length, StandardCharsets.UTF_8));
+            }
+        }
+
+        private void trackLong(long value) {
+            // infinity dates and timestamps are encoded as the extreme values
+            if ((kind == Kind.DATE && (value == Integer.MAX_VALUE || value == Integer.MIN_VALUE))
+                    || ((kind == Kind.TIMESTAMP || kind == Kind.TIMESTAMPTZ) && (value == Long.MAX_VALUE || value == Long.MIN_VALUE))) {
+                return;
+            }
+            if (!hasRange) {
+                minLong = value;
+                maxLong = value;
+                hasRange = true;
+            } else if (value < minLong) {
+                minLong = value;
+            } else if (value > maxLong) {
+                maxLong = value;
+            }
+        }
+
+        private void trackDouble(double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            if (!hasRange) {
+                minDouble = value;
+                maxDouble = value;
+                hasRange = true;
+            } else if (value < minDouble) {
+                minDouble = value;
+            } else if (value > maxDouble) {
+                maxDouble = value;
+            }
+        }
+
+        private void trackDecimal(BigDecimal value) {
+            if (value == null) {
+                return;
+            }
+            if (minDecimal == null || value.compareTo(minDecimal) < 0) {
+                minDecimal = value;
+            }
+            if (maxDecimal == null || value.compareTo(maxDecimal) > 0) {
+                maxDecimal = value;
+            }
+        }
+
+        private void trackLength(long valueLength) {
+            lengthSum += valueLength;
+            minLength = Math.min(minLength, valueLength);
+            maxLength = Math.max(maxLength, valueLength);
+        }
+
+        private Object decode(byte[] data, int length) {
+            switch (kind) {
+                case BOOL:
+                    return data[0] != 0;
+                case INT2:
+                    return readShort(data);
+                case INT4:
+                    return readInt(data, 0);
+                case INT8:
+                    return readLong(data, 0);
+                case FLOAT4:
+                    return Float.intBitsToFloat(readInt(data, 0));
+                case FLOAT8:
+                    return Double.longBitsToDouble(readLong(data, 0));
+                case NUMERIC:
+                    return decodeNumeric(data);
+                case UUID:
+                    return new java.util.UUID(readLong(data, 0), readLong(data, 8));
+                case DATE:
+                case TIME:
+                case TIMESTAMP:
+                case TIMESTAMPTZ:
+                    long raw = kind == Kind.DATE ? readInt(data, 0) : readLong(data, 0);
+                    return toTemporal(raw);
+                default:
+                    return new String(data, 0, length, StandardCharsets.UTF_8);
+            }
+        }
+
+        /**
+         * Convert a raw date/time value into the java.sql type the JDBC driver would return
+         */
+        private Object toTemporal(long raw) {
+            switch (kind) {
+                case DATE:
+                    if (raw == Integer.MAX_VALUE || raw == Integer.MIN_VALUE) {
+                        return null;
+                    }
+                    return java.sql.Date.valueOf(PG_EPOCH_DATE.plusDays(raw));
+                case TIME:
+                    // 24:00:00 is a valid PostgreSQL time; like the driver's LocalTime mapping it becomes LocalTime.MAX
+                    if (raw >= MICROS_PER_DAY) {
+                        return java.sql.Time.valueOf(LocalTime.MAX);
+                    }
+                    return java.sql.Time.valueOf(LocalTime.ofNanoOfDay(raw * 1000L));
+                case TIMESTAMP:
+                    if (raw == Long.MAX_VALUE || raw == Long.MIN_VALUE) {
+                        return null;
+                    }
+                    return java.sql.Timestamp.valueOf(PG_EPOCH_DATE_TIME.plus(raw, ChronoUnit.MICROS));
+                case TIMESTAMPTZ:
+                    if (raw == Long.MAX_VALUE || raw == Long.MIN_VALUE) {
+                        return null;
+                    }
+                    return java.sql.Timestamp.from(Instant.ofEpochSecond(PG_EPOCH_SECONDS).plus(raw, ChronoUnit.MICROS));
+                default:
+                    return raw;
+            }
+        }
+
+        void apply(long rowCount) {
+            column.setTotalCount(rowCount);
+            column.setNullCount(rowCount - nonNullCount);
+            column.setUniqueCount(Math.min(distinct.estimate(), nonNullCount));
+
+            if (hasRange && kind.isIntegral()) {
+                column.setMinValue(kind == Kind.INT2 || kind == Kind.INT4 || kind == Kind.INT8
+                        ? integralValue(minLong) : toTemporal(minLong));
+                column.setMaxValue(kind == Kind.INT2 || kind == Kind.INT4 || kind == Kind.INT8
+                        ? integralValue(maxLong) : toTemporal(maxLong));
+            } else if (hasRange) {
+                column.setMinValue(kind == Kind.FLOAT4 ? (Object) (float) minDouble : (Object) minDouble);
+                column.setMaxValue(kind == Kind.FLOAT4 ? (Object) (float) maxDouble : (Object) maxDouble);
+            } else if (minDecimal != null) {
+                column.setMinValue(minDecimal);
+                column.setMaxValue(maxDecimal);
+            }
+
+            if (trackLength && nonNullCount > 0) {
+                column.setAvgLength((double) lengthSum / nonNullCount);
+                column.setMaxLength(maxLength);
+                column.setMinLength(minLength);
+            }
+
+            column.setSampleValues(new ArrayList<>(samples));
+
+            Map<String, Object> metadata = column.getColumnMetadata() != null
+                    ? column.getColumnMetadata() : new HashMap<>();
+            metadata.put("copy_fast_path", true);
+            metadata.put("distinct_estimate", "hll");
+            column.setColumnMetadata(metadata);
+        }
+
+        private Object integralValue(long value) {
+            switch (kind) {
+                case INT2:
+                    return (short) value;
+                case INT4:
+                    return (int) value;
+                default:
+                    return value;
+            }
+        }
+    }
+
+    /**
+     * Decode a binary numeric: ndigits, weight, sign, dscale, then base-10000 digits
+     */
+    static BigDecimal decodeNumeric(byte[] data) {
+        int ndigits = readShort(data, 0);
+        int weight = readShort(data, 2);
+        int sign = readShort(data, 4) & 0xffff;
+        int dscale = readShort(data, 6);
+        if (sign == 0xC000 || sign == 0xD000 || sign == 0xF000) {
+            return null; // NaN and infinities have no decimal form
+        }
+
+        BigInteger unscaled = BigInteger.ZERO;
+        BigInteger base = BigInteger.valueOf(10000);
+        for (int i = 0; i < ndigits; i++) {
+            unscaled = unscaled.multiply(base).add(BigInteger.valueOf(readShort(data, 8 + i * 2)));
+        }
+
+        // the last digit group sits at 10000^(weight - ndigits + 1)
+        BigDecimal value = new BigDecimal(unscaled, -4 * (weight - ndigits + 1));
+        value = value.setScale(dscale, RoundingMode.HALF_UP);
+        return sign == 0x4000 ? value.negate() : value;
+    }
+
+    /**
+     * Character count of a UTF-8 encoded value, skipping continuation bytes
+     */
+    static long utf8Length(byte[] data, int length) {
+        long characters = 0;
+        for (int i = 0; i < length; i++) {
+            if ((data[i] & 0xC0) != 0x80) {
+                characters++;
+            }
+        }
+        return characters;
+    }
+
+    private static short readShort(byte[] data) {
+        return readShort(data, 0);
+    }
+
+    private static short readShort(byte[] data, int offset) {
+        return (short) (((data[offset] & 0xff) << 8) | (data[offset + 1] & 0xff));
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xff) << 24) | ((data[offset + 1] & 0xff) << 16)
+            | ((data[offset + 2] & 0xff) << 8) | (data[offset + 3] & 0xff);
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        return ((long) readInt(data, offset) << 32) | (readInt(data, offset + 4) & 0xffffffffL);
+    }
+}
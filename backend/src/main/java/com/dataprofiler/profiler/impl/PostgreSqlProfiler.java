@@ -4,12 +4,23 @@ import com.dataprofiler.dto.internal.RawProfileDataDto;
 import com.dataprofiler.dto.request.ProfilingTaskRequest;
 
 import com.dataprofiler.entity.DataSourceConfig;
-import com.dataprofiler.profiler.IDatabaseProfiler;
+import com.dataprofiler.execution.ProfilingContext;
+import com.dataprofiler.execution.ProfilingMetrics;
+import com.dataprofiler.execution.QueryTrace;
+import com.dataprofiler.profiler.AbstractDatabaseProfiler;
+import com.dataprofiler.profiler.ServerLoadSample;
+import com.dataprofiler.profiler.TableEstimate;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.*;
 import java.util.*;
 import java.util.LinkedHashMap;
@@ -19,12 +30,15 @@ import java.util.LinkedHashMap;
  * Implements adaptive profiling strategy for PostgreSQL databases
  */
 @Component
-public class PostgreSqlProfiler implements IDatabaseProfiler {
+public class PostgreSqlProfiler extends AbstractDatabaseProfiler {
 
     private static final Logger logger = LoggerFactory.getLogger(PostgreSqlProfiler.class);
     private static final long LARGE_TABLE_THRESHOLD = 1000000; // 1M rows
     private static final int SAMPLE_SIZE = 1000;
 
+    @Autowired(required = false)
+    private PartitionSnapshotStore partitionSnapshotStore;
+
     @Override
     public RawProfileDataDto profile(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
         logger.info("Starting PostgreSQL profiling for data source: {}", dataSource.getSourceId());
@@ -36,6 +50,11 @@ public class PostgreSqlProfiler implements IDatabaseProfiler {
 
         try (Connection connection = createConnection(dataSource)) {
             rawData.setDatabaseName(connection.getCatalog());
+            applyParallelWorkers(connection, dataSource.getParallelDegree());
+            boolean copyFastPath = dataSource.isCopyFastPathEnabled();
+            PartitionedTableProfiler partitionProfiler = dataSource.isPartitionProfilingEnabled()
+                    ? new PartitionedTableProfiler(dataSource, new PartitionDialect(), () -> createConnection(dataSource), partitionSnapshotStore, workScheduler)
+                    : null;
             
             List<RawProfileDataDto.TableData> tables = new ArrayList<>();
             
@@ -43,8 +62,12 @@ public class PostgreSqlProfiler implements IDatabaseProfiler {
             List<String> tablesToProfile = getTablesList(connection, scope);
             
             for (String tableName : tablesToProfile) {
+                if (ProfilingContext.isCurrentCancelled()) {
+                    logger.info("Profiling stopped, skipping remaining tables of data source: {}", dataSource.getSourceId());
+                    break;
+                }
                 try {
-                    RawProfileDataDto.TableData tableData = profileTable(connection, tableName);
+                    RawProfileDataDto.TableData tableData = profileTable(connection, tableName, copyFastPath, partitionProfiler);
                     if (tableData != null) {
                         tables.add(tableData);
                     }
@@ -57,7 +80,9 @@ public class PostgreSqlProfiler implements IDatabaseProfiler {
             
             // Add database metadata
             Map<String, Object> metadata = new HashMap<>();
-            metadata.put("postgresql_version", getDatabaseVersion(connection));
+            if (!ProfilingContext.isCurrentCancelled()) {
+                metadata.put("postgresql_version", getDatabaseVersion(connection));
+            }
             metadata.put("total_tables_profiled", tables.size());
             rawData.setMetadata(metadata);
             
@@ -71,6 +96,90 @@ public class PostgreSqlProfiler implements IDatabaseProfiler {
         return rawData;
     }
 
+    @Override
+    public List<ProfilingTaskRequest.DataSourceScope> splitIntoTables(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
+        try (Connection connection = createConnection(dataSource)) {
+            List<ProfilingTaskRequest.DataSourceScope> units = new ArrayList<>();
+            for (String tableName : getTablesList(connection, scope)) {
+                String[] parts = tableName.split("\\.", 2);
+                units.add(parts.length == 2
+                        ? ProfilingTaskRequest.DataSourceScope.ofTable(parts[0], parts[1])
+                        : ProfilingTaskRequest.DataSourceScope.ofTable("public", tableName));
+            }
+            return units;
+        }
+    }
+
+    @Override
+    public List<TableEstimate> estimateTables(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
+        String sql = "SELECT c.reltuples::bigint AS estimate, " +
+                    "(SELECT count(*) FROM pg_attribute a WHERE a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped) AS column_count " +
+                    "FROM pg_class c " +
+                    "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                    "WHERE n.nspname = ? AND c.relname = ?";
+        
+        try (Connection connection = createConnection(dataSource);
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            List<TableEstimate> estimates = new ArrayList<>();
+            for (String tableName : getTablesList(connection, scope)) {
+                String[] parts = tableName.split("\\.", 2);
+                String schemaName = parts.length == 2 ? parts[0] : "public";
+                String actualTableName = parts.length == 2 ? parts[1] : tableName;
+                stmt.setString(1, schemaName);
+                stmt.setString(2, actualTableName);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        // reltuples is -1 until the table is first vacuumed or analyzed
+                        long estimate = rs.getLong("estimate");
+                        estimates.add(new TableEstimate(schemaName, actualTableName, estimate >= 0 ? estimate : null, rs.getInt("column_count")));
+                    } else {
+                        estimates.add(new TableEstimate(schemaName, actualTableName, null, 0));
+                    }
+                }
+            }
+            return estimates;
+        }
+    }
+
+    @Override
+    public double getSampledScanFraction() {
+        // TABLESAMPLE SYSTEM(1)
+        return 0.01;
+    }
+
+    @Override
+    public ServerLoadSample sampleServerLoad(DataSourceConfig dataSource) throws Exception {
+        try (Connection connection = createConnection(dataSource);
+             Statement stmt = connection.createStatement()) {
+            stmt.setQueryTimeout(10);
+            long start = System.nanoTime();
+            // Sessions of the profiler itself are the load being throttled, not load to react to
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT count(*) FROM pg_stat_activity WHERE state = 'active' AND pid <> pg_backend_pid() " +
+                    "AND application_name <> '" + APPLICATION_NAME + "'")) {
+                Double activeSessions = rs.next() ? rs.getDouble(1) : null;
+                return new ServerLoadSample((System.nanoTime() - start) / 1_000_000, activeSessions);
+            }
+        }
+    }
+
+    @Override
+    public Long getReplicationLagSeconds(DataSourceConfig dataSource) throws Exception {
+        // A standby that has replayed everything it received is not lagging, even if the primary is idle
+        String sql = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN NULL " +
+                     "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+                     "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())::bigint END";
+        try (Connection connection = createConnection(dataSource);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next()) {
+                return null;
+            }
+            long lag = rs.getLong(1);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+
     @Override
     public boolean testConnection(DataSourceConfig dataSource) {
         try (Connection connection = createConnection(dataSource)) {
@@ -158,8 +267,25 @@ public class PostgreSqlProfiler implements IDatabaseProfiler {
         props.setProperty("user", dataSource.getUsername());
         props.setProperty("password", dataSource.getPassword());
         props.setProperty("ssl", "false");
+        props.setProperty("ApplicationName", APPLICATION_NAME);
         
-        return DriverManager.getConnection(url, props);
+        return ProfilingContext.open(() -> DriverManager.getConnection(url, props), getSupportedType());
+    }
+
+    /**
+     * Allow the planner to use parallel workers for full scans in this session.
+     * The server-wide max_parallel_workers limit still applies on top of this value.
+     */
+    private void applyParallelWorkers(Connection connection, int parallelDegree) {
+        if (parallelDegree <= 1) {
+            return;
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("SET max_parallel_workers_per_gather = " + parallelDegree);
+            logger.debug("Set max_parallel_workers_per_gather to {} for profiling session", parallelDegree);
+        } catch (SQLException e) {
+            logger.warn("Could not set max_parallel_workers_per_gather to {}, continuing serially", parallelDegree, e);
+        }
     }
 
     /**
@@ -287,7 +413,7 @@ public class PostgreSqlProfiler implements IDatabaseProfiler {
     /**
      * Profile a single table using adaptive strategy
      */
-    private RawProfileDataDto.TableData profileTable(Connection connection, String tableName) throws SQLException {
+    private RawProfileDataDto.TableData profileTable(Connection connection, String tableName, boolean copyFastPath, PartitionedTableProfiler partitionProfiler) throws SQLException {
         logger.debug("Profiling table: {}", tableName);
         
         // Extract schema and table name
@@ -307,8 +433,15 @@ public class PostgreSqlProfiler implements IDatabaseProfiler {
         // Determine if we should use sampling for large tables
         boolean useSampling = rowCount > LARGE_TABLE_THRESHOLD;
         
+        // Partitioned tables are scanned partition by partition and merged
+        List<PartitionedTableProfiler.PartitionInfo> partitions = partitionProfiler != null
+                ? getPartitions(connection, schemaName, actualTableName) : Collections.emptyList();
+        
         // Get column information and profile each column
-        List<RawProfileDataDto.ColumnData> columns = profileColumns(connection, schemaName, actualTableName, useSampling);
+        List<RawProfileDataDto.ColumnData> columns = profileColumns(connection, schemaName, actualTableName, useSampling, copyFastPath, partitions.isEmpty());
+        if (!partitions.isEmpty()) {
+            profilePartitions(connection, tableData, columns, partitions, partitionProfiler, useSampling);
+        }
         tableData.setColumns(columns);
         
         // Get index information
@@ -408,7 +541,7 @@ public class PostgreSqlProfiler implements IDatabaseProfiler {
     /**
      * Profile all columns in a table
      */
-    private List<RawProfileDataDto.ColumnData> profileColumns(Connection connection, String schemaName, String tableName, boolean useSampling) throws SQLException {
+    private List<RawProfileDataDto.ColumnData> profileColumns(Connection connection, String schemaName, String tableName, boolean useSampling, boolean copyFastPath, boolean profileData) throws SQLException {
         List<RawProfileDataDto.ColumnData> columns = new ArrayList<>();
         
         // Get column metadata from information_schema
@@ -446,21 +579,162 @@ public class PostgreSqlProfiler implements IDatabaseProfiler {
                     columnData.setNullable("YES".equals(rs.getString("is_nullable")));
                     columnData.setDefaultValue(rs.getString("column_default"));
                     
-                    // Profile column data
-                    profileColumnData(connection, schemaName, tableName, columnData, useSampling);
-                    
                     columns.add(columnData);
                 }
             }
         }
         
+        if (!profileData) {
+            return columns;
+        }
+        
+        // Stream the whole table (or sample) once instead of issuing per-column queries
+        if (copyFastPath && !columns.isEmpty() && profileColumnsWithCopy(connection, schemaName, tableName, columns, useSampling)) {
+            return columns;
+        }
+        
+        // Profile column data
+        for (RawProfileDataDto.ColumnData columnData : columns) {
+            long columnStart = System.nanoTime();
+            QueryTrace.enterColumn(columnData.getColumnName());
+            try {
+                profileColumnData(connection, schemaName, tableName, columnData, useSampling);
+            } finally {
+                QueryTrace.exitColumn();
+            }
+            ProfilingMetrics.recordColumn(getSupportedType(), useSampling, System.nanoTime() - columnStart);
+        }
+        
         return columns;
     }
 
     /**
-     * Profile individual column data
+     * Get leaf partitions of a declaratively partitioned table by walking pg_inherits
+     * The change marker combines cumulative tuple modifications with the relfilenode (which changes on TRUNCATE)
+     */
+    private List<PartitionedTableProfiler.PartitionInfo> getPartitions(Connection connection, String schemaName, String tableName) throws SQLException {
+        List<PartitionedTableProfiler.PartitionInfo> partitions = new ArrayList<>();
+        
+        String sql = "WITH RECURSIVE parts AS (" +
+                    "SELECT i.inhrelid AS relid FROM pg_inherits i " +
+                    "JOIN pg_class p ON p.oid = i.inhparent " +
+                    "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+                    "WHERE n.nspname = ? AND p.relname = ? AND p.relkind = 'p' " +
+                    "UNION ALL " +
+                    "SELECT i.inhrelid FROM pg_inherits i JOIN parts ON i.inhparent = parts.relid) " +
+                    "SELECT cn.nspname AS partition_schema, c.relname AS partition_name, c.relfilenode, " +
+                    "s.n_tup_ins + s.n_tup_upd + s.n_tup_del AS modifications " +
+                    "FROM parts " +
+                    "JOIN pg_class c ON c.oid = parts.relid " +
+                    "JOIN pg_namespace cn ON cn.oid = c.relnamespace " +
+                    "LEFT JOIN pg_stat_user_tables s ON s.relid = c.oid " +
+                    "WHERE c.relkind = 'r' " +
+                    "ORDER BY c.relname";
+        
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, schemaName);
+            stmt.setString(2, tableName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Long modifications = rs.getObject("modifications", Long.class);
+                    String changeMarker = modifications != null
+                            ? modifications + ":" + rs.getLong("relfilenode")
+                            : null;
+                    partitions.add(new PartitionedTableProfiler.PartitionInfo(
+                        rs.getString("partition_name"), rs.getString("partition_schema"), changeMarker));
+                }
+            }
+        }
+        
+        return partitions;
+    }
+
+    /**
+     * Profile a partitioned table through its partitions, falling back to whole-table queries on failure
+     */
+    private void profilePartitions(Connection connection, RawProfileDataDto.TableData tableData, List<RawProfileDataDto.ColumnData> columns,
+                                   List<PartitionedTableProfiler.PartitionInfo> partitions, PartitionedTableProfiler partitionProfiler,
+                                   boolean useSampling) throws SQLException {
+        String tableName = tableData.getTableName();
+        String schemaName = tableData.getSchemaName();
+        
+        try {
+            partitionProfiler.profile(schemaName, tableName, tableData, columns, partitions, useSampling);
+        } catch (SQLException e) {
+            logger.warn("Partition profiling failed for {}.{}, profiling as a single table", schemaName, tableName, e);
+            for (RawProfileDataDto.ColumnData columnData : columns) {
+                long columnStart = System.nanoTime();
+                QueryTrace.enterColumn(columnData.getColumnName());
+                try {
+                    profileColumnData(connection, schemaName, tableName, columnData, useSampling);
+                } finally {
+                    QueryTrace.exitColumn();
+                }
+                ProfilingMetrics.recordColumn(getSupportedType(), useSampling, System.nanoTime() - columnStart);
+            }
+            return;
+        }
+        
+        for (RawProfileDataDto.ColumnData columnData : columns) {
+            if (isLobType(columnData.getDataType())) {
+                getLobSampleValues(connection, schemaName, tableName, columnData, useSampling);
+                markLobColumn(columnData, "hll");
+            } else {
+                getSampleValues(connection, schemaName, tableName, columnData, useSampling);
+            }
+        }
+    }
+
+    /**
+     * Profile all columns from a single binary COPY stream
+     * Returns false when COPY is unavailable so the caller can fall back to per-column queries
+     */
+    private boolean profileColumnsWithCopy(Connection connection, String schemaName, String tableName, List<RawProfileDataDto.ColumnData> columns, boolean useSampling) {
+        PgCopyStatsCollector collector = new PgCopyStatsCollector(columns, this::isStringType, this::isLobType);
+        String sql = collector.buildCopySql(schemaName, tableName, useSampling);
+        
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try (InputStream in = new PGCopyInputStream(copyManager.copyOut(sql))) {
+                collector.collect(in);
+            }
+        } catch (SQLException | IOException | RuntimeException e) {
+            // Unexpected values the collector cannot decode must not fail the table either
+            logger.warn("COPY fast path failed for {}.{}, falling back to per-column queries", schemaName, tableName, e);
+            return false;
+        }
+        
+        collector.applyTo();
+        for (RawProfileDataDto.ColumnData columnData : columns) {
+            if (isLobType(columnData.getDataType())) {
+                markLobColumn(columnData, "md5");
+            }
+        }
+        logger.debug("Profiled {} columns of {}.{} from {} streamed rows", columns.size(), schemaName, tableName, collector.getRowCount());
+        return true;
+    }
+
+    /**
+     * Profile individual column data; a column whose queries fail is marked as failed instead of failing the table
      */
     private void profileColumnData(Connection connection, String schemaName, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+        try {
+            queryColumnData(connection, schemaName, tableName, columnData, useSampling);
+        } catch (SQLException e) {
+            markColumnFailed(columnData, schemaName + "." + tableName, e);
+        }
+    }
+
+    /**
+     * Run the profiling queries of one column
+     */
+    private void queryColumnData(Connection connection, String schemaName, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+        // Unbounded text/bytea/json/xml values are profiled without shipping or comparing payloads
+        if (isLobType(columnData.getDataType())) {
+            profileLobColumnData(connection, schemaName, tableName, columnData, useSampling);
+            return;
+        }
+
         String columnName = columnData.getColumnName();
         String fullTableName = "\"" + schemaName + "\".\"" + tableName + "\"";
         String quotedColumnName = "\"" + columnName + "\"";
@@ -525,6 +799,80 @@ public class PostgreSqlProfiler implements IDatabaseProfiler {
         getSampleValues(connection, schemaName, tableName, columnData, useSampling);
     }
 
+    /**
+     * Profile a LOB column (text, bytea, json, jsonb, xml)
+     * Aggregates lengths only and estimates distinct values from md5 digests
+     */
+    private void profileLobColumnData(Connection connection, String schemaName, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+        String fullTableName = "\"" + schemaName + "\".\"" + tableName + "\"";
+        String quotedColumnName = "\"" + columnData.getColumnName() + "\"";
+        boolean binary = isBinaryLobType(columnData.getDataType());
+
+        // md5() and octet_length() accept bytea directly, everything else goes through its text form
+        String hashExpression = binary ? "md5(" + quotedColumnName + ")" : "md5(" + quotedColumnName + "::text)";
+        String lengthExpression = binary ? "octet_length(" + quotedColumnName + ")" : "LENGTH(" + quotedColumnName + "::text)";
+
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT ");
+        sql.append("COUNT(*) as total_count, ");
+        sql.append("COUNT(").append(quotedColumnName).append(") as non_null_count, ");
+        sql.append("COUNT(DISTINCT ").append(hashExpression).append(") as unique_count, ");
+        sql.append("AVG(").append(lengthExpression).append(") as avg_length, ");
+        sql.append("MAX(").append(lengthExpression).append(") as max_length, ");
+        sql.append("MIN(").append(lengthExpression).append(") as min_length");
+        sql.append(" FROM ").append(fullTableName);
+
+        if (useSampling) {
+            sql.append(" TABLESAMPLE SYSTEM(1)");
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql.toString());
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                long totalCount = rs.getLong("total_count");
+                long nonNullCount = rs.getLong("non_null_count");
+
+                columnData.setTotalCount(totalCount);
+                columnData.setNullCount(totalCount - nonNullCount);
+                columnData.setUniqueCount(rs.getLong("unique_count"));
+                columnData.setAvgLength(rs.getDouble("avg_length"));
+                columnData.setMaxLength(rs.getLong("max_length"));
+                columnData.setMinLength(rs.getLong("min_length"));
+            }
+        }
+
+        markLobColumn(columnData, "md5");
+        getLobSampleValues(connection, schemaName, tableName, columnData, useSampling);
+    }
+
+    /**
+     * Get prefix-only sample values for a LOB column
+     */
+    private void getLobSampleValues(Connection connection, String schemaName, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+        String fullTableName = "\"" + schemaName + "\".\"" + tableName + "\"";
+        String quotedColumnName = "\"" + columnData.getColumnName() + "\"";
+
+        String prefix = isBinaryLobType(columnData.getDataType())
+                ? "encode(substring(" + quotedColumnName + " from 1 for " + (LOB_PREFIX_LENGTH / 2) + "), 'hex')"
+                : "LEFT(" + quotedColumnName + "::text, " + LOB_PREFIX_LENGTH + ")";
+
+        String sql = "SELECT DISTINCT " + prefix + " FROM " + fullTableName;
+        if (useSampling) {
+            sql += " TABLESAMPLE SYSTEM(1)";
+        }
+        sql += " WHERE " + quotedColumnName + " IS NOT NULL LIMIT 10";
+
+        List<Object> sampleValues = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sampleValues.add(rs.getString(1));
+            }
+        }
+
+        columnData.setSampleValues(sampleValues);
+    }
+
     /**
      * Get sample values for a column
      */
@@ -653,4 +1001,80 @@ public class PostgreSqlProfiler implements IDatabaseProfiler {
             dataType.toLowerCase().contains("xml")
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Check if data type is an unbounded Large Object (LOB) type
+     */
+    private boolean isLobType(String dataType) {
+        if (dataType == null) {
+            return false;
+        }
+        String lowerCaseType = dataType.toLowerCase();
+        return lowerCaseType.equals("text") ||
+            lowerCaseType.equals("bytea") ||
+            lowerCaseType.equals("json") ||
+            lowerCaseType.equals("jsonb") ||
+            lowerCaseType.equals("xml");
+    }
+
+    /**
+     * Check if LOB type holds binary payloads
+     */
+    private boolean isBinaryLobType(String dataType) {
+        return "bytea".equalsIgnoreCase(dataType);
+    }
+
+    /**
+     * PostgreSQL SQL fragments for partition profiling, hashing values with hashtext()
+     */
+    private class PartitionDialect implements PartitionedTableProfiler.Dialect {
+
+        @Override
+        public String partitionSource(String schemaName, String tableName, String partitionName) {
+            // Leaf partitions are regular tables and are read directly
+            return quote(schemaName) + "." + quote(partitionName);
+        }
+
+        @Override
+        public String quote(String identifier) {
+            return "\"" + identifier + "\"";
+        }
+
+        @Override
+        public String hashExpression(RawProfileDataDto.ColumnData column, String quotedColumnName) {
+            return "(hashtext(" + quotedColumnName + "::text)::bigint & 4294967295)";
+        }
+
+        @Override
+        public String bucketExpression(String hash) {
+            return "(" + hash + " >> " + (32 - PartitionedTableProfiler.HLL_PRECISION) + ")";
+        }
+
+        @Override
+        public String rankExpression(String hash) {
+            // bit length of the low bits via their binary text form
+            int rankBits = 32 - PartitionedTableProfiler.HLL_PRECISION;
+            return PartitionedTableProfiler.MAX_RANK + " - length(ltrim((" + hash + " & " +
+                   PartitionedTableProfiler.RANK_MASK + ")::bit(" + rankBits + ")::text, '0'))";
+        }
+
+        @Override
+        public String lengthExpression(RawProfileDataDto.ColumnData column, String quotedColumnName) {
+            if (isBinaryLobType(column.getDataType())) {
+                return "octet_length(" + quotedColumnName + ")";
+            }
+            return isStringType(column.getDataType()) || isLobType(column.getDataType())
+                    ? "length(" + quotedColumnName + "::text)" : null;
+        }
+
+        @Override
+        public boolean tracksRange(RawProfileDataDto.ColumnData column) {
+            return isNumericType(column.getDataType()) || isDateType(column.getDataType());
+        }
+
+        @Override
+        public String sampleClause() {
+            return " TABLESAMPLE SYSTEM(1)";
+        }
+    }
+}
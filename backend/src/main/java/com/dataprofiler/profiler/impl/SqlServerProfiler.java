@@ -3,7 +3,12 @@ package com.dataprofiler.profiler.impl;
 import com.dataprofiler.dto.internal.RawProfileDataDto;
 import com.dataprofiler.dto.request.ProfilingTaskRequest;
 import com.dataprofiler.entity.DataSourceConfig;
-import com.dataprofiler.profiler.IDatabaseProfiler;
+import com.dataprofiler.execution.ProfilingContext;
+import com.dataprofiler.execution.ProfilingMetrics;
+import com.dataprofiler.execution.QueryTrace;
+import com.dataprofiler.profiler.AbstractDatabaseProfiler;
+import com.dataprofiler.profiler.ServerLoadSample;
+import com.dataprofiler.profiler.TableEstimate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -18,11 +23,13 @@ import java.util.LinkedHashMap;
  * Implements adaptive profiling strategy for SQL Server databases
  */
 @Component
-public class SqlServerProfiler implements IDatabaseProfiler {
+public class SqlServerProfiler extends AbstractDatabaseProfiler {
 
     private static final Logger logger = LoggerFactory.getLogger(SqlServerProfiler.class);
     private static final long LARGE_TABLE_THRESHOLD = 1000000; // 1M rows
     private static final int SAMPLE_SIZE = 1000;
+    private static final int LOB_HASH_PREFIX_LENGTH = 8000; // HASHBYTES input limit before SQL Server 2016
+    private static final long PARALLEL_SCAN_MIN_ROWS = 100000; // smaller scans stay serial
 
     @Override
     public RawProfileDataDto profile(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
@@ -40,10 +47,15 @@ public class SqlServerProfiler implements IDatabaseProfiler {
             
             // Get tables to profile based on scope
             List<String> tablesToProfile = getTablesList(connection, scope);
+            int parallelDegree = dataSource.getParallelDegree();
             
             for (String tableName : tablesToProfile) {
+                if (ProfilingContext.isCurrentCancelled()) {
+                    logger.info("Profiling stopped, skipping remaining tables of data source: {}", dataSource.getSourceId());
+                    break;
+                }
                 try {
-                    RawProfileDataDto.TableData tableData = profileTable(connection, tableName);
+                    RawProfileDataDto.TableData tableData = profileTable(connection, tableName, parallelDegree);
                     if (tableData != null) {
                         tables.add(tableData);
                     }
@@ -56,7 +68,9 @@ public class SqlServerProfiler implements IDatabaseProfiler {
             
             // Add database metadata
             Map<String, Object> metadata = new HashMap<>();
-            metadata.put("sqlserver_version", getDatabaseVersion(connection));
+            if (!ProfilingContext.isCurrentCancelled()) {
+                metadata.put("sqlserver_version", getDatabaseVersion(connection));
+            }
             metadata.put("total_tables_profiled", tables.size());
             rawData.setMetadata(metadata);
             
@@ -70,6 +84,91 @@ public class SqlServerProfiler implements IDatabaseProfiler {
         return rawData;
     }
 
+    @Override
+    public List<ProfilingTaskRequest.DataSourceScope> splitIntoTables(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
+        try (Connection connection = createConnection(dataSource)) {
+            // Table names are not schema-qualified here, the schema key of a single-table scope is ignored
+            List<ProfilingTaskRequest.DataSourceScope> units = new ArrayList<>();
+            for (String tableName : getTablesList(connection, scope)) {
+                units.add(ProfilingTaskRequest.DataSourceScope.ofTable("dbo", tableName));
+            }
+            return units;
+        }
+    }
+
+    @Override
+    public List<TableEstimate> estimateTables(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
+        String sql = "SELECT (SELECT SUM(ps.row_count) FROM sys.dm_db_partition_stats ps " +
+                          "WHERE ps.object_id = o.object_id AND ps.index_id IN (0,1)) AS row_count, " +
+                          "(SELECT COUNT(*) FROM sys.columns c WHERE c.object_id = o.object_id) AS column_count " +
+                          "FROM sys.objects o WHERE o.name = ? AND o.type = 'U'";
+        
+        try (Connection connection = createConnection(dataSource);
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            // Table names are not schema-qualified here, same as for profiling
+            List<TableEstimate> estimates = new ArrayList<>();
+            for (String tableName : getTablesList(connection, scope)) {
+                stmt.setString(1, tableName);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        long rowCount = rs.getLong("row_count");
+                        estimates.add(new TableEstimate("dbo", tableName, rs.wasNull() ? null : rowCount, rs.getInt("column_count")));
+                    } else {
+                        estimates.add(new TableEstimate("dbo", tableName, null, 0));
+                    }
+                }
+            }
+            return estimates;
+        }
+    }
+
+    @Override
+    public double getSampledScanFraction() {
+        // TABLESAMPLE(SAMPLE_SIZE ROWS) on tables above the sampling threshold
+        return (double) SAMPLE_SIZE / LARGE_TABLE_THRESHOLD;
+    }
+
+    @Override
+    public ServerLoadSample sampleServerLoad(DataSourceConfig dataSource) throws Exception {
+        try (Connection connection = createConnection(dataSource);
+             Statement stmt = connection.createStatement()) {
+            stmt.setQueryTimeout(10);
+            long start = System.nanoTime();
+            // User requests currently running or waiting (runnable, suspended on a wait type), except the profiler's own
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT COUNT(*) FROM sys.dm_exec_requests r JOIN sys.dm_exec_sessions s ON s.session_id = r.session_id " +
+                    "WHERE r.session_id > 50 AND r.session_id <> @@SPID AND r.status IN ('running', 'runnable', 'suspended') " +
+                    "AND ISNULL(s.program_name, '') <> '" + APPLICATION_NAME + "'")) {
+                Double activeRequests = rs.next() ? rs.getDouble(1) : null;
+                return new ServerLoadSample((System.nanoTime() - start) / 1_000_000, activeRequests);
+            } catch (SQLException e) {
+                // VIEW SERVER STATE not granted, fall back to latency only
+                logger.debug("Cannot read sys.dm_exec_requests: {}", e.getMessage());
+                start = System.nanoTime();
+                try (ResultSet rs = stmt.executeQuery("SELECT 1")) {
+                    rs.next();
+                }
+                return new ServerLoadSample((System.nanoTime() - start) / 1_000_000, null);
+            }
+        }
+    }
+
+    @Override
+    public Long getReplicationLagSeconds(DataSourceConfig dataSource) throws Exception {
+        // Readable secondary of an availability group (SQL Server 2016+)
+        String sql = "SELECT MAX(secondary_lag_seconds) FROM sys.dm_hadr_database_replica_states " +
+                     "WHERE is_local = 1 AND is_primary_replica = 0 AND database_id = DB_ID()";
+        try (Connection connection = createConnection(dataSource);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next()) {
+                return null;
+            }
+            long lag = rs.getLong(1);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+
     @Override
     public boolean testConnection(DataSourceConfig dataSource) {
         try (Connection connection = createConnection(dataSource)) {
@@ -158,8 +257,9 @@ public class SqlServerProfiler implements IDatabaseProfiler {
         props.setProperty("password", dataSource.getPassword());
         props.setProperty("encrypt", "false");
         props.setProperty("trustServerCertificate", "true");
+        props.setProperty("applicationName", APPLICATION_NAME);
         
-        return DriverManager.getConnection(url, props);
+        return ProfilingContext.open(() -> DriverManager.getConnection(url, props), getSupportedType());
     }
 
     /**
@@ -277,7 +377,7 @@ public class SqlServerProfiler implements IDatabaseProfiler {
     /**
      * Profile a single table using adaptive strategy
      */
-    private RawProfileDataDto.TableData profileTable(Connection connection, String tableName) throws SQLException {
+    private RawProfileDataDto.TableData profileTable(Connection connection, String tableName, int parallelDegree) throws SQLException {
         logger.debug("Profiling table: {}", tableName);
         
         RawProfileDataDto.TableData tableData = new RawProfileDataDto.TableData(tableName, connection.getCatalog());
@@ -286,14 +386,17 @@ public class SqlServerProfiler implements IDatabaseProfiler {
         getTableMetadata(connection, tableData);
         
         // Get row count (adaptive: exact vs approximate)
-        long rowCount = getRowCount(connection, tableName);
+        long rowCount = getRowCount(connection, tableName, parallelDegree);
         tableData.setRowCount(rowCount);
         
         // Determine if we should use sampling for large tables
         boolean useSampling = rowCount > LARGE_TABLE_THRESHOLD;
         
+        // MAXDOP only pays off for full scans of big tables
+        int scanDegree = !useSampling && rowCount >= PARALLEL_SCAN_MIN_ROWS ? parallelDegree : 1;
+        
         // Get column information and profile each column
-        List<RawProfileDataDto.ColumnData> columns = profileColumns(connection, tableName, useSampling);
+        List<RawProfileDataDto.ColumnData> columns = profileColumns(connection, tableName, useSampling, scanDegree);
         tableData.setColumns(columns);
         
         // Get index information
@@ -326,7 +429,7 @@ public class SqlServerProfiler implements IDatabaseProfiler {
     /**
      * Get row count using adaptive strategy
      */
-    private long getRowCount(Connection connection, String tableName) throws SQLException {
+    private long getRowCount(Connection connection, String tableName, int parallelDegree) throws SQLException {
         // First try to get approximate count from sys.dm_db_partition_stats (fast)
         String approxSql = "SELECT SUM(row_count) as row_count FROM sys.dm_db_partition_stats ps " +
                           "INNER JOIN sys.objects o ON ps.object_id = o.object_id " +
@@ -340,7 +443,8 @@ public class SqlServerProfiler implements IDatabaseProfiler {
                     
                     // If approximate count is reasonable, use exact count for small tables
                     if (approxCount < LARGE_TABLE_THRESHOLD) {
-                        return getExactRowCount(connection, tableName);
+                        int countDegree = approxCount >= PARALLEL_SCAN_MIN_ROWS ? parallelDegree : 1;
+                        return getExactRowCount(connection, tableName, countDegree);
                     } else {
                         logger.debug("Using approximate row count for large table {}: {}", tableName, approxCount);
                         return approxCount;
@@ -350,14 +454,14 @@ public class SqlServerProfiler implements IDatabaseProfiler {
         }
         
         // Fallback to exact count
-        return getExactRowCount(connection, tableName);
+        return getExactRowCount(connection, tableName, parallelDegree);
     }
 
     /**
      * Get exact row count
      */
-    private long getExactRowCount(Connection connection, String tableName) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM [" + tableName + "]";
+    private long getExactRowCount(Connection connection, String tableName, int parallelDegree) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM [" + tableName + "]" + maxdopOption(parallelDegree);
         
         try (PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
@@ -372,7 +476,7 @@ public class SqlServerProfiler implements IDatabaseProfiler {
     /**
      * Profile all columns in a table
      */
-    private List<RawProfileDataDto.ColumnData> profileColumns(Connection connection, String tableName, boolean useSampling) throws SQLException {
+    private List<RawProfileDataDto.ColumnData> profileColumns(Connection connection, String tableName, boolean useSampling, int scanDegree) throws SQLException {
         List<RawProfileDataDto.ColumnData> columns = new ArrayList<>();
         
         // Get column metadata
@@ -389,7 +493,14 @@ public class SqlServerProfiler implements IDatabaseProfiler {
                 columnData.setDefaultValue(rs.getString("COLUMN_DEF"));
                 
                 // Profile column data
-                profileColumnData(connection, tableName, columnData, useSampling);
+                long columnStart = System.nanoTime();
+                QueryTrace.enterColumn(columnData.getColumnName());
+                try {
+                    profileColumnData(connection, tableName, columnData, useSampling, scanDegree);
+                } finally {
+                    QueryTrace.exitColumn();
+                }
+                ProfilingMetrics.recordColumn(getSupportedType(), useSampling, System.nanoTime() - columnStart);
                 
                 columns.add(columnData);
             }
@@ -399,23 +510,34 @@ public class SqlServerProfiler implements IDatabaseProfiler {
     }
 
     /**
-     * Profile individual column data
+     * Profile individual column data; a column whose queries fail is marked as failed instead of failing the table
+     */
+    private void profileColumnData(Connection connection, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling, int scanDegree) throws SQLException {
+        try {
+            queryColumnData(connection, tableName, columnData, useSampling, scanDegree);
+        } catch (SQLException e) {
+            markColumnFailed(columnData, tableName, e);
+        }
+    }
+
+    /**
+     * Run the profiling queries of one column
      */
-    private void profileColumnData(Connection connection, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+    private void queryColumnData(Connection connection, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling, int scanDegree) throws SQLException {
+        // LOB columns (TEXT, NTEXT, IMAGE, XML and the (max) types) take a dedicated path
+        if (isLobColumn(columnData)) {
+            profileLobColumnData(connection, tableName, columnData, useSampling, scanDegree);
+            return;
+        }
+
         String columnName = columnData.getColumnName();
         
         // Build profiling query
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT ");
         sql.append("COUNT(*) as total_count, ");
-        // For LOB types (TEXT, NTEXT, IMAGE), COUNT(column) is not valid, use COUNT(*) WHERE column IS NOT NULL
-        if (isLobType(columnData.getDataType())) {
-            sql.append("SUM(CASE WHEN [" + columnName + "] IS NOT NULL THEN 1 ELSE 0 END) as non_null_count, ");
-            sql.append("NULL as unique_count"); // COUNT(DISTINCT) is not supported for LOB types
-        } else {
-            sql.append("COUNT([" + columnName + "]) as non_null_count, ");
-            sql.append("COUNT(DISTINCT [" + columnName + "]) as unique_count");
-        }
+        sql.append("COUNT([" + columnName + "]) as non_null_count, ");
+        sql.append("COUNT(DISTINCT [" + columnName + "]) as unique_count");
         
         // Add min/max for numeric and date types
         if (isNumericType(columnData.getDataType()) || isDateType(columnData.getDataType())) {
@@ -423,8 +545,8 @@ public class SqlServerProfiler implements IDatabaseProfiler {
             sql.append(", MAX([" + columnName + "]) as max_value");
         }
         
-        // Add length statistics for string types (excluding LOB types)
-        if (isStringType(columnData.getDataType()) && !isLobType(columnData.getDataType())) {
+        // Add length statistics for string types
+        if (isStringType(columnData.getDataType())) {
             sql.append(", AVG(LEN([" + columnName + "])) as avg_length");
             sql.append(", MAX(LEN([" + columnName + "])) as max_length");
             sql.append(", MIN(LEN([" + columnName + "])) as min_length");
@@ -436,6 +558,7 @@ public class SqlServerProfiler implements IDatabaseProfiler {
         if (useSampling) {
             sql.append(" TABLESAMPLE(" + SAMPLE_SIZE + " ROWS)");
         }
+        sql.append(maxdopOption(scanDegree));
         
         try (PreparedStatement stmt = connection.prepareStatement(sql.toString());
              ResultSet rs = stmt.executeQuery()) {
@@ -445,12 +568,7 @@ public class SqlServerProfiler implements IDatabaseProfiler {
                 
                 columnData.setTotalCount(totalCount);
                 columnData.setNullCount(totalCount - nonNullCount);
-                // For LOB types (TEXT, NTEXT, IMAGE), COUNT(DISTINCT) is not supported or meaningful
-                if (isLobType(columnData.getDataType())) {
-                    columnData.setUniqueCount(null); // Or 0, depending on desired representation
-                } else {
-                    columnData.setUniqueCount(rs.getLong("unique_count"));
-                }
+                columnData.setUniqueCount(rs.getLong("unique_count"));
                 
                 // Set min/max values if available
                 try {
@@ -475,24 +593,88 @@ public class SqlServerProfiler implements IDatabaseProfiler {
         getSampleValues(connection, tableName, columnData, useSampling);
     }
 
+    /**
+     * Profile a LOB column
+     * COUNT(column) and COUNT(DISTINCT) are not valid on TEXT/NTEXT/IMAGE/XML, so non-null values
+     * are counted with SUM(CASE), lengths come from DATALENGTH and distinct values are estimated
+     * from an MD5 of the leading bytes
+     */
+    private void profileLobColumnData(Connection connection, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling, int scanDegree) throws SQLException {
+        String quotedColumnName = "[" + columnData.getColumnName() + "]";
+        String lengthExpression = "CAST(DATALENGTH(" + quotedColumnName + ") AS FLOAT)";
+
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT ");
+        sql.append("COUNT(*) as total_count, ");
+        sql.append("SUM(CASE WHEN " + quotedColumnName + " IS NOT NULL THEN 1 ELSE 0 END) as non_null_count, ");
+        sql.append("COUNT(DISTINCT HASHBYTES('MD5', SUBSTRING(CAST(" + quotedColumnName + " AS VARBINARY(MAX)), 1, "
+                + LOB_HASH_PREFIX_LENGTH + "))) as unique_count, ");
+        sql.append("AVG(" + lengthExpression + ") as avg_length, ");
+        sql.append("MAX(DATALENGTH(" + quotedColumnName + ")) as max_length, ");
+        sql.append("MIN(DATALENGTH(" + quotedColumnName + ")) as min_length");
+        sql.append(" FROM [" + tableName + "]");
+
+        if (useSampling) {
+            sql.append(" TABLESAMPLE(" + SAMPLE_SIZE + " ROWS)");
+        }
+        sql.append(maxdopOption(scanDegree));
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql.toString());
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                long totalCount = rs.getLong("total_count");
+                long nonNullCount = rs.getLong("non_null_count");
+
+                columnData.setTotalCount(totalCount);
+                columnData.setNullCount(totalCount - nonNullCount);
+                columnData.setUniqueCount(rs.getLong("unique_count"));
+                columnData.setAvgLength(rs.getDouble("avg_length"));
+                columnData.setMaxLength(rs.getLong("max_length"));
+                columnData.setMinLength(rs.getLong("min_length"));
+            }
+        }
+
+        markLobColumn(columnData, "md5_prefix");
+        getLobSampleValues(connection, tableName, columnData, useSampling);
+    }
+
     /**
      * Check if data type is a Large Object (LOB) type
      */
     private boolean isLobType(String dataType) {
         String lowerCaseType = dataType.toLowerCase();
-        return lowerCaseType.contains("text") || lowerCaseType.contains("ntext") || lowerCaseType.contains("image");
+        return lowerCaseType.contains("text") || lowerCaseType.contains("ntext") || lowerCaseType.contains("image")
+                || lowerCaseType.equals("xml");
     }
 
     /**
-     * Get sample values for a column
+     * Check if a column holds LOB data, including varchar(max), nvarchar(max) and varbinary(max)
+     * which report a column size beyond the 8000 byte in-row limit
      */
-    private void getSampleValues(Connection connection, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
-        // Skip sample values for LOB types (TEXT, NTEXT, IMAGE) as they cannot be used with DISTINCT
+    private boolean isLobColumn(RawProfileDataDto.ColumnData columnData) {
+        if (columnData.getDataType() == null) {
+            return false;
+        }
         if (isLobType(columnData.getDataType())) {
-            columnData.setSampleValues(new ArrayList<>());
-            return;
+            return true;
         }
-        
+        String lowerCaseType = columnData.getDataType().toLowerCase();
+        return (lowerCaseType.contains("varchar") || lowerCaseType.contains("varbinary"))
+                && columnData.getColumnSize() != null && columnData.getColumnSize() > 8000;
+    }
+
+    /**
+     * Check if LOB column holds binary payloads
+     */
+    private boolean isBinaryLobType(String dataType) {
+        String lowerCaseType = dataType.toLowerCase();
+        return lowerCaseType.contains("image") || lowerCaseType.contains("varbinary");
+    }
+
+    /**
+     * Get sample values for a column
+     */
+    private void getSampleValues(Connection connection, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
         String sql = "SELECT DISTINCT TOP 10 [" + columnData.getColumnName() + "] FROM [" + tableName + "] " + 
                     "WHERE [" + columnData.getColumnName() + "] IS NOT NULL";
         
@@ -511,6 +693,34 @@ public class SqlServerProfiler implements IDatabaseProfiler {
         columnData.setSampleValues(sampleValues);
     }
 
+    /**
+     * Get prefix-only sample values for a LOB column
+     * Binary prefixes are rendered as hex (CONVERT style 2) so they stay readable in reports
+     */
+    private void getLobSampleValues(Connection connection, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+        String quotedColumnName = "[" + columnData.getColumnName() + "]";
+        String prefix = isBinaryLobType(columnData.getDataType())
+                ? "CONVERT(VARCHAR(" + LOB_PREFIX_LENGTH + "), SUBSTRING(CAST(" + quotedColumnName + " AS VARBINARY(MAX)), 1, "
+                        + (LOB_PREFIX_LENGTH / 2) + "), 2)"
+                : "SUBSTRING(CAST(" + quotedColumnName + " AS NVARCHAR(MAX)), 1, " + LOB_PREFIX_LENGTH + ")";
+
+        String sql = "SELECT DISTINCT TOP 10 " + prefix + " FROM [" + tableName + "]";
+        if (useSampling) {
+            sql += " TABLESAMPLE(" + SAMPLE_SIZE + " ROWS)";
+        }
+        sql += " WHERE " + quotedColumnName + " IS NOT NULL";
+
+        List<Object> sampleValues = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sampleValues.add(rs.getString(1));
+            }
+        }
+
+        columnData.setSampleValues(sampleValues);
+    }
+
     /**
      * Get index information for a table
      */
@@ -554,6 +764,13 @@ public class SqlServerProfiler implements IDatabaseProfiler {
         return indexes;
     }
 
+    /**
+     * Build the MAXDOP query hint for a full-scan query, empty when running serially
+     */
+    private String maxdopOption(int parallelDegree) {
+        return parallelDegree > 1 ? " OPTION (MAXDOP " + parallelDegree + ")" : "";
+    }
+
     /**
      * Get database version
      */
@@ -3,7 +3,10 @@ package com.dataprofiler.profiler.impl;
 import com.dataprofiler.dto.internal.RawProfileDataDto;
 import com.dataprofiler.dto.request.ProfilingTaskRequest;
 import com.dataprofiler.entity.DataSourceConfig;
-import com.dataprofiler.profiler.IDatabaseProfiler;
+import com.dataprofiler.execution.ProfilingContext;
+import com.dataprofiler.execution.ProfilingMetrics;
+import com.dataprofiler.execution.QueryTrace;
+import com.dataprofiler.profiler.AbstractDatabaseProfiler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -18,7 +21,7 @@ import java.util.LinkedHashMap;
  * Used for both direct SQLite connections and file-based data sources converted to SQLite
  */
 @Component
-public class SqliteProfiler implements IDatabaseProfiler {
+public class SqliteProfiler extends AbstractDatabaseProfiler {
 
     private static final Logger logger = LoggerFactory.getLogger(SqliteProfiler.class);
     private static final long LARGE_TABLE_THRESHOLD = 1000000; // 1M rows
@@ -42,6 +45,10 @@ public class SqliteProfiler implements IDatabaseProfiler {
             List<String> tablesToProfile = getTablesList(connection, scope);
             
             for (String tableName : tablesToProfile) {
+                if (ProfilingContext.isCurrentCancelled()) {
+                    logger.info("Profiling stopped, skipping remaining tables of data source: {}", dataSource.getSourceId());
+                    break;
+                }
                 try {
                     RawProfileDataDto.TableData tableData = profileTable(connection, tableName);
                     if (tableData != null) {
@@ -56,7 +63,9 @@ public class SqliteProfiler implements IDatabaseProfiler {
             
             // Add database metadata
             Map<String, Object> metadata = new HashMap<>();
-            metadata.put("sqlite_version", getDatabaseVersion(connection));
+            if (!ProfilingContext.isCurrentCancelled()) {
+                metadata.put("sqlite_version", getDatabaseVersion(connection));
+            }
             metadata.put("total_tables_profiled", tables.size());
             rawData.setMetadata(metadata);
             
@@ -70,6 +79,17 @@ public class SqliteProfiler implements IDatabaseProfiler {
         return rawData;
     }
 
+    @Override
+    public List<ProfilingTaskRequest.DataSourceScope> splitIntoTables(DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) throws Exception {
+        try (Connection connection = createConnection(dataSource)) {
+            List<ProfilingTaskRequest.DataSourceScope> units = new ArrayList<>();
+            for (String tableName : getTablesList(connection, scope)) {
+                units.add(ProfilingTaskRequest.DataSourceScope.ofTable("main", tableName));
+            }
+            return units;
+        }
+    }
+
     @Override
     public boolean testConnection(DataSourceConfig dataSource) {
         try (Connection connection = createConnection(dataSource)) {
@@ -163,7 +183,7 @@ public class SqliteProfiler implements IDatabaseProfiler {
             props.setProperty("password", dataSource.getPassword());
         }
         
-        Connection conn = DriverManager.getConnection(url, props);
+        Connection conn = ProfilingContext.open(() -> DriverManager.getConnection(url, props), getSupportedType());
         
         // Set SQLite pragmas to prevent database locking issues
         try (Statement stmt = conn.createStatement()) {
@@ -371,7 +391,14 @@ public class SqliteProfiler implements IDatabaseProfiler {
                 columnData.setColumnMetadata(metadata);
                 
                 // Profile column data
-                profileColumnData(connection, tableName, columnData, useSampling);
+                long columnStart = System.nanoTime();
+                QueryTrace.enterColumn(columnData.getColumnName());
+                try {
+                    profileColumnData(connection, tableName, columnData, useSampling);
+                } finally {
+                    QueryTrace.exitColumn();
+                }
+                ProfilingMetrics.recordColumn(getSupportedType(), useSampling, System.nanoTime() - columnStart);
                 
                 columns.add(columnData);
             }
@@ -381,19 +408,36 @@ public class SqliteProfiler implements IDatabaseProfiler {
     }
 
     /**
-     * Profile data for a specific column
+     * Profile individual column data; a column whose queries fail is marked as failed instead of failing the table
      */
     private void profileColumnData(Connection connection, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
+        try {
+            queryColumnData(connection, tableName, columnData, useSampling);
+        } catch (SQLException e) {
+            markColumnFailed(columnData, tableName, e);
+        }
+    }
+
+    /**
+     * Run the profiling queries of one column
+     */
+    private void queryColumnData(Connection connection, String tableName, RawProfileDataDto.ColumnData columnData, boolean useSampling) throws SQLException {
         String columnName = columnData.getColumnName();
         String escapedTableName = escapeTableName(tableName);
         String escapedColumnName = escapeColumnName(columnName);
         
         Map<String, Object> profile = new HashMap<>();
+        boolean lob = isLobType(columnData.getDataType());
+        
+        // BLOBs are only compared on a short prefix so DISTINCT never materializes whole payloads
+        String distinctExpression = lob
+            ? "substr(" + escapedColumnName + ", 1, " + LOB_PREFIX_LENGTH + ")"
+            : escapedColumnName;
         
         // Basic statistics
         String basicStatsSql = String.format(
             "SELECT COUNT(*) as total_count, COUNT(%s) as non_null_count, COUNT(DISTINCT %s) as distinct_count FROM %s",
-            escapedColumnName, escapedColumnName, escapedTableName
+            escapedColumnName, distinctExpression, escapedTableName
         );
         
         if (useSampling) {
@@ -412,7 +456,11 @@ public class SqliteProfiler implements IDatabaseProfiler {
         
         // Data type specific profiling
         String dataType = columnData.getDataType().toLowerCase();
-        if (dataType.contains("int") || dataType.contains("real") || dataType.contains("numeric")) {
+        if (lob) {
+            // LENGTH() of a BLOB is its byte count, MIN/MAX over raw bytes are meaningless
+            profileTextColumn(connection, escapedTableName, escapedColumnName, profile, useSampling);
+            markLobColumn(columnData, "prefix", "distinct_prefix_length");
+        } else if (dataType.contains("int") || dataType.contains("real") || dataType.contains("numeric")) {
             profileNumericColumn(connection, escapedTableName, escapedColumnName, profile, useSampling);
         } else if (dataType.contains("text") || dataType.contains("char") || dataType.contains("varchar")) {
             profileTextColumn(connection, escapedTableName, escapedColumnName, profile, useSampling);
@@ -484,13 +532,20 @@ public class SqliteProfiler implements IDatabaseProfiler {
         try (PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             if (rs.next()) {
-                profile.put("min_length", rs.getInt("min_length"));
-                profile.put("max_length", rs.getInt("max_length"));
+                profile.put("min_length", rs.getLong("min_length"));
+                profile.put("max_length", rs.getLong("max_length"));
                 profile.put("avg_length", rs.getDouble("avg_length"));
             }
         }
     }
 
+    /**
+     * Check if data type is a BLOB
+     */
+    private boolean isLobType(String dataType) {
+        return dataType != null && dataType.toLowerCase().contains("blob");
+    }
+
     /**
      * Get index information for a table
      */
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -46,6 +47,13 @@ public interface DataSourceConfigRepository extends JpaRepository<DataSourceConf
      */
     DataSourceConfig findBySourceId(String sourceId);
 
+    /**
+     * Find data source configurations by source IDs
+     * @param sourceIds the unique source identifiers
+     * @return the data sources found
+     */
+    List<DataSourceConfig> findBySourceIdIn(Collection<String> sourceIds);
+
     /**
      * Delete data source configuration by source ID
      * @param sourceId the unique source identifier
@@ -0,0 +1,42 @@
+package com.dataprofiler.repository;
+
+import com.dataprofiler.entity.ProfilingSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for ProfilingSchedule entity
+ */
+@Repository
+public interface ProfilingScheduleRepository extends JpaRepository<ProfilingSchedule, Long> {
+
+    /**
+     * Find enabled schedules whose next run is due
+     */
+    List<ProfilingSchedule> findByEnabledTrueAndNextRunAtLessThanEqual(LocalDateTime now);
+
+    /**
+     * Move a due schedule to its next fire time unless another instance already did or it was disabled since
+     * @return 1 if this instance should start the due run
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProfilingSchedule s SET s.nextRunAt = :nextRunAt WHERE s.id = :id AND s.nextRunAt = :dueAt AND s.enabled = true")
+    int advanceNextRun(@Param("id") Long id, @Param("dueAt") LocalDateTime dueAt, @Param("nextRunAt") LocalDateTime nextRunAt);
+
+    /**
+     * Record the task started by a run, leaving fields edited since the schedule was read untouched
+     * @return 0 if the schedule was deleted in the meantime
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProfilingSchedule s SET s.lastRunAt = :runAt, s.lastTaskId = :taskId WHERE s.id = :id")
+    int recordRun(@Param("id") Long id, @Param("runAt") LocalDateTime runAt, @Param("taskId") String taskId);
+}
@@ -1,12 +1,19 @@
 package com.dataprofiler.repository;
 
+import com.dataprofiler.dto.response.TaskListItemDto;
 import com.dataprofiler.entity.DataSourceConfig;
 import com.dataprofiler.entity.ProfilingTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +24,12 @@ import java.util.Optional;
 @Repository
 public interface ProfilingTaskRepository extends JpaRepository<ProfilingTask, Long> {
 
+    /**
+     * Constructor arguments of TaskListItemDto
+     */
+    String LIST_COLUMNS = "t.id, t.taskId, t.name, t.description, t.status, t.totalDataSources, t.processedDataSources, " +
+            "t.info, t.createdAt, t.completedAt";
+
     /**
      * Find task by unique task ID
      * @param taskId the unique task identifier
@@ -33,6 +46,39 @@ public interface ProfilingTaskRepository extends JpaRepository<ProfilingTask, Lo
      */
     Optional<ProfilingTask> findById(Long id);
 
+    /**
+     * Find task by ID together with its data sources
+     * @param id the task database ID
+     * @return Optional containing the task if found
+     */
+    @EntityGraph(attributePaths = "dataSourceConfigs")
+    Optional<ProfilingTask> findWithDataSourcesById(Long id);
+
+
+    /**
+     * Most recent tasks, newest first
+     * @param limit number of tasks (offset must be 0)
+     */
+    List<ProfilingTask> findAllByOrderByCreatedAtDescIdDesc(Pageable limit);
+
+    /**
+     * First page of the task list, newest first, selecting only the list columns
+     * @param limit page size (offset must be 0)
+     */
+    @Query("SELECT new com.dataprofiler.dto.response.TaskListItemDto(" + LIST_COLUMNS + ") FROM ProfilingTask t " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskListItemDto> findListItems(Pageable limit);
+
+    /**
+     * Task list after a keyset cursor, newest first, selecting only the list columns
+     * @param createdAt creation time of the last task of the previous page
+     * @param id ID of the last task of the previous page
+     * @param limit page size (offset must be 0)
+     */
+    @Query("SELECT new com.dataprofiler.dto.response.TaskListItemDto(" + LIST_COLUMNS + ") FROM ProfilingTask t " +
+            "WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskListItemDto> findListItemsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
 
     /**
      * Find tasks by status
@@ -41,6 +87,116 @@ public interface ProfilingTaskRepository extends JpaRepository<ProfilingTask, Lo
      */
     List<ProfilingTask> findByStatus(ProfilingTask.TaskStatus status);
 
+    /**
+     * Find tasks of an identical request in the given statuses
+     * @param requestFingerprint normalized request fingerprint
+     * @param statuses task statuses to match
+     * @return matching tasks, newest first
+     */
+    List<ProfilingTask> findByRequestFingerprintAndStatusInOrderByCreatedAtDesc(String requestFingerprint,
+                                                                                Collection<ProfilingTask.TaskStatus> statuses);
+
+    /**
+     * Find the latest completed task of an identical request finished after the given time
+     * @param requestFingerprint normalized request fingerprint
+     * @param status task status (COMPLETED)
+     * @param completedAfter oldest acceptable completion time
+     * @return Optional containing the most recent match
+     */
+    Optional<ProfilingTask> findFirstByRequestFingerprintAndStatusAndCompletedAtAfterOrderByCompletedAtDesc(
+            String requestFingerprint, ProfilingTask.TaskStatus status, LocalDateTime completedAfter);
+
+    /**
+     * Find tasks in any of the given statuses
+     * @param statuses task statuses to match
+     * @return matching tasks
+     */
+    List<ProfilingTask> findByStatusIn(Collection<ProfilingTask.TaskStatus> statuses);
+
+    /**
+     * Find tasks by task IDs
+     * @param taskIds task IDs to match
+     * @return the tasks found
+     */
+    List<ProfilingTask> findByTaskIdIn(Collection<String> taskIds);
+
+    /**
+     * Find tasks among the given ones that were asked to stop
+     * @param taskIds task identifiers
+     * @return tasks with a stop status
+     */
+    List<ProfilingTask> findByTaskIdInAndStopStatusIsNotNull(Collection<String> taskIds);
+
+    /**
+     * Move a pending task to RUNNING
+     * @return 0 if the task already started or was stopped
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProfilingTask t SET t.status = com.dataprofiler.entity.ProfilingTask.TaskStatus.RUNNING, t.info = :info"
+            + " WHERE t.taskId = :taskId AND t.status = com.dataprofiler.entity.ProfilingTask.TaskStatus.PENDING")
+    int markRunning(@Param("taskId") String taskId, @Param("info") String info);
+
+    /**
+     * Update progress of an unfinished task
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProfilingTask t SET t.processedDataSources = :processed, t.info = :info WHERE t.taskId = :taskId"
+            + " AND t.status IN (com.dataprofiler.entity.ProfilingTask.TaskStatus.PENDING, com.dataprofiler.entity.ProfilingTask.TaskStatus.RUNNING)")
+    int updateProgress(@Param("taskId") String taskId, @Param("processed") Integer processed, @Param("info") String info);
+
+    /**
+     * Set the final status of an unfinished task
+     * @return 0 if the task was already finished
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProfilingTask t SET t.status = :status, t.info = :info, t.processedDataSources = :processed,"
+            + " t.completedAt = :completedAt WHERE t.taskId = :taskId"
+            + " AND t.status IN (com.dataprofiler.entity.ProfilingTask.TaskStatus.PENDING, com.dataprofiler.entity.ProfilingTask.TaskStatus.RUNNING)")
+    int finish(@Param("taskId") String taskId, @Param("status") ProfilingTask.TaskStatus status, @Param("info") String info,
+               @Param("processed") Integer processed, @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * Ask an unfinished task to stop with the given final status
+     * @return 0 if the task is finished or already stopping
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProfilingTask t SET t.stopStatus = :stopStatus WHERE t.taskId = :taskId AND t.stopStatus IS NULL"
+            + " AND t.status IN (com.dataprofiler.entity.ProfilingTask.TaskStatus.PENDING, com.dataprofiler.entity.ProfilingTask.TaskStatus.RUNNING)")
+    int requestStop(@Param("taskId") String taskId, @Param("stopStatus") ProfilingTask.TaskStatus stopStatus);
+
+    /**
+     * Take over report assembly of a task unless another instance holds an unexpired claim
+     * @return 1 if this instance should assemble the task
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProfilingTask t SET t.assemblyNode = :node, t.assemblyExpiresAt = :until WHERE t.taskId = :taskId"
+            + " AND t.status IN (com.dataprofiler.entity.ProfilingTask.TaskStatus.PENDING, com.dataprofiler.entity.ProfilingTask.TaskStatus.RUNNING)"
+            + " AND (t.assemblyNode IS NULL OR t.assemblyExpiresAt < :now)")
+    int claimAssembly(@Param("taskId") String taskId, @Param("node") String node,
+                      @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    /**
+     * Mark a task as waiting, stopping its deadline clock
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProfilingTask t SET t.pausedAt = :now WHERE t.taskId = :taskId AND t.pausedAt IS NULL")
+    int pause(@Param("taskId") String taskId, @Param("now") LocalDateTime now);
+
+    /**
+     * Resume a waiting task, moving its deadline by the time it waited
+     * @return 0 if another instance resumed it first
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProfilingTask t SET t.pausedAt = NULL, t.deadlineAt = :deadline WHERE t.taskId = :taskId AND t.pausedAt = :pausedAt")
+    int resume(@Param("taskId") String taskId, @Param("pausedAt") LocalDateTime pausedAt, @Param("deadline") LocalDateTime deadline);
+
     /**
      * Get all profiling tasks
      * @return list of all profiling tasks
@@ -0,0 +1,12 @@
+package com.dataprofiler.repository;
+
+import com.dataprofiler.entity.ProfilingTaskTimeline;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for ProfilingTaskTimeline entity
+ */
+@Repository
+public interface ProfilingTaskTimelineRepository extends JpaRepository<ProfilingTaskTimeline, String> {
+}
@@ -0,0 +1,146 @@
+package com.dataprofiler.repository;
+
+import com.dataprofiler.entity.ProfilingWorkItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for ProfilingWorkItem entity
+ * State changes are conditional updates, so concurrent backend instances never both own an item.
+ */
+@Repository
+public interface ProfilingWorkItemRepository extends JpaRepository<ProfilingWorkItem, Long> {
+
+    /**
+     * Items that may be claimed now: pending ones and those whose lease expired, excluding stopped tasks
+     * @param now current time
+     * @param pageable maximum number of candidates
+     * @return candidates, highest priority and oldest first
+     */
+    @Query("SELECT w FROM ProfilingWorkItem w WHERE (w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.PENDING"
+            + " OR (w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.CLAIMED AND w.leaseExpiresAt < :now))"
+            + " AND NOT EXISTS (SELECT t.id FROM ProfilingTask t WHERE t.taskId = w.taskId AND t.stopStatus IS NOT NULL)"
+            + " ORDER BY w.priority DESC, w.id ASC")
+    List<ProfilingWorkItem> findClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Take ownership of an item if it is still pending or its lease has expired
+     * @return 1 if the item was claimed, 0 if another instance got it first
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProfilingWorkItem w SET w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.CLAIMED,"
+            + " w.ownerNode = :node, w.leaseExpiresAt = :leaseUntil, w.attempts = w.attempts + 1"
+            + " WHERE w.id = :id AND (w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.PENDING"
+            + " OR (w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.CLAIMED AND w.leaseExpiresAt < :now))")
+    int claim(@Param("id") Long id, @Param("node") String node,
+              @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+
+    /**
+     * Extend the leases of items this instance still owns
+     * @return number of leases renewed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProfilingWorkItem w SET w.leaseExpiresAt = :leaseUntil WHERE w.id IN :ids AND w.ownerNode = :node"
+            + " AND w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.CLAIMED")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("node") String node, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Record the outcome of an item owned by this instance
+     * @return 0 if the lease was lost in the meantime and the outcome must be discarded
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProfilingWorkItem w SET w.status = :status, w.resultPayload = :result, w.error = :error,"
+            + " w.tracePayload = :trace, w.finishedAt = :now, w.leaseExpiresAt = NULL WHERE w.id = :id AND w.ownerNode = :node"
+            + " AND w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.CLAIMED")
+    int complete(@Param("id") Long id, @Param("node") String node, @Param("status") ProfilingWorkItem.Status status,
+                 @Param("result") String result, @Param("error") String error, @Param("trace") String trace,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Give up an item whose lease expired too often, e.g. because it crashes every instance that runs it
+     * @return 0 if the item was renewed or claimed in the meantime
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProfilingWorkItem w SET w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.FAILED,"
+            + " w.error = :error, w.finishedAt = :now, w.leaseExpiresAt = NULL WHERE w.id = :id"
+            + " AND w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.CLAIMED AND w.leaseExpiresAt < :now")
+    int abandon(@Param("id") Long id, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    /**
+     * Put items of this instance back in the queue, e.g. on shutdown
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProfilingWorkItem w SET w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.PENDING,"
+            + " w.ownerNode = NULL, w.leaseExpiresAt = NULL WHERE w.ownerNode = :node"
+            + " AND w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.CLAIMED")
+    int releaseAll(@Param("node") String node);
+
+    /**
+     * Cancel the items of a stopped task that nobody is working on
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProfilingWorkItem w SET w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.CANCELLED,"
+            + " w.finishedAt = :now, w.leaseExpiresAt = NULL WHERE w.taskId = :taskId"
+            + " AND (w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.PENDING"
+            + " OR (w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.CLAIMED AND w.leaseExpiresAt < :now))")
+    int cancelUnowned(@Param("taskId") String taskId, @Param("now") LocalDateTime now);
+
+    long countByTaskIdAndStatusIn(String taskId, Collection<ProfilingWorkItem.Status> statuses);
+
+    /**
+     * Item counts of a task per kind and status, as [kind, status, count] rows
+     */
+    @Query("SELECT w.kind, w.status, COUNT(w) FROM ProfilingWorkItem w WHERE w.taskId = :taskId GROUP BY w.kind, w.status")
+    List<Object[]> countByKindAndStatus(@Param("taskId") String taskId);
+
+    /**
+     * Open item counts of all tasks, as [taskId, status, count] rows
+     */
+    @Query("SELECT w.taskId, w.status, COUNT(w) FROM ProfilingWorkItem w WHERE w.status IN :statuses GROUP BY w.taskId, w.status")
+    List<Object[]> countByTaskAndStatus(@Param("statuses") Collection<ProfilingWorkItem.Status> statuses);
+
+    /**
+     * Data sources and kinds of all pending items, as [taskId, sourceId, kind] rows
+     */
+    @Query("SELECT w.taskId, w.sourceId, w.kind FROM ProfilingWorkItem w"
+            + " WHERE w.status = com.dataprofiler.entity.ProfilingWorkItem.Status.PENDING GROUP BY w.taskId, w.sourceId, w.kind")
+    List<Object[]> findPendingSources();
+
+    /**
+     * Number of data sources of a task that still have items in the given statuses
+     */
+    @Query("SELECT COUNT(DISTINCT w.sourceId) FROM ProfilingWorkItem w WHERE w.taskId = :taskId AND w.status IN :statuses")
+    long countSourcesWithStatus(@Param("taskId") String taskId, @Param("statuses") Collection<ProfilingWorkItem.Status> statuses);
+
+    /**
+     * Results of a task in planned order
+     */
+    List<ProfilingWorkItem> findByTaskIdAndKindAndStatusOrderBySourceIdAscItemIndexAsc(String taskId, ProfilingWorkItem.Kind kind,
+                                                                                       ProfilingWorkItem.Status status);
+
+    /**
+     * Timeline fragments of the items of a task that ran so far
+     */
+    @Query("SELECT w.tracePayload FROM ProfilingWorkItem w WHERE w.taskId = :taskId AND w.tracePayload IS NOT NULL")
+    List<String> findTracePayloads(@Param("taskId") String taskId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProfilingWorkItem w WHERE w.taskId = :taskId")
+    void deleteByTaskId(@Param("taskId") String taskId);
+}
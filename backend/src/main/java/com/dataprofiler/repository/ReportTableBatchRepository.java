@@ -0,0 +1,21 @@
+package com.dataprofiler.repository;
+
+import com.dataprofiler.entity.ReportTableProfile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Reads of report tables in bounded batches
+ * Unlike findAll with a Pageable, no count query is issued for each batch.
+ */
+public interface ReportTableBatchRepository {
+
+    /**
+     * First tables matching the specification in the given order
+     *
+     * @param limit maximum number of tables returned
+     */
+    List<ReportTableProfile> findBatch(Specification<ReportTableProfile> spec, Sort sort, int limit);
+}
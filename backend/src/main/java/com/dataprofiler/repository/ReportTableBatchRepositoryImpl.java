@@ -0,0 +1,35 @@
+package com.dataprofiler.repository;
+
+import com.dataprofiler.entity.ReportTableProfile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+/**
+ * Criteria query implementation of {@link ReportTableBatchRepository}
+ */
+public class ReportTableBatchRepositoryImpl implements ReportTableBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReportTableProfile> findBatch(Specification<ReportTableProfile> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReportTableProfile> query = cb.createQuery(ReportTableProfile.class);
+        Root<ReportTableProfile> root = query.from(ReportTableProfile.class);
+        query.select(root);
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
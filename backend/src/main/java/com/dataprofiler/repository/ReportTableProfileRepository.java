@@ -0,0 +1,106 @@
+package com.dataprofiler.repository;
+
+import com.dataprofiler.dto.request.DetailedReportRequest;
+import com.dataprofiler.entity.ReportTableProfile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository interface for ReportTableProfile entity
+ * Pages of a task's tables are read with {@link #forTask} and {@link #REPORT_ORDER}
+ */
+@Repository
+public interface ReportTableProfileRepository extends JpaRepository<ReportTableProfile, Long>,
+        JpaSpecificationExecutor<ReportTableProfile>, ReportTableBatchRepository {
+
+    /**
+     * Newest reports first, tables in their order within the report
+     */
+    Sort REPORT_ORDER = Sort.by(Sort.Order.desc("report.generatedAt"), Sort.Order.desc("reportId"), Sort.Order.asc("tableIndex"));
+
+    /**
+     * Summary of a table, read without its detailed profile
+     */
+    interface SummaryView {
+        Long getId();
+
+        Long getReportId();
+
+        byte[] getSummaryData();
+    }
+
+    @Query(value = "SELECT t.id AS id, t.reportId AS reportId, t.summaryData AS summaryData FROM ReportTableProfile t WHERE t.taskId = :taskId",
+            countQuery = "SELECT COUNT(t) FROM ReportTableProfile t WHERE t.taskId = :taskId")
+    Page<SummaryView> findSummariesByTaskId(@Param("taskId") String taskId, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.reportId AS reportId, t.summaryData AS summaryData FROM ReportTableProfile t WHERE t.taskId = :taskId")
+    List<SummaryView> findSummariesByTaskId(@Param("taskId") String taskId, Sort sort);
+
+    long countByTaskId(String taskId);
+
+    @Query("SELECT MAX(t.id) FROM ReportTableProfile t WHERE t.taskId = :taskId")
+    Long findMaxIdByTaskId(@Param("taskId") String taskId);
+
+    @Modifying
+    @Query("DELETE FROM ReportTableProfile t WHERE t.taskId = :taskId")
+    void deleteByTaskId(@Param("taskId") String taskId);
+
+    @Modifying
+    @Query("DELETE FROM ReportTableProfile t WHERE t.reportId = :reportId")
+    void deleteByReportId(@Param("reportId") Long reportId);
+
+    /**
+     * Tables of a report after the given position, for reading a report in batches ordered by table index
+     */
+    static Specification<ReportTableProfile> ofReportAfter(Long reportId, int tableIndex) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("reportId"), reportId),
+                cb.greaterThan(root.get("tableIndex"), tableIndex));
+    }
+
+    /**
+     * Tables of a task matching the data source / schema / table filters of a detailed report request
+     * Data sources missing from a non-empty filter are excluded; an empty schema map or table list selects everything below it.
+     */
+    static Specification<ReportTableProfile> forTask(String taskId, DetailedReportRequest.FilterCriteria filters) {
+        return (root, query, cb) -> {
+            Predicate task = cb.equal(root.get("taskId"), taskId);
+            if (filters == null || filters.getDataSources() == null || filters.getDataSources().isEmpty()) {
+                return task;
+            }
+
+            List<Predicate> sources = new ArrayList<>();
+            for (Map.Entry<String, DetailedReportRequest.DataSourceScope> source : filters.getDataSources().entrySet()) {
+                Predicate sourceMatch = cb.equal(root.get("dataSourceId"), source.getKey());
+                Map<String, List<String>> schemas = source.getValue() != null ? source.getValue().getSchemas() : null;
+                if (schemas == null || schemas.isEmpty()) {
+                    sources.add(sourceMatch);
+                    continue;
+                }
+                List<Predicate> schemaMatches = new ArrayList<>();
+                for (Map.Entry<String, List<String>> schema : schemas.entrySet()) {
+                    Predicate schemaMatch = cb.equal(root.get("schemaName"), schema.getKey());
+                    if (schema.getValue() != null && !schema.getValue().isEmpty()) {
+                        schemaMatch = cb.and(schemaMatch, root.get("tableName").in(schema.getValue()));
+                    }
+                    schemaMatches.add(schemaMatch);
+                }
+                sources.add(cb.and(sourceMatch, cb.or(schemaMatches.toArray(new Predicate[0]))));
+            }
+            return cb.and(task, cb.or(sources.toArray(new Predicate[0])));
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.dataprofiler.repository;
+
+import com.dataprofiler.entity.SourceThroughput;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for SourceThroughput entity
+ */
+@Repository
+public interface SourceThroughputRepository extends JpaRepository<SourceThroughput, String> {
+}
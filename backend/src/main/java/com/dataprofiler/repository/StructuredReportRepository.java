@@ -42,6 +42,43 @@ public interface StructuredReportRepository extends JpaRepository<StructuredRepo
     List<StructuredReport> findByTaskIdOrderByGeneratedAtDesc(String taskId);
 
 
+    /**
+     * First page of the reports, newest first, for keyset pagination
+     * @param limit page size (offset must be 0)
+     */
+    List<StructuredReport> findAllByOrderByGeneratedAtDescIdDesc(Pageable limit);
+
+    /**
+     * Reports after a keyset cursor, newest first
+     * @param generatedAt generation time of the last report of the previous page
+     * @param id ID of the last report of the previous page
+     * @param limit page size (offset must be 0)
+     */
+    @Query("SELECT sr FROM StructuredReport sr WHERE sr.generatedAt < :generatedAt OR (sr.generatedAt = :generatedAt AND sr.id < :id) " +
+            "ORDER BY sr.generatedAt DESC, sr.id DESC")
+    List<StructuredReport> findAfter(@Param("generatedAt") LocalDateTime generatedAt, @Param("id") Long id, Pageable limit);
+
+    /**
+     * First page of the reports of a task, newest first, for keyset pagination
+     */
+    List<StructuredReport> findByTaskIdOrderByGeneratedAtDescIdDesc(String taskId, Pageable limit);
+
+    /**
+     * Reports of a task after a keyset cursor, newest first
+     */
+    @Query("SELECT sr FROM StructuredReport sr WHERE sr.taskId = :taskId " +
+            "AND (sr.generatedAt < :generatedAt OR (sr.generatedAt = :generatedAt AND sr.id < :id)) " +
+            "ORDER BY sr.generatedAt DESC, sr.id DESC")
+    List<StructuredReport> findByTaskIdAfter(@Param("taskId") String taskId, @Param("generatedAt") LocalDateTime generatedAt,
+                                             @Param("id") Long id, Pageable limit);
+
+    /**
+     * IDs of the reports of a task, in ascending order
+     * @param taskId the task identifier
+     */
+    @Query("SELECT sr.id FROM StructuredReport sr WHERE sr.taskId = :taskId ORDER BY sr.id")
+    List<Long> findIdsByTaskId(@Param("taskId") String taskId);
+
     /**
      * Count reports by task ID
      * @param taskId the task identifier
@@ -51,6 +88,28 @@ public interface StructuredReportRepository extends JpaRepository<StructuredRepo
 
 
 
+    /**
+     * Reports saved before table profiles were stored per table, still holding them in table_profiles_json
+     * Ordered by id, starting after the given one, for batched backfills.
+     */
+    @Query("SELECT sr.id FROM StructuredReport sr WHERE sr.tableProfilesJson IS NOT NULL AND sr.id > :afterId ORDER BY sr.id")
+    List<Long> findIdsWithTableProfilesJson(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Reports of a task still holding their tables in table_profiles_json
+     */
+    List<StructuredReport> findByTaskIdAndTableProfilesJsonIsNotNull(String taskId);
+
+    boolean existsByTaskIdAndTableProfilesJsonIsNotNull(String taskId);
+
+    /**
+     * Drop the legacy table profiles JSON of a report once its tables were split into rows
+     * @return 0 if another instance already did
+     */
+    @Modifying
+    @Query("UPDATE StructuredReport sr SET sr.tableProfilesJson = NULL WHERE sr.id = :id AND sr.tableProfilesJson IS NOT NULL")
+    int clearTableProfilesJson(@Param("id") Long id);
+
     /**
      * Delete reports by task ID
      * @param taskId the task identifier
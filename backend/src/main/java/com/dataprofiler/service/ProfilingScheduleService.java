@@ -0,0 +1,43 @@
+package com.dataprofiler.service;
+
+import com.dataprofiler.entity.ProfilingSchedule;
+
+import java.util.List;
+
+/**
+ * Service interface for recurring profiling schedules
+ * Due schedules start regular profiling tasks; scans then wait for the maintenance windows of the data source
+ */
+public interface ProfilingScheduleService {
+
+    List<ProfilingSchedule> getAllSchedules();
+
+    /**
+     * @throws IllegalArgumentException if the schedule does not exist
+     */
+    ProfilingSchedule getSchedule(Long id);
+
+    /**
+     * Create a schedule and compute its first run
+     *
+     * @throws IllegalArgumentException if the data source does not exist or the cron expression or time zone is invalid
+     */
+    ProfilingSchedule createSchedule(ProfilingSchedule schedule);
+
+    /**
+     * Replace the definition of a schedule and recompute its next run
+     *
+     * @throws IllegalArgumentException if the schedule or data source does not exist, or the definition is invalid
+     */
+    ProfilingSchedule updateSchedule(Long id, ProfilingSchedule schedule);
+
+    /**
+     * @throws IllegalArgumentException if the schedule does not exist
+     */
+    void deleteSchedule(Long id);
+
+    /**
+     * Start a profiling task for every enabled schedule that is due
+     */
+    void runDueSchedules();
+}
@@ -1,7 +1,11 @@
 package com.dataprofiler.service;
 
 import com.dataprofiler.dto.request.ProfilingTaskRequest;
+import com.dataprofiler.dto.response.CursorPage;
+import com.dataprofiler.dto.response.ProfilingEstimateDto;
+import com.dataprofiler.dto.response.TaskListItemDto;
 import com.dataprofiler.dto.response.TaskStatusResponse;
+import com.dataprofiler.dto.response.TaskTimelineDto;
 import com.dataprofiler.entity.ProfilingTask;
 
 import java.util.List;
@@ -22,9 +26,21 @@ public interface ProfilingService {
 
     List<ProfilingTask> getAllProfilingTasks();
 
+    /**
+     * Get one page of the task list, newest first, with keyset pagination on (createdAt, id)
+     * Only the list columns are read; the request payload and data sources are left to getTask.
+     *
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @param size   number of tasks per page
+     * @return tasks of the page and the cursor of the next one
+     */
+    CursorPage<TaskListItemDto> getProfilingTasksPage(String cursor, int size);
+
     /**
      * Start a new profiling task and return immediately, then execute the task asynchronously
-     * Creates a ProfilingTask entity with PENDING status, saves it to database, and triggers async execution
+     * Creates a ProfilingTask entity with PENDING status, saves it to database, and triggers async execution.
+     * Unless forceRefresh is set, an identical request instead gets the running task (reuse ATTACHED)
+     * or a task completed within app.profiling.dedup.result-ttl-minutes (reuse CACHED).
      *
      * @param request Request object containing one or more data sources and their profiling scope
      * @return Newly created task entity with unique taskId and initial status
@@ -32,14 +48,47 @@ public interface ProfilingService {
     ProfilingTask startProfilingTask(ProfilingTaskRequest request);
 
 
+    /**
+     * Get a task with its data sources
+     *
+     * @param id task database ID
+     * @return the task, or null if not found
+     */
     ProfilingTask getTask(Long id);
 
+    /**
+     * Execution timeline and slowest queries of a task, from the work items finished so far while it runs
+     *
+     * @param taskId Task identifier
+     * @return Timeline, or null if none of the task's work has run
+     */
+    TaskTimelineDto getTaskTimeline(String taskId);
+
     /**
      * Delete a task by taskId
      */
     void deleteTask(Long id);
 
 
+    /**
+     * Request cancellation of a pending or running task
+     * In-flight source queries are cancelled and partial results are kept
+     *
+     * @throws java.util.NoSuchElementException if the task does not exist
+     * @throws IllegalStateException if the task has already finished
+     */
+    ProfilingTask cancelTask(Long id);
+
+    /**
+     * Estimate the cost of a profiling request without running it
+     * Table sizes come from catalog statistics only; durations are predicted from the throughput of past runs
+     *
+     * @param request Request object containing one or more data sources and their profiling scope
+     * @return Per source and table estimates of strategy, query count and rows scanned
+     * @throws IllegalArgumentException if a data source does not exist
+     */
+    ProfilingEstimateDto estimateProfilingTask(ProfilingTaskRequest request);
+
     /**
      * Find tasks by data source ID
      */
@@ -2,6 +2,7 @@ package com.dataprofiler.service;
 
 import com.dataprofiler.dto.internal.RawProfileDataDto;
 import com.dataprofiler.dto.response.StructuredReportDto;
+import com.dataprofiler.entity.ProfilingTask;
 
 import java.util.List;
 
@@ -18,10 +19,12 @@ public interface ReportAssemblyService {
      * Assemble one or more raw profiling data objects into standardized report objects
      * This is the core method that transforms raw data into enriched structured reports
      * 
+     * Sample rows are limited and truncated here according to the task's sampleDataLimit and fieldMaxLength.
+     *
      * @param rawDataList List of raw profiling data from Profiler, each element corresponds to one data source
-     * @param taskId Global ID of the current profiling task
+     * @param task The current profiling task
      * @return List of assembled structured reports, each element corresponds to one input data source
      */
-    List<StructuredReportDto> assembleReport(List<RawProfileDataDto> rawDataList, String taskId);
+    List<StructuredReportDto> assembleReport(List<RawProfileDataDto> rawDataList, ProfilingTask task);
 
 }
\ No newline at end of file
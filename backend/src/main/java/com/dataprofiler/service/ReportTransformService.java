@@ -12,6 +12,12 @@ import java.util.List;
  */
 public interface ReportTransformService {
 
+    /**
+     * Version of the report representations the API returns, part of their HTTP validators
+     * Change it whenever a transform or a report DTO changes, so clients revalidate responses cached before.
+     */
+    String REPRESENTATION_VERSION = "1";
+
     /**
      * Transform detailed report to summary format as specified in design document
      * Converts from current format to the target format with datasourceId, dataSourceName, 
@@ -31,6 +37,14 @@ public interface ReportTransformService {
      */
     List<ReportSummaryDto> transformToTargetFormat(List<StructuredReportDto> detailedReports);
 
+    /**
+     * Transform one table report to its summary in target format
+     *
+     * @param tableReport The table report to transform
+     * @return Table summary, or null if it cannot be transformed
+     */
+    ReportSummaryDto.TableSummary transformTableToSummary(StructuredReportDto.TableReport tableReport);
+
     /**
      * Extract column names from table report for summary
      * 
@@ -2,11 +2,13 @@ package com.dataprofiler.service;
 
 import com.dataprofiler.dto.request.DetailedReportRequest;
 import com.dataprofiler.dto.request.ReportSummaryRequest;
+import com.dataprofiler.dto.response.CursorPage;
 import com.dataprofiler.dto.response.ReportInfoDto;
 import com.dataprofiler.dto.response.ReportSummaryDto;
 import com.dataprofiler.dto.response.StructuredReportDto;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -45,7 +47,6 @@ public interface StructuredReportService {
 
     /**
      * Get all detailed reports for a specific profiling task with filtering (without pagination)
-     * Used for table-based pagination in controller layer
      * Supports complex querying with data source, schema, and table filtering
      *
      * @param request detailed report request with filtering criteria
@@ -53,6 +54,61 @@ public interface StructuredReportService {
      */
     List<StructuredReportDto> getAllDetailedReports(DetailedReportRequest request);
 
+    /**
+     * Stream all detailed reports of a task matching the filters, one table at a time
+     * Tables are read from storage in batches and handed to the sink as soon as they are decoded, each as a report
+     * holding that single table, in the order of getAllDetailedReports. Memory use does not grow with the task.
+     *
+     * @param request detailed report request with filtering criteria; page and page size are ignored
+     * @param sink    receiver of the reports, typically writing them to a response
+     */
+    void exportDetailedReports(DetailedReportRequest request, TableSink sink) throws IOException;
+
+    /**
+     * Receiver of the tables of an export
+     */
+    @FunctionalInterface
+    interface TableSink {
+        void accept(StructuredReportDto report) throws IOException;
+    }
+
+    /**
+     * Version of the stored reports of a task, for HTTP validators
+     * Only completed tasks have one, as their reports no longer change. It is read with a few indexed queries,
+     * without loading or decoding any report.
+     *
+     * @param taskId the profiling task ID
+     * @return opaque version derived from the task's reports and table rows, its sample limits and the representation
+     *         version of the transforms, null if the task is not completed
+     */
+    String getReportsVersion(String taskId);
+
+    /**
+     * Get one page of detailed reports, paginated by table
+     * Only the tables of the requested page are read; tables of the same report are grouped into one report
+     *
+     * @param request detailed report request with filtering criteria and page
+     * @return reports holding the tables of the page, total elements being the number of matching tables
+     */
+    Page<StructuredReportDto> getDetailedReportsPage(DetailedReportRequest request);
+
+    /**
+     * Get one page of summary reports for a task, paginated by table
+     *
+     * @param taskId   the profiling task ID
+     * @param page     page number (0-based)
+     * @param pageSize number of tables per page
+     * @return summaries holding the tables of the page, total elements being the number of tables of the task
+     */
+    Page<ReportSummaryDto> getReportsSummaryPage(String taskId, int page, int pageSize);
+
+    /**
+     * Move the tables of a report saved as one JSON column into per-table rows; no-op if already done
+     *
+     * @param reportId the report ID
+     */
+    void splitLegacyTableProfiles(Long reportId);
+
     /**
      * Get basic information for all reports with pagination
      * Provides lightweight report metadata for listing purposes
@@ -64,4 +120,15 @@ public interface StructuredReportService {
      */
     Page<ReportInfoDto> getReportInfoList(Integer page, Integer size);
 
+    /**
+     * Get basic information of reports, newest first, with keyset pagination on (generatedAt, id)
+     * Unlike getReportInfoList, deep pages cost the same as the first one.
+     *
+     * @param taskId only reports of this task if not null
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @param size   number of reports per page
+     * @return report information of the page and the cursor of the next one
+     */
+    CursorPage<ReportInfoDto> getReportInfoPage(String taskId, String cursor, int size);
+
 }
\ No newline at end of file
@@ -10,7 +10,9 @@ import com.dataprofiler.repository.StructuredReportRepository;
 import com.dataprofiler.service.DashboardService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -40,6 +42,7 @@ public class DashboardServiceImpl implements DashboardService {
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Override
+    @Transactional(readOnly = true)
     public DashboardStatsDto getDashboardStatistics() {
         log.debug("Collecting dashboard statistics");
 
@@ -144,21 +147,15 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<DashboardStatsDto.ActivityDto> getRecentActivities(int limit) {
         log.debug("Getting recent activities with limit: {}", limit);
 
         try {
             List<DashboardStatsDto.ActivityDto> activities = new ArrayList<>();
 
-            // Get recent tasks (limited to prevent performance issues)
-            List<ProfilingTask> recentTasks = taskRepository.findAll().stream()
-                    .sorted((t1, t2) -> {
-                        LocalDateTime time1 = t1.getCreatedAt();
-                        LocalDateTime time2 =  t2.getCreatedAt();
-                        return time2.compareTo(time1); // Descending order
-                    })
-                    .limit(limit)
-                    .collect(Collectors.toList());
+            // Get recent tasks; their data sources are loaded in one batch when the descriptions read them
+            List<ProfilingTask> recentTasks = taskRepository.findAllByOrderByCreatedAtDescIdDesc(PageRequest.of(0, limit));
 
             // Convert tasks to activities
             for (ProfilingTask task : recentTasks) {
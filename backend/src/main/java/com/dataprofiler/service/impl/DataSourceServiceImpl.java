@@ -4,6 +4,7 @@ import com.dataprofiler.config.CacheConfig;
 import com.dataprofiler.dto.ConnectionTestResult;
 import com.dataprofiler.dto.response.DataSourceInfoDto;
 import com.dataprofiler.entity.DataSourceConfig;
+import com.dataprofiler.execution.MaintenanceWindow;
 import com.dataprofiler.profiler.IDatabaseProfiler;
 import com.dataprofiler.repository.DataSourceConfigRepository;
 import com.dataprofiler.service.DataSourceService;
@@ -78,6 +79,10 @@ public class DataSourceServiceImpl implements DataSourceService {
             throw new IllegalArgumentException("Data source name already exists: " + dataSourceConfig.getName());
         }
 
+        // Reject maintenance windows and replica endpoints that cannot be parsed
+        MaintenanceWindow.of(dataSourceConfig);
+        dataSourceConfig.validateReplicaEndpoints();
+
         // Generate unique source ID if not provided
         if (dataSourceConfig.getSourceId() == null || dataSourceConfig.getSourceId().isEmpty()) {
             dataSourceConfig.setSourceId(generateSourceId(dataSourceConfig.getName()));
@@ -123,6 +128,9 @@ public class DataSourceServiceImpl implements DataSourceService {
             throw new IllegalArgumentException("Data source name already exists: " + updatedConfig.getName());
         }
 
+        MaintenanceWindow.of(updatedConfig);
+        updatedConfig.validateReplicaEndpoints();
+
         // Update fields
         existingConfig.setName(updatedConfig.getName());
         existingConfig.setType(updatedConfig.getType());
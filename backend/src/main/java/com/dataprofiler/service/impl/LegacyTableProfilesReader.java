@@ -0,0 +1,130 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.dto.request.DetailedReportRequest;
+import com.dataprofiler.dto.response.StructuredReportDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Streaming reader of the table_profiles_json column of reports saved before tables were stored per row
+ * The array is walked once; tables outside the requested scope are skipped token by token as soon as their
+ * schema and name are known, and only the matching ones are bound to TableReport.
+ */
+@Component
+public class LegacyTableProfilesReader {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public LegacyTableProfilesReader() {
+    }
+
+    LegacyTableProfilesReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Schema and table test of a detailed report request for one data source
+     * Mirrors ReportTableProfileRepository.forTask: a data source missing from a non-empty filter matches nothing,
+     * an empty schema map or table list matches everything below it.
+     *
+     * @return null if all tables of the data source match
+     */
+    public static BiPredicate<String, String> scopeOf(DetailedReportRequest.FilterCriteria filters, String dataSourceId) {
+        if (filters == null || filters.getDataSources() == null || filters.getDataSources().isEmpty()) {
+            return null;
+        }
+        DetailedReportRequest.DataSourceScope source = filters.getDataSources().get(dataSourceId);
+        if (source == null) {
+            return (schema, table) -> false;
+        }
+        Map<String, List<String>> schemas = source.getSchemas();
+        if (schemas == null || schemas.isEmpty()) {
+            return null;
+        }
+        return (schema, table) -> {
+            List<String> tables = schemas.get(schema);
+            return tables != null && (tables.isEmpty() || tables.contains(table));
+        };
+    }
+
+    /**
+     * @param scope Test on schema and table name, null to read all tables
+     */
+    public List<StructuredReportDto.TableReport> read(String json, BiPredicate<String, String> scope) throws IOException {
+        List<StructuredReportDto.TableReport> tables = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Table profiles JSON is not an array");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                StructuredReportDto.TableReport table = scope != null
+                        ? readIfInScope(parser, scope)
+                        : objectMapper.readValue(parser, StructuredReportDto.TableReport.class);
+                if (table != null) {
+                    tables.add(table);
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Read the table object the parser is at, or skip it if it is out of scope
+     * Fields read before the schema and name are known are buffered; tables are written with both first.
+     */
+    private StructuredReportDto.TableReport readIfInScope(JsonParser parser, BiPredicate<String, String> scope)
+            throws IOException {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.writeStartObject();
+        String schema = null;
+        String name = null;
+        boolean schemaSeen = false;
+        boolean nameSeen = false;
+        Boolean inScope = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (inScope == null) {
+                if ("name".equals(field)) {
+                    name = parser.getValueAsString();
+                    nameSeen = true;
+                } else if ("schemaName".equals(field)) {
+                    schema = parser.getValueAsString();
+                    schemaSeen = true;
+                }
+                if (nameSeen && schemaSeen) {
+                    inScope = scope.test(schema, name);
+                }
+            }
+            if (Boolean.FALSE.equals(inScope)) {
+                parser.skipChildren();
+                continue;
+            }
+            buffer.writeFieldName(field);
+            buffer.copyCurrentStructure(parser);
+        }
+
+        if (inScope == null) {
+            inScope = scope.test(schema, name);
+        }
+        if (!inScope) {
+            return null;
+        }
+        buffer.writeEndObject();
+        try (JsonParser tableParser = buffer.asParser(parser)) {
+            return objectMapper.readValue(tableParser, StructuredReportDto.TableReport.class);
+        }
+    }
+}
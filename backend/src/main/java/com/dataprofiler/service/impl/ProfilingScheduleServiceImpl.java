@@ -0,0 +1,174 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.dto.request.ProfilingTaskRequest;
+import com.dataprofiler.entity.ProfilingSchedule;
+import com.dataprofiler.entity.ProfilingTask;
+import com.dataprofiler.repository.ProfilingScheduleRepository;
+import com.dataprofiler.repository.ProfilingTaskRepository;
+import com.dataprofiler.service.DataSourceService;
+import com.dataprofiler.service.ProfilingScheduleService;
+import com.dataprofiler.service.ProfilingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Implementation of ProfilingScheduleService
+ * Polls for due schedules (app.profiling.schedule-poll-interval-ms) and starts their tasks through ProfilingService.
+ * Runs missed while the application was down are started once, not caught up one by one; with several
+ * instances, a due run is started by whichever instance first moves the schedule to its next fire time.
+ */
+@Service
+@Transactional
+public class ProfilingScheduleServiceImpl implements ProfilingScheduleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingScheduleServiceImpl.class);
+
+    @Autowired
+    private ProfilingScheduleRepository scheduleRepository;
+
+    @Autowired
+    private DataSourceService dataSourceService;
+
+    @Autowired
+    private ProfilingService profilingService;
+
+    @Autowired
+    private ProfilingTaskRepository taskRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProfilingSchedule> getAllSchedules() {
+        return scheduleRepository.findAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProfilingSchedule getSchedule(Long id) {
+        return scheduleRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Profiling schedule not found: " + id));
+    }
+
+    @Override
+    public ProfilingSchedule createSchedule(ProfilingSchedule schedule) {
+        logger.info("Creating profiling schedule {} for data source {}", schedule.getName(), schedule.getSourceId());
+        schedule.setId(null);
+        schedule.setLastRunAt(null);
+        schedule.setLastTaskId(null);
+        return scheduleRepository.save(prepare(schedule));
+    }
+
+    @Override
+    public ProfilingSchedule updateSchedule(Long id, ProfilingSchedule updated) {
+        logger.info("Updating profiling schedule {}", id);
+        ProfilingSchedule existing = getSchedule(id);
+        existing.setName(updated.getName());
+        existing.setSourceId(updated.getSourceId());
+        existing.setCronExpression(updated.getCronExpression());
+        existing.setTimezone(updated.getTimezone());
+        existing.setSchemas(updated.getSchemas());
+        existing.setPriority(updated.getPriority());
+        existing.setEnabled(updated.getEnabled());
+        return scheduleRepository.save(prepare(existing));
+    }
+
+    @Override
+    public void deleteSchedule(Long id) {
+        logger.info("Deleting profiling schedule {}", id);
+        scheduleRepository.delete(getSchedule(id));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.profiling.schedule-poll-interval-ms:30000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void runDueSchedules() {
+        // Each start commits on its own so one failing schedule cannot roll back the others
+        for (ProfilingSchedule schedule : scheduleRepository.findByEnabledTrueAndNextRunAtLessThanEqual(LocalDateTime.now())) {
+            // Move on to the next fire time first: only the instance that does so runs the schedule, and a
+            // broken schedule does not retry every poll
+            LocalDateTime nextRunAt = nextRun(schedule, LocalDateTime.now());
+            if (scheduleRepository.advanceNextRun(schedule.getId(), schedule.getNextRunAt(), nextRunAt) == 0) {
+                continue;
+            }
+            try {
+                ProfilingTask task = runSchedule(schedule);
+                // Only the run fields are written: the schedule read above may have been edited since
+                if (task != null && scheduleRepository.recordRun(schedule.getId(), LocalDateTime.now(), task.getTaskId()) == 0) {
+                    logger.warn("Schedule {} was deleted while starting task {}", schedule.getName(), task.getTaskId());
+                }
+            } catch (Exception e) {
+                logger.error("Failed to run profiling schedule {} ({})", schedule.getId(), schedule.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Start the task of a due run
+     *
+     * @return the started task, null if the run was skipped
+     */
+    private ProfilingTask runSchedule(ProfilingSchedule schedule) {
+        if (schedule.getLastTaskId() != null && taskRepository.findByTaskId(schedule.getLastTaskId())
+                .map(task -> task.getStatus() == ProfilingTask.TaskStatus.PENDING || task.getStatus() == ProfilingTask.TaskStatus.RUNNING)
+                .orElse(false)) {
+            logger.info("Skipping run of schedule {}: previous task {} is still running", schedule.getName(), schedule.getLastTaskId());
+            return null;
+        }
+
+        ProfilingTaskRequest request = new ProfilingTaskRequest(Collections.singletonMap(schedule.getSourceId(),
+                new ProfilingTaskRequest.DataSourceScope(schedule.getSchemas() != null ? schedule.getSchemas() : new HashMap<>())));
+        request.setPriority(schedule.getPriority());
+        // A scheduled run exists to refresh the results, so it never reuses a cached task
+        request.setForceRefresh(true);
+
+        ProfilingTask task = profilingService.startProfilingTask(request);
+        logger.info("Schedule {} started profiling task {}", schedule.getName(), task.getTaskId());
+        return task;
+    }
+
+    /**
+     * Validate a schedule definition and compute its next run
+     */
+    private ProfilingSchedule prepare(ProfilingSchedule schedule) {
+        dataSourceService.getDataSourceBySourceId(schedule.getSourceId());
+        if (schedule.getPriority() == null) {
+            schedule.setPriority(5);
+        }
+        if (schedule.getEnabled() == null) {
+            schedule.setEnabled(true);
+        }
+        schedule.setNextRunAt(nextRun(schedule, LocalDateTime.now()));
+        return schedule;
+    }
+
+    /**
+     * Next fire time after the given local time, converted from the schedule's time zone to server time
+     *
+     * @throws IllegalArgumentException if the cron expression or time zone is invalid
+     */
+    private LocalDateTime nextRun(ProfilingSchedule schedule, LocalDateTime after) {
+        CronExpression cron = CronExpression.parse(schedule.getCronExpression());
+        ZoneId zone;
+        try {
+            zone = schedule.getTimezone() != null && !schedule.getTimezone().isEmpty()
+                    ? ZoneId.of(schedule.getTimezone()) : ZoneId.systemDefault();
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid time zone: " + schedule.getTimezone(), e);
+        }
+        ZonedDateTime next = cron.next(after.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone));
+        return next != null ? next.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime() : null;
+    }
+}
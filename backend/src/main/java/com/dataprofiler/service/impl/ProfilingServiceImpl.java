@@ -3,29 +3,36 @@ package com.dataprofiler.service.impl;
 import com.dataprofiler.dto.FileLoadResult;
 import com.dataprofiler.dto.internal.RawProfileDataDto;
 import com.dataprofiler.dto.request.ProfilingTaskRequest;
-import com.dataprofiler.dto.response.StructuredReportDto;
+import com.dataprofiler.dto.response.CursorPage;
+import com.dataprofiler.dto.response.ProfilingEstimateDto;
+import com.dataprofiler.dto.response.TaskListItemDto;
 import com.dataprofiler.dto.response.TaskStatusResponse;
+import com.dataprofiler.dto.response.TaskTimelineDto;
 import com.dataprofiler.entity.DataSourceConfig;
 import com.dataprofiler.entity.ProfilingTask;
 import com.dataprofiler.profiler.IDatabaseProfiler;
+import com.dataprofiler.profiler.ProfilerRegistry;
+import com.dataprofiler.profiler.ProfilingCostModel;
+import com.dataprofiler.profiler.TableEstimate;
 import com.dataprofiler.repository.ProfilingTaskRepository;
+import com.dataprofiler.repository.SourceThroughputRepository;
 import com.dataprofiler.service.DataSourceService;
 import com.dataprofiler.service.FileAsTableService;
 import com.dataprofiler.service.ProfilingService;
-import com.dataprofiler.service.ReportAssemblyService;
-import com.dataprofiler.service.StructuredReportService;
+import com.dataprofiler.util.KeysetCursor;
+import com.dataprofiler.util.RequestFingerprint;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.core.util.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -34,9 +41,9 @@ import java.util.stream.Collectors;
  * <p>
  * Key responsibilities:
  * - Task lifecycle management (PENDING -> RUNNING -> SUCCESS/FAILED)
- * - Async execution coordination
+ * - Async execution coordination (work items shared by all instances, see ProfilingWorkCoordinator)
  * - Multi-data source profiling orchestration
- * - Service coordination (DataSourceService, IDatabaseProfiler, ReportAssemblyService, StructuredReportService)
+ * - Service coordination (DataSourceService, IDatabaseProfiler, ProfilingWorkCoordinator)
  */
 @Service
 @Transactional
@@ -51,19 +58,28 @@ public class ProfilingServiceImpl implements ProfilingService {
     private DataSourceService dataSourceService;
 
     @Autowired
-    private ReportAssemblyService reportAssemblyService;
+    private ProfilerRegistry profilerRegistry;
 
     @Autowired
-    private StructuredReportService structuredReportService;
+    private FileAsTableService fileAsTableService;
 
     @Autowired
-    private List<IDatabaseProfiler> profilers;
+    private ObjectMapper objectMapper;
 
     @Autowired
-    private FileAsTableService fileAsTableService;
+    private ProfilingWorkCoordinator workCoordinator;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private TaskTimelineRecorder timelineRecorder;
+
+    @Autowired
+    private ReportTableCache reportTableCache;
+
+    @Autowired
+    private SourceThroughputRepository sourceThroughputRepository;
+
+    @Value("${app.profiling.dedup.result-ttl-minutes:60}")
+    private long resultTtlMinutes;
 
     @Override
     public List<ProfilingTask> getAllProfilingTasks() {
@@ -71,29 +87,55 @@ public class ProfilingServiceImpl implements ProfilingService {
         return profilingTaskRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskListItemDto> getProfilingTasksPage(String cursor, int size) {
+        // One extra row tells whether there is a next page
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<TaskListItemDto> tasks;
+        if (cursor == null || cursor.isEmpty()) {
+            tasks = profilingTaskRepository.findListItems(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            tasks = profilingTaskRepository.findListItemsAfter(after.getTime(), after.getId(), limit);
+        }
+        return CursorPage.of(tasks, size, task -> KeysetCursor.encode(task.getCreatedAt(), task.getId()), task -> task);
+    }
+
     @Override
     public ProfilingTask startProfilingTask(ProfilingTaskRequest request) {
         logger.info("Starting profiling task for {} data sources",
                 request.getDatasources() != null ? request.getDatasources().size() : 0);
 
         try {
+            String fingerprint = RequestFingerprint.of(request);
+            if (!Boolean.TRUE.equals(request.getForceRefresh())) {
+                ProfilingTask shared = findReusableTask(fingerprint);
+                if (shared != null) {
+                    return shared;
+                }
+            }
+
             // Create and save task with PENDING status
             ProfilingTask task = createProfilingTask(request);
+            task.setRequestFingerprint(fingerprint);
+            task.setReuse(ProfilingTask.ReuseMode.NEW);
             logger.info("Created profiling task : {}", Json.pretty(task));
-            profilingTaskRepository.save(task);
 
+            if (task.getDataSourceConfigs() == null || task.getDataSourceConfigs().isEmpty()) {
+                task.setStatus(ProfilingTask.TaskStatus.FAILED);
+                task.setInfo("Task failed: No valid data sources specified in request");
+                task.setCompletedAt(LocalDateTime.now());
+                profilingTaskRepository.save(task);
+                return task;
+            }
 
-            // Start async execution
-            CompletableFuture<Void> asyncTask = executeTaskAsync(task.getTaskId());
-            
-            // Log async task initiation
-            asyncTask.whenComplete((result, throwable) -> {
-                if (throwable != null) {
-                    logger.error("Async task execution failed for task: {}", task.getTaskId(), throwable);
-                } else {
-                    logger.debug("Async task execution completed for task: {}", task.getTaskId());
-                }
-            });
+            Map<String, DataSourceConfig> dataSources = task.getDataSourceConfigs().stream()
+                    .collect(Collectors.toMap(DataSourceConfig::getSourceId, ds -> ds, (first, second) -> first));
+
+            // The task and its work items commit together, so no instance sees one without the other
+            workCoordinator.enqueue(task, request, dataSources);
+            profilingTaskRepository.save(task);
 
             return task;
 
@@ -104,23 +146,156 @@ public class ProfilingServiceImpl implements ProfilingService {
     }
 
 
+    @Override
+    @Transactional(readOnly = true)
+    public ProfilingEstimateDto estimateProfilingTask(ProfilingTaskRequest request) {
+        ProfilingEstimateDto estimate = new ProfilingEstimateDto();
+        if (request.getDatasources() == null) {
+            return estimate;
+        }
+
+        boolean predicted = false;
+        long predictedMillis = 0;
+        for (Map.Entry<String, ProfilingTaskRequest.DataSourceScope> entry : new TreeMap<>(request.getDatasources()).entrySet()) {
+            DataSourceConfig dataSource = dataSourceService.getDataSourceBySourceId(entry.getKey());
+            IDatabaseProfiler profiler = profilerRegistry.getProfiler(dataSource);
+
+            ProfilingEstimateDto.SourceEstimate source = new ProfilingEstimateDto.SourceEstimate();
+            source.setSourceId(dataSource.getSourceId());
+            source.setType(dataSource.getType().name());
+            estimate.getDataSources().add(source);
+
+            List<TableEstimate> tables;
+            try {
+                tables = profiler.estimateTables(dataSource, entry.getValue());
+            } catch (Exception e) {
+                logger.warn("Could not read catalog estimates of data source: {}", dataSource.getSourceId(), e);
+                source.setError("Catalog estimates unavailable: " + e.getMessage());
+                continue;
+            }
+            if (tables.isEmpty()) {
+                source.setError("No catalog estimates for this data source type or scope");
+                continue;
+            }
+
+            Double millisPerMillionUnits = sourceThroughputRepository.findById(dataSource.getSourceId())
+                    .map(throughput -> {
+                        source.setObservedTables(throughput.getObservedTables());
+                        return throughput.getMillisPerMillionUnits();
+                    })
+                    .orElse(null);
+
+            long sourceMillis = 0;
+            for (TableEstimate table : tables) {
+                ProfilingEstimateDto.TableCost cost = new ProfilingEstimateDto.TableCost();
+                cost.setSchemaName(table.getSchemaName());
+                cost.setTableName(table.getTableName());
+                cost.setEstimatedRows(table.getEstimatedRows());
+                cost.setColumnCount(table.getColumnCount());
+                cost.setStrategy(ProfilingCostModel.strategy(table.getEstimatedRows()));
+                cost.setEstimatedQueries(ProfilingCostModel.queries(cost.getStrategy(), table.getColumnCount()));
+                cost.setEstimatedRowsScanned(ProfilingCostModel.rowsScanned(cost.getStrategy(), table.getEstimatedRows(),
+                        table.getColumnCount(), profiler.getSampledScanFraction()));
+                if (millisPerMillionUnits != null) {
+                    long units = ProfilingCostModel.costUnits(cost.getEstimatedQueries(),
+                            cost.getEstimatedRowsScanned() != null ? cost.getEstimatedRowsScanned() : 0);
+                    cost.setPredictedDurationMillis(Math.round(units * millisPerMillionUnits / 1_000_000));
+                    sourceMillis += cost.getPredictedDurationMillis();
+                }
+                source.getTables().add(cost);
+                source.setEstimatedQueries(source.getEstimatedQueries() + cost.getEstimatedQueries());
+                if (cost.getEstimatedRowsScanned() != null) {
+                    source.setEstimatedRowsScanned(source.getEstimatedRowsScanned() + cost.getEstimatedRowsScanned());
+                }
+            }
+            if (millisPerMillionUnits != null) {
+                source.setPredictedDurationMillis(sourceMillis);
+                predictedMillis += sourceMillis;
+                predicted = true;
+            }
+
+            estimate.setTotalTables(estimate.getTotalTables() + source.getTables().size());
+            estimate.setEstimatedQueries(estimate.getEstimatedQueries() + source.getEstimatedQueries());
+            estimate.setEstimatedRowsScanned(estimate.getEstimatedRowsScanned() + source.getEstimatedRowsScanned());
+        }
+        estimate.setPredictedDurationMillis(predicted ? predictedMillis : null);
+        return estimate;
+    }
+
+    /**
+     * Find a task an identical request can share: one still running on any instance,
+     * or one completed within the result TTL
+     */
+    private ProfilingTask findReusableTask(String fingerprint) {
+        List<ProfilingTask> active = profilingTaskRepository.findByRequestFingerprintAndStatusInOrderByCreatedAtDesc(
+                fingerprint, Arrays.asList(ProfilingTask.TaskStatus.PENDING, ProfilingTask.TaskStatus.RUNNING));
+        for (ProfilingTask candidate : active) {
+            // Work items survive restarts, so only a task that is stopping cannot be shared
+            if (candidate.getStopStatus() == null) {
+                logger.info("Attaching identical request to running task: {}", candidate.getTaskId());
+                candidate.setReuse(ProfilingTask.ReuseMode.ATTACHED);
+                return candidate;
+            }
+        }
+
+        if (resultTtlMinutes > 0) {
+            Optional<ProfilingTask> recent = profilingTaskRepository
+                    .findFirstByRequestFingerprintAndStatusAndCompletedAtAfterOrderByCompletedAtDesc(
+                            fingerprint, ProfilingTask.TaskStatus.COMPLETED, LocalDateTime.now().minusMinutes(resultTtlMinutes));
+            if (recent.isPresent()) {
+                logger.info("Reusing result of task {} completed at {}", recent.get().getTaskId(), recent.get().getCompletedAt());
+                recent.get().setReuse(ProfilingTask.ReuseMode.CACHED);
+                return recent.get();
+            }
+        }
+        return null;
+    }
+
     @Override
     @Transactional
     public ProfilingTask getTask(Long id) {
         logger.debug("Getting  task: {}", id);
-        Optional<ProfilingTask> taskOpt = profilingTaskRepository.findById(id);
+        Optional<ProfilingTask> taskOpt = profilingTaskRepository.findWithDataSourcesById(id);
         if (taskOpt.isPresent()) {
             return taskOpt.get();
         }
         return null;
     }
 
+    @Override
+    public TaskTimelineDto getTaskTimeline(String taskId) {
+        return timelineRecorder.find(taskId);
+    }
+
     @Override
     public void deleteTask(Long id) {
         logger.info("Deleting task: {}", id);
+        profilingTaskRepository.findById(id).ifPresent(task -> {
+            workCoordinator.discard(task.getTaskId());
+            reportTableCache.evictTask(task.getTaskId());
+        });
         profilingTaskRepository.deleteById(id);
     }
 
+    @Override
+    public ProfilingTask cancelTask(Long id) {
+        logger.info("Cancelling task: {}", id);
+        ProfilingTask task = profilingTaskRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Task not found: " + id));
+
+        ProfilingTask.TaskStatus status = task.getStatus();
+        if (status != ProfilingTask.TaskStatus.PENDING && status != ProfilingTask.TaskStatus.RUNNING) {
+            throw new IllegalStateException("Task " + id + " is already " + status);
+        }
+
+        // Instances running its work stop their in-flight queries; the task is finalized once they have
+        if (!workCoordinator.requestStop(task.getTaskId(), ProfilingTask.TaskStatus.CANCELLED)) {
+            throw new IllegalStateException("Task " + id + " is already stopping");
+        }
+        logger.info("Cancellation requested for task: {}", task.getTaskId());
+        return profilingTaskRepository.findById(id).orElse(task);
+    }
+
     @Override
     public List<ProfilingTask> findByDataSourceId(String dataSourceId) {
         logger.debug("Finding tasks by data source ID: {}", dataSourceId);
@@ -187,162 +362,6 @@ public class ProfilingServiceImpl implements ProfilingService {
         return task;
     }
 
-    /**
-     * Execute profiling task asynchronously
-     * This method implements the core profiling workflow:
-     * 1. Task initialization
-     * 2. Request parsing and parallel scheduling
-     * 3. Data source processing
-     * 4. Data aggregation and assembly
-     * 5. Report persistence
-     * 6. Task status finalization
-     */
-    @Async
-    public CompletableFuture<Void> executeTaskAsync(String taskId) {
-        logger.info("Starting async execution for task: {}", taskId);
-
-        Optional<ProfilingTask> taskOpt = profilingTaskRepository.findByTaskId(taskId);
-
-        ProfilingTask task = taskOpt.get();
-
-        try {
-            // 1. Task initialization - update status to RUNNING
-            updateTaskStatus(task, ProfilingTask.TaskStatus.RUNNING, "Task execution started");
-            profilingTaskRepository.save(task);
-
-            // 2. Parse request payload
-            ProfilingTaskRequest request = objectMapper.readValue(task.getRequestPayload(), ProfilingTaskRequest.class);
-
-            if (request.getDatasources() == null || request.getDatasources().isEmpty()) {
-                throw new IllegalArgumentException("No data sources specified in request");
-            }
-
-            // 3. Process each data source (parallel execution for multiple sources)
-            List<RawProfileDataDto> rawDataList = processDataSources(request, taskId);
-
-            if (rawDataList.isEmpty()) {
-                throw new RuntimeException("No data sources were successfully profiled");
-            }
-
-            // 4. Data aggregation and assembly
-            updateTaskStatus(task, ProfilingTask.TaskStatus.RUNNING, "Assembling profiling reports");
-            List<StructuredReportDto> reports = reportAssemblyService.assembleReport(rawDataList, taskId);
-
-            // 5. Report persistence
-            updateTaskStatus(task, ProfilingTask.TaskStatus.RUNNING, "Saving profiling reports");
-            structuredReportService.saveReports(taskId, reports);
-
-            // 6. Task completion
-            task.setCompletedAt(LocalDateTime.now());
-            updateTaskStatus(task, ProfilingTask.TaskStatus.COMPLETED,
-                    String.format("Task completed successfully. Processed %d data sources, generated %d reports.",
-                            rawDataList.size(), reports.size()));
-
-            logger.info("Task {} completed successfully", taskId);
-
-        } catch (Exception e) {
-            logger.error("Task {} failed with error", taskId, e);
-
-            task.setCompletedAt(LocalDateTime.now());
-            updateTaskStatus(task, ProfilingTask.TaskStatus.FAILED,
-                    "Task failed: " + e.getMessage());
-        }
-        
-        return CompletableFuture.completedFuture(null);
-    }
-
-    /**
-     * Process all data sources in the request
-     * Uses sequential execution for multiple data sources to ensure proper task status tracking
-     */
-    private List<RawProfileDataDto> processDataSources(ProfilingTaskRequest request, String taskId) {
-        Map<String, ProfilingTaskRequest.DataSourceScope> dataSources = request.getDatasources();
-        List<RawProfileDataDto> results = new ArrayList<>();
-        
-        Optional<ProfilingTask> taskOpt = profilingTaskRepository.findByTaskId(taskId);
-        if (!taskOpt.isPresent()) {
-            throw new RuntimeException("Task not found: " + taskId);
-        }
-        
-        ProfilingTask task = taskOpt.get();
-        int totalSources = dataSources.size();
-        int processedCount = 0;
-        
-        logger.info("Processing {} data sources sequentially for task: {}", totalSources, taskId);
-        
-        // Process each data source sequentially
-        for (Map.Entry<String, ProfilingTaskRequest.DataSourceScope> entry : dataSources.entrySet()) {
-            String dataSourceId = entry.getKey();
-            ProfilingTaskRequest.DataSourceScope scope = entry.getValue();
-            
-            try {
-                logger.info("Processing data source {} ({}/{}) for task: {}", 
-                           dataSourceId, processedCount + 1, totalSources, taskId);
-                
-                updateTaskStatus(task, ProfilingTask.TaskStatus.RUNNING, 
-                    String.format("Processing data source %s (%d/%d)", dataSourceId, processedCount + 1, totalSources));
-                
-                RawProfileDataDto result = processSingleDataSource(dataSourceId, scope, taskId);
-                if (result != null) {
-                    results.add(result);
-                }
-                
-                // Update progress
-                processedCount++;
-                task.setProcessedDataSources(processedCount);
-                profilingTaskRepository.save(task);
-                
-                logger.info("Completed processing data source {} for task: {}", dataSourceId, taskId);
-                
-            } catch (Exception e) {
-                logger.error("Failed to process data source {} for task: {}", dataSourceId, taskId, e);
-                // Continue processing other data sources even if one fails
-                processedCount++;
-                task.setProcessedDataSources(processedCount);
-                profilingTaskRepository.save(task);
-            }
-        }
-        
-        logger.info("Completed processing all data sources for task: {}. Successfully processed: {}/{}", 
-                   taskId, results.size(), totalSources);
-        
-        return results;
-    }
-
-    /**
-     * Process a single data source
-     */
-    private RawProfileDataDto processSingleDataSource(String dataSourceId,
-                                                      ProfilingTaskRequest.DataSourceScope scope,
-                                                      String taskId) {
-        try {
-            logger.info("Processing data source: {} for task: {}", dataSourceId, taskId);
-
-            // Get data source configuration by source ID
-            DataSourceConfig dataSourceConfig = dataSourceService.getDataSourceBySourceId(dataSourceId);
-
-            // Special handling for FILE type data sources
-            if (DataSourceConfig.DataSourceType.FILE.equals(dataSourceConfig.getType())) {
-//                return processFileDataSource(dataSourceConfig, scope, taskId);
-                dataSourceConfig.setType(DataSourceConfig.DataSourceType.MYSQL);
-            }
-
-            // Get appropriate profiler for database types
-            IDatabaseProfiler profiler = getProfiler(dataSourceConfig.getType().name());
-
-            // Execute profiling
-            RawProfileDataDto rawData = profiler.profile(dataSourceConfig, scope);
-
-            logger.info("Successfully profiled data source: {} for task: {}", dataSourceId, taskId);
-            return rawData;
-
-        } catch (Exception e) {
-            logger.error("Failed to profile data source: {} for task: {}", dataSourceId, taskId, e);
-            // Return null to indicate failure - will be filtered out
-            return null;
-        }
-    }
-
     /**
      * Process FILE type data source by converting to SQLite and then profiling
      */
@@ -368,7 +387,7 @@ public class ProfilingServiceImpl implements ProfilingService {
         DataSourceConfig sqliteConfig = createSqliteConfigFromFile(dataSourceConfig, loadResult);
         
         // Get SQLite profiler and execute profiling
-        IDatabaseProfiler sqliteProfiler = getProfiler("SQLITE");
+        IDatabaseProfiler sqliteProfiler = profilerRegistry.getProfiler("SQLITE");
         RawProfileDataDto rawData = sqliteProfiler.profile(sqliteConfig, scope);
         
         // Update metadata to reflect original file source
@@ -404,25 +423,4 @@ public class ProfilingServiceImpl implements ProfilingService {
         
         return sqliteConfig;
     }
-
-    /**
-     * Get appropriate profiler for data source type
-     */
-    private IDatabaseProfiler getProfiler(String dataSourceType) {
-        return profilers.stream()
-                .filter(p -> p.supports(dataSourceType))
-                .findFirst()
-                .orElseThrow(() -> new UnsupportedOperationException(
-                        "Unsupported data source type: " + dataSourceType));
-    }
-
-    /**
-     * Update task status and info
-     */
-    private void updateTaskStatus(ProfilingTask task, ProfilingTask.TaskStatus status, String info) {
-        task.setStatus(status);
-        task.setInfo(info);
-        profilingTaskRepository.save(task);
-        logger.debug("Updated task {} status to {} with info: {}", task.getTaskId(), status, info);
-    }
-}
\ No newline at end of file
+}
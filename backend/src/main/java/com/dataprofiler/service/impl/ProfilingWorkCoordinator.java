@@ -0,0 +1,701 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.dto.internal.RawProfileDataDto;
+import com.dataprofiler.dto.request.ProfilingTaskRequest;
+import com.dataprofiler.dto.response.StructuredReportDto;
+import com.dataprofiler.entity.DataSourceConfig;
+import com.dataprofiler.entity.ProfilingTask;
+import com.dataprofiler.entity.ProfilingWorkItem;
+import com.dataprofiler.entity.SourceThroughput;
+import com.dataprofiler.execution.MaintenanceWindow;
+import com.dataprofiler.execution.ProfilingContext;
+import com.dataprofiler.execution.ProfilingMetrics;
+import com.dataprofiler.execution.ProfilingTaskRegistry;
+import com.dataprofiler.execution.ProfilingWorkScheduler;
+import com.dataprofiler.execution.QueryTrace;
+import com.dataprofiler.execution.SourceLoadController;
+import com.dataprofiler.execution.WorkItemLeases;
+import com.dataprofiler.profiler.IDatabaseProfiler;
+import com.dataprofiler.profiler.ProfilerRegistry;
+import com.dataprofiler.profiler.ProfilingCostModel;
+import com.dataprofiler.profiler.ReplicaRouter;
+import com.dataprofiler.repository.ProfilingTaskRepository;
+import com.dataprofiler.repository.ProfilingWorkItemRepository;
+import com.dataprofiler.repository.SourceThroughputRepository;
+import com.dataprofiler.service.DataSourceService;
+import com.dataprofiler.service.ReportAssemblyService;
+import com.dataprofiler.service.StructuredReportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Executes profiling tasks as work items shared through the metadata database
+ * Every backend instance polls for claimable items and runs them on its own ProfilingWorkScheduler, so fairness
+ * and per-source limits apply per instance, while a heartbeat keeps the leases of its items alive. Items of an
+ * instance that stops are picked up by the others once their leases expire. Whichever instance finishes the last
+ * item of a task assembles and saves the reports. Deadlines and stop requests live on the task row.
+ */
+@Component
+public class ProfilingWorkCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingWorkCoordinator.class);
+
+    /** Weight of the newest observation in the learned throughput */
+    private static final double THROUGHPUT_SMOOTHING = 0.2;
+
+    private static final List<ProfilingWorkItem.Status> OPEN_STATUSES =
+            Arrays.asList(ProfilingWorkItem.Status.PENDING, ProfilingWorkItem.Status.CLAIMED);
+
+    @Autowired
+    private ProfilingTaskRepository taskRepository;
+
+    @Autowired
+    private ProfilingWorkItemRepository workItemRepository;
+
+    @Autowired
+    private SourceThroughputRepository sourceThroughputRepository;
+
+    @Autowired
+    private DataSourceService dataSourceService;
+
+    @Autowired
+    private ReportAssemblyService reportAssemblyService;
+
+    @Autowired
+    private StructuredReportService structuredReportService;
+
+    @Autowired
+    private ProfilerRegistry profilerRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProfilingTaskRegistry taskRegistry;
+
+    @Autowired
+    private ProfilingWorkScheduler workScheduler;
+
+    @Autowired
+    private WorkItemLeases leases;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
+    @Autowired
+    private SourceLoadController loadController;
+
+    @Autowired
+    private TaskTimelineRecorder timelineRecorder;
+
+    @Autowired
+    @Qualifier("generalTaskExecutor")
+    private Executor assemblyExecutor;
+
+    @Value("${app.profiling.task-timeout-minutes:30}")
+    private long taskTimeoutMinutes;
+
+    @Value("${app.profiling.cluster.local-backlog:8}")
+    private int localBacklog;
+
+    @Value("${app.profiling.cluster.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.profiling.cluster.assembly-lease-minutes:10}")
+    private long assemblyLeaseMinutes;
+
+    private final Object localTasksLock = new Object();
+    private final Object throughputLock = new Object();
+    private volatile boolean shuttingDown;
+
+    /**
+     * Queue one planning item per data source of a new task; runs in the transaction that saves the task,
+     * so other instances never see a task without its work
+     */
+    public void enqueue(ProfilingTask task, ProfilingTaskRequest request, Map<String, DataSourceConfig> dataSources)
+            throws JsonProcessingException {
+        if (taskTimeoutMinutes > 0) {
+            task.setDeadlineAt(LocalDateTime.now().plusMinutes(taskTimeoutMinutes));
+        }
+        int priority = request.getPriority() != null ? request.getPriority() : ProfilingWorkScheduler.DEFAULT_PRIORITY;
+        priority = Math.max(ProfilingWorkScheduler.MIN_PRIORITY, Math.min(ProfilingWorkScheduler.MAX_PRIORITY, priority));
+
+        List<ProfilingWorkItem> items = new ArrayList<>();
+        for (Map.Entry<String, ProfilingTaskRequest.DataSourceScope> entry : request.getDatasources().entrySet()) {
+            if (!dataSources.containsKey(entry.getKey())) {
+                logger.warn("Skipping unknown data source {} for task: {}", entry.getKey(), task.getTaskId());
+                continue;
+            }
+            items.add(newItem(task.getTaskId(), entry.getKey(), ProfilingWorkItem.Kind.PLAN, 0, priority, entry.getValue()));
+        }
+        workItemRepository.saveAll(items);
+        logger.info("Queued task {} with {} data sources and priority {}", task.getTaskId(), items.size(), priority);
+    }
+
+    /**
+     * Ask a task to stop on every instance; it is finalized with its partial results once in-flight work has stopped
+     *
+     * @return false if the task is finished or already stopping
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean requestStop(String taskId, ProfilingTask.TaskStatus stopStatus) {
+        if (taskRepository.requestStop(taskId, stopStatus) == 0) {
+            return false;
+        }
+        workItemRepository.cancelUnowned(taskId, LocalDateTime.now());
+        if (taskRegistry.cancel(taskId, cancelReason(stopStatus))) {
+            logger.info("Stopping in-flight work of task {} ({})", taskId, stopStatus);
+        }
+        afterItem(taskId);
+        return true;
+    }
+
+    /**
+     * Drop the work of a task that is being deleted; outcomes of items still running elsewhere are discarded
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void discard(String taskId) {
+        taskRegistry.cancel(taskId, ProfilingContext.CancelReason.CANCELLED);
+        workItemRepository.deleteByTaskId(taskId);
+        timelineRecorder.delete(taskId);
+    }
+
+    /**
+     * Claim items up to the local backlog and hand them to the local scheduler
+     * Scans of sources whose maintenance window is closed are left for later, so they do not occupy the backlog.
+     */
+    @Scheduled(fixedDelayString = "${app.profiling.cluster.poll-interval-ms:1000}")
+    public void pollWorkItems() {
+        int capacity = localBacklog - leases.getHeldCount();
+        if (shuttingDown || capacity <= 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Optional<DataSourceConfig>> sources = new HashMap<>();
+        int claimed = 0;
+        for (ProfilingWorkItem item : workItemRepository.findClaimable(now, PageRequest.of(0, capacity * 4))) {
+            if (leases.isHeld(item.getId())) {
+                // Still running here although its lease lapsed; claiming it again would scan the table twice
+                continue;
+            }
+            if (item.getStatus() == ProfilingWorkItem.Status.CLAIMED && item.getAttempts() >= maxAttempts) {
+                if (workItemRepository.abandon(item.getId(), "Lease expired " + item.getAttempts() + " times", now) > 0) {
+                    logger.warn("Giving up work item {} of task {} after {} expired leases", item.getId(), item.getTaskId(), item.getAttempts());
+                    afterItem(item.getTaskId());
+                }
+                continue;
+            }
+
+            DataSourceConfig dataSource = sources.computeIfAbsent(item.getSourceId(), this::findDataSource).orElse(null);
+            if (dataSource != null && item.getKind() == ProfilingWorkItem.Kind.TABLE && !isWindowOpen(dataSource)) {
+                continue;
+            }
+            if (!leases.tryClaim(item)) {
+                continue;
+            }
+            start(item, dataSource);
+            if (++claimed >= capacity) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Apply stop requests made on other instances to held items; the leases themselves are renewed by WorkItemLeases
+     */
+    @Scheduled(fixedDelayString = "${app.profiling.cluster.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        List<WorkItemLeases.Lease> held = leases.getHeld();
+        if (shuttingDown || held.isEmpty()) {
+            return;
+        }
+        Set<String> taskIds = held.stream().map(WorkItemLeases.Lease::getTaskId).collect(Collectors.toSet());
+        for (ProfilingTask task : taskRepository.findByTaskIdInAndStopStatusIsNotNull(taskIds)) {
+            if (taskRegistry.cancel(task.getTaskId(), cancelReason(task.getStopStatus()))) {
+                logger.info("Stopping in-flight work of task {} ({})", task.getTaskId(), task.getStopStatus());
+            }
+            // Queued items of a stopped task are dropped by the scheduler without running
+            for (WorkItemLeases.Lease lease : held) {
+                if (lease.getTaskId().equals(task.getTaskId()) && !lease.isStarted()) {
+                    completeItem(lease.getItemId(), lease.getTaskId(), ProfilingWorkItem.Status.CANCELLED, null, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Enforce task deadlines (app.profiling.task-timeout-minutes) and finalize tasks whose assembly was interrupted
+     * Time during which nothing of a task runs and all its remaining work waits for a maintenance window does not
+     * count against the deadline; time spent queued behind other work does.
+     */
+    @Scheduled(fixedDelayString = "${app.profiling.watchdog-interval-ms:30000}")
+    public void enforceDeadlines() {
+        if (shuttingDown) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Tasks first: a task created after this query is skipped rather than seen without its items
+        List<ProfilingTask> tasks = taskRepository.findByStatusIn(
+                Arrays.asList(ProfilingTask.TaskStatus.PENDING, ProfilingTask.TaskStatus.RUNNING));
+        Map<String, Map<ProfilingWorkItem.Status, Long>> openCounts = new HashMap<>();
+        for (Object[] row : workItemRepository.countByTaskAndStatus(OPEN_STATUSES)) {
+            openCounts.computeIfAbsent((String) row[0], key -> new EnumMap<>(ProfilingWorkItem.Status.class))
+                    .put((ProfilingWorkItem.Status) row[1], (Long) row[2]);
+        }
+        Map<String, List<Object[]>> pendingSources = new HashMap<>();
+        for (Object[] row : workItemRepository.findPendingSources()) {
+            pendingSources.computeIfAbsent((String) row[0], key -> new ArrayList<>()).add(row);
+        }
+        Map<String, Optional<DataSourceConfig>> sources = new HashMap<>();
+
+        for (ProfilingTask task : tasks) {
+            String taskId = task.getTaskId();
+            Map<ProfilingWorkItem.Status, Long> counts = openCounts.getOrDefault(taskId, Collections.emptyMap());
+            long claimed = counts.getOrDefault(ProfilingWorkItem.Status.CLAIMED, 0L);
+            long pending = counts.getOrDefault(ProfilingWorkItem.Status.PENDING, 0L);
+            try {
+                if (task.getStopStatus() != null) {
+                    // Items of instances that died while the task was stopping
+                    workItemRepository.cancelUnowned(taskId, now);
+                    afterItem(taskId);
+                } else if (claimed + pending == 0) {
+                    // The last item finished but the reports were never assembled, e.g. the assembling instance died
+                    finishTask(taskId);
+                } else if (claimed == 0 && waitsForWindow(pendingSources.get(taskId), sources)) {
+                    if (task.getPausedAt() == null && taskRepository.pause(taskId, now) > 0) {
+                        logger.info("Task {} is waiting for maintenance windows, pausing its deadline", taskId);
+                    }
+                } else if (task.getPausedAt() != null) {
+                    LocalDateTime deadline = task.getDeadlineAt() != null
+                            ? task.getDeadlineAt().plus(Duration.between(task.getPausedAt(), now)) : null;
+                    if (taskRepository.resume(taskId, task.getPausedAt(), deadline) > 0) {
+                        logger.info("Task {} resumed, deadline moved to {}", taskId, deadline);
+                    }
+                } else if (task.getDeadlineAt() != null && now.isAfter(task.getDeadlineAt())) {
+                    logger.warn("Task {} exceeded its deadline {}, stopping it", taskId, task.getDeadlineAt());
+                    requestStop(taskId, ProfilingTask.TaskStatus.TIMEOUT);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to check deadline of task {}", taskId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        // Other instances take over right away instead of waiting for the leases to expire
+        leases.releaseAll();
+    }
+
+    /**
+     * Submit a claimed item to the local scheduler, registering its task here if this is its first local item
+     */
+    private void start(ProfilingWorkItem item, DataSourceConfig dataSource) {
+        String taskId = item.getTaskId();
+        if (dataSource == null) {
+            completeItem(item.getId(), taskId, ProfilingWorkItem.Status.FAILED, null, "Data source not found: " + item.getSourceId());
+            return;
+        }
+        ProfilingTaskRequest.DataSourceScope scope;
+        try {
+            scope = objectMapper.readValue(item.getScopePayload(), ProfilingTaskRequest.DataSourceScope.class);
+        } catch (JsonProcessingException e) {
+            completeItem(item.getId(), taskId, ProfilingWorkItem.Status.FAILED, null, "Invalid scope: " + e.getMessage());
+            return;
+        }
+
+        boolean plan = item.getKind() == ProfilingWorkItem.Kind.PLAN;
+        Runnable work = () -> {
+            leases.markStarted(item.getId());
+            if (isStopRequested(taskId)) {
+                completeItem(item.getId(), taskId, ProfilingWorkItem.Status.CANCELLED, null, null);
+                return;
+            }
+            // Statements of the item are traced for the task timeline until it completes
+            QueryTrace.bind(timelineRecorder.newTrace(item, scope));
+            try {
+                if (plan) {
+                    planDataSource(item, dataSource, scope);
+                } else {
+                    profileTable(item, dataSource, scope);
+                }
+            } finally {
+                QueryTrace.clear();
+            }
+        };
+
+        boolean submitted = false;
+        synchronized (localTasksLock) {
+            ProfilingContext context = taskRegistry.get(taskId);
+            if (context == null || !context.isCancelled()) {
+                if (!workScheduler.retain(taskId)) {
+                    ProfilingContext registered = taskRegistry.register(taskId);
+                    workScheduler.register(registered, item.getPriority(), () -> taskRegistry.unregister(taskId, registered));
+                }
+                workScheduler.submit(taskId, dataSource,
+                        plan ? ProfilingWorkScheduler.WorkKind.CATALOG : ProfilingWorkScheduler.WorkKind.SCAN, work);
+                submitted = true;
+            }
+        }
+        if (submitted) {
+            workScheduler.release(taskId);
+        } else {
+            completeItem(item.getId(), taskId, ProfilingWorkItem.Status.CANCELLED, null, null);
+        }
+    }
+
+    /**
+     * Work item: split a data source scope into per-table work items
+     */
+    private void planDataSource(ProfilingWorkItem item, DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) {
+        String taskId = item.getTaskId();
+        taskRepository.markRunning(taskId, "Task execution started");
+        try {
+            IDatabaseProfiler profiler = profilerRegistry.getProfiler(dataSource);
+            List<ProfilingTaskRequest.DataSourceScope> units = profiler.splitIntoTables(dataSource, scope);
+            logger.info("Planned {} table work items for data source {} of task: {}", units.size(), dataSource.getSourceId(), taskId);
+
+            List<ProfilingWorkItem> tableItems = new ArrayList<>();
+            for (int i = 0; i < units.size(); i++) {
+                tableItems.add(newItem(taskId, dataSource.getSourceId(), ProfilingWorkItem.Kind.TABLE, i, item.getPriority(), units.get(i)));
+            }
+            if (leases.completePlan(item.getId(), tableItems, tracePayload(ProfilingWorkItem.Status.DONE))) {
+                if (ProfilingContext.isCurrentCancelled()) {
+                    // Stopped while planning: the new items are never claimed
+                    workItemRepository.cancelUnowned(taskId, LocalDateTime.now());
+                }
+                afterItem(taskId);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to plan data source: {} for task: {}", dataSource.getSourceId(), taskId, e);
+            completeItem(item.getId(), taskId, failureStatus(), null, e.getMessage());
+        }
+    }
+
+    /**
+     * Work item: profile a single table and store its raw profile for assembly
+     */
+    private void profileTable(ProfilingWorkItem item, DataSourceConfig dataSource, ProfilingTaskRequest.DataSourceScope scope) {
+        String sourceId = dataSource.getSourceId();
+        String result;
+        try {
+            IDatabaseProfiler profiler = profilerRegistry.getProfiler(dataSource);
+            // Scans go to a healthy read replica when the source has any
+            DataSourceConfig scanTarget = replicaRouter.routeForScan(dataSource, profiler);
+            long startNanos = System.nanoTime();
+            RawProfileDataDto part = profiler.profile(scanTarget, scope);
+            QueryTrace trace = QueryTrace.current();
+            loadController.noteScan(sourceId, scanTarget, trace != null ? trace.getSlowestConnectMillis() : -1);
+            if (part.getMetadata() != null) {
+                part.getMetadata().put("scan_routed_to", scanTarget == dataSource ? "primary" : "replica");
+            }
+            if (!ProfilingContext.isCurrentCancelled()) {
+                long elapsedNanos = System.nanoTime() - startNanos;
+                ProfilingMetrics.recordTables(profiler.getSupportedType(), part, profiler.getSampledScanFraction(), elapsedNanos);
+                recordThroughput(sourceId, profiler, part, elapsedNanos / 1_000_000);
+            }
+            result = objectMapper.writeValueAsString(part);
+        } catch (Exception e) {
+            logger.error("Failed to profile {} of data source: {} for task: {}", scope.getSchemas(), sourceId, item.getTaskId(), e);
+            completeItem(item.getId(), item.getTaskId(), failureStatus(), null, e.getMessage());
+            return;
+        }
+        completeItem(item.getId(), item.getTaskId(), ProfilingWorkItem.Status.DONE, result, null);
+    }
+
+    private void completeItem(Long itemId, String taskId, ProfilingWorkItem.Status status, String result, String error) {
+        if (leases.complete(itemId, status, result, error, tracePayload(status))) {
+            afterItem(taskId);
+        }
+    }
+
+    /**
+     * Timeline fragment of the item running on the calling thread, null outside of a traced item
+     */
+    private String tracePayload(ProfilingWorkItem.Status status) {
+        QueryTrace trace = QueryTrace.current();
+        return trace != null ? timelineRecorder.toPayload(trace, status, leases.getNodeId()) : null;
+    }
+
+    /**
+     * Update the progress of a task after one of its items finished, and finalize it if that was the last one
+     */
+    private void afterItem(String taskId) {
+        if (shuttingDown) {
+            return;
+        }
+        try {
+            if (workItemRepository.countByTaskIdAndStatusIn(taskId, OPEN_STATUSES) == 0) {
+                finishTask(taskId);
+            } else {
+                updateProgress(taskId);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to update progress of task {}", taskId, e);
+        }
+    }
+
+    private void updateProgress(String taskId) {
+        long plannedTables = 0;
+        long profiledTables = 0;
+        for (Object[] row : workItemRepository.countByKindAndStatus(taskId)) {
+            if (row[0] == ProfilingWorkItem.Kind.TABLE) {
+                long count = (Long) row[2];
+                plannedTables += count;
+                if (!OPEN_STATUSES.contains(row[1])) {
+                    profiledTables += count;
+                }
+            }
+        }
+        long sources = workItemRepository.countSourcesWithStatus(taskId, EnumSet.allOf(ProfilingWorkItem.Status.class));
+        long completedSources = sources - workItemRepository.countSourcesWithStatus(taskId, OPEN_STATUSES);
+        taskRepository.updateProgress(taskId, (int) completedSources,
+                String.format("Profiled %d of %d planned tables, completed %d of %d data sources",
+                        profiledTables, plannedTables, completedSources, sources));
+    }
+
+    /**
+     * Hand the assembly of a task whose work items are all closed to the general executor,
+     * so the scheduler threads polling and watching work items are never blocked by it
+     */
+    private void finishTask(String taskId) {
+        assemblyExecutor.execute(() -> {
+            if (shuttingDown) {
+                return;
+            }
+            try {
+                assemble(taskId);
+            } catch (RuntimeException e) {
+                logger.error("Failed to finalize task {}", taskId, e);
+            }
+        });
+    }
+
+    /**
+     * Runs on the instance that claims assembly once no work item of the task is open:
+     * assemble and persist the reports, then set the final status
+     */
+    private void assemble(String taskId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (taskRepository.claimAssembly(taskId, leases.getNodeId(), now.plusMinutes(assemblyLeaseMinutes), now) == 0) {
+            return;
+        }
+        ProfilingTask task = taskRepository.findByTaskId(taskId).orElse(null);
+        if (task == null) {
+            return;
+        }
+
+        List<RawProfileDataDto> rawDataList = Collections.emptyList();
+        try {
+            rawDataList = loadResults(taskId);
+
+            if (task.getStopStatus() != null) {
+                finishStoppedTask(task, rawDataList);
+                return;
+            }
+
+            if (rawDataList.isEmpty()) {
+                throw new RuntimeException("No data sources were successfully profiled");
+            }
+
+            taskRepository.updateProgress(taskId, task.getTotalDataSources(), "Assembling profiling reports");
+            List<StructuredReportDto> reports = reportAssemblyService.assembleReport(rawDataList, task);
+
+            taskRepository.updateProgress(taskId, task.getTotalDataSources(), "Saving profiling reports");
+            structuredReportService.saveReports(taskId, reports);
+
+            taskRepository.finish(taskId, ProfilingTask.TaskStatus.COMPLETED,
+                    String.format("Task completed successfully. Processed %d data sources, generated %d reports.",
+                            rawDataList.size(), reports.size()),
+                    task.getTotalDataSources(), LocalDateTime.now());
+
+            logger.info("Task {} completed successfully on node {}", taskId, leases.getNodeId());
+
+        } catch (Exception e) {
+            logger.error("Task {} failed with error", taskId, e);
+
+            taskRepository.finish(taskId, ProfilingTask.TaskStatus.FAILED, "Task failed: " + e.getMessage(),
+                    task.getTotalDataSources(), LocalDateTime.now());
+        } finally {
+            timelineRecorder.persist(taskId);
+            workItemRepository.deleteByTaskId(taskId);
+        }
+    }
+
+    /**
+     * Persist whatever was profiled before the task was cancelled or hit its deadline
+     */
+    private void finishStoppedTask(ProfilingTask task, List<RawProfileDataDto> rawDataList) {
+        ProfilingTask.TaskStatus status = task.getStopStatus();
+        String reason = status == ProfilingTask.TaskStatus.TIMEOUT ? "Task timed out" : "Task cancelled";
+
+        int reportCount = 0;
+        if (!rawDataList.isEmpty()) {
+            List<StructuredReportDto> reports = reportAssemblyService.assembleReport(rawDataList, task);
+            structuredReportService.saveReports(task.getTaskId(), reports);
+            reportCount = reports.size();
+        }
+
+        taskRepository.finish(task.getTaskId(), status,
+                String.format("%s. Partial results: %d of %d data sources profiled, %d reports saved.", reason,
+                        rawDataList.size(), task.getTotalDataSources() != null ? task.getTotalDataSources() : 0, reportCount),
+                task.getProcessedDataSources(), LocalDateTime.now());
+        logger.info("Task {} stopped ({}) with {} partial reports", task.getTaskId(), status, reportCount);
+    }
+
+    /**
+     * Combine the per-table results of each data source, keeping the planned table order
+     */
+    private List<RawProfileDataDto> loadResults(String taskId) throws JsonProcessingException {
+        Map<String, List<RawProfileDataDto>> parts = new LinkedHashMap<>();
+        for (ProfilingWorkItem item : workItemRepository.findByTaskIdAndKindAndStatusOrderBySourceIdAscItemIndexAsc(
+                taskId, ProfilingWorkItem.Kind.TABLE, ProfilingWorkItem.Status.DONE)) {
+            parts.computeIfAbsent(item.getSourceId(), key -> new ArrayList<>())
+                    .add(objectMapper.readValue(item.getResultPayload(), RawProfileDataDto.class));
+        }
+
+        List<RawProfileDataDto> results = new ArrayList<>();
+        for (List<RawProfileDataDto> sourceParts : parts.values()) {
+            RawProfileDataDto merged = sourceParts.get(0);
+            List<RawProfileDataDto.TableData> tables = new ArrayList<>();
+            for (RawProfileDataDto part : sourceParts) {
+                if (part.getTables() != null) {
+                    tables.addAll(part.getTables());
+                }
+            }
+            merged.setTables(tables);
+            Map<String, Object> metadata = merged.getMetadata() != null ? new HashMap<>(merged.getMetadata()) : new HashMap<>();
+            metadata.put("total_tables_profiled", tables.size());
+            merged.setMetadata(metadata);
+            results.add(merged);
+        }
+        return results;
+    }
+
+    /**
+     * Fold the measured duration of a profiled table into the learned throughput of its data source
+     */
+    private void recordThroughput(String sourceId, IDatabaseProfiler profiler, RawProfileDataDto part, long elapsedMillis) {
+        if (part.getTables() == null || part.getTables().size() != 1) {
+            return;
+        }
+        // Learned on the work the table really took (COPY, partitions, LOB columns), not on the estimated path
+        long units = ProfilingCostModel.observedCostUnits(part.getTables().get(0), profiler.getSampledScanFraction());
+        double millisPerMillionUnits = elapsedMillis * 1_000_000.0 / units;
+
+        try {
+            synchronized (throughputLock) {
+                SourceThroughput throughput = sourceThroughputRepository.findById(sourceId).orElse(null);
+                if (throughput == null) {
+                    throughput = new SourceThroughput();
+                    throughput.setSourceId(sourceId);
+                    throughput.setMillisPerMillionUnits(millisPerMillionUnits);
+                } else {
+                    throughput.setMillisPerMillionUnits(THROUGHPUT_SMOOTHING * millisPerMillionUnits
+                            + (1 - THROUGHPUT_SMOOTHING) * throughput.getMillisPerMillionUnits());
+                }
+                throughput.setObservedTables(throughput.getObservedTables() + 1);
+                sourceThroughputRepository.save(throughput);
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Could not record throughput of data source {}: {}", sourceId, e.getMessage());
+        }
+    }
+
+    private ProfilingWorkItem newItem(String taskId, String sourceId, ProfilingWorkItem.Kind kind, int index, int priority,
+                                      ProfilingTaskRequest.DataSourceScope scope) throws JsonProcessingException {
+        ProfilingWorkItem item = new ProfilingWorkItem();
+        item.setTaskId(taskId);
+        item.setSourceId(sourceId);
+        item.setKind(kind);
+        item.setItemIndex(index);
+        item.setPriority(priority);
+        item.setScopePayload(objectMapper.writeValueAsString(scope));
+        return item;
+    }
+
+    private Optional<DataSourceConfig> findDataSource(String sourceId) {
+        try {
+            return Optional.of(dataSourceService.getDataSourceBySourceId(sourceId));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Whether every pending item is a table scan of a known data source whose maintenance window is closed
+     */
+    private boolean waitsForWindow(List<Object[]> pendingSources, Map<String, Optional<DataSourceConfig>> sources) {
+        if (pendingSources == null || pendingSources.isEmpty()) {
+            return false;
+        }
+        for (Object[] row : pendingSources) {
+            if (row[2] != ProfilingWorkItem.Kind.TABLE) {
+                return false;
+            }
+            DataSourceConfig dataSource = sources.computeIfAbsent((String) row[1], this::findDataSource).orElse(null);
+            if (dataSource == null || isWindowOpen(dataSource)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isWindowOpen(DataSourceConfig dataSource) {
+        try {
+            MaintenanceWindow window = MaintenanceWindow.of(dataSource);
+            return window == null || window.isOpen(Instant.now());
+        } catch (IllegalArgumentException e) {
+            // The local scheduler logs and ignores invalid windows
+            return true;
+        }
+    }
+
+    private static ProfilingWorkItem.Status failureStatus() {
+        return ProfilingContext.isCurrentCancelled() ? ProfilingWorkItem.Status.CANCELLED : ProfilingWorkItem.Status.FAILED;
+    }
+
+    /**
+     * Whether the task was stopped before an item of it starts its first query
+     * A stop requested between the claim of an item and the registration of its task here reached no local context,
+     * so the task row is checked as well; the local context is stopped then, dropping the task's other queued items.
+     */
+    private boolean isStopRequested(String taskId) {
+        if (ProfilingContext.isCurrentCancelled()) {
+            return true;
+        }
+        List<ProfilingTask> stopped = taskRepository.findByTaskIdInAndStopStatusIsNotNull(Collections.singleton(taskId));
+        if (stopped.isEmpty()) {
+            return false;
+        }
+        if (taskRegistry.cancel(taskId, cancelReason(stopped.get(0).getStopStatus()))) {
+            logger.info("Task {} was stopped before its work started here", taskId);
+        }
+        return true;
+    }
+
+    private static ProfilingContext.CancelReason cancelReason(ProfilingTask.TaskStatus stopStatus) {
+        return stopStatus == ProfilingTask.TaskStatus.TIMEOUT
+                ? ProfilingContext.CancelReason.TIMED_OUT
+                : ProfilingContext.CancelReason.CANCELLED;
+    }
+}
@@ -2,7 +2,9 @@ package com.dataprofiler.service.impl;
 
 import com.dataprofiler.dto.internal.RawProfileDataDto;
 import com.dataprofiler.dto.response.StructuredReportDto;
+import com.dataprofiler.entity.ProfilingTask;
 import com.dataprofiler.service.ReportAssemblyService;
+import com.dataprofiler.util.SampleRowLimits;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +34,9 @@ public class ReportAssemblyServiceImpl implements ReportAssemblyService {
     private ObjectMapper objectMapper;
 
     @Override
-    public List<StructuredReportDto> assembleReport(List<RawProfileDataDto> rawDataList, String taskId) {
+    public List<StructuredReportDto> assembleReport(List<RawProfileDataDto> rawDataList, ProfilingTask task) {
+        String taskId = task.getTaskId();
+        SampleRowLimits limits = SampleRowLimits.of(task);
         logger.info("Starting report assembly for task: {} with {} raw data sources", 
                 taskId, rawDataList != null ? rawDataList.size() : 0);
 
@@ -51,7 +55,7 @@ public class ReportAssemblyServiceImpl implements ReportAssemblyService {
                 logger.debug("Processing raw data source {} of {} for task: {}", 
                         i + 1, rawDataList.size(), taskId);
                 
-                StructuredReportDto report = assembleReportForSingleSource(rawData, taskId);
+                StructuredReportDto report = assembleReportForSingleSource(rawData, taskId, limits);
                 if (report != null) {
                     assembledReports.add(report);
                 } else {
@@ -79,7 +83,8 @@ public class ReportAssemblyServiceImpl implements ReportAssemblyService {
      * 4. Calculate derived metrics and statistics
      * 5. Standardize report structure
      */
-    private StructuredReportDto assembleReportForSingleSource(RawProfileDataDto rawData, String taskId) {
+    private StructuredReportDto assembleReportForSingleSource(RawProfileDataDto rawData, String taskId,
+                                                              SampleRowLimits limits) {
         try {
             logger.debug("Assembling report for data source: {}", rawData.getDataSourceId());
 
@@ -99,7 +104,7 @@ public class ReportAssemblyServiceImpl implements ReportAssemblyService {
 
             // 3. Process table data
             if (rawData.getTables() != null && !rawData.getTables().isEmpty()) {
-                report.setTables(processTableData(rawData.getTables()));
+                report.setTables(processTableData(rawData.getTables(), limits));
             }
 
             logger.debug("Successfully assembled report for data source: {}", rawData.getDataSourceId());
@@ -115,9 +120,10 @@ public class ReportAssemblyServiceImpl implements ReportAssemblyService {
     /**
      * Process table data list from raw profiling data
      */
-    private List<StructuredReportDto.TableReport> processTableData(List<RawProfileDataDto.TableData> tableDataList) {
+    private List<StructuredReportDto.TableReport> processTableData(List<RawProfileDataDto.TableData> tableDataList,
+                                                                   SampleRowLimits limits) {
         return tableDataList.stream()
-                .map(this::processTableData)
+                .map(tableData -> processTableData(tableData, limits))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
@@ -125,7 +131,8 @@ public class ReportAssemblyServiceImpl implements ReportAssemblyService {
     /**
      * Process single table data
      */
-    private StructuredReportDto.TableReport processTableData(RawProfileDataDto.TableData tableData) {
+    private StructuredReportDto.TableReport processTableData(RawProfileDataDto.TableData tableData,
+                                                            SampleRowLimits limits) {
         StructuredReportDto.TableReport tableReport = new StructuredReportDto.TableReport();
         
         tableReport.setName(tableData.getTableName());
@@ -138,14 +145,35 @@ public class ReportAssemblyServiceImpl implements ReportAssemblyService {
         if (tableData.getColumns() != null && !tableData.getColumns().isEmpty()) {
             tableReport.setColumns(processColumnData(tableData.getColumns()));
             
-            // Build sample rows from column sample values
+            // Build sample rows from column sample values, trimmed to the task's limits
             List<List<Object>> sampleRows = buildSampleRowsFromColumns(tableData.getColumns());
-            tableReport.setSampleRows(sampleRows);
+            tableReport.setSampleRows(limits.apply(sampleRows));
+        }
+        
+        // Keep the partition breakdown when the profiler produced one
+        if (tableData.getPartitions() != null && !tableData.getPartitions().isEmpty()) {
+            tableReport.setPartitions(tableData.getPartitions().stream()
+                    .map(this::processPartitionData)
+                    .collect(Collectors.toList()));
         }
         
         return tableReport;
     }
 
+    /**
+     * Process single partition data
+     */
+    private StructuredReportDto.PartitionReport processPartitionData(RawProfileDataDto.PartitionData partitionData) {
+        StructuredReportDto.PartitionReport partitionReport = new StructuredReportDto.PartitionReport();
+        partitionReport.setName(partitionData.getPartitionName());
+        partitionReport.setRowCount(partitionData.getRowCount());
+        partitionReport.setReused(partitionData.isReused());
+        if (partitionData.getColumns() != null) {
+            partitionReport.setColumns(processColumnData(partitionData.getColumns()));
+        }
+        return partitionReport;
+    }
+
     /**
      * Process column data list from table data
      */
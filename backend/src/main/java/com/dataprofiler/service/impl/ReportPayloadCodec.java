@@ -0,0 +1,218 @@
+package com.dataprofiler.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Encodes stored report payloads (database and table profiles)
+ * Payloads start with a header naming the format they were written in, so the format can be changed
+ * without rewriting stored reports; payloads without a header are plain JSON written before the header existed.
+ * <p>
+ * Header: 0x00 'R' version format-id; SMILE_LZ4 bodies hold the uncompressed length followed by one LZ4 block.
+ * The length is checked before anything is allocated, and blocks are decompressed without reading or writing
+ * past their bounds, so a corrupt payload fails with an IOException.
+ */
+@Component
+public class ReportPayloadCodec {
+
+    /**
+     * Encoding of the payload body
+     */
+    public enum Format {
+        /** Jackson JSON text */
+        JSON(0),
+        /** Jackson Smile binary JSON */
+        SMILE(1),
+        /** Smile compressed with LZ4 */
+        SMILE_LZ4(2);
+
+        private final int id;
+
+        Format(int id) {
+            this.id = id;
+        }
+
+        static Format of(int id) throws IOException {
+            for (Format format : values()) {
+                if (format.id == id) {
+                    return format;
+                }
+            }
+            throw new IOException("Unknown report payload format " + id);
+        }
+    }
+
+    static final byte VERSION = 1;
+    private static final int HEADER_LENGTH = 4;
+    private static final int LENGTH_PREFIX = 4;
+
+    /**
+     * Largest uncompressed payload accepted, far above any real table profile
+     */
+    static final int MAX_DECODED_LENGTH = 256 * 1024 * 1024;
+
+    /**
+     * LZ4 cannot expand a block by more than this factor
+     */
+    private static final int MAX_LZ4_RATIO = 255;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder mapperBuilder;
+
+    @Value("${app.report.codec:SMILE_LZ4}")
+    private Format format;
+
+    private ObjectMapper smileMapper;
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4SafeDecompressor decompressor = LZ4Factory.fastestInstance().safeDecompressor();
+
+    public ReportPayloadCodec() {
+    }
+
+    ReportPayloadCodec(ObjectMapper objectMapper, ObjectMapper smileMapper, Format format) {
+        this.objectMapper = objectMapper;
+        this.smileMapper = smileMapper;
+        this.format = format;
+    }
+
+    @PostConstruct
+    public void init() {
+        // Same modules and settings as the JSON mapper
+        smileMapper = mapperBuilder.factory(new SmileFactory()).build();
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Encode a value in the configured format
+     */
+    public byte[] encode(Object value) throws IOException {
+        byte[] body;
+        switch (format) {
+            case JSON:
+                body = objectMapper.writeValueAsBytes(value);
+                break;
+            case SMILE:
+                body = smileMapper.writeValueAsBytes(value);
+                break;
+            default:
+                body = compress(smileMapper.writeValueAsBytes(value));
+                break;
+        }
+        byte[] payload = new byte[HEADER_LENGTH + body.length];
+        payload[0] = 0;
+        payload[1] = 'R';
+        payload[2] = VERSION;
+        payload[3] = (byte) format.id;
+        System.arraycopy(body, 0, payload, HEADER_LENGTH, body.length);
+        return payload;
+    }
+
+    /**
+     * Decode a payload written in any format, or plain JSON written without header
+     */
+    public <T> T decode(byte[] payload, Class<T> type) throws IOException {
+        if (!hasHeader(payload)) {
+            return objectMapper.readValue(payload, type);
+        }
+        if (payload[2] > VERSION) {
+            throw new IOException("Unsupported report payload version " + payload[2]);
+        }
+        switch (Format.of(payload[3])) {
+            case JSON:
+                return objectMapper.readValue(payload, HEADER_LENGTH, payload.length - HEADER_LENGTH, type);
+            case SMILE:
+                return smileMapper.readValue(payload, HEADER_LENGTH, payload.length - HEADER_LENGTH, type);
+            default:
+                return smileMapper.readValue(decompress(payload), type);
+        }
+    }
+
+    /**
+     * Size of the serialized value held by a payload before compression, without decoding it
+     */
+    public int decodedSize(byte[] payload) throws IOException {
+        if (!hasHeader(payload)) {
+            return payload.length;
+        }
+        if (Format.of(payload[3]) != Format.SMILE_LZ4) {
+            return payload.length - HEADER_LENGTH;
+        }
+        return decodedLength(payload);
+    }
+
+    /**
+     * Decode an encoded payload, falling back to the JSON column of rows written before payloads were encoded
+     *
+     * @return null if both are null
+     */
+    public <T> T decode(byte[] payload, String legacyJson, Class<T> type) throws IOException {
+        if (payload != null) {
+            return decode(payload, type);
+        }
+        return legacyJson != null ? objectMapper.readValue(legacyJson, type) : null;
+    }
+
+    private static boolean hasHeader(byte[] payload) {
+        // JSON text never starts with a NUL byte
+        return payload.length >= HEADER_LENGTH && payload[0] == 0 && payload[1] == 'R';
+    }
+
+    private byte[] compress(byte[] data) {
+        byte[] compressed = new byte[LENGTH_PREFIX + compressor.maxCompressedLength(data.length)];
+        ByteBuffer.wrap(compressed).putInt(data.length);
+        int length = compressor.compress(data, 0, data.length, compressed, LENGTH_PREFIX);
+        return Arrays.copyOf(compressed, LENGTH_PREFIX + length);
+    }
+
+    /**
+     * Uncompressed length prefixed to an LZ4 body, checked against what the compressed block can hold
+     */
+    private static int decodedLength(byte[] payload) throws IOException {
+        if (payload.length < HEADER_LENGTH + LENGTH_PREFIX) {
+            throw new IOException("Truncated report payload");
+        }
+        int length = ByteBuffer.wrap(payload, HEADER_LENGTH, LENGTH_PREFIX).getInt();
+        long blockLength = payload.length - HEADER_LENGTH - LENGTH_PREFIX;
+        if (length < 0 || length > MAX_DECODED_LENGTH) {
+            throw new IOException("Corrupt report payload: length " + length + " is outside 0.." + MAX_DECODED_LENGTH);
+        }
+        if (length > blockLength * MAX_LZ4_RATIO) {
+            throw new IOException("Corrupt report payload: length " + length + " cannot come from a block of " + blockLength + " bytes");
+        }
+        return length;
+    }
+
+    private byte[] decompress(byte[] payload) throws IOException {
+        int length = decodedLength(payload);
+        byte[] data = new byte[length];
+        int offset = HEADER_LENGTH + LENGTH_PREFIX;
+        int decoded;
+        try {
+            decoded = decompressor.decompress(payload, offset, payload.length - offset, data, 0, length);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt report payload: " + e.getMessage(), e);
+        }
+        if (decoded != length) {
+            throw new IOException("Corrupt report payload: decoded " + decoded + " of " + length + " bytes");
+        }
+        return data;
+    }
+}
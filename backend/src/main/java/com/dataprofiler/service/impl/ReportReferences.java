@@ -0,0 +1,57 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.entity.DataSourceConfig;
+import com.dataprofiler.entity.ProfilingTask;
+import com.dataprofiler.entity.StructuredReport;
+import com.dataprofiler.repository.DataSourceConfigRepository;
+import com.dataprofiler.repository.ProfilingTaskRepository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Data sources and tasks referenced by a batch of reports, loaded with one query each
+ * Built once per read and shared by the conversions of all reports of the batch.
+ */
+class ReportReferences {
+
+    private final Map<String, DataSourceConfig> sources;
+    private final Map<String, ProfilingTask> tasks;
+
+    private ReportReferences(Map<String, DataSourceConfig> sources, Map<String, ProfilingTask> tasks) {
+        this.sources = sources;
+        this.tasks = tasks;
+    }
+
+    static ReportReferences load(Collection<StructuredReport> reports,
+                                 DataSourceConfigRepository dataSourceConfigRepository,
+                                 ProfilingTaskRepository profilingTaskRepository) {
+        Set<String> sourceIds = reports.stream().map(StructuredReport::getDataSourceId).collect(Collectors.toSet());
+        Set<String> taskIds = reports.stream().map(StructuredReport::getTaskId).collect(Collectors.toSet());
+
+        Map<String, DataSourceConfig> sources = sourceIds.isEmpty() ? Collections.emptyMap()
+                : dataSourceConfigRepository.findBySourceIdIn(sourceIds).stream()
+                .collect(Collectors.toMap(DataSourceConfig::getSourceId, source -> source, (a, b) -> a));
+        Map<String, ProfilingTask> tasks = taskIds.isEmpty() ? Collections.emptyMap()
+                : profilingTaskRepository.findByTaskIdIn(taskIds).stream()
+                .collect(Collectors.toMap(ProfilingTask::getTaskId, task -> task, (a, b) -> a));
+        return new ReportReferences(sources, tasks);
+    }
+
+    /**
+     * Data source of a report, or null if it was deleted
+     */
+    DataSourceConfig source(String sourceId) {
+        return sources.get(sourceId);
+    }
+
+    /**
+     * Task of a report, or null if it was deleted
+     */
+    ProfilingTask task(String taskId) {
+        return tasks.get(taskId);
+    }
+}
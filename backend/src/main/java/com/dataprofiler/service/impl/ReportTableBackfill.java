@@ -0,0 +1,72 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.repository.StructuredReportRepository;
+import com.dataprofiler.service.StructuredReportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Splits reports saved with all tables in one JSON column into per-table rows once the application is up
+ * Runs in the background, a batch of reports at a time, so startup and requests are not held up; until a report is
+ * split, the report views read its tables from the legacy column. Each report is split in its own transaction,
+ * so an interrupted run continues where it stopped on the next start.
+ */
+@Component
+public class ReportTableBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportTableBackfill.class);
+
+    @Autowired
+    private StructuredReportRepository structuredReportRepository;
+
+    @Autowired
+    private StructuredReportService structuredReportService;
+
+    @Value("${app.report.backfill.batch-size:50}")
+    private int batchSize;
+
+    private volatile boolean stopping;
+
+    @Async("generalTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long lastId = 0;
+        int split = 0;
+        List<Long> reportIds;
+        do {
+            // Reports that failed stay behind the cursor, so they are retried on the next start only
+            reportIds = structuredReportRepository.findIdsWithTableProfilesJson(lastId, PageRequest.of(0, batchSize));
+            for (Long reportId : reportIds) {
+                if (stopping) {
+                    logger.info("Stopped splitting legacy reports after {}, the rest continues on the next start", split);
+                    return;
+                }
+                try {
+                    structuredReportService.splitLegacyTableProfiles(reportId);
+                    split++;
+                } catch (RuntimeException e) {
+                    logger.error("Failed to split table profiles of report {}", reportId, e);
+                }
+                lastId = reportId;
+            }
+            if (!reportIds.isEmpty()) {
+                logger.info("Split table profiles of {} legacy reports into rows so far", split);
+            }
+        } while (reportIds.size() == batchSize);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        stopping = true;
+    }
+}
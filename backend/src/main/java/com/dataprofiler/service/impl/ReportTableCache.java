@@ -0,0 +1,141 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.dto.response.StructuredReportDto;
+import com.dataprofiler.entity.ReportTableProfile;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Bounded cache of decoded table profiles of stored reports, keyed by task, data source and table row
+ * Stored tables never change, so entries only leave the cache when it is full, idle or their task is deleted.
+ * Cached tables are shared between requests and must not be modified by callers.
+ * <p>
+ * Entries are weighed in estimated heap bytes: the uncompressed serialized size of the table times heap-factor,
+ * since decoded object graphs (UTF-16 strings, boxed values, object headers) are several times larger than
+ * their Smile or JSON form, and far larger than the compressed payload stored in the row.
+ */
+@Component
+public class ReportTableCache {
+
+    public static final String CACHE_NAME = "report.tables";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Bound on the estimated heap size of the cached tables, in megabytes
+     */
+    @Value("${app.report.cache.max-weight-mb:64}")
+    private long maxWeightMb;
+
+    /**
+     * Estimated heap bytes of a decoded table per byte of its uncompressed serialized form
+     */
+    @Value("${app.report.cache.heap-factor:4}")
+    private int heapFactor;
+
+    @Value("${app.report.cache.expire-after-access-minutes:30}")
+    private long expireAfterAccessMinutes;
+
+    private Cache<Key, Entry> cache;
+
+    public ReportTableCache() {
+    }
+
+    ReportTableCache(long maxWeightMb, int heapFactor, long expireAfterAccessMinutes) {
+        this.maxWeightMb = maxWeightMb;
+        this.heapFactor = heapFactor;
+        this.expireAfterAccessMinutes = expireAfterAccessMinutes;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightMb * 1024 * 1024)
+                .weigher((Key key, Entry entry) -> entry.weight)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    /**
+     * Decoded profile of a table row, or null if not cached
+     */
+    public StructuredReportDto.TableReport get(ReportTableProfile row) {
+        Entry entry = cache.getIfPresent(new Key(row));
+        return entry != null ? entry.table : null;
+    }
+
+    /**
+     * @param serializedSize Uncompressed serialized size of the table in bytes (see ReportPayloadCodec#decodedSize)
+     */
+    public void put(ReportTableProfile row, StructuredReportDto.TableReport table, int serializedSize) {
+        long weight = (long) serializedSize * Math.max(1, heapFactor);
+        cache.put(new Key(row), new Entry(table, (int) Math.max(1, Math.min(Integer.MAX_VALUE, weight))));
+    }
+
+    /**
+     * Drop all tables of a task
+     */
+    public void evictTask(String taskId) {
+        cache.asMap().keySet().removeIf(key -> key.taskId.equals(taskId));
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static final class Key {
+        private final String taskId;
+        private final String dataSourceId;
+        private final Long rowId;
+
+        private Key(ReportTableProfile row) {
+            this.taskId = row.getTaskId();
+            this.dataSourceId = row.getDataSourceId();
+            this.rowId = row.getId();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(rowId, other.rowId) && Objects.equals(taskId, other.taskId)
+                    && Objects.equals(dataSourceId, other.dataSourceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(taskId, dataSourceId, rowId);
+        }
+    }
+
+    private static final class Entry {
+        private final StructuredReportDto.TableReport table;
+        private final int weight;
+
+        private Entry(StructuredReportDto.TableReport table, int weight) {
+            this.table = table;
+            this.weight = weight;
+        }
+    }
+}
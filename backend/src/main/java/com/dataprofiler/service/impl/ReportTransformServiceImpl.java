@@ -39,13 +39,13 @@ public class ReportTransformServiceImpl implements ReportTransformService {
             // Transform database structure to target format
             if (detailedReport.getDatabase() != null) {
                 // Create databases array structure as per target format
-                List<DatabaseSummary> databases = new ArrayList<>();
-                DatabaseSummary dbSummary = new DatabaseSummary();
+                List<ReportSummaryDto.DatabaseSummary> databases = new ArrayList<>();
+                ReportSummaryDto.DatabaseSummary dbSummary = new ReportSummaryDto.DatabaseSummary();
                 dbSummary.setName(detailedReport.getDatabase().getName());
                 
                 // Transform tables to target format
                 if (detailedReport.getTables() != null && !detailedReport.getTables().isEmpty()) {
-                    List<TableSummary> tables = detailedReport.getTables().stream()
+                    List<ReportSummaryDto.TableSummary> tables = detailedReport.getTables().stream()
                             .map(this::transformTableToSummary)
                             .filter(Objects::nonNull)
                             .collect(Collectors.toList());
@@ -136,16 +136,14 @@ public class ReportTransformServiceImpl implements ReportTransformService {
         }
     }
 
-    /**
-     * Transform table report to summary format
-     */
-    private TableSummary transformTableToSummary(StructuredReportDto.TableReport tableReport) {
+    @Override
+    public ReportSummaryDto.TableSummary transformTableToSummary(StructuredReportDto.TableReport tableReport) {
         if (tableReport == null) {
             return null;
         }
 
         try {
-            TableSummary tableSummary = new TableSummary();
+            ReportSummaryDto.TableSummary tableSummary = new ReportSummaryDto.TableSummary();
             tableSummary.setName(tableReport.getName());
             tableSummary.setSchemaName(tableReport.getSchemaName());
             tableSummary.setRowCount(tableReport.getRowCount());
@@ -166,42 +164,4 @@ public class ReportTransformServiceImpl implements ReportTransformService {
             return null;
         }
     }
-
-    /**
-     * Inner class for database summary structure
-     */
-    public static class DatabaseSummary {
-        private String name;
-        private List<TableSummary> tables;
-
-        public String getName() { return name; }
-        public void setName(String name) { this.name = name; }
-        public List<TableSummary> getTables() { return tables; }
-        public void setTables(List<TableSummary> tables) { this.tables = tables; }
-    }
-
-    /**
-     * Inner class for table summary structure
-     */
-    public static class TableSummary {
-        private String name;
-        private String schemaName;
-        private Long rowCount;
-        private List<String> columns;
-        private Object sampleRows;
-        private String comment;
-
-        public String getName() { return name; }
-        public void setName(String name) { this.name = name; }
-        public String getSchemaName() { return schemaName; }
-        public void setSchemaName(String schemaName) { this.schemaName = schemaName; }
-        public Long getRowCount() { return rowCount; }
-        public void setRowCount(Long rowCount) { this.rowCount = rowCount; }
-        public List<String> getColumns() { return columns; }
-        public void setColumns(List<String> columns) { this.columns = columns; }
-        public Object getSampleRows() { return sampleRows; }
-        public void setSampleRows(Object sampleRows) { this.sampleRows = sampleRows; }
-        public String getComment() { return comment; }
-        public void setComment(String comment) { this.comment = comment; }
-    }
-}
\ No newline at end of file
+}
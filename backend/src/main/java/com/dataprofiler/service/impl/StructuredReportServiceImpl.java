@@ -2,19 +2,26 @@ package com.dataprofiler.service.impl;
 
 import com.dataprofiler.dto.request.DetailedReportRequest;
 import com.dataprofiler.dto.request.ReportSummaryRequest;
+import com.dataprofiler.dto.response.CursorPage;
 import com.dataprofiler.dto.response.ReportInfoDto;
 import com.dataprofiler.dto.response.ReportSummaryDto;
 import com.dataprofiler.dto.response.StructuredReportDto;
 import com.dataprofiler.entity.DataSourceConfig;
 import com.dataprofiler.entity.ProfilingTask;
+import com.dataprofiler.entity.ReportTableProfile;
 import com.dataprofiler.entity.StructuredReport;
 import com.dataprofiler.repository.DataSourceConfigRepository;
 import com.dataprofiler.repository.ProfilingTaskRepository;
+import com.dataprofiler.repository.ReportTableProfileRepository;
 import com.dataprofiler.repository.StructuredReportRepository;
 import com.dataprofiler.service.ReportTransformService;
 import com.dataprofiler.service.StructuredReportService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dataprofiler.util.ETags;
+import com.dataprofiler.util.KeysetCursor;
+import com.dataprofiler.util.SampleRowLimits;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,11 +30,16 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 /**
@@ -46,6 +58,11 @@ public class StructuredReportServiceImpl implements StructuredReportService {
 
     private static final Logger logger = LoggerFactory.getLogger(StructuredReportServiceImpl.class);
 
+    /**
+     * Number of tables read per query when exporting
+     */
+    private static final int EXPORT_BATCH_SIZE = 100;
+
     @Autowired
     private StructuredReportRepository structuredReportRepository;
 
@@ -56,10 +73,22 @@ public class StructuredReportServiceImpl implements StructuredReportService {
     private ReportTransformService reportTransformService;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private ProfilingTaskRepository profilingTaskRepository;
 
     @Autowired
-    private ProfilingTaskRepository profilingTaskRepository;
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReportTableProfileRepository reportTableRepository;
+
+    @Autowired
+    private ReportPayloadCodec reportCodec;
+
+    @Autowired
+    private ReportTableCache reportTableCache;
+
+    @Autowired
+    private LegacyTableProfilesReader legacyTableReader;
 
     @Override
     public void saveReports(String taskId, List<StructuredReportDto> reports) {
@@ -71,12 +100,14 @@ public class StructuredReportServiceImpl implements StructuredReportService {
         }
         try {
             List<StructuredReport> entities = new ArrayList<>();
+            List<StructuredReportDto> converted = new ArrayList<>();
 
             for (StructuredReportDto reportDto : reports) {
                 try {
                     StructuredReport entity = convertToEntity(reportDto);
                     if (entity != null) {
                         entities.add(entity);
+                        converted.add(reportDto);
                     }
                 } catch (Exception e) {
                     logger.error("Failed to convert report DTO to entity for task: {}, dataSource: {}",
@@ -88,8 +119,15 @@ public class StructuredReportServiceImpl implements StructuredReportService {
             if (!entities.isEmpty()) {
                 // Batch save for performance optimization
                 List<StructuredReport> savedReports = structuredReportRepository.saveAll(entities);
-                logger.info("Successfully saved {} structured reports out of {} provided",
-                        savedReports.size(), reports.size());
+
+                // One row per table so that pages and filters are answered by indexed queries
+                List<ReportTableProfile> tableRows = new ArrayList<>();
+                for (int i = 0; i < savedReports.size(); i++) {
+                    tableRows.addAll(toTableRows(savedReports.get(i), converted.get(i)));
+                }
+                reportTableRepository.saveAll(tableRows);
+                logger.info("Successfully saved {} structured reports with {} tables out of {} provided",
+                        savedReports.size(), tableRows.size(), reports.size());
             } else {
                 logger.warn("No valid reports to save after conversion");
             }
@@ -108,11 +146,10 @@ public class StructuredReportServiceImpl implements StructuredReportService {
 
         try {
             List<StructuredReport> reports = structuredReportRepository.findByTaskIdOrderByGeneratedAtDesc(request.getTaskId());
+            List<ReportTableProfileRepository.SummaryView> tables = reportTableRepository.findSummariesByTaskId(
+                    request.getTaskId(), ReportTableProfileRepository.REPORT_ORDER);
 
-            return reports.stream()
-                    .map(this::convertToSummaryDto)
-                    .filter(summary -> summary != null)
-                    .collect(Collectors.toList());
+            return summarize(reports, tables);
 
         } catch (Exception e) {
             logger.error("Error retrieving reports summary for data source IDs: {}", request.getDataSourceIds(), e);
@@ -120,59 +157,6 @@ public class StructuredReportServiceImpl implements StructuredReportService {
         }
     }
 
-    /**
-     * Check if a report matches the filter criteria
-     */
-    private boolean matchesFilterCriteria(StructuredReport report, DetailedReportRequest.FilterCriteria filters) {
-
-        if (filters == null || filters.getDataSources() == null || filters.getDataSources().isEmpty()) {
-            return true;
-        }
-
-        try {
-            // Convert entity to DTO to access structured data
-            StructuredReportDto reportDto = convertToDto(report);
-            if (reportDto == null || reportDto.getTables() == null) {
-                return false;
-            }
-
-            // Get filter configuration for this data source
-            DetailedReportRequest.DataSourceScope dataSourceScope = filters.getDataSources().get(report.getDataSourceId());
-            if (dataSourceScope == null) {
-                return false;
-            }
-
-            // If no specific schemas/tables are specified, include all tables from this data source
-            if (dataSourceScope.getSchemas() == null || dataSourceScope.getSchemas().isEmpty()) {
-                return true;
-            }
-
-            // Check if any table in the report matches the schema/table filters
-            return reportDto.getTables().stream().anyMatch(table -> {
-                String schemaName = table.getSchemaName();
-                String tableName = table.getName();
-
-                // Check if this table's schema is in the filter
-                List<String> allowedTables = dataSourceScope.getSchemas().get(schemaName);
-                if (allowedTables == null) {
-                    return false;
-                }
-
-                // If no specific tables are specified for this schema, include all tables
-                if (allowedTables.isEmpty()) {
-                    return true;
-                }
-
-                // Check if this specific table is in the filter
-                return allowedTables.contains(tableName);
-            });
-
-        } catch (Exception e) {
-            logger.warn("Error checking filter criteria for report: {}", report.getTaskId(), e);
-            return false;
-        }
-    }
-
     /**
      * Convert StructuredReportDto to StructuredReport entity
      */
@@ -185,13 +169,13 @@ public class StructuredReportServiceImpl implements StructuredReportService {
             entity.setDataSourceId(dto.getDataSourceId());
             entity.setGeneratedAt(dto.getGeneratedAt() != null ? dto.getGeneratedAt() : LocalDateTime.now());
 
-            // Serialize complex objects to JSON for storage
+            // Encode complex objects for storage
+            String sourceType = dto.getDataSourceType() != null ? dto.getDataSourceType().name() : null;
             if (dto.getDatabase() != null) {
-                entity.setDatabaseProfileJson(objectMapper.writeValueAsString(dto.getDatabase()));
-            }
-
-            if (dto.getTables() != null && !dto.getTables().isEmpty()) {
-                entity.setTableProfilesJson(objectMapper.writeValueAsString(dto.getTables()));
+                entity.setDatabaseName(dto.getDatabase().getName());
+                long start = System.nanoTime();
+                entity.setDatabaseProfileData(reportCodec.encode(dto.getDatabase()));
+                recordPayload("encode", "database", sourceType, start, entity.getDatabaseProfileData().length);
             }
 
             // Extract summary fields for efficient querying from tables data
@@ -211,188 +195,283 @@ public class StructuredReportServiceImpl implements StructuredReportService {
 
             return entity;
 
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize report DTO to JSON for task: {}, dataSource: {}",
+        } catch (IOException e) {
+            logger.error("Failed to encode report DTO for task: {}, dataSource: {}",
                     dto.getTaskId(), dto.getDataSourceId(), e);
             return null;
         }
     }
 
     /**
-     * Convert StructuredReport entity to StructuredReportDto
+     * Table rows of a saved report, in the order of its tables, each with its detailed profile and its summary
      */
-    private StructuredReportDto convertToDto(StructuredReport entity) {
-        try {
-            StructuredReportDto dto = new StructuredReportDto();
-
-            // Basic fields
-            dto.setTaskId(entity.getTaskId());
-            dto.setDataSourceId(entity.getDataSourceId());
-            dto.setGeneratedAt(entity.getGeneratedAt());
+    private List<ReportTableProfile> toTableRows(StructuredReport report, StructuredReportDto dto) throws IOException {
+        List<ReportTableProfile> rows = new ArrayList<>();
+        if (dto.getTables() == null) {
+            return rows;
+        }
+        String sourceType = dto.getDataSourceType() != null ? dto.getDataSourceType().name() : null;
+        for (int i = 0; i < dto.getTables().size(); i++) {
+            StructuredReportDto.TableReport table = dto.getTables().get(i);
+            ReportTableProfile row = new ReportTableProfile();
+            row.setReport(report);
+            row.setTaskId(report.getTaskId());
+            row.setDataSourceId(report.getDataSourceId());
+            row.setSchemaName(table.getSchemaName());
+            row.setTableName(table.getName());
+            row.setTableIndex(i);
+            row.setRowCount(table.getRowCount());
+            row.setColumnCount(table.getColumns() != null ? table.getColumns().size() : 0);
+            long start = System.nanoTime();
+            row.setProfileData(reportCodec.encode(table));
+            recordPayload("encode", "table", sourceType, start, row.getProfileData().length);
+            ReportSummaryDto.TableSummary summary = reportTransformService.transformTableToSummary(table);
+            if (summary != null) {
+                row.setSummaryData(reportCodec.encode(summary));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
 
-            // Get data source type from DataSourceConfig
-            DataSourceConfig dataSourceConfig = dataSourceConfigRepository.findBySourceId(entity.getDataSourceId());
-            if (dataSourceConfig != null) {
-                dto.setDataSourceType(dataSourceConfig.getType());
+    /**
+     * Summaries of reports, built from the table summaries stored when they were saved
+     * Reports with tables saved before summaries were stored are transformed from their detailed profiles instead.
+     *
+     * @param tables Summaries of the tables to include, in report order
+     */
+    private List<ReportSummaryDto> summarize(List<StructuredReport> reports,
+                                             List<ReportTableProfileRepository.SummaryView> tables) throws IOException {
+        Map<Long, List<ReportTableProfileRepository.SummaryView>> tablesByReport = tables.stream()
+                .collect(Collectors.groupingBy(ReportTableProfileRepository.SummaryView::getReportId));
+        ReportReferences references = loadReferences(reports);
+
+        List<ReportSummaryDto> summaries = new ArrayList<>(reports.size());
+        for (StructuredReport report : reports) {
+            List<ReportTableProfileRepository.SummaryView> reportTables =
+                    tablesByReport.getOrDefault(report.getId(), Collections.emptyList());
+            boolean materialized = report.getTableProfilesJson() == null
+                    && (report.getDatabaseName() != null || !hasDatabase(report))
+                    && reportTables.stream().allMatch(table -> table.getSummaryData() != null);
+            if (materialized) {
+                List<ReportSummaryDto.TableSummary> tableSummaries = new ArrayList<>(reportTables.size());
+                for (ReportTableProfileRepository.SummaryView table : reportTables) {
+                    tableSummaries.add(reportCodec.decode(table.getSummaryData(), ReportSummaryDto.TableSummary.class));
+                }
+                summaries.add(buildSummary(report, tableSummaries, references));
             } else {
-                logger.warn("DataSourceConfig not found for sourceId: {}", entity.getDataSourceId());
+                summaries.add(convertToSummaryDto(report, convertToDto(report, loadTableRows(reportTables), references), references));
             }
+        }
+        summaries.removeIf(Objects::isNull);
+        return summaries;
+    }
 
-            // Deserialize JSON fields to objects
-            if (entity.getDatabaseProfileJson() != null) {
-                dto.setDatabase(objectMapper.readValue(
-                        entity.getDatabaseProfileJson(),
-                        StructuredReportDto.DatabaseInfo.class));
-            }
+    /**
+     * Detailed table rows of the given summaries, in the same order
+     */
+    private List<ReportTableProfile> loadTableRows(List<ReportTableProfileRepository.SummaryView> tables) {
+        if (tables.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, ReportTableProfile> rowsById = reportTableRepository.findAllById(tables.stream()
+                        .map(ReportTableProfileRepository.SummaryView::getId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(ReportTableProfile::getId, row -> row));
+        return tables.stream()
+                .map(table -> rowsById.get(table.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 
-            if (entity.getTableProfilesJson() != null) {
-                List<StructuredReportDto.TableReport> tables = objectMapper.readValue(
-                        entity.getTableProfilesJson(),
-                        objectMapper.getTypeFactory().constructCollectionType(
-                                List.class, StructuredReportDto.TableReport.class));
+    private static boolean hasDatabase(StructuredReport report) {
+        return report.getDatabaseProfileData() != null || report.getDatabaseProfileJson() != null;
+    }
 
-                // Apply task configuration filtering
-                tables = applyTaskConfigurationFiltering(entity.getTaskId(), tables);
-                dto.setTables(tables);
+    /**
+     * Summary of a report from its stored table summaries
+     */
+    private ReportSummaryDto buildSummary(StructuredReport report, List<ReportSummaryDto.TableSummary> tables,
+                                          ReportReferences references) {
+        DataSourceConfig dataSourceConfig = references.source(report.getDataSourceId());
+        ReportSummaryDto summary = new ReportSummaryDto(report.getTaskId(), report.getDataSourceId(),
+                dataSourceConfig != null ? dataSourceConfig.getName() : null,
+                dataSourceConfig != null ? dataSourceConfig.getType() : null);
+
+        if (hasDatabase(report)) {
+            ReportSummaryDto.DatabaseSummary database = new ReportSummaryDto.DatabaseSummary();
+            database.setName(report.getDatabaseName());
+            if (!tables.isEmpty()) {
+                database.setTables(tables);
             }
+            List<ReportSummaryDto.DatabaseSummary> databases = new ArrayList<>();
+            databases.add(database);
+            summary.setDatabases(databases);
+        }
 
-            return dto;
+        setSummaryTotals(summary, report);
+        return summary;
+    }
 
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to deserialize report entity JSON for task: {}, dataSource: {}",
-                    entity.getTaskId(), entity.getDataSourceId(), e);
-            return null;
-        }
+    /**
+     * Data sources and tasks of a batch of reports, loaded once for all of their conversions
+     */
+    private ReportReferences loadReferences(Collection<StructuredReport> reports) {
+        return ReportReferences.load(reports, dataSourceConfigRepository, profilingTaskRepository);
     }
 
     /**
-     * Apply content filtering to report based on filter criteria
-     * Only returns tables that match the specified schemas and tables in the filter
+     * Convert StructuredReport entity to StructuredReportDto with the given subset of its tables
+     * Reports saved before tables were stored as rows have none; they are read from their legacy JSON column until backfilled.
      */
-    private StructuredReportDto applyContentFiltering(StructuredReportDto reportDto, DetailedReportRequest.FilterCriteria filters) {
-        if (filters == null || filters.getDataSources() == null || filters.getDataSources().isEmpty()) {
-            return reportDto;
+    private StructuredReportDto convertToDto(StructuredReport entity, List<ReportTableProfile> tableRows,
+                                             ReportReferences references) {
+        if (tableRows.isEmpty() && entity.getTableProfilesJson() != null) {
+            return convertLegacyToDto(entity, references, null);
         }
-
         try {
-            // Get filter configuration for this data source
-            DetailedReportRequest.DataSourceScope dataSourceScope = filters.getDataSources().get(reportDto.getDataSourceId());
-            if (dataSourceScope == null) {
-                // If data source is not in filter, return empty report
-                reportDto.setTables(new ArrayList<>());
-                return reportDto;
-            }
-
-            // If no specific schemas/tables are specified, return all tables from this data source
-            if (dataSourceScope.getSchemas() == null || dataSourceScope.getSchemas().isEmpty()) {
-                return reportDto;
-            }
+            StructuredReportDto dto = convertHeaderToDto(entity, references);
+            if (!tableRows.isEmpty()) {
+                String sourceType = dto.getDataSourceType() != null ? dto.getDataSourceType().name() : null;
+                Map<Long, StructuredReportDto.TableReport> tablesByRow = new HashMap<>();
+                List<ReportTableProfile> misses = new ArrayList<>();
+                for (ReportTableProfile row : tableRows) {
+                    StructuredReportDto.TableReport cached = reportTableCache.get(row);
+                    if (cached != null) {
+                        tablesByRow.put(row.getId(), cached);
+                    } else {
+                        misses.add(row);
+                    }
+                }
 
-            // Filter tables based on schema/table criteria
-            List<StructuredReportDto.TableReport> filteredTables = reportDto.getTables().stream()
-                    .filter(table -> {
-                        String schemaName = table.getSchemaName();
-                        String tableName = table.getName();
-
-                        // Check if this table's schema is in the filter
-                        List<String> allowedTables = dataSourceScope.getSchemas().get(schemaName);
-                        if (allowedTables == null) {
-                            return false;
-                        }
-
-                        // If no specific tables are specified for this schema, include all tables
-                        if (allowedTables.isEmpty()) {
-                            return true;
-                        }
-
-                        // Check if this specific table is in the filter
-                        return allowedTables.contains(tableName);
-                    })
-                    .collect(Collectors.toList());
+                if (!misses.isEmpty()) {
+                    List<StructuredReportDto.TableReport> decoded = new ArrayList<>(misses.size());
+                    for (ReportTableProfile row : misses) {
+                        long start = System.nanoTime();
+                        decoded.add(reportCodec.decode(row.getProfileData(), StructuredReportDto.TableReport.class));
+                        recordPayload("decode", "table", sourceType, start, row.getProfileData().length);
+                    }
+                    for (int i = 0; i < misses.size(); i++) {
+                        ReportTableProfile row = misses.get(i);
+                        reportTableCache.put(row, decoded.get(i), reportCodec.decodedSize(row.getProfileData()));
+                        tablesByRow.put(row.getId(), decoded.get(i));
+                    }
+                }
 
-            reportDto.setTables(filteredTables);
-            return reportDto;
+                dto.setTables(tableRows.stream().map(row -> tablesByRow.get(row.getId())).collect(Collectors.toList()));
+            }
+            return dto;
 
-        } catch (Exception e) {
-            logger.warn("Error applying content filtering for report: {}", reportDto.getDataSourceId(), e);
-            return reportDto;
+        } catch (IOException e) {
+            logger.error("Failed to decode report entity for task: {}, dataSource: {}",
+                    entity.getTaskId(), entity.getDataSourceId(), e);
+            return null;
         }
     }
 
     /**
-     * Apply task configuration filtering to table reports
-     * Filters field content length and sample data based on task configuration
+     * Convert a report not yet split into table rows, binding only the tables in scope
+     *
+     * @param scope Test on schema and table name, null for all tables
      */
-    private List<StructuredReportDto.TableReport> applyTaskConfigurationFiltering(
-            String taskId, List<StructuredReportDto.TableReport> tables) {
+    private StructuredReportDto convertLegacyToDto(StructuredReport entity, ReportReferences references,
+                                                   BiPredicate<String, String> scope) {
         try {
-            // Get task configuration
-            Optional<ProfilingTask> taskOpt = profilingTaskRepository.findByTaskId(taskId);
-            if (!taskOpt.isPresent()) {
-                logger.warn("Task not found for filtering: {}", taskId);
-                return tables;
-            }
+            StructuredReportDto dto = convertHeaderToDto(entity, references);
+            String sourceType = dto.getDataSourceType() != null ? dto.getDataSourceType().name() : null;
+            long start = System.nanoTime();
+            List<StructuredReportDto.TableReport> tables = legacyTableReader.read(entity.getTableProfilesJson(), scope);
+            recordPayload("decode", "tables", sourceType, start, entity.getTableProfilesJson().length());
+            // Tables stored in this column predate write-time trimming of samples
+            applySampleLimits(tables, SampleRowLimits.of(references.task(entity.getTaskId())));
+            dto.setTables(tables);
+            return dto;
 
-            ProfilingTask task = taskOpt.get();
-            Integer fieldMaxLength = task.getFieldMaxLength() != null ? task.getFieldMaxLength() : 128;
-            Integer sampleDataLimit = task.getSampleDataLimit() != null ? task.getSampleDataLimit() : 10;
-
-            // Apply filtering to each table
-            return tables.stream().map(table -> {
-                table.getSampleRows().forEach(row -> {
-                            List<String> collect = row.stream()
-                                    .map(value -> truncateFieldContent(String.valueOf(value), fieldMaxLength))
-                                    .collect(Collectors.toList());
-                            row.clear();
-                            row.addAll(collect);
-                        }
-                );
-                // Limit sample data rows
-                if (table.getSampleRows() != null && table.getSampleRows().size() > sampleDataLimit) {
-                    table.setSampleRows(table.getSampleRows().subList(0, sampleDataLimit));
-                }
+        } catch (IOException e) {
+            logger.error("Failed to decode report entity for task: {}, dataSource: {}",
+                    entity.getTaskId(), entity.getDataSourceId(), e);
+            return null;
+        }
+    }
 
-                return table;
-            }).collect(Collectors.toList());
+    /**
+     * Report fields and database profile, without tables
+     */
+    private StructuredReportDto convertHeaderToDto(StructuredReport entity, ReportReferences references) throws IOException {
+        StructuredReportDto dto = new StructuredReportDto();
+
+        // Basic fields
+        dto.setTaskId(entity.getTaskId());
+        dto.setDataSourceId(entity.getDataSourceId());
+        dto.setGeneratedAt(entity.getGeneratedAt());
+
+        // Get data source type from DataSourceConfig
+        DataSourceConfig dataSourceConfig = references.source(entity.getDataSourceId());
+        if (dataSourceConfig != null) {
+            dto.setDataSourceType(dataSourceConfig.getType());
+        } else {
+            logger.warn("DataSourceConfig not found for sourceId: {}", entity.getDataSourceId());
+        }
 
-        } catch (Exception e) {
-            logger.error("Error applying task configuration filtering for task: {}", taskId, e);
-            return tables;
+        // Decode stored payloads to objects
+        String sourceType = dto.getDataSourceType() != null ? dto.getDataSourceType().name() : null;
+        if (entity.getDatabaseProfileData() != null || entity.getDatabaseProfileJson() != null) {
+            long start = System.nanoTime();
+            dto.setDatabase(reportCodec.decode(entity.getDatabaseProfileData(), entity.getDatabaseProfileJson(),
+                    StructuredReportDto.DatabaseInfo.class));
+            recordPayload("decode", "database", sourceType, start,
+                    payloadSize(entity.getDatabaseProfileData(), entity.getDatabaseProfileJson()));
         }
+
+        return dto;
+    }
+
+    private static int payloadSize(byte[] payload, String legacyJson) {
+        return payload != null ? payload.length : legacyJson.length();
+    }
+
+    /**
+     * Record the duration and stored size of encoding or decoding one payload of a report
+     */
+    private void recordPayload(String operation, String part, String sourceType, long startNanos, int size) {
+        String type = sourceType != null ? sourceType : "unknown";
+        Timer.builder("report.payload." + operation)
+                .tag("part", part)
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("report.payload.size")
+                .baseUnit("bytes")
+                .tag("part", part)
+                .tag("type", type)
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(size);
     }
 
     /**
-     * Truncate field content to specified maximum length
+     * Trim the samples of tables stored before the task's limits were applied at assembly
      */
-    private String truncateFieldContent(String content, Integer maxLength) {
-        if (content == null || maxLength == null || content.length() <= maxLength) {
-            return content;
+    private static void applySampleLimits(List<StructuredReportDto.TableReport> tables, SampleRowLimits limits) {
+        for (StructuredReportDto.TableReport table : tables) {
+            table.setSampleRows(limits.apply(table.getSampleRows()));
         }
-        return content.substring(0, maxLength) + "...";
     }
 
     /**
      * Convert StructuredReport entity to lightweight ReportSummaryDto
      * Uses ReportTransformService to generate target format as specified in design document
      */
-    private ReportSummaryDto convertToSummaryDto(StructuredReport entity) {
+    private ReportSummaryDto convertToSummaryDto(StructuredReport entity, StructuredReportDto fullReport,
+                                                 ReportReferences references) {
         try {
-            // Parse the JSON data to get database and table information
-            StructuredReportDto fullReport = convertToDto(entity);
             if (fullReport == null) {
                 return null;
             }
 
-            // Get data source name from repository
-            String dataSourceName = null;
-            try {
-                DataSourceConfig dataSourceConfig = dataSourceConfigRepository.findBySourceId(entity.getDataSourceId());
-                if (dataSourceConfig != null) {
-                    dataSourceName = dataSourceConfig.getName();
-                }
-            } catch (Exception e) {
-                logger.warn("Could not retrieve data source name for ID: {}", entity.getDataSourceId(), e);
-            }
+            // Get data source name from the references loaded for the batch
+            DataSourceConfig dataSourceConfig = references.source(entity.getDataSourceId());
+            String dataSourceName = dataSourceConfig != null ? dataSourceConfig.getName() : null;
 
             // Use transform service to convert to target format
             ReportSummaryDto summary = reportTransformService.transformToTargetFormat(fullReport, dataSourceName);
@@ -400,17 +479,7 @@ public class StructuredReportServiceImpl implements StructuredReportService {
                 return null;
             }
 
-            // Set summary statistics from denormalized fields
-            summary.setTotalTables(entity.getTotalTables());
-            summary.setTotalColumns(entity.getTotalColumns());
-            summary.setEstimatedTotalRows(entity.getEstimatedTotalRows());
-            summary.setEstimatedTotalSizeBytes(entity.getEstimatedTotalSizeBytes());
-
-            // Calculate data size in human-readable format
-            if (entity.getEstimatedTotalSizeBytes() != null) {
-                summary.setFormattedDataSize(formatBytes(entity.getEstimatedTotalSizeBytes()));
-            }
-
+            setSummaryTotals(summary, entity);
             return summary;
 
         } catch (Exception e) {
@@ -420,6 +489,21 @@ public class StructuredReportServiceImpl implements StructuredReportService {
         }
     }
 
+    /**
+     * Set summary statistics from denormalized fields
+     */
+    private void setSummaryTotals(ReportSummaryDto summary, StructuredReport entity) {
+        summary.setTotalTables(entity.getTotalTables());
+        summary.setTotalColumns(entity.getTotalColumns());
+        summary.setEstimatedTotalRows(entity.getEstimatedTotalRows());
+        summary.setEstimatedTotalSizeBytes(entity.getEstimatedTotalSizeBytes());
+
+        // Calculate data size in human-readable format
+        if (entity.getEstimatedTotalSizeBytes() != null) {
+            summary.setFormattedDataSize(formatBytes(entity.getEstimatedTotalSizeBytes()));
+        }
+    }
+
     /**
      * Format bytes to human-readable string
      */
@@ -470,6 +554,8 @@ public class StructuredReportServiceImpl implements StructuredReportService {
         logger.info("Deleting reports for task: {}", taskId);
 
         try {
+            reportTableRepository.deleteByTaskId(taskId);
+            reportTableCache.evictTask(taskId);
             structuredReportRepository.deleteByTaskId(taskId);
             logger.info("Successfully deleted reports for task: {}", taskId);
         } catch (Exception e) {
@@ -498,32 +584,287 @@ public class StructuredReportServiceImpl implements StructuredReportService {
         logger.debug("Retrieving all detailed reports with request: {}", request);
 
         try {
-            // Create sort for consistent ordering
-            Sort sort = Sort.by(Sort.Direction.DESC, "generatedAt");
+            // Only the tables matching the filters are read
+            List<ReportTableProfile> tables = reportTableRepository.findAll(
+                    ReportTableProfileRepository.forTask(request.getTaskId(), request.getFilters()),
+                    ReportTableProfileRepository.REPORT_ORDER);
+
+            List<StructuredReportDto> resultList = new ArrayList<>(mapByReport(tables, this::convertToDto));
+
+            // Reports not yet split into rows are streamed, binding only the tables matching the filters
+            List<StructuredReport> legacyReports =
+                    structuredReportRepository.findByTaskIdAndTableProfilesJsonIsNotNull(request.getTaskId());
+            if (!legacyReports.isEmpty()) {
+                ReportReferences references = loadReferences(legacyReports);
+                for (StructuredReport report : legacyReports) {
+                    BiPredicate<String, String> scope = LegacyTableProfilesReader.scopeOf(request.getFilters(), report.getDataSourceId());
+                    resultList.add(convertLegacyToDto(report, references, scope));
+                }
+                resultList.removeIf(Objects::isNull);
+                resultList.sort(Comparator.comparing(StructuredReportDto::getGeneratedAt,
+                        Comparator.nullsLast(Comparator.reverseOrder())));
+            }
 
-            // Query all reports by task ID without pagination
-            List<StructuredReport> reports = structuredReportRepository.findByTaskIdOrderByGeneratedAtDesc(request.getTaskId());
+            resultList.removeIf(dto -> dto == null || dto.getTables() == null || dto.getTables().isEmpty());
+
+            logger.debug("Retrieved {} detailed reports with {} tables", resultList.size(), tables.size());
+
+            return resultList;
+
+        } catch (Exception e) {
+            logger.error("Error retrieving all detailed reports with request: {}", request, e);
+            throw new RuntimeException("Failed to retrieve all detailed reports: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getReportsVersion(String taskId) {
+        ProfilingTask task = profilingTaskRepository.findByTaskId(taskId).orElse(null);
+        if (task == null || task.getStatus() != ProfilingTask.TaskStatus.COMPLETED) {
+            return null;
+        }
+        // Reports and table rows are only ever added or deleted, so their ids and count identify the content;
+        // legacy reports are trimmed to the sample limits when read, and all views go through the transforms
+        List<Long> reportIds = structuredReportRepository.findIdsByTaskId(taskId);
+        SampleRowLimits limits = SampleRowLimits.of(task);
+        return ETags.strong(taskId, reportIds.toString(),
+                String.valueOf(reportTableRepository.countByTaskId(taskId)),
+                String.valueOf(reportTableRepository.findMaxIdByTaskId(taskId)),
+                limits.getFieldMaxLength() + ":" + limits.getSampleDataLimit(),
+                ReportTransformService.REPRESENTATION_VERSION);
+    }
+
+    /**
+     * Runs outside a transaction: each batch is read in its own session, so rows can be collected once they are
+     * written instead of piling up in one persistence context for the whole export.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportDetailedReports(DetailedReportRequest request, TableSink sink) throws IOException {
+        List<StructuredReport> reports = structuredReportRepository.findByTaskIdOrderByGeneratedAtDesc(request.getTaskId());
+        ReportReferences references = loadReferences(reports);
+        Specification<ReportTableProfile> filters =
+                ReportTableProfileRepository.forTask(request.getTaskId(), request.getFilters());
+        Sort tableOrder = Sort.by("tableIndex");
+
+        for (StructuredReport report : reports) {
+            if (report.getTableProfilesJson() != null) {
+                StructuredReportDto legacy = convertLegacyToDto(report, references,
+                        LegacyTableProfilesReader.scopeOf(request.getFilters(), report.getDataSourceId()));
+                if (legacy != null && legacy.getTables() != null) {
+                    for (StructuredReportDto.TableReport table : legacy.getTables()) {
+                        sink.accept(withTable(legacy, table));
+                    }
+                }
+                continue;
+            }
+
+            StructuredReportDto header = convertHeaderToDto(report, references);
+            String sourceType = header.getDataSourceType() != null ? header.getDataSourceType().name() : null;
+            int lastIndex = -1;
+            List<ReportTableProfile> rows;
+            do {
+                rows = reportTableRepository.findBatch(
+                        filters.and(ReportTableProfileRepository.ofReportAfter(report.getId(), lastIndex)), tableOrder, EXPORT_BATCH_SIZE);
+                for (ReportTableProfile row : rows) {
+                    // Cached tables are reused, but an export does not fill the cache with tables read once
+                    StructuredReportDto.TableReport table = reportTableCache.get(row);
+                    if (table == null) {
+                        long start = System.nanoTime();
+                        table = reportCodec.decode(row.getProfileData(), StructuredReportDto.TableReport.class);
+                        recordPayload("decode", "table", sourceType, start, row.getProfileData().length);
+                    }
+                    sink.accept(withTable(header, table));
+                    lastIndex = row.getTableIndex();
+                }
+            } while (rows.size() == EXPORT_BATCH_SIZE);
+        }
+    }
 
-            // Apply filtering for schemas and tables if needed
-            List<StructuredReport> filteredReports = reports.stream()
-                    .filter(report -> matchesFilterCriteria(report, request.getFilters()))
+    /**
+     * Report fields of a report with only the given table
+     */
+    private static StructuredReportDto withTable(StructuredReportDto report, StructuredReportDto.TableReport table) {
+        StructuredReportDto single = new StructuredReportDto();
+        single.setTaskId(report.getTaskId());
+        single.setDataSourceId(report.getDataSourceId());
+        single.setDataSourceType(report.getDataSourceType());
+        single.setDatabase(report.getDatabase());
+        single.setGeneratedAt(report.getGeneratedAt());
+        single.setTables(Collections.singletonList(table));
+        return single;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<StructuredReportDto> getDetailedReportsPage(DetailedReportRequest request) {
+        logger.debug("Retrieving detailed reports page with request: {}", request);
+
+        try {
+            Pageable pageable = PageRequest.of(request.getPage(), request.getPageSize(), ReportTableProfileRepository.REPORT_ORDER);
+            Page<ReportTableProfile> tables = reportTableRepository.findAll(
+                    ReportTableProfileRepository.forTask(request.getTaskId(), request.getFilters()), pageable);
+
+            List<StructuredReportDto> reports = mapByReport(tables.getContent(), this::convertToDto).stream()
+                    .filter(Objects::nonNull)
                     .collect(Collectors.toList());
 
-            // Convert entities to DTOs and apply content filtering
-            List<StructuredReportDto> resultList = filteredReports.stream()
-                    .map(this::convertToDto)
-                    .filter(dto -> dto != null)
-                    .map(dto -> applyContentFiltering(dto, request.getFilters()))
-                    .filter(dto -> dto != null && dto.getTables() != null && !dto.getTables().isEmpty())
+            LegacyWindow legacy = legacyWindow(request.getTaskId(), request.getFilters(), pageable, tables);
+            reports.addAll(legacy.reports);
+            return new PageImpl<>(reports, pageable, tables.getTotalElements() + legacy.totalTables);
+
+        } catch (Exception e) {
+            logger.error("Error retrieving detailed reports page with request: {}", request, e);
+            throw new RuntimeException("Failed to retrieve detailed reports: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReportSummaryDto> getReportsSummaryPage(String taskId, int page, int pageSize) {
+        logger.debug("Retrieving reports summary page {} (size {}) for task: {}", page, pageSize, taskId);
+
+        try {
+            // Only the stored summaries of the page's tables are read, never their detailed profiles
+            Pageable pageable = PageRequest.of(page, pageSize, ReportTableProfileRepository.REPORT_ORDER);
+            Page<ReportTableProfileRepository.SummaryView> tables = reportTableRepository.findSummariesByTaskId(taskId, pageable);
+
+            Set<Long> reportIds = tables.getContent().stream()
+                    .map(ReportTableProfileRepository.SummaryView::getReportId)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            Map<Long, StructuredReport> reportsById = structuredReportRepository.findAllById(reportIds).stream()
+                    .collect(Collectors.toMap(StructuredReport::getId, report -> report));
+            List<StructuredReport> reports = reportIds.stream()
+                    .map(reportsById::get)
+                    .filter(Objects::nonNull)
                     .collect(Collectors.toList());
 
-            logger.debug("Retrieved {} detailed reports for table-based pagination", resultList.size());
+            List<ReportSummaryDto> summaries = summarize(reports, tables.getContent());
 
-            return resultList;
+            LegacyWindow legacy = legacyWindow(taskId, null, pageable, tables);
+            for (int i = 0; i < legacy.reports.size(); i++) {
+                ReportSummaryDto summary = convertToSummaryDto(legacy.entities.get(i), legacy.reports.get(i), legacy.references);
+                if (summary != null) {
+                    summaries.add(summary);
+                }
+            }
+            return new PageImpl<>(summaries, pageable, tables.getTotalElements() + legacy.totalTables);
 
         } catch (Exception e) {
-            logger.error("Error retrieving all detailed reports with request: {}", request, e);
-            throw new RuntimeException("Failed to retrieve all detailed reports: " + e.getMessage(), e);
+            logger.error("Error retrieving reports summary page for task: {}", taskId, e);
+            throw new RuntimeException("Failed to retrieve reports summary: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Tables of a task's reports not yet split into rows that fall on a page after the split tables
+     * Paged views list such reports after all split tables, one position per table, until the backfill reaches them.
+     *
+     * @param filters   Filters to apply to the tables, null for all tables
+     * @param rowTables Page of split tables the window follows
+     */
+    private LegacyWindow legacyWindow(String taskId, DetailedReportRequest.FilterCriteria filters, Pageable pageable,
+                                      Page<?> rowTables) {
+        LegacyWindow window = new LegacyWindow();
+        if (!structuredReportRepository.existsByTaskIdAndTableProfilesJsonIsNotNull(taskId)) {
+            return window;
+        }
+        List<StructuredReport> legacyReports =
+                new ArrayList<>(structuredReportRepository.findByTaskIdAndTableProfilesJsonIsNotNull(taskId));
+        legacyReports.sort(Comparator.comparing(StructuredReport::getGeneratedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(StructuredReport::getId));
+        window.references = loadReferences(legacyReports);
+
+        long skip = Math.max(0, pageable.getOffset() - rowTables.getTotalElements());
+        long limit = pageable.getPageSize() - rowTables.getNumberOfElements();
+        for (StructuredReport report : legacyReports) {
+            StructuredReportDto dto = convertLegacyToDto(report, window.references,
+                    LegacyTableProfilesReader.scopeOf(filters, report.getDataSourceId()));
+            if (dto == null || dto.getTables() == null) {
+                continue;
+            }
+            int size = dto.getTables().size();
+            long from = Math.max(0, skip - window.totalTables);
+            long to = Math.min(size, skip + limit - window.totalTables);
+            if (from < to) {
+                dto.setTables(new ArrayList<>(dto.getTables().subList((int) from, (int) to)));
+                window.entities.add(report);
+                window.reports.add(dto);
+            }
+            window.totalTables += size;
+        }
+        if (!legacyReports.isEmpty()) {
+            logger.debug("Task {} has {} reports not yet split into table rows, read from their legacy column",
+                    taskId, legacyReports.size());
+        }
+        return window;
+    }
+
+    private static class LegacyWindow {
+        private final List<StructuredReport> entities = new ArrayList<>();
+        private final List<StructuredReportDto> reports = new ArrayList<>();
+        private ReportReferences references;
+        private long totalTables;
+    }
+
+    /**
+     * Conversion of a report and some of its tables
+     */
+    @FunctionalInterface
+    private interface ReportConverter<T> {
+        T convert(StructuredReport report, List<ReportTableProfile> tables, ReportReferences references);
+    }
+
+    /**
+     * Group table rows by their report, keeping the order of the rows, and convert each group
+     * Reports and the data sources and tasks they reference are loaded with one query each.
+     */
+    private <T> List<T> mapByReport(List<ReportTableProfile> tables, ReportConverter<T> converter) {
+        Map<Long, List<ReportTableProfile>> byReport = tables.stream()
+                .collect(Collectors.groupingBy(ReportTableProfile::getReportId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, StructuredReport> reports = structuredReportRepository.findAllById(byReport.keySet()).stream()
+                .collect(Collectors.toMap(StructuredReport::getId, report -> report));
+        ReportReferences references = loadReferences(reports.values());
+
+        List<T> result = new ArrayList<>(byReport.size());
+        for (Map.Entry<Long, List<ReportTableProfile>> group : byReport.entrySet()) {
+            StructuredReport report = reports.get(group.getKey());
+            if (report != null) {
+                result.add(converter.convert(report, group.getValue(), references));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void splitLegacyTableProfiles(Long reportId) {
+        StructuredReport report = structuredReportRepository.findById(reportId).orElse(null);
+        if (report == null || report.getTableProfilesJson() == null) {
+            return;
+        }
+        // Claim the report so that concurrent instances do not split it twice
+        if (structuredReportRepository.clearTableProfilesJson(reportId) == 0) {
+            return;
+        }
+        try {
+            StructuredReportDto dto = new StructuredReportDto();
+            dto.setTables(legacyTableReader.read(report.getTableProfilesJson(), null));
+            // Keep the managed entity in line with the claim, as it is updated below
+            report.setTableProfilesJson(null);
+            if (hasDatabase(report)) {
+                StructuredReportDto.DatabaseInfo database = reportCodec.decode(report.getDatabaseProfileData(),
+                        report.getDatabaseProfileJson(), StructuredReportDto.DatabaseInfo.class);
+                report.setDatabaseName(database != null ? database.getName() : null);
+            }
+            reportTableRepository.deleteByReportId(reportId);
+            ProfilingTask task = profilingTaskRepository.findByTaskId(report.getTaskId()).orElse(null);
+            applySampleLimits(dto.getTables(), SampleRowLimits.of(task));
+            List<ReportTableProfile> rows = toTableRows(report, dto);
+            reportTableRepository.saveAll(rows);
+            logger.info("Split legacy report {} of task {} into {} table rows", reportId, report.getTaskId(), rows.size());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to split tables of report " + reportId + ": " + e.getMessage(), e);
         }
     }
 
@@ -544,8 +885,9 @@ public class StructuredReportServiceImpl implements StructuredReportService {
             // Get all reports with pagination
             Page<StructuredReport> reportPage = structuredReportRepository.findAll(pageable);
 
-            // Convert to ReportInfoDto page
-            Page<ReportInfoDto> reportInfoPage = reportPage.map(this::convertToReportInfoDto);
+            // Convert to ReportInfoDto page, resolving the data sources of the page at once
+            ReportReferences references = loadReferences(reportPage.getContent());
+            Page<ReportInfoDto> reportInfoPage = reportPage.map(entity -> convertToReportInfoDto(entity, references));
 
             logger.debug("Retrieved {} report info records (page {} of {})",
                     reportInfoPage.getNumberOfElements(),
@@ -560,10 +902,32 @@ public class StructuredReportServiceImpl implements StructuredReportService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ReportInfoDto> getReportInfoPage(String taskId, String cursor, int size) {
+        // One extra row tells whether there is a next page
+        Pageable limit = PageRequest.of(0, size + 1);
+        KeysetCursor after = cursor != null && !cursor.isEmpty() ? KeysetCursor.decode(cursor) : null;
+        List<StructuredReport> reports;
+        if (taskId != null) {
+            reports = after == null
+                    ? structuredReportRepository.findByTaskIdOrderByGeneratedAtDescIdDesc(taskId, limit)
+                    : structuredReportRepository.findByTaskIdAfter(taskId, after.getTime(), after.getId(), limit);
+        } else {
+            reports = after == null
+                    ? structuredReportRepository.findAllByOrderByGeneratedAtDescIdDesc(limit)
+                    : structuredReportRepository.findAfter(after.getTime(), after.getId(), limit);
+        }
+
+        ReportReferences references = loadReferences(reports);
+        return CursorPage.of(reports, size, report -> KeysetCursor.encode(report.getGeneratedAt(), report.getId()),
+                report -> convertToReportInfoDto(report, references));
+    }
+
     /**
      * Convert StructuredReport entity to ReportInfoDto
      */
-    private ReportInfoDto convertToReportInfoDto(StructuredReport entity) {
+    private ReportInfoDto convertToReportInfoDto(StructuredReport entity, ReportReferences references) {
         try {
             ReportInfoDto dto = new ReportInfoDto();
             dto.setId(entity.getId());
@@ -571,17 +935,11 @@ public class StructuredReportServiceImpl implements StructuredReportService {
             dto.setDataSourceId(entity.getDataSourceId());
 
             // Get data source name from DataSourceConfig
-            try {
-                DataSourceConfig dataSourceConfig = dataSourceConfigRepository.findBySourceId(entity.getDataSourceId());
-                if (dataSourceConfig != null) {
-                    dto.setDataSourceName(dataSourceConfig.getName());
-                    dto.setDataSourceType(dataSourceConfig.getType());
-                } else {
-                    dto.setDataSourceName("Unknown");
-                    dto.setDataSourceType(null); // Set to null for unknown type
-                }
-            } catch (Exception e) {
-                logger.warn("Failed to get data source info for sourceId: {}", entity.getDataSourceId(), e);
+            DataSourceConfig dataSourceConfig = references.source(entity.getDataSourceId());
+            if (dataSourceConfig != null) {
+                dto.setDataSourceName(dataSourceConfig.getName());
+                dto.setDataSourceType(dataSourceConfig.getType());
+            } else {
                 dto.setDataSourceName("Unknown");
                 dto.setDataSourceType(null); // Set to null for unknown type
             }
@@ -0,0 +1,132 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.dto.request.ProfilingTaskRequest;
+import com.dataprofiler.dto.response.TaskTimelineDto;
+import com.dataprofiler.entity.ProfilingTaskTimeline;
+import com.dataprofiler.entity.ProfilingWorkItem;
+import com.dataprofiler.execution.QueryTrace;
+import com.dataprofiler.repository.ProfilingTaskTimelineRepository;
+import com.dataprofiler.repository.ProfilingWorkItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the execution timeline of profiling tasks from the query traces of their work items
+ * Each item stores its own fragment when it completes, on whichever instance ran it; fragments are merged
+ * on read while the task runs and persisted once it is finalized.
+ */
+@Component
+public class TaskTimelineRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTimelineRecorder.class);
+
+    @Autowired
+    private ProfilingWorkItemRepository workItemRepository;
+
+    @Autowired
+    private ProfilingTaskTimelineRepository timelineRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.profiling.trace.slow-query-limit:20}")
+    private int slowQueryLimit;
+
+    /**
+     * Trace for a work item, labelled with the table it profiles
+     */
+    public QueryTrace newTrace(ProfilingWorkItem item, ProfilingTaskRequest.DataSourceScope scope) {
+        String table = null;
+        if (item.getKind() == ProfilingWorkItem.Kind.TABLE && scope.getSchemas() != null && scope.getSchemas().size() == 1) {
+            Map.Entry<String, List<String>> schema = scope.getSchemas().entrySet().iterator().next();
+            table = schema.getValue() != null && schema.getValue().size() == 1
+                    ? schema.getKey() + "." + schema.getValue().get(0)
+                    : schema.getKey();
+        }
+        return new QueryTrace(item.getSourceId(), item.getKind().name(), table, slowQueryLimit);
+    }
+
+    /**
+     * Timeline fragment of a finished item as JSON, or null if it cannot be serialized
+     */
+    public String toPayload(QueryTrace trace, ProfilingWorkItem.Status status, String node) {
+        TaskTimelineDto fragment = new TaskTimelineDto();
+        TaskTimelineDto.Entry entry = trace.toEntry();
+        entry.setStatus(status.name());
+        entry.setNode(node);
+        fragment.getEntries().add(entry);
+        fragment.setSlowestQueries(trace.getSlowestQueries());
+        try {
+            return objectMapper.writeValueAsString(fragment);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize query trace of {} {}: {}", entry.getKind(), entry.getTable(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Persisted timeline of a finished task, or the fragments recorded so far while it runs; null if nothing ran
+     */
+    public TaskTimelineDto find(String taskId) {
+        try {
+            ProfilingTaskTimeline stored = timelineRepository.findById(taskId).orElse(null);
+            if (stored != null) {
+                return objectMapper.readValue(stored.getTimelineJson(), TaskTimelineDto.class);
+            }
+            List<String> payloads = workItemRepository.findTracePayloads(taskId);
+            return payloads.isEmpty() ? null : merge(payloads);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to read timeline of task {}: {}", taskId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Merge the fragments of a task's items and store the result; called before the items are deleted
+     */
+    public void persist(String taskId) {
+        try {
+            List<String> payloads = workItemRepository.findTracePayloads(taskId);
+            if (payloads.isEmpty()) {
+                return;
+            }
+            ProfilingTaskTimeline timeline = new ProfilingTaskTimeline();
+            timeline.setTaskId(taskId);
+            timeline.setTimelineJson(objectMapper.writeValueAsString(merge(payloads)));
+            timelineRepository.save(timeline);
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Failed to persist timeline of task {}", taskId, e);
+        }
+    }
+
+    public void delete(String taskId) {
+        if (timelineRepository.existsById(taskId)) {
+            timelineRepository.deleteById(taskId);
+        }
+    }
+
+    TaskTimelineDto merge(List<String> payloads) throws JsonProcessingException {
+        TaskTimelineDto timeline = new TaskTimelineDto();
+        for (String payload : payloads) {
+            TaskTimelineDto fragment = objectMapper.readValue(payload, TaskTimelineDto.class);
+            timeline.getEntries().addAll(fragment.getEntries());
+            timeline.getSlowestQueries().addAll(fragment.getSlowestQueries());
+        }
+        timeline.getEntries().sort(Comparator.comparingLong(TaskTimelineDto.Entry::getStartedAt));
+        timeline.getSlowestQueries().sort(Comparator.comparingLong(TaskTimelineDto.SlowQuery::getDurationMillis).reversed());
+        if (timeline.getSlowestQueries().size() > slowQueryLimit) {
+            timeline.setSlowestQueries(new ArrayList<>(timeline.getSlowestQueries().subList(0, Math.max(0, slowQueryLimit))));
+        }
+        return timeline;
+    }
+}
@@ -0,0 +1,41 @@
+package com.dataprofiler.util;
+
+/**
+ * Entity tags of HTTP responses and If-None-Match matching
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Quoted strong entity tag: SHA-256 hex digest of the given parts
+     */
+    public static String strong(String... parts) {
+        return "\"" + RequestFingerprint.sha256(String.join("\n", parts)) + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header value matches the tag
+     * Uses the weak comparison RFC 7232 requires for If-None-Match, so a tag weakened by a proxy still matches.
+     *
+     * @param ifNoneMatch header value, null if absent
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String tag = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value) || opaque(value).equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,51 @@
+package com.dataprofiler.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Continuation token of keyset pagination over (timestamp, id), newest first
+ * The token encodes the key of the last row of a page; clients pass it back unchanged to get the rows after it.
+ */
+public final class KeysetCursor {
+
+    private final LocalDateTime time;
+    private final Long id;
+
+    private KeysetCursor(LocalDateTime time, Long id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public static String encode(LocalDateTime time, Long id) {
+        String key = time + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode}
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = key.lastIndexOf(',');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new KeysetCursor(LocalDateTime.parse(key.substring(0, separator)),
+                    Long.parseLong(key.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
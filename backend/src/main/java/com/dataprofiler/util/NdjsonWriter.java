@@ -0,0 +1,75 @@
+package com.dataprofiler.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+
+/**
+ * Writes values as newline-delimited JSON, one value per line, through a single generator
+ * Lines are flushed as the generator's buffer fills, not one by one, so compression of the response stays effective.
+ */
+public final class NdjsonWriter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NdjsonWriter.class);
+
+    private final JsonGenerator generator;
+    private final ObjectWriter lineWriter;
+    private long lines;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Write one value as a line; newlines inside strings are escaped by JSON, so a line is always one value
+     */
+    public void write(Object value) throws IOException {
+        lineWriter.writeValue(generator, value);
+        generator.writeRaw('\n');
+        lines++;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * Write an export, ending it with an {"error": message} line if it fails
+     * The response status is sent with the first bytes, so a failure after that can only be reported in the body;
+     * the error line tells clients the export is incomplete. Failures to write the output itself (client gone) are thrown.
+     */
+    public static void export(ObjectMapper objectMapper, OutputStream out, Export export) throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+            try {
+                export.writeTo(writer);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Export failed after {} lines", writer.getLines(), e);
+                writer.write(Collections.singletonMap("error", "Export failed: " + e.getMessage()));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    /**
+     * Producer of the lines of an export
+     */
+    @FunctionalInterface
+    public interface Export {
+        void writeTo(NdjsonWriter writer) throws IOException;
+    }
+}
@@ -0,0 +1,100 @@
+package com.dataprofiler.util;
+
+import com.dataprofiler.dto.request.DetailedReportRequest;
+import com.dataprofiler.dto.request.ProfilingTaskRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fingerprint of a profiling request, or of a detailed report request
+ * Two requests covering the same sources, schemas and tables with the same limits get the same fingerprint,
+ * regardless of map or list ordering. Scheduling options (priority, forceRefresh) are not part of it.
+ */
+public final class RequestFingerprint {
+
+    private RequestFingerprint() {
+    }
+
+    /**
+     * SHA-256 hex digest of the normalized request
+     */
+    public static String of(ProfilingTaskRequest request) {
+        return sha256(normalize(request));
+    }
+
+    static String normalize(ProfilingTaskRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append("fieldMaxLength=").append(request.getFieldMaxLength())
+                .append(";sampleDataLimit=").append(request.getSampleDataLimit());
+
+        Map<String, ProfilingTaskRequest.DataSourceScope> dataSources =
+                request.getDatasources() != null ? new TreeMap<>(request.getDatasources()) : Collections.emptyMap();
+        for (Map.Entry<String, ProfilingTaskRequest.DataSourceScope> source : dataSources.entrySet()) {
+            canonical.append(";source=").append(source.getKey()).append('{');
+            ProfilingTaskRequest.DataSourceScope scope = source.getValue();
+            appendSchemas(canonical, scope != null ? scope.getSchemas() : null);
+            canonical.append('}');
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * SHA-256 hex digest of the normalized detailed report request: filters, page, page size and format
+     */
+    public static String of(DetailedReportRequest request) {
+        return sha256(normalize(request));
+    }
+
+    static String normalize(DetailedReportRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append("taskId=").append(request.getTaskId())
+                .append(";page=").append(request.getPage())
+                .append(";pageSize=").append(request.getPageSize())
+                .append(";format=").append(request.getFormat());
+
+        // A missing or empty filter selects every table
+        DetailedReportRequest.FilterCriteria filters = request.getFilters();
+        if (filters == null || filters.getDataSources() == null) {
+            return canonical.toString();
+        }
+        for (Map.Entry<String, DetailedReportRequest.DataSourceScope> source : new TreeMap<>(filters.getDataSources()).entrySet()) {
+            canonical.append(";source=").append(source.getKey()).append('{');
+            DetailedReportRequest.DataSourceScope scope = source.getValue();
+            appendSchemas(canonical, scope != null ? scope.getSchemas() : null);
+            canonical.append('}');
+        }
+        return canonical.toString();
+    }
+
+    private static void appendSchemas(StringBuilder canonical, Map<String, List<String>> schemas) {
+        if (schemas == null) {
+            return;
+        }
+        // An empty table list means the whole schema, so it is kept distinct from a missing schema
+        for (Map.Entry<String, List<String>> schema : new TreeMap<>(schemas).entrySet()) {
+            List<String> tables = schema.getValue() != null ? new ArrayList<>(schema.getValue()) : new ArrayList<>();
+            Collections.sort(tables);
+            canonical.append(schema.getKey()).append('=').append(String.join(",", tables)).append(';');
+        }
+    }
+
+    static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
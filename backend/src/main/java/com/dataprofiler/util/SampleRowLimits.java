@@ -0,0 +1,77 @@
+package com.dataprofiler.util;
+
+import com.dataprofiler.entity.ProfilingTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sample row limits of a profiling task (fieldMaxLength and sampleDataLimit)
+ * Applied once when a report is assembled, so stored reports hold trimmed samples and reads return them as is.
+ */
+public final class SampleRowLimits {
+
+    public static final int DEFAULT_FIELD_MAX_LENGTH = 128;
+    public static final int DEFAULT_SAMPLE_DATA_LIMIT = 10;
+
+    private final int fieldMaxLength;
+    private final int sampleDataLimit;
+
+    public SampleRowLimits(int fieldMaxLength, int sampleDataLimit) {
+        this.fieldMaxLength = fieldMaxLength;
+        this.sampleDataLimit = sampleDataLimit;
+    }
+
+    /**
+     * Limits of a task, with the defaults for unset values or a missing task
+     */
+    public static SampleRowLimits of(ProfilingTask task) {
+        return new SampleRowLimits(
+                task != null && task.getFieldMaxLength() != null ? task.getFieldMaxLength() : DEFAULT_FIELD_MAX_LENGTH,
+                task != null && task.getSampleDataLimit() != null ? task.getSampleDataLimit() : DEFAULT_SAMPLE_DATA_LIMIT);
+    }
+
+    public int getFieldMaxLength() {
+        return fieldMaxLength;
+    }
+
+    public int getSampleDataLimit() {
+        return sampleDataLimit;
+    }
+
+    /**
+     * Copy of the first sampleDataLimit rows with long values truncated; the given rows are not modified
+     */
+    public List<List<Object>> apply(List<List<Object>> rows) {
+        if (rows == null) {
+            return null;
+        }
+        List<List<Object>> limited = new ArrayList<>(Math.min(rows.size(), sampleDataLimit));
+        for (List<Object> row : rows) {
+            if (limited.size() >= sampleDataLimit) {
+                break;
+            }
+            List<Object> values = new ArrayList<>(row.size());
+            for (Object value : row) {
+                values.add(truncate(value));
+            }
+            limited.add(values);
+        }
+        return limited;
+    }
+
+    /**
+     * Value cut to fieldMaxLength characters, with an ellipsis
+     * Numbers and booleans are kept as they are; other values are only converted to text when they are cut.
+     */
+    public Object truncate(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        String content = String.valueOf(value);
+        if (content.length() <= fieldMaxLength) {
+            return value;
+        }
+        return content.substring(0, fieldMaxLength) + "...";
+    }
+}
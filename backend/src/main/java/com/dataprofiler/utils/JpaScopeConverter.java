@@ -0,0 +1,51 @@
+package com.dataprofiler.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPA Converter for a profiling scope (schema name to table names) to JSON string conversion
+ * Used for storing the scope of profiling schedules
+ */
+@Converter
+public class JpaScopeConverter implements AttributeConverter<Map<String, List<String>>, String> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaScopeConverter.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, List<String>> attribute) {
+        if (attribute == null || attribute.isEmpty()) {
+            return "{}";
+        }
+
+        try {
+            return objectMapper.writeValueAsString(attribute);
+        } catch (Exception ex) {
+            logger.error("Error converting scope to JSON string", ex);
+            return "{}";
+        }
+    }
+
+    @Override
+    public Map<String, List<String>> convertToEntityAttribute(String dbData) {
+        if (dbData == null || dbData.trim().isEmpty()) {
+            return new HashMap<>();
+        }
+
+        try {
+            return objectMapper.readValue(dbData, new TypeReference<Map<String, List<String>>>() {});
+        } catch (Exception ex) {
+            logger.error("Error converting JSON string to scope: {}", dbData, ex);
+            return new HashMap<>();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.dataprofiler.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DataSourceConfig
+ */
+class DataSourceConfigTest {
+
+    @Test
+    void testEndpointWithHostAndPort() {
+        DataSourceConfig replica = source().withEndpoint("replica-1:5433");
+
+        assertEquals("replica-1", replica.getHost());
+        assertEquals(Integer.valueOf(5433), replica.getPort());
+        assertEquals("primary-db", source().getHost());
+        assertEquals("src-1", replica.getSourceId());
+        assertNull(replica.getConnectionUrl());
+    }
+
+    @Test
+    void testEndpointWithoutPortKeepsThePort() {
+        DataSourceConfig replica = source().withEndpoint("replica-1");
+
+        assertEquals("replica-1", replica.getHost());
+        assertEquals(Integer.valueOf(5432), replica.getPort());
+    }
+
+    @Test
+    void testIpv6Endpoints() {
+        DataSourceConfig bracketed = source().withEndpoint("[fd00::12]:5433");
+        assertEquals("[fd00::12]", bracketed.getHost());
+        assertEquals(Integer.valueOf(5433), bracketed.getPort());
+
+        DataSourceConfig bracketedWithoutPort = source().withEndpoint("[fd00::12]");
+        assertEquals("[fd00::12]", bracketedWithoutPort.getHost());
+        assertEquals(Integer.valueOf(5432), bracketedWithoutPort.getPort());
+
+        DataSourceConfig bare = source().withEndpoint("fd00::12");
+        assertEquals("[fd00::12]", bare.getHost());
+        assertEquals(Integer.valueOf(5432), bare.getPort());
+    }
+
+    @Test
+    void testJdbcUrlEndpoint() {
+        DataSourceConfig replica = source().withEndpoint("jdbc:postgresql://[fd00::12]:5433/app");
+
+        assertEquals("jdbc:postgresql://[fd00::12]:5433/app", replica.getConnectionUrl());
+    }
+
+    @Test
+    void testInvalidEndpointsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> source().withEndpoint("[fd00::12"));
+        assertThrows(IllegalArgumentException.class, () -> source().withEndpoint("[fd00::12]5433"));
+        assertThrows(IllegalArgumentException.class, () -> source().withEndpoint("replica-1:abc"));
+        assertThrows(IllegalArgumentException.class, () -> source().withEndpoint("replica-1,replica-2"));
+    }
+
+    @Test
+    void testReplicaEndpointsAreSeparatedByWhitespace() {
+        DataSourceConfig config = source();
+        config.getProperties().put("replicas", " replica-1:5433\n jdbc:postgresql://replica-2:5432,replica-3:5432/app\treplica-4 ");
+
+        assertEquals(Arrays.asList("replica-1:5433", "jdbc:postgresql://replica-2:5432,replica-3:5432/app", "replica-4"),
+                config.getReplicaEndpoints());
+        config.validateReplicaEndpoints();
+    }
+
+    @Test
+    void testInvalidReplicaEndpointsAreRejected() {
+        DataSourceConfig config = source();
+        config.getProperties().put("replicas", "replica-1 replica-2:abc");
+
+        assertThrows(IllegalArgumentException.class, config::validateReplicaEndpoints);
+    }
+
+    private static DataSourceConfig source() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("host", "primary-db");
+        properties.put("port", "5432");
+        DataSourceConfig config = new DataSourceConfig("db", DataSourceConfig.DataSourceType.POSTGRESQL, properties);
+        config.setSourceId("src-1");
+        return config;
+    }
+}
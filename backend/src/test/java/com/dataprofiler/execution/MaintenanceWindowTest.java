@@ -0,0 +1,40 @@
+package com.dataprofiler.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MaintenanceWindow
+ */
+class MaintenanceWindowTest {
+
+    // 2024-01-01 is a Monday
+    private final MaintenanceWindow window = MaintenanceWindow.parse("MON-FRI 22:00-06:00; SAT,SUN 00:00-24:00", ZoneOffset.UTC);
+
+    @Test
+    void testRangesCrossingMidnightBelongToTheirStartDay() {
+        assertFalse(window.isOpen(at("2024-01-01T21:59:00")));
+        assertTrue(window.isOpen(at("2024-01-01T22:00:00")));
+        assertTrue(window.isOpen(at("2024-01-02T05:59:00")));
+        assertFalse(window.isOpen(at("2024-01-02T06:00:00")));
+        assertTrue(window.isOpen(at("2024-01-07T23:59:00")));
+        // Sunday is not in MON-FRI, so nothing spills over into Monday morning
+        assertFalse(window.isOpen(at("2024-01-08T00:30:00")));
+    }
+
+    @Test
+    void testNextOpening() {
+        assertEquals(at("2024-01-01T22:00:00"), window.nextOpening(at("2024-01-01T10:00:00")));
+        assertEquals(at("2024-01-06T00:00:00"), window.nextOpening(at("2024-01-06T00:00:00")));
+        assertThrows(IllegalArgumentException.class, () -> MaintenanceWindow.parse("MON 25:00-26:00", ZoneOffset.UTC));
+        assertThrows(IllegalArgumentException.class, () -> MaintenanceWindow.parse("XYZ 01:00-02:00", ZoneOffset.UTC));
+    }
+
+    private static Instant at(String utc) {
+        return Instant.parse(utc + "Z");
+    }
+}
@@ -0,0 +1,106 @@
+package com.dataprofiler.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProfilingContext
+ */
+class ProfilingContextTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @AfterEach
+    void tearDown() {
+        ProfilingContext.clear();
+    }
+
+    @Test
+    void testPausedTimeDoesNotCountAgainstTheDeadline() {
+        ProfilingContext context = new ProfilingContext("task-1", START.plusSeconds(60));
+
+        assertTrue(context.pause(START.plusSeconds(30)));
+        assertFalse(context.pause(START.plusSeconds(40)));
+        assertTrue(context.isPaused());
+        // No deadline is missed while waiting
+        assertFalse(context.isPastDeadline(START.plusSeconds(600)));
+
+        assertTrue(context.resume(START.plusSeconds(130)));
+        assertFalse(context.resume(START.plusSeconds(140)));
+        assertFalse(context.isPaused());
+        assertEquals(START.plusSeconds(160), context.getDeadline());
+        assertFalse(context.isPastDeadline(START.plusSeconds(150)));
+        assertTrue(context.isPastDeadline(START.plusSeconds(161)));
+    }
+
+    @Test
+    void testCancelStopsInFlightStatementsOnce() throws SQLException {
+        AtomicInteger cancelled = new AtomicInteger();
+        ProfilingContext context = new ProfilingContext("task-1", null);
+        ProfilingContext.bind(context);
+        Connection connection = ProfilingContext.track(connection(cancelled), "POSTGRESQL");
+        connection.createStatement();
+
+        assertFalse(ProfilingContext.isCurrentCancelled());
+        assertTrue(context.cancel(ProfilingContext.CancelReason.TIMED_OUT));
+        assertFalse(context.cancel(ProfilingContext.CancelReason.CANCELLED));
+
+        assertEquals(1, cancelled.get());
+        assertEquals(ProfilingContext.CancelReason.TIMED_OUT, context.getCancelReason());
+        assertTrue(ProfilingContext.isCurrentCancelled());
+    }
+
+    @Test
+    void testNoStatementIsCreatedAfterCancel() {
+        ProfilingContext context = new ProfilingContext("task-1", null);
+        ProfilingContext.bind(context);
+        Connection connection = ProfilingContext.track(connection(new AtomicInteger()), "POSTGRESQL");
+        context.cancel(ProfilingContext.CancelReason.CANCELLED);
+
+        assertThrows(SQLException.class, connection::createStatement);
+        assertTrue(context.hasOpenConnections());
+    }
+
+    @Test
+    void testConnectionsAreNotTrackedOutsideOfATask() {
+        Connection connection = connection(new AtomicInteger());
+
+        assertSame(connection, ProfilingContext.track(connection, "POSTGRESQL"));
+        assertFalse(ProfilingContext.isCurrentCancelled());
+    }
+
+    /**
+     * Connection whose statements count calls to cancel()
+     */
+    private static Connection connection(AtomicInteger cancelled) {
+        Statement statement = fake(Statement.class, "cancel", () -> {
+            cancelled.incrementAndGet();
+            return null;
+        });
+        return fake(Connection.class, "createStatement", () -> statement);
+    }
+
+    private static <T> T fake(Class<T> type, String methodName, Callable<Object> answer) {
+        return type.cast(Proxy.newProxyInstance(ProfilingContextTest.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return method.getName().equals(methodName) ? answer.call() : null;
+                    }
+                }));
+    }
+}
@@ -0,0 +1,168 @@
+package com.dataprofiler.execution;
+
+import com.dataprofiler.entity.DataSourceConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProfilingWorkScheduler
+ */
+class ProfilingWorkSchedulerTest {
+
+    private ProfilingWorkScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void testTasksAreInterleavedByPriority() throws InterruptedException {
+        scheduler = new ProfilingWorkScheduler(1, 10);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2);
+        DataSourceConfig source = source("ds-1", null);
+
+        scheduler.register(new ProfilingContext("long", null), 5, done::countDown);
+        scheduler.register(new ProfilingContext("short", null), 5, done::countDown);
+        for (int i = 0; i < 6; i++) {
+            scheduler.submit("long", source, () -> order.add("long"));
+        }
+        for (int i = 0; i < 2; i++) {
+            scheduler.submit("short", source, () -> order.add("short"));
+        }
+        scheduler.release("long");
+        scheduler.release("short");
+        scheduler.start();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("long", "short", "long", "short", "long", "long", "long", "long"), order);
+    }
+
+    @Test
+    void testPerSourceConcurrencyLimit() throws InterruptedException {
+        scheduler = new ProfilingWorkScheduler(4, 10);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        DataSourceConfig source = source("ds-1", "1");
+
+        scheduler.start();
+        scheduler.register(new ProfilingContext("task", null), 5, done::countDown);
+        for (int i = 0; i < 6; i++) {
+            scheduler.submit("task", source, () -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                sleep(20);
+                inFlight.decrementAndGet();
+            });
+        }
+        scheduler.release("task");
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    void testRetainSubmitsToDrainedTaskOnlyAfterRegistering() throws InterruptedException {
+        scheduler = new ProfilingWorkScheduler(1, 10);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        DataSourceConfig source = source("ds-1", null);
+
+        scheduler.start();
+        assertFalse(scheduler.retain("task"));
+        scheduler.register(new ProfilingContext("task", null), 5, done::countDown);
+        assertTrue(scheduler.retain("task"));
+        scheduler.submit("task", source, runs::incrementAndGet);
+        scheduler.release("task");
+        scheduler.release("task");
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        assertFalse(scheduler.retain("task"));
+    }
+
+    @Test
+    void testCancelledTaskDropsQueuedWork() throws InterruptedException {
+        scheduler = new ProfilingWorkScheduler(1, 10);
+        ProfilingContext context = new ProfilingContext("task", null);
+        AtomicInteger executed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        DataSourceConfig source = source("ds-1", null);
+
+        scheduler.register(context, 5, done::countDown);
+        scheduler.submit("task", source, () -> {
+            executed.incrementAndGet();
+            context.cancel(ProfilingContext.CancelReason.CANCELLED);
+        });
+        for (int i = 0; i < 5; i++) {
+            scheduler.submit("task", source, executed::incrementAndGet);
+        }
+        scheduler.release("task");
+        scheduler.start();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, executed.get());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void testScansWaitForMaintenanceWindow() throws InterruptedException {
+        scheduler = new ProfilingWorkScheduler(2, 10);
+        ProfilingContext context = new ProfilingContext("task", null);
+        AtomicInteger catalog = new AtomicInteger();
+        AtomicInteger scans = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        DataSourceConfig source = source("ds-1", null);
+        // A one-hour window starting two hours from now is closed right now
+        int hour = (LocalTime.now().getHour() + 2) % 24;
+        source.getProperties().put("maintenanceWindows", String.format("%02d:00-%02d:00", hour, (hour + 1) % 24));
+
+        scheduler.start();
+        scheduler.register(context, 5, done::countDown);
+        scheduler.submit("task", source, ProfilingWorkScheduler.WorkKind.CATALOG, catalog::incrementAndGet);
+        scheduler.submit("task", source, scans::incrementAndGet);
+        scheduler.release("task");
+
+        sleep(300);
+        assertEquals(1, catalog.get());
+        assertEquals(0, scans.get());
+        assertTrue(context.isPaused());
+
+        context.cancel(ProfilingContext.CancelReason.CANCELLED);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, scans.get());
+    }
+
+    private DataSourceConfig source(String sourceId, String maxConcurrentQueries) {
+        Map<String, String> properties = new HashMap<>();
+        if (maxConcurrentQueries != null) {
+            properties.put("maxConcurrentQueries", maxConcurrentQueries);
+        }
+        DataSourceConfig config = new DataSourceConfig(sourceId, DataSourceConfig.DataSourceType.MYSQL, properties);
+        config.setSourceId(sourceId);
+        return config;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.dataprofiler.execution;
+
+import com.dataprofiler.dto.response.TaskTimelineDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueryTrace
+ */
+class QueryTraceTest {
+
+    @AfterEach
+    void tearDown() {
+        QueryTrace.clear();
+    }
+
+    @Test
+    void testStatementsAreGroupedByColumn() {
+        QueryTrace trace = new QueryTrace("ds-1", "TABLE", "public.orders", 5);
+
+        trace.start("SELECT COUNT(*) FROM orders").finish(1, false);
+        QueryTrace.enterColumn("customer_id");
+        QueryTrace.Span span = trace.start("SELECT customer_id FROM orders");
+        span.addRow();
+        span.addRow();
+        span.finish(false);
+        span.finish(false);
+        trace.start("SELECT COUNT(DISTINCT customer_id) FROM orders").finish(1, false);
+        QueryTrace.exitColumn();
+
+        TaskTimelineDto.Entry entry = trace.toEntry();
+        assertEquals("public.orders", entry.getTable());
+        assertEquals(3, entry.getQueries());
+        assertEquals(4, entry.getRowsReturned());
+        assertEquals(2, entry.getColumns().size());
+        assertNull(entry.getColumns().get(0).getColumn());
+        assertEquals("customer_id", entry.getColumns().get(1).getColumn());
+        assertEquals(2, entry.getColumns().get(1).getQueries());
+        assertEquals(3, entry.getColumns().get(1).getRowsReturned());
+    }
+
+    @Test
+    void testOnlySlowestQueriesAreKept() throws InterruptedException {
+        QueryTrace trace = new QueryTrace("ds-1", "TABLE", "public.orders", 2);
+
+        QueryTrace.Span slow = trace.start("slow");
+        QueryTrace.Span slower = trace.start("slower");
+        Thread.sleep(20);
+        slow.finish(-1, false);
+        Thread.sleep(20);
+        slower.finish(-1, true);
+        for (int i = 0; i < 5; i++) {
+            trace.start("fast " + i).finish(-1, false);
+        }
+
+        List<TaskTimelineDto.SlowQuery> slowest = trace.getSlowestQueries();
+        assertEquals(2, slowest.size());
+        assertEquals("slower", slowest.get(0).getSql());
+        assertTrue(slowest.get(0).isFailed());
+        assertEquals("slow", slowest.get(1).getSql());
+        assertEquals(7, trace.toEntry().getQueries());
+    }
+}
@@ -0,0 +1,60 @@
+package com.dataprofiler.execution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SourceThrottle
+ */
+class SourceThrottleTest {
+
+    @Test
+    void testBacksOffUnderLoadAndRecoversWhenIdle() {
+        SourceThrottle throttle = new SourceThrottle();
+        assertEquals(SourceThrottle.Decision.HOLD, throttle.onSample(10, 2.0, 16, 4, 8));
+        assertEquals(8, throttle.effectiveLimit(8));
+
+        assertEquals(SourceThrottle.Decision.BACK_OFF, throttle.onSample(10, 20.0, 16, 4, 8));
+        assertEquals(4, throttle.effectiveLimit(8));
+        assertEquals(SourceThrottle.INITIAL_PACING_MILLIS, throttle.getPacingMillis());
+
+        assertEquals(SourceThrottle.Decision.BACK_OFF, throttle.onSample(10, 20.0, 16, 4, 8));
+        assertEquals(2, throttle.effectiveLimit(8));
+        assertEquals(2 * SourceThrottle.INITIAL_PACING_MILLIS, throttle.getPacingMillis());
+
+        // Idle: pacing is removed first, then the limit grows by one per sample
+        throttle.onSample(10, 1.0, 16, 4, 8);
+        throttle.onSample(10, 1.0, 16, 4, 8);
+        assertEquals(0, throttle.getPacingMillis());
+        assertEquals(2, throttle.effectiveLimit(8));
+        assertEquals(SourceThrottle.Decision.SPEED_UP, throttle.onSample(10, 1.0, 16, 4, 8));
+        assertEquals(3, throttle.effectiveLimit(8));
+    }
+
+    @Test
+    void testLatencySpikeWithoutLoadIndicator() {
+        SourceThrottle throttle = new SourceThrottle();
+        throttle.onSample(5, null, 16, 4, 4);
+
+        assertEquals(SourceThrottle.Decision.BACK_OFF, throttle.onSample(500, null, 16, 4, 4));
+        assertEquals(2, throttle.effectiveLimit(4));
+        assertEquals(1, throttle.effectiveLimit(1));
+    }
+
+    @Test
+    void testSlowWorkItemsBackOffWhileProbeIsFast() {
+        SourceThrottle throttle = new SourceThrottle();
+        throttle.onWorkLatency(15);
+        assertEquals(SourceThrottle.Decision.HOLD, throttle.onSample(2, null, 16, 4, 4));
+
+        // The probe alone looks idle, but connects of work items got much slower than their own baseline
+        throttle.onWorkLatency(20);
+        throttle.onWorkLatency(400);
+        assertEquals(SourceThrottle.Decision.BACK_OFF, throttle.onSample(2, null, 16, 4, 4));
+        assertEquals(2, throttle.effectiveLimit(4));
+
+        // Observations are used once; without new ones the probe decides
+        assertEquals(SourceThrottle.Decision.SPEED_UP, throttle.onSample(2, null, 16, 4, 4));
+    }
+}
@@ -0,0 +1,232 @@
+package com.dataprofiler.execution;
+
+import com.dataprofiler.entity.ProfilingTask;
+import com.dataprofiler.entity.ProfilingWorkItem;
+import com.dataprofiler.repository.ProfilingWorkItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WorkItemLeases
+ * Two instances share the real repository on an in-memory H2 database, so the conditional updates are the ones that ship.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class WorkItemLeasesTest {
+
+    @Autowired
+    private ProfilingWorkItemRepository workItemRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private WorkItemLeases nodeA;
+    private WorkItemLeases nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new WorkItemLeases(workItemRepository, "node-a", 60);
+        nodeB = new WorkItemLeases(workItemRepository, "node-b", 60);
+    }
+
+    @Test
+    void testOnlyOneInstanceClaimsAnItem() {
+        ProfilingWorkItem item = add("task-1", 5);
+
+        assertTrue(nodeA.tryClaim(item));
+        assertFalse(nodeB.tryClaim(item));
+
+        ProfilingWorkItem stored = reload(item);
+        assertEquals("node-a", stored.getOwnerNode());
+        assertEquals(ProfilingWorkItem.Status.CLAIMED, stored.getStatus());
+        assertEquals(1, stored.getAttempts());
+        assertEquals(1, nodeA.getHeldCount());
+        assertEquals(0, nodeB.getHeldCount());
+        assertEquals("task-1", nodeA.getHeld().get(0).getTaskId());
+    }
+
+    @Test
+    void testHeldItemIsNotClaimedAgain() {
+        ProfilingWorkItem item = add("task-1", 5);
+        nodeA.tryClaim(item);
+        expireLeases();
+
+        // The item still runs here although its lease lapsed
+        assertTrue(nodeA.isHeld(item.getId()));
+        assertFalse(nodeA.tryClaim(item));
+        assertEquals(1, reload(item).getAttempts());
+    }
+
+    @Test
+    void testRenewExtendsTheLeasesOfHeldItems() {
+        ProfilingWorkItem item = add("task-1", 5);
+        nodeA.tryClaim(item);
+        LocalDateTime shortened = LocalDateTime.now().plusSeconds(5);
+        setLeases(shortened);
+
+        nodeA.renew();
+
+        assertTrue(reload(item).getLeaseExpiresAt().isAfter(shortened.plusSeconds(30)));
+    }
+
+    @Test
+    void testExpiredLeaseIsReassigned() {
+        ProfilingWorkItem item = add("task-1", 5);
+        nodeA.tryClaim(item);
+        nodeA.markStarted(item.getId());
+        assertTrue(nodeA.getHeld().get(0).isStarted());
+
+        // node-a stops renewing, e.g. because it hangs
+        expireLeases();
+        assertTrue(nodeB.tryClaim(item));
+        nodeA.renew();
+
+        ProfilingWorkItem stored = reload(item);
+        assertEquals("node-b", stored.getOwnerNode());
+        assertEquals(2, stored.getAttempts());
+        // The outcome of the instance that lost its lease is discarded
+        assertFalse(nodeA.complete(item.getId(), ProfilingWorkItem.Status.DONE, "stale", null, null));
+        assertEquals(0, nodeA.getHeldCount());
+        assertEquals(ProfilingWorkItem.Status.CLAIMED, reload(item).getStatus());
+        assertTrue(nodeB.complete(item.getId(), ProfilingWorkItem.Status.DONE, "fresh", null, null));
+        stored = reload(item);
+        assertEquals(ProfilingWorkItem.Status.DONE, stored.getStatus());
+        assertEquals("fresh", stored.getResultPayload());
+        assertNull(stored.getLeaseExpiresAt());
+    }
+
+    @Test
+    void testOnlyExpiredLeasesAreAbandoned() {
+        ProfilingWorkItem item = add("task-1", 5);
+        nodeA.tryClaim(item);
+
+        assertEquals(0, workItemRepository.abandon(item.getId(), "Lease expired", LocalDateTime.now()));
+        expireLeases();
+        assertEquals(1, workItemRepository.abandon(item.getId(), "Lease expired", LocalDateTime.now()));
+
+        assertEquals(ProfilingWorkItem.Status.FAILED, reload(item).getStatus());
+        assertFalse(nodeA.complete(item.getId(), ProfilingWorkItem.Status.DONE, "late", null, null));
+    }
+
+    @Test
+    void testCancelUnownedSkipsItemsThatAreStillRunning() {
+        ProfilingWorkItem running = add("task-1", 5);
+        ProfilingWorkItem orphaned = add("task-1", 5);
+        ProfilingWorkItem pending = add("task-1", 5);
+        ProfilingWorkItem otherTask = add("task-2", 5);
+        nodeB.tryClaim(orphaned);
+        expireLeases();
+        nodeA.tryClaim(running);
+
+        assertEquals(2, workItemRepository.cancelUnowned("task-1", LocalDateTime.now()));
+
+        assertEquals(ProfilingWorkItem.Status.CLAIMED, reload(running).getStatus());
+        assertEquals(ProfilingWorkItem.Status.CANCELLED, reload(orphaned).getStatus());
+        assertEquals(ProfilingWorkItem.Status.CANCELLED, reload(pending).getStatus());
+        assertEquals(ProfilingWorkItem.Status.PENDING, reload(otherTask).getStatus());
+        assertTrue(nodeA.complete(running.getId(), ProfilingWorkItem.Status.CANCELLED, null, null, null));
+    }
+
+    @Test
+    void testItemsOfStoppedTasksAreNotClaimable() {
+        addTask("task-1", null);
+        addTask("task-2", ProfilingTask.TaskStatus.CANCELLED);
+        ProfilingWorkItem low = add("task-1", 1);
+        ProfilingWorkItem stopped = add("task-2", 9);
+        ProfilingWorkItem high = add("task-1", 9);
+        ProfilingWorkItem expired = add("task-1", 5);
+        ProfilingWorkItem live = add("task-1", 5);
+        nodeB.tryClaim(expired);
+        expireLeases();
+        nodeA.tryClaim(live);
+
+        List<Long> claimable = workItemRepository.findClaimable(LocalDateTime.now(), PageRequest.of(0, 10)).stream()
+                .map(ProfilingWorkItem::getId)
+                .collect(Collectors.toList());
+
+        assertFalse(claimable.contains(stopped.getId()));
+        assertFalse(claimable.contains(live.getId()));
+        assertEquals(Arrays.asList(high.getId(), expired.getId(), low.getId()), claimable);
+    }
+
+    @Test
+    void testReleasedItemsAreClaimedByOtherInstances() {
+        ProfilingWorkItem first = add("task-1", 5);
+        ProfilingWorkItem second = add("task-1", 5);
+        nodeA.tryClaim(first);
+        nodeA.tryClaim(second);
+
+        nodeA.releaseAll();
+
+        assertEquals(0, nodeA.getHeldCount());
+        ProfilingWorkItem stored = reload(first);
+        assertEquals(ProfilingWorkItem.Status.PENDING, stored.getStatus());
+        assertNull(stored.getOwnerNode());
+        assertTrue(nodeB.tryClaim(first));
+        assertTrue(nodeB.tryClaim(second));
+        assertEquals(2, nodeB.getHeldCount());
+    }
+
+    @Test
+    void testLongErrorsAreTruncated() {
+        ProfilingWorkItem item = add("task-1", 5);
+        nodeA.tryClaim(item);
+        StringBuilder error = new StringBuilder();
+        for (int i = 0; i < 1500; i++) {
+            error.append('x');
+        }
+
+        assertTrue(nodeA.complete(item.getId(), ProfilingWorkItem.Status.FAILED, null, error.toString(), null));
+        assertEquals(1000, reload(item).getError().length());
+    }
+
+    private ProfilingWorkItem add(String taskId, int priority) {
+        ProfilingWorkItem item = new ProfilingWorkItem();
+        item.setTaskId(taskId);
+        item.setSourceId("ds-1");
+        item.setKind(ProfilingWorkItem.Kind.TABLE);
+        item.setPriority(priority);
+        return entityManager.persistFlushFind(item);
+    }
+
+    private void addTask(String taskId, ProfilingTask.TaskStatus stopStatus) {
+        ProfilingTask task = new ProfilingTask();
+        task.setTaskId(taskId);
+        task.setName(taskId);
+        task.setStatus(ProfilingTask.TaskStatus.RUNNING);
+        task.setStopStatus(stopStatus);
+        entityManager.persistAndFlush(task);
+    }
+
+    /**
+     * Let the leases of all claimed items lapse, as if their owners stopped renewing them
+     */
+    private void expireLeases() {
+        setLeases(LocalDateTime.now().minusSeconds(1));
+    }
+
+    private void setLeases(LocalDateTime leaseUntil) {
+        entityManager.getEntityManager()
+                .createQuery("UPDATE ProfilingWorkItem w SET w.leaseExpiresAt = :leaseUntil WHERE w.leaseExpiresAt IS NOT NULL")
+                .setParameter("leaseUntil", leaseUntil)
+                .executeUpdate();
+    }
+
+    /**
+     * Read an item as stored, bypassing the copies cached before the bulk updates
+     */
+    private ProfilingWorkItem reload(ProfilingWorkItem item) {
+        entityManager.clear();
+        return entityManager.find(ProfilingWorkItem.class, item.getId());
+    }
+}
@@ -0,0 +1,80 @@
+package com.dataprofiler.profiler;
+
+import com.dataprofiler.dto.internal.RawProfileDataDto;
+import com.dataprofiler.execution.ProfilingContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AbstractDatabaseProfiler
+ */
+class AbstractDatabaseProfilerTest {
+
+    @AfterEach
+    void tearDown() {
+        ProfilingContext.clear();
+    }
+
+    @Test
+    void testMarkLobColumnAddsToExistingMetadata() {
+        RawProfileDataDto.ColumnData column = new RawProfileDataDto.ColumnData();
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("copy_fast_path", true);
+        column.setColumnMetadata(metadata);
+
+        AbstractDatabaseProfiler.markLobColumn(column, "md5");
+
+        assertEquals(true, column.getColumnMetadata().get("lob"));
+        assertEquals("md5", column.getColumnMetadata().get("distinct_strategy"));
+        assertEquals(AbstractDatabaseProfiler.LOB_PREFIX_LENGTH, column.getColumnMetadata().get("sample_prefix_length"));
+        assertEquals(true, column.getColumnMetadata().get("copy_fast_path"));
+    }
+
+    @Test
+    void testMarkLobColumnWithPrefixKey() {
+        RawProfileDataDto.ColumnData column = new RawProfileDataDto.ColumnData();
+
+        AbstractDatabaseProfiler.markLobColumn(column, "prefix", "distinct_prefix_length");
+
+        assertNotNull(column.getColumnMetadata());
+        assertEquals(true, column.getColumnMetadata().get("lob"));
+        assertEquals("prefix", column.getColumnMetadata().get("distinct_strategy"));
+        assertEquals(AbstractDatabaseProfiler.LOB_PREFIX_LENGTH, column.getColumnMetadata().get("distinct_prefix_length"));
+        assertFalse(column.getColumnMetadata().containsKey("sample_prefix_length"));
+    }
+
+    @Test
+    void testMarkColumnFailedKeepsExistingMetadata() throws SQLException {
+        RawProfileDataDto.ColumnData column = new RawProfileDataDto.ColumnData();
+        column.setColumnName("payload");
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("is_primary_key", false);
+        column.setColumnMetadata(metadata);
+
+        AbstractDatabaseProfiler.markColumnFailed(column, "main.events", new SQLException("no such function: md5"));
+
+        assertEquals(true, column.getColumnMetadata().get("profiling_failed"));
+        assertEquals("no such function: md5", column.getColumnMetadata().get("profiling_error"));
+        assertEquals(false, column.getColumnMetadata().get("is_primary_key"));
+    }
+
+    @Test
+    void testMarkColumnFailedRethrowsWhenTheTaskWasStopped() {
+        ProfilingContext context = new ProfilingContext("task-1", null);
+        ProfilingContext.bind(context);
+        context.cancel(ProfilingContext.CancelReason.CANCELLED);
+        RawProfileDataDto.ColumnData column = new RawProfileDataDto.ColumnData();
+        SQLException failure = new SQLException("Statement cancelled");
+
+        SQLException e = assertThrows(SQLException.class,
+                () -> AbstractDatabaseProfiler.markColumnFailed(column, "main.events", failure));
+        assertSame(failure, e);
+        assertNull(column.getColumnMetadata());
+    }
+}
@@ -0,0 +1,57 @@
+package com.dataprofiler.profiler;
+
+import com.dataprofiler.entity.DataSourceConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ProfilerRegistry
+ */
+class ProfilerRegistryTest {
+
+    private IDatabaseProfiler mysqlProfiler;
+    private IDatabaseProfiler sqliteProfiler;
+    private ProfilerRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        mysqlProfiler = profiler("MYSQL");
+        sqliteProfiler = profiler("SQLITE");
+        registry = new ProfilerRegistry(Arrays.asList(mysqlProfiler, sqliteProfiler));
+    }
+
+    @Test
+    void testProfilerIsChosenByType() {
+        assertSame(mysqlProfiler, registry.getProfiler(source(DataSourceConfig.DataSourceType.MYSQL)));
+        assertSame(sqliteProfiler, registry.getProfiler("SQLITE"));
+    }
+
+    @Test
+    void testFileSourcesUseTheMySqlProfiler() {
+        assertSame(mysqlProfiler, registry.getProfiler(source(DataSourceConfig.DataSourceType.FILE)));
+    }
+
+    @Test
+    void testUnsupportedTypeIsRejected() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> registry.getProfiler(source(DataSourceConfig.DataSourceType.ORACLE)));
+    }
+
+    private static IDatabaseProfiler profiler(String type) {
+        IDatabaseProfiler profiler = mock(IDatabaseProfiler.class);
+        when(profiler.supports(type)).thenReturn(true);
+        return profiler;
+    }
+
+    private static DataSourceConfig source(DataSourceConfig.DataSourceType type) {
+        DataSourceConfig source = new DataSourceConfig();
+        source.setType(type);
+        return source;
+    }
+}
@@ -0,0 +1,98 @@
+package com.dataprofiler.profiler;
+
+import com.dataprofiler.dto.internal.RawProfileDataDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProfilingCostModel
+ */
+class ProfilingCostModelTest {
+
+    @Test
+    void testStrategyFollowsSamplingThreshold() {
+        assertEquals(ProfilingCostModel.Strategy.EXACT, ProfilingCostModel.strategy(null));
+        // A catalog estimate of 0 usually means never analyzed; the profilers still count such tables
+        assertEquals(ProfilingCostModel.Strategy.EXACT, ProfilingCostModel.strategy(0L));
+        assertEquals(ProfilingCostModel.Strategy.EXACT, ProfilingCostModel.strategy(ProfilingCostModel.SAMPLING_THRESHOLD_ROWS));
+        assertEquals(ProfilingCostModel.Strategy.SAMPLED, ProfilingCostModel.strategy(ProfilingCostModel.SAMPLING_THRESHOLD_ROWS + 1));
+    }
+
+    @Test
+    void testQueriesAndRowsScanned() {
+        assertEquals(4 + 1 + 2 * 3, ProfilingCostModel.queries(ProfilingCostModel.Strategy.EXACT, 3));
+        assertEquals(4 + 2 * 3, ProfilingCostModel.queries(ProfilingCostModel.Strategy.SAMPLED, 3));
+
+        assertEquals(Long.valueOf(1000L * 4), ProfilingCostModel.rowsScanned(ProfilingCostModel.Strategy.EXACT, 1000L, 3, 1.0));
+        assertEquals(Long.valueOf(20_000_000L * 2 * 3 / 100),
+                ProfilingCostModel.rowsScanned(ProfilingCostModel.Strategy.SAMPLED, 20_000_000L, 3, 0.01));
+        assertEquals(Long.valueOf(0L), ProfilingCostModel.rowsScanned(ProfilingCostModel.Strategy.EXACT, 0L, 3, 1.0));
+        assertNull(ProfilingCostModel.rowsScanned(ProfilingCostModel.Strategy.EXACT, null, 3, 1.0));
+    }
+
+    @Test
+    void testObservedCostOfColumnQueriesMatchesTheEstimate() {
+        RawProfileDataDto.TableData table = table(1000L, column("a", null), column("b", null), column("c", null));
+
+        assertEquals(ProfilingCostModel.queries(ProfilingCostModel.Strategy.EXACT, 3), ProfilingCostModel.observedQueries(table));
+        assertEquals(1000L * 4, ProfilingCostModel.observedRowsScanned(table, 0.01));
+        assertEquals(ProfilingCostModel.costUnits(11, 4000), ProfilingCostModel.observedCostUnits(table, 0.01));
+    }
+
+    @Test
+    void testObservedCostOfLobColumns() {
+        RawProfileDataDto.TableData table = table(1000L, column("id", null), column("doc", "lob"));
+
+        assertEquals(1000L * 3, ProfilingCostModel.observedRowsScanned(table, 1.0));
+        long weighted = 1000L + 1000L * (1 + ProfilingCostModel.LOB_ROW_WEIGHT);
+        assertEquals(ProfilingCostModel.costUnits(4 + 1 + 2 * 2, weighted), ProfilingCostModel.observedCostUnits(table, 1.0));
+    }
+
+    @Test
+    void testObservedCostOfCopyPass() {
+        RawProfileDataDto.TableData table = table(1000L, column("a", "copy_fast_path"), column("b", "copy_fast_path"));
+
+        // Metadata, COUNT(*) and one COPY reading the rows once
+        assertEquals(4 + 1 + 1, ProfilingCostModel.observedQueries(table));
+        assertEquals(1000L + 1000L, ProfilingCostModel.observedRowsScanned(table, 1.0));
+    }
+
+    @Test
+    void testObservedCostOfPartitionsSkipsReusedOnes() {
+        RawProfileDataDto.TableData table = table(1000L, column("a", null), column("b", null));
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("partition_count", 4);
+        metadata.put("partitions_scanned", 1);
+        metadata.put("partition_rows_scanned", 250L);
+        table.setTableMetadata(metadata);
+
+        assertEquals(4 + 1 + (1 + 1) * 2, ProfilingCostModel.observedQueries(table));
+        assertEquals(1000L + 250L * 2, ProfilingCostModel.observedRowsScanned(table, 1.0));
+    }
+
+    private static RawProfileDataDto.TableData table(Long rows, RawProfileDataDto.ColumnData... columns) {
+        RawProfileDataDto.TableData table = new RawProfileDataDto.TableData("t", "s");
+        table.setRowCount(rows);
+        List<RawProfileDataDto.ColumnData> list = new ArrayList<>();
+        Collections.addAll(list, columns);
+        table.setColumns(list);
+        return table;
+    }
+
+    private static RawProfileDataDto.ColumnData column(String name, String flag) {
+        RawProfileDataDto.ColumnData column = new RawProfileDataDto.ColumnData(name, "VARCHAR");
+        if (flag != null) {
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put(flag, true);
+            column.setColumnMetadata(metadata);
+        }
+        return column;
+    }
+}
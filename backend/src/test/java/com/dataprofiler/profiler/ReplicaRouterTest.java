@@ -0,0 +1,120 @@
+package com.dataprofiler.profiler;
+
+import com.dataprofiler.entity.DataSourceConfig;
+import com.dataprofiler.exception.ProfilingException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReplicaRouter
+ */
+class ReplicaRouterTest {
+
+    private final Map<String, Long> lags = new HashMap<>();
+    private final AtomicInteger lagQueries = new AtomicInteger();
+
+    @Test
+    void testSourceWithoutReplicasUsesThePrimary() {
+        DataSourceConfig primary = source(null, false);
+
+        assertSame(primary, new ReplicaRouter(30).routeForScan(primary, profiler()));
+        assertEquals(0, lagQueries.get());
+    }
+
+    @Test
+    void testLaggingReplicaIsSkipped() {
+        lags.put("replica-1", 120L);
+        lags.put("replica-2", 2L);
+        DataSourceConfig primary = source("replica-1 replica-2", false);
+        ReplicaRouter router = new ReplicaRouter(30);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-2", router.routeForScan(primary, profiler()).getHost());
+        }
+        // Health is cached per endpoint
+        assertEquals(2, lagQueries.get());
+    }
+
+    @Test
+    void testEndpointWithoutLagIsNotUsed() {
+        // A primary (not in recovery) or an engine that cannot tell reports no lag
+        lags.put("replica-1", null);
+        ReplicaRouter router = new ReplicaRouter(30);
+
+        ProfilingException e = assertThrows(ProfilingException.class,
+                () -> router.routeForScan(source("replica-1", false), profiler()));
+        assertTrue(e.getMessage().contains("failover"));
+
+        DataSourceConfig primary = source("replica-1", true);
+        assertSame(primary, router.routeForScan(primary, profiler()));
+    }
+
+    @Test
+    void testReplicaFallingBehindIsEvicted() {
+        lags.put("replica-1", 1L);
+        DataSourceConfig primary = source("replica-1", true);
+        ReplicaRouter router = new ReplicaRouter(0);
+
+        assertEquals("replica-1", router.routeForScan(primary, profiler()).getHost());
+
+        lags.put("replica-1", 31L);
+        assertSame(primary, router.routeForScan(primary, profiler()));
+
+        lags.put("replica-1", 0L);
+        assertEquals("replica-1", router.routeForScan(primary, profiler()).getHost());
+    }
+
+    @Test
+    void testBrokenReplicationIsEvicted() {
+        lags.put("replica-1", Long.MAX_VALUE);
+        DataSourceConfig primary = source("replica-1", true);
+
+        assertSame(primary, new ReplicaRouter(0).routeForScan(primary, profiler()));
+    }
+
+    @Test
+    void testMalformedEndpointIsSkipped() {
+        lags.put("replica-2", 0L);
+        DataSourceConfig primary = source("replica-1:abc replica-2", false);
+        ReplicaRouter router = new ReplicaRouter(30);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("replica-2", router.routeForScan(primary, profiler()).getHost());
+        }
+    }
+
+    private IDatabaseProfiler profiler() {
+        IDatabaseProfiler profiler = mock(IDatabaseProfiler.class);
+        try {
+            when(profiler.getReplicationLagSeconds(any())).thenAnswer(invocation -> {
+                lagQueries.incrementAndGet();
+                DataSourceConfig endpoint = invocation.getArgument(0);
+                return lags.get(endpoint.getHost());
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return profiler;
+    }
+
+    private static DataSourceConfig source(String replicas, boolean failover) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("host", "primary-db");
+        properties.put("port", "5432");
+        if (replicas != null) {
+            properties.put("replicas", replicas);
+        }
+        properties.put("replicaFailover", String.valueOf(failover));
+        DataSourceConfig config = new DataSourceConfig("db", DataSourceConfig.DataSourceType.POSTGRESQL, properties);
+        config.setSourceId("src-1");
+        return config;
+    }
+}
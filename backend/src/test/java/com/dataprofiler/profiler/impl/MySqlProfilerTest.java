@@ -8,6 +8,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -260,4 +263,26 @@ class MySqlProfilerTest {
         assertTrue(totalTables >= 0);
         assertEquals(result.getTables().size(), totalTables.intValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFailedLobColumnIsMarkedAndTheTableContinues() throws SQLException {
+        Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("prepareStatement".equals(method.getName())) {
+                        throw new SQLException("Function md5 does not exist");
+                    }
+                    return null;
+                });
+        RawProfileDataDto.ColumnData column = new RawProfileDataDto.ColumnData();
+        column.setColumnName("body");
+        column.setDataType("LONGTEXT");
+
+        profiler.profileColumnData(connection, "articles", "cms", column, false);
+
+        // The failed column is reported as failed rather than as profiled
+        assertEquals(true, column.getColumnMetadata().get("profiling_failed"));
+        assertEquals("Function md5 does not exist", column.getColumnMetadata().get("profiling_error"));
+        assertFalse(column.getColumnMetadata().containsKey("lob"));
+        assertNull(column.getTotalCount());
+    }
+}
@@ -0,0 +1,270 @@
+package com.dataprofiler.profiler.impl;
+
+import com.dataprofiler.dto.internal.RawProfileDataDto;
+import com.dataprofiler.entity.DataSourceConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PartitionedTableProfiler
+ * Partition queries run against a fake connection that returns fixed per-register aggregates
+ */
+class PartitionedTableProfilerTest {
+
+    private final List<String> executedSql = new CopyOnWriteArrayList<>();
+    private final Map<String, List<Map<String, Object>>> rowsByPartition = new HashMap<>();
+    private DataSourceConfig dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DataSourceConfig();
+        dataSource.setSourceId("test-source");
+        Map<String, String> properties = new HashMap<>();
+        properties.put("partitionProfiling", "true");
+        properties.put("partitionIncremental", "true");
+        properties.put("partitionBreakdown", "true");
+        dataSource.setProperties(properties);
+
+        rowsByPartition.put("p1", Arrays.asList(
+                row(1, 2, 10, 8, 1L, 5L),
+                row(null, 0, 2, 0, null, null)));
+        rowsByPartition.put("p2", Collections.singletonList(
+                row(2, 1, 6, 6, -3L, 4L)));
+    }
+
+    @Test
+    void testPartitionsAreMerged() throws SQLException {
+        PartitionedTableProfiler profiler = profiler(new PartitionSnapshotStore(64), this::connection);
+        RawProfileDataDto.TableData table = new RawProfileDataDto.TableData("orders", "sales");
+        RawProfileDataDto.ColumnData column = new RawProfileDataDto.ColumnData("id", "BIGINT");
+
+        profiler.profile("sales", "orders", table, Collections.singletonList(column), partitions("m1", "m2"), false);
+
+        assertEquals(18L, table.getRowCount());
+        assertFalse(table.isUseSample());
+        assertEquals(18L, column.getTotalCount());
+        assertEquals(4L, column.getNullCount());
+        // Two registers are set, one per partition
+        assertEquals(2L, column.getUniqueCount());
+        assertEquals(-3L, column.getMinValue());
+        assertEquals(5L, column.getMaxValue());
+        assertEquals(2, table.getTableMetadata().get("partition_count"));
+        assertEquals(2, table.getPartitions().size());
+        assertEquals(12L, table.getPartitions().get(0).getRowCount());
+        assertEquals(2, executedSql.size());
+        assertTrue(executedSql.stream().noneMatch(sql -> sql.contains("SAMPLE")));
+    }
+
+    @Test
+    void testSampledPartitionsKeepTheTableRowCount() throws SQLException {
+        PartitionedTableProfiler profiler = profiler(null, this::connection);
+        RawProfileDataDto.TableData table = new RawProfileDataDto.TableData("orders", "sales");
+        table.setRowCount(5_000_000L);
+        RawProfileDataDto.ColumnData column = new RawProfileDataDto.ColumnData("id", "BIGINT");
+
+        profiler.profile("sales", "orders", table, Collections.singletonList(column), partitions("m1", "m2"), true);
+
+        assertEquals(5_000_000L, table.getRowCount());
+        assertTrue(table.isUseSample());
+        assertEquals(18L, column.getTotalCount());
+        assertEquals(2, executedSql.size());
+        assertTrue(executedSql.stream().allMatch(sql -> sql.contains("PARTITION (p") && sql.contains(" SAMPLE(1)")));
+    }
+
+    @Test
+    void testUnchangedPartitionsAreReused() throws SQLException {
+        PartitionSnapshotStore store = new PartitionSnapshotStore(64);
+        RawProfileDataDto.ColumnData column = new RawProfileDataDto.ColumnData("id", "BIGINT");
+        profiler(store, this::connection).profile("sales", "orders", new RawProfileDataDto.TableData("orders", "sales"),
+                Collections.singletonList(column), partitions("m1", "m2"), false);
+        executedSql.clear();
+
+        RawProfileDataDto.TableData table = new RawProfileDataDto.TableData("orders", "sales");
+        profiler(store, this::connection).profile("sales", "orders", table,
+                Collections.singletonList(new RawProfileDataDto.ColumnData("id", "BIGINT")), partitions("m1", "m2-changed"), false);
+
+        assertEquals(18L, table.getRowCount());
+        assertEquals(1, executedSql.size());
+        assertTrue(executedSql.get(0).contains("PARTITION (p2)"));
+        assertTrue(table.getPartitions().get(0).isReused());
+        assertFalse(table.getPartitions().get(1).isReused());
+    }
+
+    @Test
+    void testSampledRunDoesNotReuseFullStatistics() throws SQLException {
+        PartitionSnapshotStore store = new PartitionSnapshotStore(64);
+        profiler(store, this::connection).profile("sales", "orders", new RawProfileDataDto.TableData("orders", "sales"),
+                Collections.singletonList(new RawProfileDataDto.ColumnData("id", "BIGINT")), partitions("m1", "m2"), false);
+        executedSql.clear();
+
+        profiler(store, this::connection).profile("sales", "orders", new RawProfileDataDto.TableData("orders", "sales"),
+                Collections.singletonList(new RawProfileDataDto.ColumnData("id", "BIGINT")), partitions("m1", "m2"), true);
+
+        assertEquals(2, executedSql.size());
+    }
+
+    @Test
+    void testFailedPartitionFailsTheTable() {
+        PartitionedTableProfiler profiler = profiler(null, () -> {
+            throw new SQLException("connection refused");
+        });
+
+        SQLException error = assertThrows(SQLException.class, () -> profiler.profile("sales", "orders",
+                new RawProfileDataDto.TableData("orders", "sales"),
+                Collections.singletonList(new RawProfileDataDto.ColumnData("id", "BIGINT")), partitions("m1", "m2"), false));
+
+        assertEquals("connection refused", error.getMessage());
+    }
+
+    @Test
+    void testColumnStatsMergeRangesAndLengths() {
+        PartitionedTableProfiler.ColumnStats left = new PartitionedTableProfiler.ColumnStats();
+        left.totalCount = 5;
+        left.nonNullCount = 4;
+        left.offerRange("b", "m");
+        left.offerLength(12, 1, 6);
+        PartitionedTableProfiler.ColumnStats right = new PartitionedTableProfiler.ColumnStats();
+        right.totalCount = 3;
+        right.nonNullCount = 2;
+        right.offerRange("a", "k");
+        right.offerLength(8, 2, 7);
+
+        left.merge(right);
+        RawProfileDataDto.ColumnData column = new RawProfileDataDto.ColumnData("name", "VARCHAR");
+        left.applyTo(column);
+
+        assertEquals(8L, column.getTotalCount());
+        assertEquals(2L, column.getNullCount());
+        assertEquals("a", column.getMinValue());
+        assertEquals("m", column.getMaxValue());
+        assertEquals(20.0 / 6, column.getAvgLength(), 0.0001);
+        assertEquals(1L, column.getMinLength());
+        assertEquals(7L, column.getMaxLength());
+        assertEquals(true, column.getColumnMetadata().get("partitioned"));
+    }
+
+    private PartitionedTableProfiler profiler(PartitionSnapshotStore store, Callable<Connection> connectionFactory) {
+        return new PartitionedTableProfiler(dataSource, new TestDialect(), connectionFactory, store, null);
+    }
+
+    private static List<PartitionedTableProfiler.PartitionInfo> partitions(String firstMarker, String secondMarker) {
+        return Arrays.asList(
+                new PartitionedTableProfiler.PartitionInfo("p1", firstMarker),
+                new PartitionedTableProfiler.PartitionInfo("p2", secondMarker));
+    }
+
+    private static Map<String, Object> row(Integer bucket, int rank, long total, long nonNull, Long min, Long max) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("bucket", bucket);
+        row.put("hll_rank", rank);
+        row.put("total_count", total);
+        row.put("non_null_count", nonNull);
+        row.put("min_value", min);
+        row.put("max_value", max);
+        return row;
+    }
+
+    private Connection connection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("prepareStatement".equals(method.getName())) {
+                        String sql = (String) args[0];
+                        executedSql.add(sql);
+                        String partition = sql.contains("PARTITION (p1)") ? "p1" : "p2";
+                        return statement(rowsByPartition.get(partition));
+                    }
+                    return null;
+                });
+    }
+
+    private static PreparedStatement statement(List<Map<String, Object>> rows) {
+        return (PreparedStatement) Proxy.newProxyInstance(PartitionedTableProfilerTest.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> "executeQuery".equals(method.getName()) ? resultSet(rows) : null);
+    }
+
+    private static ResultSet resultSet(List<Map<String, Object>> rows) {
+        Iterator<Map<String, Object>> iterator = new ArrayList<>(rows).iterator();
+        AtomicReference<Map<String, Object>> current = new AtomicReference<>();
+        return (ResultSet) Proxy.newProxyInstance(PartitionedTableProfilerTest.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            current.set(iterator.hasNext() ? iterator.next() : null);
+                            return current.get() != null;
+                        case "getObject":
+                            return current.get().get((String) args[0]);
+                        case "getLong":
+                            Object value = current.get().get((String) args[0]);
+                            return value != null ? ((Number) value).longValue() : 0L;
+                        case "getInt":
+                            Object number = current.get().get((String) args[0]);
+                            return number != null ? ((Number) number).intValue() : 0;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static class TestDialect implements PartitionedTableProfiler.Dialect {
+
+        @Override
+        public String partitionSource(String schemaName, String tableName, String partitionName) {
+            return schemaName + "." + tableName + " PARTITION (" + partitionName + ")";
+        }
+
+        @Override
+        public String quote(String identifier) {
+            return identifier;
+        }
+
+        @Override
+        public String hashExpression(RawProfileDataDto.ColumnData column, String quotedColumnName) {
+            return "HASH(" + quotedColumnName + ")";
+        }
+
+        @Override
+        public String bucketExpression(String hash) {
+            return "BUCKET(" + hash + ")";
+        }
+
+        @Override
+        public String rankExpression(String hash) {
+            return "RANK(" + hash + ")";
+        }
+
+        @Override
+        public String lengthExpression(RawProfileDataDto.ColumnData column, String quotedColumnName) {
+            return null;
+        }
+
+        @Override
+        public boolean tracksRange(RawProfileDataDto.ColumnData column) {
+            return true;
+        }
+
+        @Override
+        public String sampleClause() {
+            return " SAMPLE(1)";
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.dataprofiler.profiler.impl;
+
+import com.dataprofiler.dto.internal.RawProfileDataDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PgCopyStatsCollector
+ * Feeds hand-built binary COPY streams, no database required
+ */
+class PgCopyStatsCollectorTest {
+
+    @Test
+    void testCollectIntegerAndVarcharColumns() throws IOException {
+        RawProfileDataDto.ColumnData id = new RawProfileDataDto.ColumnData("id", "integer");
+        RawProfileDataDto.ColumnData name = new RawProfileDataDto.ColumnData("name", "character varying");
+        List<RawProfileDataDto.ColumnData> columns = Arrays.asList(id, name);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out);
+        writeRow(out, 3, "alpha");
+        writeRow(out, 1, "h\u00e9llo");
+        writeRow(out, 2, null);
+        writeRow(out, 1, "alpha");
+        out.writeShort(-1);
+
+        PgCopyStatsCollector collector = new PgCopyStatsCollector(columns, type -> type.contains("char"), type -> false);
+        collector.collect(new ByteArrayInputStream(bytes.toByteArray()));
+        collector.applyTo();
+
+        assertEquals(4, collector.getRowCount());
+        assertEquals(4L, id.getTotalCount());
+        assertEquals(0L, id.getNullCount());
+        assertEquals(3L, id.getUniqueCount());
+        assertEquals(1, id.getMinValue());
+        assertEquals(3, id.getMaxValue());
+
+        assertEquals(1L, name.getNullCount());
+        assertEquals(2L, name.getUniqueCount());
+        assertEquals(5L, name.getMaxLength());
+        assertEquals(5L, name.getMinLength());
+        assertEquals(Arrays.asList("alpha", "h\u00e9llo"), name.getSampleValues());
+    }
+
+    @Test
+    void testTimeOfEndOfDayIsDecoded() throws IOException {
+        RawProfileDataDto.ColumnData closesAt = new RawProfileDataDto.ColumnData("closes_at", "time without time zone");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out);
+        for (long micros : new long[]{43_200_000_000L, 86_400_000_000L}) {
+            out.writeShort(1);
+            out.writeInt(8);
+            out.writeLong(micros);
+        }
+        out.writeShort(-1);
+
+        PgCopyStatsCollector collector = new PgCopyStatsCollector(Arrays.asList(closesAt), type -> false, type -> false);
+        collector.collect(new ByteArrayInputStream(bytes.toByteArray()));
+        collector.applyTo();
+
+        // 24:00:00 sorts after every other time of day
+        assertEquals(Time.valueOf(LocalTime.NOON), closesAt.getMinValue());
+        assertEquals(Time.valueOf(LocalTime.MAX), closesAt.getMaxValue());
+        assertEquals(2, closesAt.getSampleValues().size());
+    }
+
+    @Test
+    void testBuildCopySqlProjectsLobColumns() {
+        RawProfileDataDto.ColumnData body = new RawProfileDataDto.ColumnData("body", "text");
+        PgCopyStatsCollector collector = new PgCopyStatsCollector(Arrays.asList(body), type -> true, "text"::equals);
+
+        String sql = collector.buildCopySql("public", "docs", true);
+
+        assertEquals("COPY (SELECT length(\"body\"::text), md5(\"body\"::text), left(\"body\"::text, 64) " +
+                     "FROM \"public\".\"docs\" TABLESAMPLE SYSTEM(1)) TO STDOUT (FORMAT binary)", sql);
+    }
+
+    @Test
+    void testDecodeNumeric() {
+        // -1234.5600: ndigits=2, weight=0, sign=negative, dscale=4, digits [1234, 5600]
+        byte[] data = {0, 2, 0, 0, 0x40, 0, 0, 4, 0x04, (byte) 0xD2, 0x15, (byte) 0xE0};
+
+        assertEquals(new BigDecimal("-1234.5600"), PgCopyStatsCollector.decodeNumeric(data));
+    }
+
+    private void writeHeader(DataOutputStream out) throws IOException {
+        out.write(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0});
+        out.writeInt(0);
+        out.writeInt(0);
+    }
+
+    private void writeRow(DataOutputStream out, int id, String name) throws IOException {
+        out.writeShort(2);
+        out.writeInt(4);
+        out.writeInt(id);
+        if (name == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(encoded.length);
+            out.write(encoded);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.dto.request.DetailedReportRequest;
+import com.dataprofiler.dto.response.StructuredReportDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LegacyTableProfilesReader
+ */
+class LegacyTableProfilesReaderTest {
+
+    private static final String TABLES = "["
+            + "{\"name\":\"orders\",\"schemaName\":\"sales\",\"rowCount\":10,\"columns\":[{\"name\":\"id\"}],\"sampleRows\":[[1],[2]]},"
+            + "{\"name\":\"customers\",\"schemaName\":\"sales\",\"rowCount\":5,\"sampleRows\":{\"headers\":[\"id\"],\"rows\":[[7]]}},"
+            + "{\"rowCount\":3,\"schemaName\":\"hr\",\"name\":\"staff\",\"sampleRows\":[[\"a\"]]}"
+            + "]";
+
+    private final LegacyTableProfilesReader reader = new LegacyTableProfilesReader(new ObjectMapper());
+
+    @Test
+    void testAllTablesAreReadWithoutScope() throws IOException {
+        List<StructuredReportDto.TableReport> tables = reader.read(TABLES, null);
+
+        assertEquals(3, tables.size());
+        assertEquals(Collections.singletonList(Arrays.<Object>asList(7)), tables.get(1).getSampleRows());
+    }
+
+    @Test
+    void testOnlyTablesInScopeAreBound() throws IOException {
+        Map<String, List<String>> schemas = new HashMap<>();
+        schemas.put("sales", Collections.singletonList("customers"));
+        schemas.put("hr", Collections.emptyList());
+        BiPredicate<String, String> scope = LegacyTableProfilesReader.scopeOf(filters("ds-1", schemas), "ds-1");
+
+        List<StructuredReportDto.TableReport> tables = reader.read(TABLES, scope);
+
+        assertEquals(2, tables.size());
+        assertEquals("customers", tables.get(0).getName());
+        assertEquals(Long.valueOf(5), tables.get(0).getRowCount());
+        // Fields before the name are kept
+        assertEquals("staff", tables.get(1).getName());
+        assertEquals(Long.valueOf(3), tables.get(1).getRowCount());
+    }
+
+    @Test
+    void testScopeOfFilters() {
+        assertNull(LegacyTableProfilesReader.scopeOf(null, "ds-1"));
+        assertNull(LegacyTableProfilesReader.scopeOf(filters("ds-1", null), "ds-1"));
+        assertFalse(LegacyTableProfilesReader.scopeOf(filters("ds-1", null), "ds-2").test("sales", "orders"));
+    }
+
+    private static DetailedReportRequest.FilterCriteria filters(String dataSourceId, Map<String, List<String>> schemas) {
+        DetailedReportRequest.DataSourceScope scope = new DetailedReportRequest.DataSourceScope();
+        scope.setSchemas(schemas);
+        DetailedReportRequest.FilterCriteria filters = new DetailedReportRequest.FilterCriteria();
+        filters.setDataSources(Collections.singletonMap(dataSourceId, scope));
+        return filters;
+    }
+}
@@ -0,0 +1,87 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.dto.request.ProfilingTaskRequest;
+import com.dataprofiler.entity.ProfilingSchedule;
+import com.dataprofiler.entity.ProfilingTask;
+import com.dataprofiler.repository.ProfilingScheduleRepository;
+import com.dataprofiler.repository.ProfilingTaskRepository;
+import com.dataprofiler.service.DataSourceService;
+import com.dataprofiler.service.ProfilingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the due run polling of ProfilingScheduleServiceImpl
+ */
+@ExtendWith(MockitoExtension.class)
+class ProfilingScheduleServiceImplTest {
+
+    @Mock
+    private ProfilingScheduleRepository scheduleRepository;
+
+    @Mock
+    private DataSourceService dataSourceService;
+
+    @Mock
+    private ProfilingService profilingService;
+
+    @Mock
+    private ProfilingTaskRepository taskRepository;
+
+    @InjectMocks
+    private ProfilingScheduleServiceImpl scheduleService;
+
+    @Test
+    void testClaimedRunRecordsOnlyTheRunFields() {
+        ProfilingSchedule schedule = dueSchedule();
+        when(scheduleRepository.findByEnabledTrueAndNextRunAtLessThanEqual(any())).thenReturn(Collections.singletonList(schedule));
+        when(scheduleRepository.advanceNextRun(eq(1L), eq(schedule.getNextRunAt()), any())).thenReturn(1);
+        ProfilingTask task = new ProfilingTask();
+        task.setTaskId("task-1");
+        when(profilingService.startProfilingTask(any(ProfilingTaskRequest.class))).thenReturn(task);
+        when(scheduleRepository.recordRun(eq(1L), any(), eq("task-1"))).thenReturn(1);
+
+        scheduleService.runDueSchedules();
+
+        verify(scheduleRepository).recordRun(eq(1L), any(), eq("task-1"));
+        // The entity read before the claim is stale and must not overwrite edits made since
+        verify(scheduleRepository, never()).save(any());
+    }
+
+    @Test
+    void testRunClaimedElsewhereIsNotStarted() {
+        ProfilingSchedule schedule = dueSchedule();
+        when(scheduleRepository.findByEnabledTrueAndNextRunAtLessThanEqual(any())).thenReturn(Collections.singletonList(schedule));
+        when(scheduleRepository.advanceNextRun(eq(1L), eq(schedule.getNextRunAt()), any())).thenReturn(0);
+
+        scheduleService.runDueSchedules();
+
+        verify(profilingService, never()).startProfilingTask(any());
+        verify(scheduleRepository, never()).recordRun(anyLong(), any(), anyString());
+        verify(scheduleRepository, never()).save(any());
+    }
+
+    private static ProfilingSchedule dueSchedule() {
+        ProfilingSchedule schedule = new ProfilingSchedule();
+        schedule.setId(1L);
+        schedule.setName("nightly");
+        schedule.setSourceId("ds-1");
+        schedule.setCronExpression("0 0 2 * * *");
+        schedule.setNextRunAt(LocalDateTime.now().minusMinutes(1));
+        return schedule;
+    }
+}
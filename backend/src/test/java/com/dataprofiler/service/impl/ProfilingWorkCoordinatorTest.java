@@ -0,0 +1,212 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.entity.DataSourceConfig;
+import com.dataprofiler.entity.ProfilingTask;
+import com.dataprofiler.entity.ProfilingWorkItem;
+import com.dataprofiler.execution.ProfilingTaskRegistry;
+import com.dataprofiler.execution.WorkItemLeases;
+import com.dataprofiler.repository.ProfilingTaskRepository;
+import com.dataprofiler.repository.ProfilingWorkItemRepository;
+import com.dataprofiler.service.DataSourceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the deadline watchdog and work item polling of ProfilingWorkCoordinator
+ */
+@ExtendWith(MockitoExtension.class)
+class ProfilingWorkCoordinatorTest {
+
+    @Mock
+    private ProfilingTaskRepository taskRepository;
+
+    @Mock
+    private ProfilingWorkItemRepository workItemRepository;
+
+    @Mock
+    private DataSourceService dataSourceService;
+
+    @Mock
+    private ProfilingTaskRegistry taskRegistry;
+
+    @Mock
+    private WorkItemLeases leases;
+
+    @Mock
+    private Executor assemblyExecutor;
+
+    @InjectMocks
+    private ProfilingWorkCoordinator coordinator;
+
+    @Test
+    void testDeadlinePausesWhileAllWorkWaitsForAWindow() {
+        ProfilingTask task = task(LocalDateTime.now().plusMinutes(10), null);
+        givenOpenItems(task, 0, row("ds-closed", ProfilingWorkItem.Kind.TABLE));
+        when(dataSourceService.getDataSourceBySourceId("ds-closed")).thenReturn(source("ds-closed", closedWindow()));
+
+        coordinator.enforceDeadlines();
+
+        verify(taskRepository).pause(eq("task-1"), any());
+    }
+
+    @Test
+    void testQueuedTaskIsNotPausedAndTimesOut() {
+        ProfilingTask task = task(LocalDateTime.now().minusMinutes(1), null);
+        // Nothing runs because other tasks occupy the workers, not because of a maintenance window
+        givenOpenItems(task, 0, row("ds-open", ProfilingWorkItem.Kind.TABLE));
+        when(dataSourceService.getDataSourceBySourceId("ds-open")).thenReturn(source("ds-open", null));
+
+        coordinator.enforceDeadlines();
+
+        verify(taskRepository, never()).pause(anyString(), any());
+        verify(taskRepository).requestStop("task-1", ProfilingTask.TaskStatus.TIMEOUT);
+    }
+
+    @Test
+    void testTaskWithWorkOutsideWindowsIsNotPaused() {
+        ProfilingTask task = task(LocalDateTime.now().plusMinutes(10), null);
+        // Planning items run at any time, so a pending one keeps the deadline running
+        givenOpenItems(task, 0, row("ds-closed", ProfilingWorkItem.Kind.TABLE), row("ds-closed", ProfilingWorkItem.Kind.PLAN));
+        when(dataSourceService.getDataSourceBySourceId("ds-closed")).thenReturn(source("ds-closed", closedWindow()));
+
+        coordinator.enforceDeadlines();
+
+        verify(taskRepository, never()).pause(anyString(), any());
+        verify(taskRepository, never()).requestStop(anyString(), any());
+    }
+
+    @Test
+    void testPausedTaskResumesWithItsDeadlineMoved() {
+        LocalDateTime deadline = LocalDateTime.now().plusMinutes(5);
+        LocalDateTime pausedAt = LocalDateTime.now().minusMinutes(20);
+        ProfilingTask task = task(deadline, pausedAt);
+        givenOpenItems(task, 0, row("ds-open", ProfilingWorkItem.Kind.TABLE));
+        when(dataSourceService.getDataSourceBySourceId("ds-open")).thenReturn(source("ds-open", null));
+        when(taskRepository.resume(eq("task-1"), eq(pausedAt), any())).thenReturn(1);
+
+        coordinator.enforceDeadlines();
+
+        ArgumentCaptor<LocalDateTime> moved = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository).resume(eq("task-1"), eq(pausedAt), moved.capture());
+        assertFalse(moved.getValue().isBefore(deadline.plusMinutes(20)));
+        verify(taskRepository, never()).requestStop(anyString(), any());
+    }
+
+    @Test
+    void testRunningWorkResumesAPausedTask() {
+        LocalDateTime pausedAt = LocalDateTime.now().minusMinutes(1);
+        ProfilingTask task = task(LocalDateTime.now().plusMinutes(5), pausedAt);
+        givenOpenItems(task, 1);
+
+        coordinator.enforceDeadlines();
+
+        verify(taskRepository).resume(eq("task-1"), eq(pausedAt), any());
+    }
+
+    @Test
+    void testFinishedTaskIsAssembledOffTheSchedulerThread() {
+        ProfilingTask task = task(LocalDateTime.now().plusMinutes(5), null);
+        givenOpenItems(task, 0);
+
+        coordinator.enforceDeadlines();
+
+        verify(assemblyExecutor).execute(any(Runnable.class));
+        verify(taskRepository, never()).claimAssembly(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testItemStillRunningHereIsNotClaimedAgain() {
+        ReflectionTestUtils.setField(coordinator, "localBacklog", 8);
+        ReflectionTestUtils.setField(coordinator, "maxAttempts", 3);
+        ProfilingWorkItem item = new ProfilingWorkItem();
+        item.setId(1L);
+        item.setTaskId("task-1");
+        item.setStatus(ProfilingWorkItem.Status.CLAIMED);
+        item.setAttempts(3);
+        when(workItemRepository.findClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(item));
+        // Its lease lapsed while it was running on this instance
+        when(leases.isHeld(1L)).thenReturn(true);
+
+        coordinator.pollWorkItems();
+
+        verify(leases, never()).tryClaim(any());
+        verify(workItemRepository, never()).abandon(anyLong(), anyString(), any());
+    }
+
+    private void givenOpenItems(ProfilingTask task, long claimed, Object[]... pendingRows) {
+        when(taskRepository.findByStatusIn(anyCollection())).thenReturn(Collections.singletonList(task));
+        List<Object[]> counts = new ArrayList<>();
+        if (claimed > 0) {
+            counts.add(new Object[]{task.getTaskId(), ProfilingWorkItem.Status.CLAIMED, claimed});
+        }
+        if (pendingRows.length > 0) {
+            counts.add(new Object[]{task.getTaskId(), ProfilingWorkItem.Status.PENDING, (long) pendingRows.length});
+        }
+        when(workItemRepository.countByTaskAndStatus(anyCollection())).thenReturn(counts);
+        List<Object[]> pending = new ArrayList<>();
+        for (Object[] row : pendingRows) {
+            pending.add(new Object[]{task.getTaskId(), row[0], row[1]});
+        }
+        when(workItemRepository.findPendingSources()).thenReturn(pending);
+    }
+
+    private static Object[] row(String sourceId, ProfilingWorkItem.Kind kind) {
+        return new Object[]{sourceId, kind};
+    }
+
+    private static ProfilingTask task(LocalDateTime deadline, LocalDateTime pausedAt) {
+        ProfilingTask task = new ProfilingTask();
+        task.setTaskId("task-1");
+        task.setStatus(ProfilingTask.TaskStatus.RUNNING);
+        task.setDeadlineAt(deadline);
+        task.setPausedAt(pausedAt);
+        return task;
+    }
+
+    private static DataSourceConfig source(String sourceId, String windows) {
+        DataSourceConfig source = new DataSourceConfig();
+        source.setSourceId(sourceId);
+        Map<String, String> properties = new HashMap<>();
+        if (windows != null) {
+            properties.put("maintenanceWindows", windows);
+            properties.put("maintenanceTimezone", "UTC");
+        }
+        source.setProperties(properties);
+        return source;
+    }
+
+    /**
+     * A one-minute window two days from now, so it is closed whenever the test runs
+     */
+    private static String closedWindow() {
+        String day = LocalDate.now(ZoneOffset.UTC).plusDays(2).getDayOfWeek().name().substring(0, 3);
+        return day + " 12:00-12:01";
+    }
+}
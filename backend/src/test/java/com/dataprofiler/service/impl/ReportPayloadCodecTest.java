@@ -0,0 +1,115 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.dto.response.StructuredReportDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReportPayloadCodec
+ */
+class ReportPayloadCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    @Test
+    void testPayloadsOfEveryFormatAreDecoded() throws IOException {
+        StructuredReportDto.TableReport table = table();
+        List<byte[]> payloads = new ArrayList<>();
+        for (ReportPayloadCodec.Format format : ReportPayloadCodec.Format.values()) {
+            payloads.add(codec(format).encode(table));
+        }
+
+        // Whatever format is configured now, payloads written in earlier formats stay readable
+        ReportPayloadCodec reader = codec(ReportPayloadCodec.Format.SMILE_LZ4);
+        for (byte[] payload : payloads) {
+            StructuredReportDto.TableReport decoded = reader.decode(payload, StructuredReportDto.TableReport.class);
+            assertEquals(table, decoded);
+        }
+        assertTrue(payloads.get(2).length < payloads.get(0).length);
+    }
+
+    @Test
+    void testLegacyJsonIsDecoded() throws IOException {
+        StructuredReportDto.TableReport table = table();
+        String json = objectMapper.writeValueAsString(table);
+        ReportPayloadCodec codec = codec(ReportPayloadCodec.Format.SMILE_LZ4);
+
+        assertEquals(table, codec.decode(json.getBytes(StandardCharsets.UTF_8), StructuredReportDto.TableReport.class));
+        assertEquals(table, codec.decode(null, json, StructuredReportDto.TableReport.class));
+        assertNull(codec.decode(null, null, StructuredReportDto.TableReport.class));
+    }
+
+    @Test
+    void testCorruptPayloadIsRejected() throws IOException {
+        byte[] payload = codec(ReportPayloadCodec.Format.SMILE_LZ4).encode(table());
+
+        assertThrows(IOException.class, () -> codec(ReportPayloadCodec.Format.SMILE_LZ4)
+                .decode(Arrays.copyOf(payload, 6), StructuredReportDto.TableReport.class));
+    }
+
+    @Test
+    void testImplausibleLengthIsRejectedBeforeAllocating() {
+        ReportPayloadCodec codec = codec(ReportPayloadCodec.Format.SMILE_LZ4);
+        byte[] oversized = lz4Payload(ReportPayloadCodec.MAX_DECODED_LENGTH + 1, 1 << 20);
+        byte[] negative = lz4Payload(-1, 16);
+        // A few bytes of LZ4 cannot expand to a megabyte
+        byte[] beyondBlock = lz4Payload(1 << 20, 16);
+
+        for (byte[] payload : Arrays.asList(oversized, negative, beyondBlock)) {
+            IOException e = assertThrows(IOException.class, () -> codec.decode(payload, StructuredReportDto.TableReport.class));
+            assertTrue(e.getMessage().startsWith("Corrupt report payload"));
+            assertThrows(IOException.class, () -> codec.decodedSize(payload));
+        }
+    }
+
+    @Test
+    void testDecodedSizeIsTheUncompressedSize() throws IOException {
+        StructuredReportDto.TableReport table = table();
+        int smileSize = smileMapper.writeValueAsBytes(table).length;
+        byte[] compressed = codec(ReportPayloadCodec.Format.SMILE_LZ4).encode(table);
+        byte[] json = objectMapper.writeValueAsBytes(table);
+
+        assertEquals(smileSize, codec(ReportPayloadCodec.Format.SMILE_LZ4).decodedSize(compressed));
+        assertEquals(smileSize, codec(ReportPayloadCodec.Format.SMILE).decodedSize(codec(ReportPayloadCodec.Format.SMILE).encode(table)));
+        assertEquals(json.length, codec(ReportPayloadCodec.Format.SMILE_LZ4).decodedSize(json));
+    }
+
+    /**
+     * SMILE_LZ4 payload with the given length prefix and a zero-filled block
+     */
+    private static byte[] lz4Payload(int length, int blockLength) {
+        ByteBuffer payload = ByteBuffer.allocate(8 + blockLength);
+        payload.put(new byte[]{0, 'R', ReportPayloadCodec.VERSION, 2});
+        payload.putInt(length);
+        return payload.array();
+    }
+
+    private ReportPayloadCodec codec(ReportPayloadCodec.Format format) {
+        return new ReportPayloadCodec(objectMapper, smileMapper, format);
+    }
+
+    private static StructuredReportDto.TableReport table() {
+        StructuredReportDto.TableReport table = new StructuredReportDto.TableReport();
+        table.setName("orders");
+        table.setSchemaName("public");
+        table.setRowCount(1500000L);
+        table.setColumns(new ArrayList<>());
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            rows.add(Arrays.asList("order-" + i, "customer-" + (i % 7), "PAID"));
+        }
+        table.setSampleRows(rows);
+        return table;
+    }
+}
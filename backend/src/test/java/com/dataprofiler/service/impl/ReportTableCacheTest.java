@@ -0,0 +1,52 @@
+package com.dataprofiler.service.impl;
+
+import com.dataprofiler.dto.response.StructuredReportDto;
+import com.dataprofiler.entity.ReportTableProfile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReportTableCache
+ */
+class ReportTableCacheTest {
+
+    @Test
+    void testTablesOfDeletedTaskAreEvicted() {
+        ReportTableCache cache = new ReportTableCache(1, 4, 30);
+        ReportTableProfile kept = row(1L, "task-1");
+        ReportTableProfile evicted = row(2L, "task-2");
+        cache.put(kept, table("orders"), 100);
+        cache.put(evicted, table("customers"), 100);
+
+        cache.evictTask("task-2");
+
+        assertEquals("orders", cache.get(kept).getName());
+        assertNull(cache.get(evicted));
+    }
+
+    @Test
+    void testEstimatedHeapSizeBoundsTheCache() {
+        ReportTableCache cache = new ReportTableCache(1, 4, 30);
+        for (long id = 1; id <= 8; id++) {
+            // 100 KB serialized is weighed as 400 KB on the heap
+            cache.put(row(id, "task-1"), table("t" + id), 100 * 1024);
+        }
+
+        assertTrue(cache.size() <= 2);
+    }
+
+    private static ReportTableProfile row(Long id, String taskId) {
+        ReportTableProfile row = new ReportTableProfile();
+        row.setId(id);
+        row.setTaskId(taskId);
+        row.setDataSourceId("ds-1");
+        return row;
+    }
+
+    private static StructuredReportDto.TableReport table(String name) {
+        StructuredReportDto.TableReport table = new StructuredReportDto.TableReport();
+        table.setName(name);
+        return table;
+    }
+}
@@ -0,0 +1,33 @@
+package com.dataprofiler.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ETags
+ */
+class ETagsTest {
+
+    @Test
+    void testTagDependsOnAllParts() {
+        String tag = ETags.strong("version", "summary", "0", "20");
+
+        assertTrue(tag.startsWith("\"") && tag.endsWith("\""));
+        assertEquals(tag, ETags.strong("version", "summary", "0", "20"));
+        assertNotEquals(tag, ETags.strong("version", "summary", "1", "20"));
+    }
+
+    @Test
+    void testIfNoneMatch() {
+        String tag = ETags.strong("version");
+
+        assertTrue(ETags.matches(tag, tag));
+        assertTrue(ETags.matches("\"other\", " + tag, tag));
+        assertTrue(ETags.matches("W/" + tag, tag));
+        assertTrue(ETags.matches("*", tag));
+        assertFalse(ETags.matches("\"other\"", tag));
+        assertFalse(ETags.matches(null, tag));
+        assertFalse(ETags.matches(tag, null));
+    }
+}
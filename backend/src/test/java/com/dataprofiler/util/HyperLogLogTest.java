@@ -0,0 +1,94 @@
+package com.dataprofiler.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HyperLogLog
+ */
+class HyperLogLogTest {
+
+    @Test
+    void testSmallCardinalityIsCountedExactly() {
+        HyperLogLog sketch = new HyperLogLog(14);
+        for (int i = 0; i < 10; i++) {
+            add(sketch, "value-" + i);
+        }
+
+        assertEquals(10, sketch.estimate());
+        assertEquals(0, new HyperLogLog(14).estimate());
+    }
+
+    @Test
+    void testLargeCardinalityIsEstimatedWithinError() {
+        HyperLogLog sketch = new HyperLogLog(14);
+        for (int i = 0; i < 100_000; i++) {
+            add(sketch, "value-" + i);
+        }
+
+        // Standard error at precision 14 is about 0.8%
+        assertEquals(100_000, sketch.estimate(), 3_000);
+    }
+
+    @Test
+    void testDuplicatesDoNotChangeTheEstimate() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 1_000; i++) {
+            add(sketch, "value-" + i);
+        }
+        long estimate = sketch.estimate();
+        for (int i = 0; i < 1_000; i++) {
+            add(sketch, "value-" + i);
+        }
+
+        assertEquals(estimate, sketch.estimate());
+    }
+
+    @Test
+    void testMergeEqualsSketchOfUnion() {
+        HyperLogLog left = new HyperLogLog(12);
+        HyperLogLog right = new HyperLogLog(12);
+        HyperLogLog union = new HyperLogLog(12);
+        for (int i = 0; i < 30_000; i++) {
+            // Overlapping halves: 0..19999 and 10000..29999
+            if (i < 20_000) {
+                add(left, "value-" + i);
+            }
+            if (i >= 10_000) {
+                add(right, "value-" + i);
+            }
+            add(union, "value-" + i);
+        }
+
+        left.merge(right);
+
+        assertEquals(union.estimate(), left.estimate());
+        assertEquals(30_000, left.estimate(), 2_000);
+    }
+
+    @Test
+    void testOfferRegisterKeepsHighestRank() {
+        HyperLogLog sketch = new HyperLogLog(4);
+        sketch.offerRegister(3, 5);
+        sketch.offerRegister(3, 2);
+        HyperLogLog same = new HyperLogLog(4);
+        same.offerRegister(3, 5);
+
+        assertEquals(same.estimate(), sketch.estimate());
+    }
+
+    @Test
+    void testInvalidPrecisionAndMismatchedMergeAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(10).merge(new HyperLogLog(11)));
+    }
+
+    private static void add(HyperLogLog sketch, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        sketch.addBytes(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,38 @@
+package com.dataprofiler.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KeysetCursor
+ */
+class KeysetCursorTest {
+
+    @Test
+    void testCursorRoundTrip() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 17, 8, 30, 15, 123456000);
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(time, 42L));
+
+        assertEquals(time, cursor.getTime());
+        assertEquals(Long.valueOf(42), cursor.getId());
+    }
+
+    @Test
+    void testTokenIsUrlSafe() {
+        String token = KeysetCursor.encode(LocalDateTime.of(2024, 1, 1, 0, 0), 7L);
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void testInvalidTokensAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(
+                KeysetCursor.encode(LocalDateTime.of(2024, 1, 1, 0, 0), 7L).substring(3)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.dataprofiler.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NdjsonWriter
+ */
+class NdjsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testOneValuePerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        NdjsonWriter.export(objectMapper, out, writer -> {
+            writer.write(Collections.singletonMap("table", "orders"));
+            writer.write(Collections.singletonMap("comment", "first line\nsecond line"));
+        });
+
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("{\"table\":\"orders\"}", lines[0]);
+        assertEquals("first line\nsecond line", objectMapper.readTree(lines[1]).get("comment").asText());
+        assertEquals("", lines[2]);
+    }
+
+    @Test
+    void testEmptyExportWritesNothing() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        NdjsonWriter.export(objectMapper, out, writer -> {
+        });
+
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testFailureEndsTheExportWithAnErrorLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        NdjsonWriter.export(objectMapper, out, writer -> {
+            writer.write(Collections.singletonMap("table", "orders"));
+            throw new IOException("Corrupt report payload");
+        });
+
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode error = objectMapper.readTree(lines[1]);
+        assertEquals("Export failed: Corrupt report payload", error.get("error").asText());
+    }
+
+    @Test
+    void testOutputFailureIsThrown() {
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> NdjsonWriter.export(objectMapper, closed,
+                writer -> writer.write(Collections.singletonMap("table", "orders"))));
+    }
+}
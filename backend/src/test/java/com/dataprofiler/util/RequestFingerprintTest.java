@@ -0,0 +1,96 @@
+package com.dataprofiler.util;
+
+import com.dataprofiler.dto.request.DetailedReportRequest;
+import com.dataprofiler.dto.request.ProfilingTaskRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestFingerprint
+ */
+class RequestFingerprintTest {
+
+    @Test
+    void testOrderingDoesNotChangeFingerprint() {
+        Map<String, ProfilingTaskRequest.DataSourceScope> first = new LinkedHashMap<>();
+        first.put("ds-a", scope("public", "orders", "customers"));
+        first.put("ds-b", new ProfilingTaskRequest.DataSourceScope());
+        Map<String, ProfilingTaskRequest.DataSourceScope> second = new LinkedHashMap<>();
+        second.put("ds-b", new ProfilingTaskRequest.DataSourceScope());
+        second.put("ds-a", scope("public", "customers", "orders"));
+
+        ProfilingTaskRequest a = new ProfilingTaskRequest(first, 128, 5);
+        ProfilingTaskRequest b = new ProfilingTaskRequest(second, 128, 5);
+        b.setPriority(9);
+        b.setForceRefresh(true);
+
+        assertEquals(RequestFingerprint.of(a), RequestFingerprint.of(b));
+        assertEquals(64, RequestFingerprint.of(a).length());
+    }
+
+    @Test
+    void testScopeAndLimitsChangeFingerprint() {
+        ProfilingTaskRequest base = new ProfilingTaskRequest(Collections.singletonMap("ds-a", scope("public", "orders")), 128, 5);
+        ProfilingTaskRequest otherTable = new ProfilingTaskRequest(Collections.singletonMap("ds-a", scope("public", "customers")), 128, 5);
+        ProfilingTaskRequest wholeSchema = new ProfilingTaskRequest(Collections.singletonMap("ds-a", scope("public")), 128, 5);
+        ProfilingTaskRequest otherLimit = new ProfilingTaskRequest(Collections.singletonMap("ds-a", scope("public", "orders")), 128, 10);
+
+        assertNotEquals(RequestFingerprint.of(base), RequestFingerprint.of(otherTable));
+        assertNotEquals(RequestFingerprint.of(base), RequestFingerprint.of(wholeSchema));
+        assertNotEquals(RequestFingerprint.of(base), RequestFingerprint.of(otherLimit));
+    }
+
+    @Test
+    void testDetailedRequestOrderingDoesNotChangeFingerprint() {
+        Map<String, DetailedReportRequest.DataSourceScope> first = new LinkedHashMap<>();
+        first.put("ds-a", detailedScope("public", "orders", "customers"));
+        first.put("ds-b", new DetailedReportRequest.DataSourceScope());
+        Map<String, DetailedReportRequest.DataSourceScope> second = new LinkedHashMap<>();
+        second.put("ds-b", new DetailedReportRequest.DataSourceScope());
+        second.put("ds-a", detailedScope("public", "customers", "orders"));
+
+        assertEquals(RequestFingerprint.of(detailed(first, 0, "standard")), RequestFingerprint.of(detailed(second, 0, "standard")));
+        assertEquals(RequestFingerprint.of(detailed(null, 0, "standard")),
+                RequestFingerprint.of(detailed(Collections.emptyMap(), 0, "standard")));
+    }
+
+    @Test
+    void testDetailedRequestRepresentationChangesFingerprint() {
+        Map<String, DetailedReportRequest.DataSourceScope> orders = Collections.singletonMap("ds-a", detailedScope("public", "orders"));
+        Map<String, DetailedReportRequest.DataSourceScope> schema = Collections.singletonMap("ds-a", detailedScope("public"));
+        String base = RequestFingerprint.of(detailed(orders, 0, "standard"));
+
+        assertNotEquals(base, RequestFingerprint.of(detailed(schema, 0, "standard")));
+        assertNotEquals(base, RequestFingerprint.of(detailed(orders, 1, "standard")));
+        assertNotEquals(base, RequestFingerprint.of(detailed(orders, 0, "compact")));
+        assertNotEquals(base, RequestFingerprint.of(detailed(null, 0, "standard")));
+    }
+
+    private DetailedReportRequest detailed(Map<String, DetailedReportRequest.DataSourceScope> dataSources, int page, String format) {
+        DetailedReportRequest request = new DetailedReportRequest(
+                dataSources != null ? new DetailedReportRequest.FilterCriteria(dataSources) : null, page, 20);
+        request.setTaskId("task-1");
+        request.setFormat(format);
+        return request;
+    }
+
+    private DetailedReportRequest.DataSourceScope detailedScope(String schema, String... tables) {
+        Map<String, List<String>> schemas = new HashMap<>();
+        schemas.put(schema, Arrays.asList(tables));
+        return new DetailedReportRequest.DataSourceScope(schemas);
+    }
+
+    private ProfilingTaskRequest.DataSourceScope scope(String schema, String... tables) {
+        Map<String, List<String>> schemas = new HashMap<>();
+        schemas.put(schema, Arrays.asList(tables));
+        return new ProfilingTaskRequest.DataSourceScope(schemas);
+    }
+}
@@ -0,0 +1,53 @@
+package com.dataprofiler.util;
+
+import com.dataprofiler.entity.ProfilingTask;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SampleRowLimits
+ */
+class SampleRowLimitsTest {
+
+    @Test
+    void testRowsAreLimitedAndValuesTruncated() {
+        List<List<Object>> rows = new ArrayList<>();
+        rows.add(new ArrayList<>(Arrays.asList("abcdefgh", 123456789L, null)));
+        rows.add(new ArrayList<>(Arrays.asList("abc", true, "xyz")));
+        rows.add(new ArrayList<>(Arrays.asList("third", 1, "row")));
+
+        List<List<Object>> limited = new SampleRowLimits(4, 2).apply(rows);
+
+        assertEquals(2, limited.size());
+        assertEquals(Arrays.asList("abcd...", 123456789L, null), limited.get(0));
+        assertEquals(Arrays.asList("abc", true, "xyz"), limited.get(1));
+        // The given rows are left as they are
+        assertEquals("abcdefgh", rows.get(0).get(0));
+        assertEquals(3, rows.size());
+    }
+
+    @Test
+    void testDefaultsApplyWithoutTask() {
+        SampleRowLimits limits = SampleRowLimits.of(null);
+
+        assertEquals(SampleRowLimits.DEFAULT_SAMPLE_DATA_LIMIT, limits.getSampleDataLimit());
+        assertNull(limits.apply(null));
+    }
+
+    @Test
+    void testTaskLimitsAreUsed() {
+        ProfilingTask task = new ProfilingTask();
+        task.setFieldMaxLength(2);
+        task.setSampleDataLimit(1);
+
+        SampleRowLimits limits = SampleRowLimits.of(task);
+
+        assertEquals(1, limits.getSampleDataLimit());
+        assertEquals("ab...", limits.truncate("abc"));
+    }
+}